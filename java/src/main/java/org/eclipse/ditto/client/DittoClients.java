@@ -12,6 +12,8 @@
  */
 package org.eclipse.ditto.client;
 
+import java.util.concurrent.CompletionStage;
+
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.annotation.concurrent.Immutable;
 
@@ -126,9 +128,94 @@ public final class DittoClients {
             final MessagingProvider liveMessagingProvider, final MessagingProvider policyMessagingProvider,
             final MessageSerializerRegistry messageSerializerRegistry) {
 
-        final ResponseForwarder responseForwarder = ResponseForwarder.getInstance();
+        final ResponseForwarder responseForwarder = ResponseForwarder.getInstance(
+                twinMessagingProvider.getMessagingConfiguration().getDefaultResponseTimeout(),
+                twinMessagingProvider.getExecutorService());
         return DefaultDittoClient.newInstance(twinMessagingProvider, liveMessagingProvider, policyMessagingProvider,
                 responseForwarder, messageSerializerRegistry);
     }
 
+    /**
+     * Creates a new {@link org.eclipse.ditto.client.DittoClient} with a shared {@code Twin} and {@code Live}
+     * {@link org.eclipse.ditto.client.messaging.MessagingProvider} without blocking the calling thread.
+     *
+     * @param messagingProvider the messaging provider for this client.
+     * @return a future of the client which is completed exceptionally with an
+     * {@link org.eclipse.ditto.client.messaging.AuthenticationException} if authentication failed or with a
+     * {@link org.eclipse.ditto.client.messaging.MessagingException} if a connection to the configured endpoint could
+     * not be established.
+     * @since 1.1.0
+     */
+    public static CompletionStage<DittoClient> newInstanceAsync(final MessagingProvider messagingProvider) {
+        return newInstanceAsync(messagingProvider, messagingProvider, messagingProvider);
+    }
+
+    /**
+     * Creates a new {@link org.eclipse.ditto.client.DittoClient} with a specific {@code Twin} and {@code Live}
+     * {@link org.eclipse.ditto.client.messaging.MessagingProvider} without blocking the calling thread. The providers
+     * are initialized in parallel.
+     *
+     * @param twinMessagingProvider the messaging provider for the {@code Twin} part of the client.
+     * @param liveMessagingProvider the messaging provider for the {@code Live} part of the client.
+     * @return a future of the client which is completed exceptionally with an
+     * {@link org.eclipse.ditto.client.messaging.AuthenticationException} if authentication failed or with a
+     * {@link org.eclipse.ditto.client.messaging.MessagingException} if a connection to the configured endpoint could
+     * not be established.
+     * @since 1.1.0
+     */
+    public static CompletionStage<DittoClient> newInstanceAsync(final MessagingProvider twinMessagingProvider,
+            final MessagingProvider liveMessagingProvider) {
+
+        return newInstanceAsync(twinMessagingProvider, liveMessagingProvider, twinMessagingProvider);
+    }
+
+    /**
+     * Creates a new {@link org.eclipse.ditto.client.DittoClient} with a specific {@code Twin}, {@code Live} and
+     * {@code Policy} {@link org.eclipse.ditto.client.messaging.MessagingProvider} without blocking the calling thread.
+     * The providers are initialized in parallel.
+     *
+     * @param twinMessagingProvider the messaging provider for the {@code Twin} part of the client.
+     * @param liveMessagingProvider the messaging provider for the {@code Live} part of the client.
+     * @param policyMessagingProvider the messaging provider for the {@code Policy} part of the client.
+     * @return a future of the client which is completed exceptionally with an
+     * {@link org.eclipse.ditto.client.messaging.AuthenticationException} if authentication failed or with a
+     * {@link org.eclipse.ditto.client.messaging.MessagingException} if a connection to the configured endpoint could
+     * not be established.
+     * @since 1.1.0
+     */
+    public static CompletionStage<DittoClient> newInstanceAsync(final MessagingProvider twinMessagingProvider,
+            final MessagingProvider liveMessagingProvider, final MessagingProvider policyMessagingProvider) {
+
+        final MessageSerializerRegistry messageSerializerRegistry =
+                MessageSerializerFactory.newInstance().getMessageSerializerRegistry();
+        return newInstanceAsync(twinMessagingProvider, liveMessagingProvider, policyMessagingProvider,
+                messageSerializerRegistry);
+    }
+
+    /**
+     * Creates a new {@link org.eclipse.ditto.client.DittoClient} with a specific {@code Twin}, {@code Live} and
+     * {@code Policy} {@link org.eclipse.ditto.client.messaging.MessagingProvider} without blocking the calling thread.
+     * The providers are initialized in parallel; a provider used for several parts of the client is initialized once.
+     *
+     * @param twinMessagingProvider the messaging provider for the {@code Twin} part of the client.
+     * @param liveMessagingProvider the messaging provider for the {@code Live} part of the client.
+     * @param policyMessagingProvider the messaging provider for the {@code Policy} part of the client.
+     * @param messageSerializerRegistry a registry of {@code MessageSerializer}s for the {@code Live} part of the client.
+     * @return a future of the client which is completed exceptionally with an
+     * {@link org.eclipse.ditto.client.messaging.AuthenticationException} if authentication failed or with a
+     * {@link org.eclipse.ditto.client.messaging.MessagingException} if a connection to the configured endpoint could
+     * not be established.
+     * @since 1.1.0
+     */
+    public static CompletionStage<DittoClient> newInstanceAsync(final MessagingProvider twinMessagingProvider,
+            final MessagingProvider liveMessagingProvider, final MessagingProvider policyMessagingProvider,
+            final MessageSerializerRegistry messageSerializerRegistry) {
+
+        final ResponseForwarder responseForwarder = ResponseForwarder.getInstance(
+                twinMessagingProvider.getMessagingConfiguration().getDefaultResponseTimeout(),
+                twinMessagingProvider.getExecutorService());
+        return DefaultDittoClient.newInstanceAsync(twinMessagingProvider, liveMessagingProvider,
+                policyMessagingProvider, responseForwarder, messageSerializerRegistry);
+    }
+
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+/**
+ * Contains information about the compression of WebSocket messages with the {@code permessage-deflate} extension
+ * (RFC 7692). The extension is offered when connecting; if the back end service agrees, outgoing messages are
+ * compressed unless compression does not make them smaller and compressed incoming messages are decompressed.
+ * <p>
+ * The window bits limit the size of the LZ77 sliding windows of the client and the server. Smaller windows need less
+ * memory but compress worse; messages exceeding an agreed client window are sent uncompressed.
+ * </p>
+ *
+ * @since 1.1.0
+ */
+public final class CompressionConfiguration {
+
+    private static final int MIN_WINDOW_BITS = 8;
+    private static final int MAX_WINDOW_BITS = 15;
+
+    private final int clientMaxWindowBits;
+    private final int serverMaxWindowBits;
+
+    private CompressionConfiguration(final Builder builder) {
+        clientMaxWindowBits = builder.clientMaxWindowBits;
+        serverMaxWindowBits = builder.serverMaxWindowBits;
+    }
+
+    /**
+     * @return a new builder used to create a CompressionConfiguration object
+     */
+    public static CompressionConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the base-2 logarithm of the maximum sliding window size the client uses for compressing messages.
+     */
+    public int getClientMaxWindowBits() {
+        return clientMaxWindowBits;
+    }
+
+    /**
+     * @return the base-2 logarithm of the maximum sliding window size the server is asked to use for compressing
+     * messages.
+     */
+    public int getServerMaxWindowBits() {
+        return serverMaxWindowBits;
+    }
+
+
+    /**
+     * Builder for a CompressionConfiguration object.
+     */
+    public interface CompressionConfigurationBuilder {
+
+        /**
+         * @param clientMaxWindowBits the base-2 logarithm of the maximum sliding window size the client uses for
+         * compressing messages, between 8 and 15, default is 15.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code clientMaxWindowBits} is not between 8 and 15.
+         */
+        CompressionConfigurationBuilder clientMaxWindowBits(int clientMaxWindowBits);
+
+        /**
+         * @param serverMaxWindowBits the base-2 logarithm of the maximum sliding window size the server is asked to
+         * use for compressing messages, between 8 and 15, default is 15.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code serverMaxWindowBits} is not between 8 and 15.
+         */
+        CompressionConfigurationBuilder serverMaxWindowBits(int serverMaxWindowBits);
+
+        /**
+         * @return new CompressionConfiguration instance
+         */
+        CompressionConfiguration build();
+
+    }
+
+    private static final class Builder implements CompressionConfigurationBuilder {
+
+        private int clientMaxWindowBits = MAX_WINDOW_BITS;
+        private int serverMaxWindowBits = MAX_WINDOW_BITS;
+
+        private Builder() {
+        }
+
+        @Override
+        public CompressionConfigurationBuilder clientMaxWindowBits(final int clientMaxWindowBits) {
+            this.clientMaxWindowBits = checkWindowBits(clientMaxWindowBits, "Client max window bits");
+            return this;
+        }
+
+        @Override
+        public CompressionConfigurationBuilder serverMaxWindowBits(final int serverMaxWindowBits) {
+            this.serverMaxWindowBits = checkWindowBits(serverMaxWindowBits, "Server max window bits");
+            return this;
+        }
+
+        private static int checkWindowBits(final int windowBits, final String name) {
+            if (windowBits < MIN_WINDOW_BITS || windowBits > MAX_WINDOW_BITS) {
+                throw new IllegalArgumentException(
+                        name + " must be between " + MIN_WINDOW_BITS + " and " + MAX_WINDOW_BITS + ".");
+            }
+            return windowBits;
+        }
+
+        @Override
+        public CompressionConfiguration build() {
+            return new CompressionConfiguration(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+/**
+ * Generates the correlation-ids of the commands and messages sent by the client which do not have a correlation-id
+ * yet. Implementations must be thread-safe and must not return the same correlation-id twice.
+ *
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface CorrelationIdGenerator {
+
+    /**
+     * @return a new correlation-id.
+     */
+    String newCorrelationId();
+
+    /**
+     * Returns a new generator which creates correlation-ids of a random prefix and a sequence number, e.g.
+     * {@code "Vb3xk9Q2mLwR0aZe-1a"}. The prefix is chosen once per generator, so the correlation-ids remain unique
+     * across reconnects and across client instances while creating one is as cheap as incrementing a counter.
+     * <p>
+     * This is the default generator.
+     * </p>
+     *
+     * @return the generator.
+     */
+    static CorrelationIdGenerator sessionPrefixed() {
+        return SessionPrefixedCorrelationIdGenerator.newInstance();
+    }
+
+    /**
+     * Returns a generator which creates random UUIDs as correlation-ids. Each UUID is drawn from a shared
+     * {@link java.security.SecureRandom} which becomes a point of contention at high command rates.
+     *
+     * @return the generator.
+     */
+    static CorrelationIdGenerator randomUuid() {
+        return RandomUuidCorrelationIdGenerator.INSTANCE;
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+/**
+ * Contains information about the flow control of incoming messages. Each incoming message is handed to the callback
+ * executor for being handled; the messages which were received but are not yet handled are counted. Once their number
+ * reaches the {@code highWatermark}, the client stops reading from the WebSocket until it dropped to the
+ * {@code lowWatermark}. The backend is thereby slowed down by TCP flow control instead of piling up the messages in
+ * memory.
+ * <p>
+ * While reading is paused no responses are read either, so handlers of incoming messages should not block waiting for
+ * responses.
+ * </p>
+ *
+ * @since 1.1.0
+ */
+public final class InboundFlowControlConfiguration {
+
+    private static final int DEFAULT_HIGH_WATERMARK = 10_000;
+    private static final int DEFAULT_LOW_WATERMARK = 5_000;
+
+    private final int highWatermark;
+    private final int lowWatermark;
+
+    private InboundFlowControlConfiguration(final Builder builder) {
+        highWatermark = builder.highWatermark;
+        lowWatermark = builder.lowWatermark;
+    }
+
+    /**
+     * @return a new builder used to create an InboundFlowControlConfiguration object
+     */
+    public static InboundFlowControlConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the number of unhandled incoming messages at which reading from the WebSocket is paused.
+     */
+    public int getHighWatermark() {
+        return highWatermark;
+    }
+
+    /**
+     * @return the number of unhandled incoming messages at which reading from the WebSocket is resumed.
+     */
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    /**
+     * Builder for an InboundFlowControlConfiguration object.
+     */
+    public interface InboundFlowControlConfigurationBuilder {
+
+        /**
+         * @param highWatermark the number of unhandled incoming messages at which reading is paused, default is
+         * 10000.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code highWatermark} is not positive.
+         */
+        InboundFlowControlConfigurationBuilder highWatermark(int highWatermark);
+
+        /**
+         * @param lowWatermark the number of unhandled incoming messages at which reading is resumed, default is
+         * 5000.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code lowWatermark} is negative.
+         */
+        InboundFlowControlConfigurationBuilder lowWatermark(int lowWatermark);
+
+        /**
+         * @return new InboundFlowControlConfiguration instance
+         * @throws IllegalArgumentException if the low watermark is not less than the high watermark.
+         */
+        InboundFlowControlConfiguration build();
+
+    }
+
+    private static final class Builder implements InboundFlowControlConfigurationBuilder {
+
+        private int highWatermark = DEFAULT_HIGH_WATERMARK;
+        private int lowWatermark = DEFAULT_LOW_WATERMARK;
+
+        private Builder() {
+        }
+
+        @Override
+        public InboundFlowControlConfigurationBuilder highWatermark(final int highWatermark) {
+            if (highWatermark <= 0) {
+                throw new IllegalArgumentException("High watermark must not be negative or zero.");
+            }
+            this.highWatermark = highWatermark;
+            return this;
+        }
+
+        @Override
+        public InboundFlowControlConfigurationBuilder lowWatermark(final int lowWatermark) {
+            if (lowWatermark < 0) {
+                throw new IllegalArgumentException("Low watermark must not be negative.");
+            }
+            this.lowWatermark = lowWatermark;
+            return this;
+        }
+
+        @Override
+        public InboundFlowControlConfiguration build() {
+            if (lowWatermark >= highWatermark) {
+                throw new IllegalArgumentException("Low watermark must be less than the high watermark.");
+            }
+            return new InboundFlowControlConfiguration(this);
+        }
+
+    }
+
+}
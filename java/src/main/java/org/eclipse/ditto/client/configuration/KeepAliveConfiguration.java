@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+/**
+ * Contains information about the keepalive of the WebSocket connection. While connected, a ping is sent every
+ * {@code interval} and the round trip time until the matching pong arrives is recorded. If no pong arrived for
+ * {@code maxMissedPongs} pings in a row, the connection is regarded as dead: it is closed and, if enabled, re-established.
+ * A half-open connection is thereby detected after about {@code interval * maxMissedPongs}.
+ *
+ * @since 1.1.0
+ */
+public final class KeepAliveConfiguration {
+
+    private static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(10);
+    private static final int DEFAULT_MAX_MISSED_PONGS = 3;
+
+    private final Duration interval;
+    private final int maxMissedPongs;
+
+    private KeepAliveConfiguration(final Builder builder) {
+        interval = builder.interval;
+        maxMissedPongs = builder.maxMissedPongs;
+    }
+
+    /**
+     * @return a new builder used to create a KeepAliveConfiguration object
+     */
+    public static KeepAliveConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the interval in which pings are sent.
+     */
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return the number of pings in a row without pong after which the connection is regarded as dead.
+     */
+    public int getMaxMissedPongs() {
+        return maxMissedPongs;
+    }
+
+    /**
+     * Builder for a KeepAliveConfiguration object.
+     */
+    public interface KeepAliveConfigurationBuilder {
+
+        /**
+         * @param interval the interval in which pings are sent, default is 10 seconds.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code interval} is shorter than one millisecond.
+         */
+        KeepAliveConfigurationBuilder interval(Duration interval);
+
+        /**
+         * @param maxMissedPongs the number of pings in a row without pong after which the connection is regarded as
+         * dead, default is 3.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maxMissedPongs} is not positive.
+         */
+        KeepAliveConfigurationBuilder maxMissedPongs(int maxMissedPongs);
+
+        /**
+         * @return new KeepAliveConfiguration instance
+         */
+        KeepAliveConfiguration build();
+
+    }
+
+    private static final class Builder implements KeepAliveConfigurationBuilder {
+
+        private Duration interval = DEFAULT_INTERVAL;
+        private int maxMissedPongs = DEFAULT_MAX_MISSED_PONGS;
+
+        private Builder() {
+        }
+
+        @Override
+        public KeepAliveConfigurationBuilder interval(final Duration interval) {
+            requireNonNull(interval, "Interval must not be null.");
+            if (interval.toMillis() < 1) {
+                throw new IllegalArgumentException("Interval must be at least one millisecond.");
+            }
+            this.interval = interval;
+            return this;
+        }
+
+        @Override
+        public KeepAliveConfigurationBuilder maxMissedPongs(final int maxMissedPongs) {
+            if (maxMissedPongs <= 0) {
+                throw new IllegalArgumentException("Max missed pongs must not be negative or zero.");
+            }
+            this.maxMissedPongs = maxMissedPongs;
+            return this;
+        }
+
+        @Override
+        public KeepAliveConfiguration build() {
+            return new KeepAliveConfiguration(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+/**
+ * Contains information about the chunking of large live messages. The serialized payload of a message sent via
+ * {@code live().message()} which exceeds the {@code chunkSize} is sent as a sequence of messages carrying one chunk of
+ * the payload each. Received chunks are reassembled into the original message before it is handed to the handlers
+ * registered via {@code registerForMessage}.
+ * <p>
+ * Both the sending and the receiving client have to enable chunking. The memory used for reassembling is bounded by
+ * {@code maxMessageSize} per message and {@code maxPendingMessages} messages at a time; messages which were not
+ * completely received within the {@code reassemblyTimeout} are discarded.
+ * </p>
+ *
+ * @since 1.1.0
+ */
+public final class MessageChunkingConfiguration {
+
+    /**
+     * The maximum chunk size in bytes. A chunk is Base64 encoded when it is sent, so a frame carrying a chunk of this
+     * size stays below the default maximum WebSocket frame payload of 256 KiB, see
+     * {@link TransportTuningConfiguration#getMaxPayloadSize()}.
+     */
+    public static final int MAX_CHUNK_SIZE = 128 * 1024;
+
+    private static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    private static final int DEFAULT_MAX_MESSAGE_SIZE = 16 * 1024 * 1024;
+    private static final int DEFAULT_MAX_PENDING_MESSAGES = 16;
+    private static final Duration DEFAULT_REASSEMBLY_TIMEOUT = Duration.ofSeconds(60);
+
+    private final int chunkSize;
+    private final int maxMessageSize;
+    private final int maxPendingMessages;
+    private final Duration reassemblyTimeout;
+
+    private MessageChunkingConfiguration(final Builder builder) {
+        chunkSize = builder.chunkSize;
+        maxMessageSize = builder.maxMessageSize;
+        maxPendingMessages = builder.maxPendingMessages;
+        reassemblyTimeout = builder.reassemblyTimeout;
+    }
+
+    /**
+     * @return a new builder used to create a MessageChunkingConfiguration object
+     */
+    public static MessageChunkingConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the maximum number of payload bytes sent in one message.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return the maximum payload size in bytes of a received chunked message.
+     */
+    public int getMaxMessageSize() {
+        return maxMessageSize;
+    }
+
+    /**
+     * @return the maximum number of chunked messages which are reassembled at the same time.
+     */
+    public int getMaxPendingMessages() {
+        return maxPendingMessages;
+    }
+
+    /**
+     * @return the duration after which an incompletely received chunked message is discarded.
+     */
+    public Duration getReassemblyTimeout() {
+        return reassemblyTimeout;
+    }
+
+    /**
+     * Builder for a MessageChunkingConfiguration object.
+     */
+    public interface MessageChunkingConfigurationBuilder {
+
+        /**
+         * @param chunkSize the maximum number of payload bytes sent in one message, default is 64 KiB.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code chunkSize} is not positive or greater than
+         * {@link #MAX_CHUNK_SIZE}.
+         */
+        MessageChunkingConfigurationBuilder chunkSize(int chunkSize);
+
+        /**
+         * @param maxMessageSize the maximum payload size in bytes of a received chunked message, default is 16 MiB.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maxMessageSize} is not positive.
+         */
+        MessageChunkingConfigurationBuilder maxMessageSize(int maxMessageSize);
+
+        /**
+         * @param maxPendingMessages the maximum number of chunked messages which are reassembled at the same time,
+         * default is 16.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maxPendingMessages} is not positive.
+         */
+        MessageChunkingConfigurationBuilder maxPendingMessages(int maxPendingMessages);
+
+        /**
+         * @param reassemblyTimeout the duration after which an incompletely received chunked message is discarded,
+         * default is 60 seconds.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code reassemblyTimeout} is not positive.
+         */
+        MessageChunkingConfigurationBuilder reassemblyTimeout(Duration reassemblyTimeout);
+
+        /**
+         * @return new MessageChunkingConfiguration instance
+         */
+        MessageChunkingConfiguration build();
+
+    }
+
+    private static final class Builder implements MessageChunkingConfigurationBuilder {
+
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+        private int maxMessageSize = DEFAULT_MAX_MESSAGE_SIZE;
+        private int maxPendingMessages = DEFAULT_MAX_PENDING_MESSAGES;
+        private Duration reassemblyTimeout = DEFAULT_REASSEMBLY_TIMEOUT;
+
+        private Builder() {
+        }
+
+        @Override
+        public MessageChunkingConfigurationBuilder chunkSize(final int chunkSize) {
+            if (chunkSize <= 0) {
+                throw new IllegalArgumentException("Chunk size must not be negative or zero.");
+            }
+            if (chunkSize > MAX_CHUNK_SIZE) {
+                throw new IllegalArgumentException("Chunk size must not be greater than " + MAX_CHUNK_SIZE + ".");
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        @Override
+        public MessageChunkingConfigurationBuilder maxMessageSize(final int maxMessageSize) {
+            if (maxMessageSize <= 0) {
+                throw new IllegalArgumentException("Max message size must not be negative or zero.");
+            }
+            this.maxMessageSize = maxMessageSize;
+            return this;
+        }
+
+        @Override
+        public MessageChunkingConfigurationBuilder maxPendingMessages(final int maxPendingMessages) {
+            if (maxPendingMessages <= 0) {
+                throw new IllegalArgumentException("Max pending messages must not be negative or zero.");
+            }
+            this.maxPendingMessages = maxPendingMessages;
+            return this;
+        }
+
+        @Override
+        public MessageChunkingConfigurationBuilder reassemblyTimeout(final Duration reassemblyTimeout) {
+            requireNonNull(reassemblyTimeout, "Reassembly timeout must not be null.");
+            if (reassemblyTimeout.isNegative() || reassemblyTimeout.isZero()) {
+                throw new IllegalArgumentException("Reassembly timeout must not be negative or zero.");
+            }
+            this.reassemblyTimeout = reassemblyTimeout;
+            return this;
+        }
+
+        @Override
+        public MessageChunkingConfiguration build() {
+            return new MessageChunkingConfiguration(this);
+        }
+
+    }
+
+}
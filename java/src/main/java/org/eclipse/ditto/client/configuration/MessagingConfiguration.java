@@ -13,6 +13,8 @@
 package org.eclipse.ditto.client.configuration;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
@@ -38,11 +40,49 @@ public interface MessagingConfiguration {
      */
     URI getEndpointUri();
 
+    /**
+     * Returns the Ditto endpoint URIs to use for messaging in the configured order, starting with
+     * {@link #getEndpointUri()}. If there are several, the client connects to the one which answers fastest and fails
+     * over to the others if it cannot be reached.
+     *
+     * @return the URIs.
+     * @since 1.1.0
+     */
+    List<URI> getEndpointUris();
+
     /**
      * @return {@code true} if client should try to reconnect when connection is lost.
      */
     boolean isReconnectEnabled();
 
+    /**
+     * Returns the upper bound of the delay before the second attempt to re-establish a lost connection. The first
+     * attempt is made immediately, the upper bound doubles with each further attempt until it reaches the
+     * {@link #getReconnectMaxBackoff() maximum backoff}. The actual delay is chosen randomly between zero and the upper
+     * bound.
+     *
+     * @return the initial reconnect backoff.
+     * @since 1.1.0
+     */
+    Duration getReconnectInitialBackoff();
+
+    /**
+     * Returns the maximum upper bound of the delay between two attempts to re-establish a lost connection.
+     *
+     * @return the maximum reconnect backoff.
+     * @since 1.1.0
+     */
+    Duration getReconnectMaxBackoff();
+
+    /**
+     * Returns whether a second, idle connection is kept open in order to take over immediately if the connection in
+     * use is lost.
+     *
+     * @return {@code true} if a standby connection is kept.
+     * @since 1.1.0
+     */
+    boolean isStandbyConnectionEnabled();
+
     /**
      * Returns the proxy configuration.
      *
@@ -57,6 +97,114 @@ public interface MessagingConfiguration {
      */
     Optional<TrustStoreConfiguration> getTrustStoreConfiguration();
 
+    /**
+     * Returns the number of lanes used for dispatching incoming messages in order per Thing. Incoming events and live
+     * signals of the same Thing are always handled by the same lane, one after another, while different Things are
+     * handled in parallel on different lanes. A value of {@code 0} means that incoming messages are dispatched
+     * unordered via the callback executor of the messaging provider.
+     *
+     * @return the number of dispatch lanes, {@code 0} if striped dispatching is disabled.
+     * @since 1.1.0
+     */
+    int getInboundDispatchLanes();
+
+    /**
+     * Returns the capacity of the queue for outgoing messages. Outgoing messages are enqueued by the sending threads
+     * and written to the WebSocket in batches by one dedicated writer thread. If the queue is full, sending fails
+     * immediately with a {@link org.eclipse.ditto.client.messaging.MessagingException} instead of blocking the
+     * sending thread. A value of {@code 0} means that outgoing messages are written by the sending thread itself which
+     * blocks if the backend applies backpressure.
+     *
+     * @return the capacity of the outbound queue, {@code 0} if the outbound queue is disabled.
+     * @since 1.1.0
+     */
+    int getOutboundQueueCapacity();
+
+    /**
+     * Returns the configuration of the buffer for outgoing messages which are sent while the client is not connected.
+     *
+     * @return the configuration or an empty optional if outgoing messages are discarded while not connected.
+     * @since 1.1.0
+     */
+    Optional<OfflineBufferConfiguration> getOfflineBufferConfiguration();
+
+    /**
+     * Returns the encoding of Ditto Protocol messages on the WebSocket.
+     *
+     * @return the wire encoding.
+     * @since 1.1.0
+     */
+    WireEncoding getWireEncoding();
+
+    /**
+     * Returns the configuration of the {@code permessage-deflate} compression of WebSocket messages.
+     *
+     * @return the configuration or an empty optional if messages are not compressed.
+     * @since 1.1.0
+     */
+    Optional<CompressionConfiguration> getCompressionConfiguration();
+
+    /**
+     * Returns the configuration of the keepalive pings which detect dead connections.
+     *
+     * @return the configuration or an empty optional if no keepalive pings are sent.
+     * @since 1.1.0
+     */
+    Optional<KeepAliveConfiguration> getKeepAliveConfiguration();
+
+    /**
+     * Returns the configuration of the flow control which pauses reading from the WebSocket while too many incoming
+     * messages are not yet handled.
+     *
+     * @return the configuration or an empty optional if incoming messages are read regardless of how many are not yet
+     * handled.
+     * @since 1.1.0
+     */
+    Optional<InboundFlowControlConfiguration> getInboundFlowControlConfiguration();
+
+    /**
+     * Returns the configuration of the chunking of large live messages.
+     *
+     * @return the configuration or an empty optional if live messages are neither split nor reassembled.
+     * @since 1.1.0
+     */
+    Optional<MessageChunkingConfiguration> getMessageChunkingConfiguration();
+
+    /**
+     * Returns the tuning of the TCP socket and the WebSocket framing.
+     *
+     * @return the transport tuning.
+     * @since 1.1.0
+     */
+    TransportTuningConfiguration getTransportTuningConfiguration();
+
+    /**
+     * Returns the duration after which a request which expects a response fails with a
+     * {@link java.util.concurrent.TimeoutException} if the request itself does not specify a timeout.
+     *
+     * @return the default response timeout.
+     * @since 1.1.0
+     */
+    Duration getDefaultResponseTimeout();
+
+    /**
+     * Returns the generator of the correlation-ids of sent commands and messages which do not have one yet.
+     *
+     * @return the correlation-id generator.
+     * @since 1.1.0
+     */
+    CorrelationIdGenerator getCorrelationIdGenerator();
+
+    /**
+     * Returns the maximum number of event addresses for which the handlers matching them are cached. Each received
+     * event is dispatched to the handlers registered for its address, e.g. the thing and the changed paths; the least
+     * recently used addresses are evicted from the cache if it is full.
+     *
+     * @return the maximum number of cached addresses, {@code 0} if the matching handlers are not cached.
+     * @since 1.1.0
+     */
+    int getHandlerCacheSize();
+
     /**
      * Builder for creating an instance of {@code MessagingConfiguration} by utilizing Object Scoping and Method
      * Chaining.
@@ -81,16 +229,64 @@ public interface MessagingConfiguration {
          */
         Builder endpoint(String endpoint);
 
+        /**
+         * Sets several equivalent {@code endpoints}, e.g. the ingresses of the same Ditto installation in different
+         * regions. The client probes the endpoints at startup and on each reconnect, connects to the one answering
+         * fastest and fails over to the next one in the order of their latency if connecting fails. Endpoints which
+         * cannot be probed, e.g. because a proxy is configured, are tried in the passed order.
+         *
+         * @param endpoints the endpoints to set, the first one becomes the {@link #endpoint(String) endpoint}.
+         * @return this builder.
+         * @throws NullPointerException if {@code endpoints} is {@code null}.
+         * @throws IllegalArgumentException if {@code endpoints} is empty or contains an endpoint with a scheme other
+         * than "ws" or "wss".
+         * @since 1.1.0
+         */
+        Builder endpoints(List<String> endpoints);
+
         /**
          * Sets if {@code reconnectEnabled}.
-         * <p> Default is enabled. If a connection was established once, the client tries to reconnect <em>every 5
-         * seconds</em>.
+         * <p> Default is enabled. If a connection was established once, the client tries to reconnect with an
+         * exponential backoff, see {@link #reconnectBackoff(Duration, Duration)}.
          *
          * @param reconnectEnabled enables/disables reconnect.
          * @return this builder.
          */
         Builder reconnectEnabled(boolean reconnectEnabled);
 
+        /**
+         * Sets the backoff between attempts to re-establish a lost connection. The first attempt is made
+         * immediately, before each further attempt the client waits for a random delay between zero and an upper
+         * bound which starts at {@code initialBackoff} and doubles with each attempt up to {@code maxBackoff}.
+         * <p>
+         * Default is an initial backoff of 1 second and a maximum backoff of 30 seconds.
+         * </p>
+         *
+         * @param initialBackoff the upper bound of the delay before the second attempt.
+         * @param maxBackoff the maximum upper bound of the delay.
+         * @return this builder.
+         * @throws NullPointerException if any argument is {@code null}.
+         * @throws IllegalArgumentException if {@code initialBackoff} is not positive or if {@code maxBackoff} is
+         * less than {@code initialBackoff}.
+         * @since 1.1.0
+         */
+        Builder reconnectBackoff(Duration initialBackoff, Duration maxBackoff);
+
+        /**
+         * Sets if {@code standbyConnectionEnabled}.
+         * <p>
+         * Default is disabled. If enabled, the client opens and authenticates a second connection, preferably to
+         * another endpoint, which stays idle. If the connection in use is lost, the standby connection takes over
+         * without a new handshake, the subscriptions are requested again on it and a new standby connection is
+         * opened. Only takes effect if {@link #reconnectEnabled(boolean) reconnect} is enabled.
+         * </p>
+         *
+         * @param standbyConnectionEnabled enables/disables the standby connection.
+         * @return this builder.
+         * @since 1.1.0
+         */
+        Builder standbyConnectionEnabled(boolean standbyConnectionEnabled);
+
         /**
          * Sets the {@code proxyConfiguration}.
          *
@@ -107,6 +303,164 @@ public interface MessagingConfiguration {
          */
         Builder trustStoreConfiguration(TrustStoreConfiguration trustStoreConfiguration);
 
+        /**
+         * Sets the number of {@code inboundDispatchLanes} used for dispatching incoming messages in order per Thing.
+         * <p>
+         * Default is {@code 0} which dispatches incoming messages unordered via the callback executor. A good
+         * value for high event rates is the number of available processors.
+         * </p>
+         *
+         * @param inboundDispatchLanes the number of lanes, {@code 0} disables striped dispatching.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code inboundDispatchLanes} is negative.
+         * @since 1.1.0
+         */
+        Builder inboundDispatchLanes(int inboundDispatchLanes);
+
+        /**
+         * Sets the {@code outboundQueueCapacity}, i. e. the number of outgoing messages which may be queued for
+         * being written to the WebSocket by a dedicated writer thread.
+         * <p>
+         * Default is {@code 0} which writes outgoing messages in the sending thread.
+         * </p>
+         *
+         * @param outboundQueueCapacity the capacity of the outbound queue, {@code 0} disables the outbound queue.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code outboundQueueCapacity} is negative.
+         * @since 1.1.0
+         */
+        Builder outboundQueueCapacity(int outboundQueueCapacity);
+
+        /**
+         * Sets the {@code offlineBufferConfiguration}.
+         * <p>
+         * Default is no offline buffer, i. e. outgoing messages are discarded while the client is not connected.
+         * </p>
+         *
+         * @param offlineBufferConfiguration the offline buffer configuration to set.
+         * @return this builder.
+         * @since 1.1.0
+         */
+        Builder offlineBufferConfiguration(OfflineBufferConfiguration offlineBufferConfiguration);
+
+        /**
+         * Sets the {@code wireEncoding} of Ditto Protocol messages on the WebSocket.
+         * <p>
+         * Default is {@link WireEncoding#JSON}. {@link WireEncoding#CBOR} requires an endpoint which is able to
+         * decode and encode CBOR.
+         * </p>
+         *
+         * @param wireEncoding the wire encoding to set.
+         * @return this builder.
+         * @since 1.1.0
+         */
+        Builder wireEncoding(WireEncoding wireEncoding);
+
+        /**
+         * Sets the {@code compressionConfiguration}.
+         * <p>
+         * Default is no compression.
+         * </p>
+         *
+         * @param compressionConfiguration the compression configuration to set.
+         * @return this builder.
+         * @since 1.1.0
+         */
+        Builder compressionConfiguration(CompressionConfiguration compressionConfiguration);
+
+        /**
+         * Sets the {@code keepAliveConfiguration}.
+         * <p>
+         * Default is no keepalive, a dead connection is then only detected when the operating system reports an error.
+         * </p>
+         *
+         * @param keepAliveConfiguration the keepalive configuration to set.
+         * @return this builder.
+         * @since 1.1.0
+         */
+        Builder keepAliveConfiguration(KeepAliveConfiguration keepAliveConfiguration);
+
+        /**
+         * Sets the {@code inboundFlowControlConfiguration}.
+         * <p>
+         * Default is no flow control, i. e. incoming messages are read as fast as the backend sends them and queue up
+         * in the callback executor if they are handled more slowly.
+         * </p>
+         *
+         * @param inboundFlowControlConfiguration the inbound flow control configuration to set.
+         * @return this builder.
+         * @since 1.1.0
+         */
+        Builder inboundFlowControlConfiguration(InboundFlowControlConfiguration inboundFlowControlConfiguration);
+
+        /**
+         * Sets the {@code messageChunkingConfiguration}.
+         * <p>
+         * Default is no chunking, i. e. live messages are sent in one piece regardless of their size.
+         * </p>
+         *
+         * @param messageChunkingConfiguration the message chunking configuration to set.
+         * @return this builder.
+         * @since 1.1.0
+         */
+        Builder messageChunkingConfiguration(MessageChunkingConfiguration messageChunkingConfiguration);
+
+        /**
+         * Sets the {@code transportTuningConfiguration}, e.g. one of the presets
+         * {@link TransportTuningConfiguration#lowLatency()} or {@link TransportTuningConfiguration#highThroughput()}.
+         * <p>
+         * Default is {@link TransportTuningConfiguration#newBuilder()} which keeps the socket options of the operating
+         * system.
+         * </p>
+         *
+         * @param transportTuningConfiguration the transport tuning to set.
+         * @return this builder.
+         * @throws NullPointerException if {@code transportTuningConfiguration} is {@code null}.
+         * @since 1.1.0
+         */
+        Builder transportTuningConfiguration(TransportTuningConfiguration transportTuningConfiguration);
+
+        /**
+         * Sets the {@code defaultResponseTimeout}.
+         * <p>
+         * Default is 60 seconds. Requests may specify a timeout of their own, e.g. by the {@code timeout} header.
+         * </p>
+         *
+         * @param defaultResponseTimeout the duration after which a request fails if no response was received.
+         * @return this builder.
+         * @throws NullPointerException if {@code defaultResponseTimeout} is {@code null}.
+         * @throws IllegalArgumentException if {@code defaultResponseTimeout} is not positive.
+         * @since 1.1.0
+         */
+        Builder defaultResponseTimeout(Duration defaultResponseTimeout);
+
+        /**
+         * Sets the {@code correlationIdGenerator}.
+         * <p>
+         * Default is {@link CorrelationIdGenerator#sessionPrefixed()}.
+         * </p>
+         *
+         * @param correlationIdGenerator the generator of correlation-ids.
+         * @return this builder.
+         * @throws NullPointerException if {@code correlationIdGenerator} is {@code null}.
+         * @since 1.1.0
+         */
+        Builder correlationIdGenerator(CorrelationIdGenerator correlationIdGenerator);
+
+        /**
+         * Sets the {@code handlerCacheSize}, i. e. the maximum number of event addresses for which the handlers
+         * matching them are cached per channel.
+         * <p>
+         * Default is {@code 10000}.
+         * </p>
+         *
+         * @param handlerCacheSize the maximum number of cached addresses, {@code 0} disables the cache.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code handlerCacheSize} is negative.
+         * @since 1.1.0
+         */
+        Builder handlerCacheSize(int handlerCacheSize);
+
         /**
          * Creates a new instance of {@code MessagingConfiguration}.
          *
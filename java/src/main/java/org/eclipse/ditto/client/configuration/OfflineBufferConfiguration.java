@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import static java.util.Objects.requireNonNull;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * Contains information about the buffer for outgoing messages which are sent while the client is not connected to
+ * the back end service. Buffered messages are sent in order as soon as the connection is (re-)established; messages
+ * which were buffered longer than the {@code timeToLive} are discarded and the futures waiting for their responses
+ * are completed exceptionally.
+ * <p>
+ * The buffer keeps up to {@code capacity} messages in memory. If a {@code spillDirectory} is configured, further
+ * messages are spilled to memory-mapped segment files of {@code segmentSize} bytes in that directory, at most
+ * {@code maxSegments} files at a time.
+ * </p>
+ *
+ * @since 1.1.0
+ */
+public final class OfflineBufferConfiguration {
+
+    private static final int DEFAULT_CAPACITY = 1_000;
+    private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+    private static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024; // 4 MiB
+    private static final int DEFAULT_MAX_SEGMENTS = 16;
+
+    private final int capacity;
+    private final Duration timeToLive;
+    @Nullable private final Path spillDirectory;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    private OfflineBufferConfiguration(final Builder builder) {
+        capacity = builder.capacity;
+        timeToLive = builder.timeToLive;
+        spillDirectory = builder.spillDirectory;
+        segmentSize = builder.segmentSize;
+        maxSegments = builder.maxSegments;
+    }
+
+    /**
+     * @return a new builder used to create an OfflineBufferConfiguration object
+     */
+    public static OfflineBufferConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the maximum number of messages kept in memory.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the duration after which buffered messages are discarded.
+     */
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * @return the directory for the segment files of spilled messages or an empty optional if messages exceeding the
+     * in-memory capacity are rejected.
+     */
+    public Optional<Path> getSpillDirectory() {
+        return Optional.ofNullable(spillDirectory);
+    }
+
+    /**
+     * @return the size of one segment file in bytes.
+     */
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * @return the maximum number of segment files.
+     */
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    /**
+     * Builder for an OfflineBufferConfiguration object.
+     */
+    public interface OfflineBufferConfigurationBuilder {
+
+        /**
+         * @param capacity the maximum number of messages kept in memory, default is 1000.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code capacity} is not positive.
+         */
+        OfflineBufferConfigurationBuilder capacity(int capacity);
+
+        /**
+         * @param timeToLive the duration after which buffered messages are discarded, default is 5 minutes.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code timeToLive} is not positive.
+         */
+        OfflineBufferConfigurationBuilder timeToLive(Duration timeToLive);
+
+        /**
+         * @param spillDirectory the directory for the segment files of spilled messages. The directory is created
+         * if it does not exist.
+         * @return this builder.
+         */
+        OfflineBufferConfigurationBuilder spillDirectory(Path spillDirectory);
+
+        /**
+         * @param segmentSize the size of one segment file in bytes, default is 4 MiB. A single message must fit into
+         * one segment in order to be spilled.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code segmentSize} is not positive.
+         */
+        OfflineBufferConfigurationBuilder segmentSize(int segmentSize);
+
+        /**
+         * @param maxSegments the maximum number of segment files, default is 16.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maxSegments} is not positive.
+         */
+        OfflineBufferConfigurationBuilder maxSegments(int maxSegments);
+
+        /**
+         * @return new OfflineBufferConfiguration instance
+         */
+        OfflineBufferConfiguration build();
+
+    }
+
+    private static final class Builder implements OfflineBufferConfigurationBuilder {
+
+        private int capacity = DEFAULT_CAPACITY;
+        private Duration timeToLive = DEFAULT_TIME_TO_LIVE;
+        @Nullable private Path spillDirectory = null;
+        private int segmentSize = DEFAULT_SEGMENT_SIZE;
+        private int maxSegments = DEFAULT_MAX_SEGMENTS;
+
+        private Builder() {
+        }
+
+        @Override
+        public OfflineBufferConfigurationBuilder capacity(final int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Capacity must not be negative or zero.");
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        @Override
+        public OfflineBufferConfigurationBuilder timeToLive(final Duration timeToLive) {
+            requireNonNull(timeToLive, "Time to live must not be null.");
+            if (timeToLive.isNegative() || timeToLive.isZero()) {
+                throw new IllegalArgumentException("Time to live must not be negative or zero.");
+            }
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        @Override
+        public OfflineBufferConfigurationBuilder spillDirectory(final Path spillDirectory) {
+            this.spillDirectory = requireNonNull(spillDirectory, "Spill directory must not be null.");
+            return this;
+        }
+
+        @Override
+        public OfflineBufferConfigurationBuilder segmentSize(final int segmentSize) {
+            if (segmentSize <= 0) {
+                throw new IllegalArgumentException("Segment size must not be negative or zero.");
+            }
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        @Override
+        public OfflineBufferConfigurationBuilder maxSegments(final int maxSegments) {
+            if (maxSegments <= 0) {
+                throw new IllegalArgumentException("Max segments must not be negative or zero.");
+            }
+            this.maxSegments = maxSegments;
+            return this;
+        }
+
+        @Override
+        public OfflineBufferConfiguration build() {
+            return new OfflineBufferConfiguration(this);
+        }
+
+    }
+
+}
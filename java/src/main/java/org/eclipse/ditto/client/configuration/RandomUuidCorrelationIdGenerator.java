@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import java.util.UUID;
+
+/**
+ * Generates random UUIDs as correlation-ids.
+ *
+ * @since 1.1.0
+ */
+enum RandomUuidCorrelationIdGenerator implements CorrelationIdGenerator {
+
+    INSTANCE;
+
+    @Override
+    public String newCorrelationId() {
+        return UUID.randomUUID().toString();
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Generates correlation-ids consisting of a random prefix, which is chosen once per instance, and a sequence number.
+ * The prefix carries 96 random bits, encoded as 16 URL safe Base64 characters; the sequence number is encoded in base
+ * 36.
+ *
+ * @since 1.1.0
+ */
+@ThreadSafe
+final class SessionPrefixedCorrelationIdGenerator implements CorrelationIdGenerator {
+
+    private static final int PREFIX_BYTES = 12;
+    private static final int SEQUENCE_RADIX = 36;
+
+    private final String prefix;
+    private final AtomicLong sequence;
+
+    private SessionPrefixedCorrelationIdGenerator(final String prefix) {
+        this.prefix = prefix;
+        sequence = new AtomicLong();
+    }
+
+    /**
+     * Returns a new {@code SessionPrefixedCorrelationIdGenerator} with a random prefix.
+     *
+     * @return the generator.
+     */
+    static SessionPrefixedCorrelationIdGenerator newInstance() {
+        final byte[] randomBytes = new byte[PREFIX_BYTES];
+        new SecureRandom().nextBytes(randomBytes);
+        return new SessionPrefixedCorrelationIdGenerator(
+                Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes) + "-");
+    }
+
+    @Override
+    public String newCorrelationId() {
+        return prefix.concat(Long.toString(sequence.incrementAndGet(), SEQUENCE_RADIX));
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "prefix=" + prefix +
+                ", sequence=" + sequence +
+                "]";
+    }
+
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+/**
+ * Contains the tuning of the transport of the WebSocket connection, i. e. the options of the TCP socket and of the
+ * WebSocket framing. The defaults keep the socket options of the operating system; {@link #lowLatency()} and
+ * {@link #highThroughput()} provide presets for the respective workloads which may be adjusted further.
+ * <p>
+ * The settings trade latency against throughput and memory:
+ * </p>
+ * <ul>
+ * <li>{@code tcpNoDelay} sends small messages immediately instead of coalescing them (Nagle's algorithm) which lowers
+ * the latency of single messages at the cost of more and smaller TCP segments.</li>
+ * <li>{@code sendBufferSize} and {@code receiveBufferSize} bound the data in flight per connection; larger buffers
+ * keep links with a high bandwidth-delay product busy at the cost of memory per connection and of delaying the
+ * backpressure of a slow peer.</li>
+ * <li>{@code frameQueueSize} is the number of frames which may be queued for sending before a sending thread blocks;
+ * a small queue lets backpressure of the backend reach the sender early, a larger one absorbs bursts.</li>
+ * <li>{@code maxPayloadSize} is the payload size above which a message is split into continuation frames; smaller
+ * frames lower the memory needed for each frame at the cost of more frame headers.</li>
+ * <li>{@code connectTimeout} bounds establishing the connection including the WebSocket handshake; a short timeout
+ * fails over to the next endpoint earlier but fails on slow networks.</li>
+ * </ul>
+ *
+ * @since 1.1.0
+ */
+public final class TransportTuningConfiguration {
+
+    /**
+     * The minimum payload size of a WebSocket frame in bytes.
+     */
+    public static final int MIN_PAYLOAD_SIZE = 1024;
+
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final int DEFAULT_MAX_PAYLOAD_SIZE = 256 * 1024;
+    private static final int DEFAULT_FRAME_QUEUE_SIZE = 1;
+
+    private final Duration connectTimeout;
+    private final int maxPayloadSize;
+    private final int frameQueueSize;
+    private final boolean tcpNoDelay;
+    private final int sendBufferSize;
+    private final int receiveBufferSize;
+
+    private TransportTuningConfiguration(final Builder builder) {
+        connectTimeout = builder.connectTimeout;
+        maxPayloadSize = builder.maxPayloadSize;
+        frameQueueSize = builder.frameQueueSize;
+        tcpNoDelay = builder.tcpNoDelay;
+        sendBufferSize = builder.sendBufferSize;
+        receiveBufferSize = builder.receiveBufferSize;
+    }
+
+    /**
+     * @return a new builder used to create a TransportTuningConfiguration object
+     */
+    public static TransportTuningConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a builder preset for interactive workloads with few small messages: Nagle's algorithm is disabled and
+     * the connect timeout is 2 seconds so that an unreachable endpoint is failed over quickly.
+     *
+     * @return a new builder with the low latency preset.
+     */
+    public static TransportTuningConfigurationBuilder lowLatency() {
+        return newBuilder()
+                .tcpNoDelay(true)
+                .connectTimeout(Duration.ofSeconds(2));
+    }
+
+    /**
+     * Returns a builder preset for bulk workloads with many or large messages: the socket buffers are 1 MiB, up to
+     * 64 frames are queued for sending and frames carry up to 1 MiB. The backend has to accept frames of that size.
+     *
+     * @return a new builder with the high throughput preset.
+     */
+    public static TransportTuningConfigurationBuilder highThroughput() {
+        return newBuilder()
+                .sendBufferSize(1024 * 1024)
+                .receiveBufferSize(1024 * 1024)
+                .frameQueueSize(64)
+                .maxPayloadSize(1024 * 1024)
+                .connectTimeout(Duration.ofSeconds(10));
+    }
+
+    /**
+     * @return the timeout for establishing the connection including the WebSocket handshake.
+     */
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * @return the payload size in bytes above which a message is split into continuation frames.
+     */
+    public int getMaxPayloadSize() {
+        return maxPayloadSize;
+    }
+
+    /**
+     * @return the number of frames which may be queued for sending before a sending thread blocks.
+     */
+    public int getFrameQueueSize() {
+        return frameQueueSize;
+    }
+
+    /**
+     * @return whether Nagle's algorithm is disabled ({@code TCP_NODELAY}).
+     */
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    /**
+     * @return the size of the socket send buffer in bytes or {@code 0} for the default of the operating system.
+     */
+    public int getSendBufferSize() {
+        return sendBufferSize;
+    }
+
+    /**
+     * @return the size of the socket receive buffer in bytes or {@code 0} for the default of the operating system.
+     */
+    public int getReceiveBufferSize() {
+        return receiveBufferSize;
+    }
+
+    /**
+     * @return whether any option of the TCP socket differs from the default of the operating system.
+     */
+    public boolean hasSocketOptions() {
+        return tcpNoDelay || sendBufferSize > 0 || receiveBufferSize > 0;
+    }
+
+    /**
+     * Builder for a TransportTuningConfiguration object.
+     */
+    public interface TransportTuningConfigurationBuilder {
+
+        /**
+         * @param connectTimeout the timeout for establishing the connection including the WebSocket handshake,
+         * default is 5 seconds.
+         * @return this builder.
+         * @throws NullPointerException if {@code connectTimeout} is {@code null}.
+         * @throws IllegalArgumentException if {@code connectTimeout} is not positive or longer than
+         * {@link Integer#MAX_VALUE} milliseconds.
+         */
+        TransportTuningConfigurationBuilder connectTimeout(Duration connectTimeout);
+
+        /**
+         * @param maxPayloadSize the payload size in bytes above which a message is split into continuation frames,
+         * default is 256 KiB.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maxPayloadSize} is less than {@link #MIN_PAYLOAD_SIZE}.
+         */
+        TransportTuningConfigurationBuilder maxPayloadSize(int maxPayloadSize);
+
+        /**
+         * @param frameQueueSize the number of frames which may be queued for sending before a sending thread blocks,
+         * default is 1. If an outbound queue is configured, its writer thread blocks instead and the queue holds at
+         * least one whole batch of the writer thread, i. e. 64 frames, even if a smaller size is configured.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code frameQueueSize} is not positive.
+         */
+        TransportTuningConfigurationBuilder frameQueueSize(int frameQueueSize);
+
+        /**
+         * @param tcpNoDelay whether Nagle's algorithm is disabled, default is {@code false}.
+         * @return this builder.
+         */
+        TransportTuningConfigurationBuilder tcpNoDelay(boolean tcpNoDelay);
+
+        /**
+         * @param sendBufferSize the size of the socket send buffer in bytes, default is {@code 0} for the default of
+         * the operating system which may also round or limit the size.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code sendBufferSize} is negative.
+         */
+        TransportTuningConfigurationBuilder sendBufferSize(int sendBufferSize);
+
+        /**
+         * @param receiveBufferSize the size of the socket receive buffer in bytes, default is {@code 0} for the
+         * default of the operating system which may also round or limit the size.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code receiveBufferSize} is negative.
+         */
+        TransportTuningConfigurationBuilder receiveBufferSize(int receiveBufferSize);
+
+        /**
+         * @return new TransportTuningConfiguration instance
+         */
+        TransportTuningConfiguration build();
+
+    }
+
+    private static final class Builder implements TransportTuningConfigurationBuilder {
+
+        private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+        private int maxPayloadSize = DEFAULT_MAX_PAYLOAD_SIZE;
+        private int frameQueueSize = DEFAULT_FRAME_QUEUE_SIZE;
+        private boolean tcpNoDelay = false;
+        private int sendBufferSize = 0;
+        private int receiveBufferSize = 0;
+
+        private Builder() {
+        }
+
+        @Override
+        public TransportTuningConfigurationBuilder connectTimeout(final Duration connectTimeout) {
+            requireNonNull(connectTimeout, "Connect timeout must not be null.");
+            if (connectTimeout.isNegative() || connectTimeout.isZero()) {
+                throw new IllegalArgumentException("Connect timeout must not be negative or zero.");
+            }
+            if (connectTimeout.toMillis() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Connect timeout must not be longer than " + Integer.MAX_VALUE +
+                        " ms.");
+            }
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        @Override
+        public TransportTuningConfigurationBuilder maxPayloadSize(final int maxPayloadSize) {
+            if (maxPayloadSize < MIN_PAYLOAD_SIZE) {
+                throw new IllegalArgumentException("Max payload size must not be less than " + MIN_PAYLOAD_SIZE +
+                        ".");
+            }
+            this.maxPayloadSize = maxPayloadSize;
+            return this;
+        }
+
+        @Override
+        public TransportTuningConfigurationBuilder frameQueueSize(final int frameQueueSize) {
+            if (frameQueueSize <= 0) {
+                throw new IllegalArgumentException("Frame queue size must not be negative or zero.");
+            }
+            this.frameQueueSize = frameQueueSize;
+            return this;
+        }
+
+        @Override
+        public TransportTuningConfigurationBuilder tcpNoDelay(final boolean tcpNoDelay) {
+            this.tcpNoDelay = tcpNoDelay;
+            return this;
+        }
+
+        @Override
+        public TransportTuningConfigurationBuilder sendBufferSize(final int sendBufferSize) {
+            if (sendBufferSize < 0) {
+                throw new IllegalArgumentException("Send buffer size must not be negative.");
+            }
+            this.sendBufferSize = sendBufferSize;
+            return this;
+        }
+
+        @Override
+        public TransportTuningConfigurationBuilder receiveBufferSize(final int receiveBufferSize) {
+            if (receiveBufferSize < 0) {
+                throw new IllegalArgumentException("Receive buffer size must not be negative.");
+            }
+            this.receiveBufferSize = receiveBufferSize;
+            return this;
+        }
+
+        @Override
+        public TransportTuningConfiguration build() {
+            return new TransportTuningConfiguration(this);
+        }
+
+    }
+
+}
@@ -17,7 +17,10 @@ import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
 
 import java.net.URI;
 import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,19 +36,59 @@ import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
 public final class WebSocketMessagingConfiguration implements MessagingConfiguration {
 
     private final JsonSchemaVersion jsonSchemaVersion;
-    private final URI endpointUri;
+    private final List<URI> endpointUris;
     private final boolean reconnectEnabled;
+    private final Duration reconnectInitialBackoff;
+    private final Duration reconnectMaxBackoff;
+    private final boolean standbyConnectionEnabled;
     @Nullable private final ProxyConfiguration proxyConfiguration;
     @Nullable private final TrustStoreConfiguration trustStoreConfiguration;
+    private final int inboundDispatchLanes;
+    private final int outboundQueueCapacity;
+    @Nullable private final OfflineBufferConfiguration offlineBufferConfiguration;
+    private final WireEncoding wireEncoding;
+    @Nullable private final CompressionConfiguration compressionConfiguration;
+    @Nullable private final KeepAliveConfiguration keepAliveConfiguration;
+    @Nullable private final InboundFlowControlConfiguration inboundFlowControlConfiguration;
+    @Nullable private final MessageChunkingConfiguration messageChunkingConfiguration;
+    private final TransportTuningConfiguration transportTuningConfiguration;
+    private final Duration defaultResponseTimeout;
+    private final CorrelationIdGenerator correlationIdGenerator;
+    private final int handlerCacheSize;
 
-    private WebSocketMessagingConfiguration(final JsonSchemaVersion jsonSchemaVersion, final URI endpointUri,
-            final boolean reconnectEnabled, @Nullable final ProxyConfiguration proxyConfiguration,
-            @Nullable final TrustStoreConfiguration trustStoreConfiguration) {
+    private WebSocketMessagingConfiguration(final JsonSchemaVersion jsonSchemaVersion, final List<URI> endpointUris,
+            final boolean reconnectEnabled, final Duration reconnectInitialBackoff,
+            final Duration reconnectMaxBackoff, final boolean standbyConnectionEnabled,
+            @Nullable final ProxyConfiguration proxyConfiguration,
+            @Nullable final TrustStoreConfiguration trustStoreConfiguration, final int inboundDispatchLanes,
+            final int outboundQueueCapacity, @Nullable final OfflineBufferConfiguration offlineBufferConfiguration,
+            final WireEncoding wireEncoding, @Nullable final CompressionConfiguration compressionConfiguration,
+            @Nullable final KeepAliveConfiguration keepAliveConfiguration,
+            @Nullable final InboundFlowControlConfiguration inboundFlowControlConfiguration,
+            @Nullable final MessageChunkingConfiguration messageChunkingConfiguration,
+            final TransportTuningConfiguration transportTuningConfiguration,
+            final Duration defaultResponseTimeout, final CorrelationIdGenerator correlationIdGenerator,
+            final int handlerCacheSize) {
         this.jsonSchemaVersion = jsonSchemaVersion;
-        this.endpointUri = endpointUri;
+        this.endpointUris = Collections.unmodifiableList(new ArrayList<>(endpointUris));
         this.reconnectEnabled = reconnectEnabled;
+        this.reconnectInitialBackoff = reconnectInitialBackoff;
+        this.reconnectMaxBackoff = reconnectMaxBackoff;
+        this.standbyConnectionEnabled = standbyConnectionEnabled;
         this.proxyConfiguration = proxyConfiguration;
         this.trustStoreConfiguration = trustStoreConfiguration;
+        this.inboundDispatchLanes = inboundDispatchLanes;
+        this.outboundQueueCapacity = outboundQueueCapacity;
+        this.offlineBufferConfiguration = offlineBufferConfiguration;
+        this.wireEncoding = wireEncoding;
+        this.compressionConfiguration = compressionConfiguration;
+        this.keepAliveConfiguration = keepAliveConfiguration;
+        this.inboundFlowControlConfiguration = inboundFlowControlConfiguration;
+        this.messageChunkingConfiguration = messageChunkingConfiguration;
+        this.transportTuningConfiguration = transportTuningConfiguration;
+        this.defaultResponseTimeout = defaultResponseTimeout;
+        this.correlationIdGenerator = correlationIdGenerator;
+        this.handlerCacheSize = handlerCacheSize;
     }
 
     public static MessagingConfiguration.Builder newBuilder() {
@@ -59,7 +102,12 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
 
     @Override
     public URI getEndpointUri() {
-        return endpointUri;
+        return endpointUris.get(0);
+    }
+
+    @Override
+    public List<URI> getEndpointUris() {
+        return endpointUris;
     }
 
     @Override
@@ -67,6 +115,21 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
         return reconnectEnabled;
     }
 
+    @Override
+    public Duration getReconnectInitialBackoff() {
+        return reconnectInitialBackoff;
+    }
+
+    @Override
+    public Duration getReconnectMaxBackoff() {
+        return reconnectMaxBackoff;
+    }
+
+    @Override
+    public boolean isStandbyConnectionEnabled() {
+        return standbyConnectionEnabled;
+    }
+
     @Override
     public Optional<ProxyConfiguration> getProxyConfiguration() {
         return Optional.ofNullable(proxyConfiguration);
@@ -77,16 +140,92 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
         return Optional.ofNullable(trustStoreConfiguration);
     }
 
+    @Override
+    public int getInboundDispatchLanes() {
+        return inboundDispatchLanes;
+    }
+
+    @Override
+    public int getOutboundQueueCapacity() {
+        return outboundQueueCapacity;
+    }
+
+    @Override
+    public Optional<OfflineBufferConfiguration> getOfflineBufferConfiguration() {
+        return Optional.ofNullable(offlineBufferConfiguration);
+    }
+
+    @Override
+    public WireEncoding getWireEncoding() {
+        return wireEncoding;
+    }
+
+    @Override
+    public Optional<CompressionConfiguration> getCompressionConfiguration() {
+        return Optional.ofNullable(compressionConfiguration);
+    }
+
+    @Override
+    public Optional<KeepAliveConfiguration> getKeepAliveConfiguration() {
+        return Optional.ofNullable(keepAliveConfiguration);
+    }
+
+    @Override
+    public Optional<InboundFlowControlConfiguration> getInboundFlowControlConfiguration() {
+        return Optional.ofNullable(inboundFlowControlConfiguration);
+    }
+
+    @Override
+    public Optional<MessageChunkingConfiguration> getMessageChunkingConfiguration() {
+        return Optional.ofNullable(messageChunkingConfiguration);
+    }
+
+    @Override
+    public TransportTuningConfiguration getTransportTuningConfiguration() {
+        return transportTuningConfiguration;
+    }
+
+    @Override
+    public Duration getDefaultResponseTimeout() {
+        return defaultResponseTimeout;
+    }
+
+    @Override
+    public CorrelationIdGenerator getCorrelationIdGenerator() {
+        return correlationIdGenerator;
+    }
+
+    @Override
+    public int getHandlerCacheSize() {
+        return handlerCacheSize;
+    }
+
     private static final class WebSocketMessagingConfigurationBuilder implements MessagingConfiguration.Builder {
 
         private static final List<String> ALLOWED_URI_SCHEME = Arrays.asList("wss", "ws");
         private static final String WS_PATH = "/ws/";
 
         private JsonSchemaVersion jsonSchemaVersion = JsonSchemaVersion.LATEST;
-        private URI endpointUri;
+        private List<URI> endpointUris;
         private boolean reconnectEnabled = true;
+        private Duration reconnectInitialBackoff = Duration.ofSeconds(1);
+        private Duration reconnectMaxBackoff = Duration.ofSeconds(30);
+        private boolean standbyConnectionEnabled = false;
         private ProxyConfiguration proxyConfiguration;
         private TrustStoreConfiguration trustStoreConfiguration;
+        private int inboundDispatchLanes = 0;
+        private int outboundQueueCapacity = 0;
+        private OfflineBufferConfiguration offlineBufferConfiguration;
+        private WireEncoding wireEncoding = WireEncoding.JSON;
+        private CompressionConfiguration compressionConfiguration;
+        private KeepAliveConfiguration keepAliveConfiguration;
+        private InboundFlowControlConfiguration inboundFlowControlConfiguration;
+        private MessageChunkingConfiguration messageChunkingConfiguration;
+        private TransportTuningConfiguration transportTuningConfiguration =
+                TransportTuningConfiguration.newBuilder().build();
+        private Duration defaultResponseTimeout = Duration.ofSeconds(60);
+        private CorrelationIdGenerator correlationIdGenerator;
+        private int handlerCacheSize = 10_000;
 
         @Override
         public MessagingConfiguration.Builder jsonSchemaVersion(final JsonSchemaVersion jsonSchemaVersion) {
@@ -96,15 +235,30 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
 
         @Override
         public MessagingConfiguration.Builder endpoint(final String endpoint) {
+            this.endpointUris = Collections.singletonList(toEndpointUri(endpoint));
+            return this;
+        }
+
+        @Override
+        public MessagingConfiguration.Builder endpoints(final List<String> endpoints) {
+            checkNotNull(endpoints, "endpoints");
+            checkArgument(endpoints, list -> !list.isEmpty(), () -> "The endpoints must not be empty!");
+            final List<URI> uris = new ArrayList<>(endpoints.size());
+            for (final String endpoint : endpoints) {
+                uris.add(toEndpointUri(endpoint));
+            }
+            this.endpointUris = uris;
+            return this;
+        }
+
+        private static URI toEndpointUri(final String endpoint) {
             final URI uri = URI.create(checkNotNull(endpoint));
             final String uriScheme = uri.getScheme();
             checkArgument(uriScheme, ALLOWED_URI_SCHEME::contains, () -> {
                 final String msgTemplate = "Scheme {0} not allowed for endpoint URI! Must be one of {1}.";
                 return MessageFormat.format(msgTemplate, uriScheme, ALLOWED_URI_SCHEME);
             });
-
-            this.endpointUri = uri;
-            return this;
+            return uri;
         }
 
         @Override
@@ -113,6 +267,26 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
             return this;
         }
 
+        @Override
+        public MessagingConfiguration.Builder reconnectBackoff(final Duration initialBackoff,
+                final Duration maxBackoff) {
+            checkNotNull(initialBackoff, "initialBackoff");
+            checkNotNull(maxBackoff, "maxBackoff");
+            checkArgument(initialBackoff, backoff -> !backoff.isNegative() && !backoff.isZero(),
+                    () -> "The initialBackoff must be positive!");
+            checkArgument(maxBackoff, backoff -> backoff.compareTo(initialBackoff) >= 0,
+                    () -> "The maxBackoff must not be less than the initialBackoff!");
+            reconnectInitialBackoff = initialBackoff;
+            reconnectMaxBackoff = maxBackoff;
+            return this;
+        }
+
+        @Override
+        public MessagingConfiguration.Builder standbyConnectionEnabled(final boolean standbyConnectionEnabled) {
+            this.standbyConnectionEnabled = standbyConnectionEnabled;
+            return this;
+        }
+
         @Override
         public MessagingConfiguration.Builder proxyConfiguration(final ProxyConfiguration proxyConfiguration) {
             this.proxyConfiguration = checkNotNull(proxyConfiguration, "proxyConfiguration");
@@ -126,11 +300,112 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
             return this;
         }
 
+        @Override
+        public MessagingConfiguration.Builder inboundDispatchLanes(final int inboundDispatchLanes) {
+            checkArgument(inboundDispatchLanes, lanes -> lanes >= 0,
+                    () -> "The inboundDispatchLanes must not be negative!");
+            this.inboundDispatchLanes = inboundDispatchLanes;
+            return this;
+        }
+
+        @Override
+        public MessagingConfiguration.Builder outboundQueueCapacity(final int outboundQueueCapacity) {
+            checkArgument(outboundQueueCapacity, capacity -> capacity >= 0,
+                    () -> "The outboundQueueCapacity must not be negative!");
+            this.outboundQueueCapacity = outboundQueueCapacity;
+            return this;
+        }
+
+        @Override
+        public MessagingConfiguration.Builder offlineBufferConfiguration(
+                final OfflineBufferConfiguration offlineBufferConfiguration) {
+            this.offlineBufferConfiguration = checkNotNull(offlineBufferConfiguration, "offlineBufferConfiguration");
+            return this;
+        }
+
+        @Override
+        public MessagingConfiguration.Builder wireEncoding(final WireEncoding wireEncoding) {
+            this.wireEncoding = checkNotNull(wireEncoding, "wireEncoding");
+            return this;
+        }
+
+        @Override
+        public MessagingConfiguration.Builder compressionConfiguration(
+                final CompressionConfiguration compressionConfiguration) {
+            this.compressionConfiguration = checkNotNull(compressionConfiguration, "compressionConfiguration");
+            return this;
+        }
+
+        @Override
+        public MessagingConfiguration.Builder keepAliveConfiguration(
+                final KeepAliveConfiguration keepAliveConfiguration) {
+            this.keepAliveConfiguration = checkNotNull(keepAliveConfiguration, "keepAliveConfiguration");
+            return this;
+        }
+
+        @Override
+        public MessagingConfiguration.Builder inboundFlowControlConfiguration(
+                final InboundFlowControlConfiguration inboundFlowControlConfiguration) {
+            this.inboundFlowControlConfiguration =
+                    checkNotNull(inboundFlowControlConfiguration, "inboundFlowControlConfiguration");
+            return this;
+        }
+
+        @Override
+        public MessagingConfiguration.Builder messageChunkingConfiguration(
+                final MessageChunkingConfiguration messageChunkingConfiguration) {
+            this.messageChunkingConfiguration =
+                    checkNotNull(messageChunkingConfiguration, "messageChunkingConfiguration");
+            return this;
+        }
+
+        @Override
+        public MessagingConfiguration.Builder transportTuningConfiguration(
+                final TransportTuningConfiguration transportTuningConfiguration) {
+            this.transportTuningConfiguration =
+                    checkNotNull(transportTuningConfiguration, "transportTuningConfiguration");
+            return this;
+        }
+
+        @Override
+        public MessagingConfiguration.Builder defaultResponseTimeout(final Duration defaultResponseTimeout) {
+            checkNotNull(defaultResponseTimeout, "defaultResponseTimeout");
+            checkArgument(defaultResponseTimeout, timeout -> !timeout.isNegative() && !timeout.isZero(),
+                    () -> "The defaultResponseTimeout must be positive!");
+            this.defaultResponseTimeout = defaultResponseTimeout;
+            return this;
+        }
+
+        @Override
+        public MessagingConfiguration.Builder correlationIdGenerator(
+                final CorrelationIdGenerator correlationIdGenerator) {
+            this.correlationIdGenerator = checkNotNull(correlationIdGenerator, "correlationIdGenerator");
+            return this;
+        }
+
+        @Override
+        public MessagingConfiguration.Builder handlerCacheSize(final int handlerCacheSize) {
+            checkArgument(handlerCacheSize, size -> size >= 0, () -> "The handlerCacheSize must not be negative!");
+            this.handlerCacheSize = handlerCacheSize;
+            return this;
+        }
+
         @Override
         public MessagingConfiguration build() {
-            final URI wsEndpointUri = appendWsPath(this.endpointUri, jsonSchemaVersion);
-            return new WebSocketMessagingConfiguration(jsonSchemaVersion, wsEndpointUri, reconnectEnabled,
-                    proxyConfiguration, trustStoreConfiguration);
+            final List<URI> wsEndpointUris = new ArrayList<>(endpointUris.size());
+            for (final URI endpointUri : endpointUris) {
+                wsEndpointUris.add(appendWsPath(endpointUri, jsonSchemaVersion));
+            }
+            // each configuration gets a generator of its own, so the prefix differs between client instances:
+            final CorrelationIdGenerator generator = null != correlationIdGenerator
+                    ? correlationIdGenerator
+                    : CorrelationIdGenerator.sessionPrefixed();
+            return new WebSocketMessagingConfiguration(jsonSchemaVersion, wsEndpointUris, reconnectEnabled,
+                    reconnectInitialBackoff, reconnectMaxBackoff, standbyConnectionEnabled,
+                    proxyConfiguration, trustStoreConfiguration, inboundDispatchLanes, outboundQueueCapacity,
+                    offlineBufferConfiguration, wireEncoding, compressionConfiguration, keepAliveConfiguration,
+                    inboundFlowControlConfiguration, messageChunkingConfiguration, transportTuningConfiguration,
+                    defaultResponseTimeout, generator, handlerCacheSize);
         }
 
         private static URI appendWsPath(final URI baseUri, final JsonSchemaVersion schemaVersion) {
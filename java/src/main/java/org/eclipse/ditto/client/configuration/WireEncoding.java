@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+/**
+ * Enumerates the encodings of Ditto Protocol messages on the WebSocket.
+ *
+ * @since 1.1.0
+ */
+public enum WireEncoding {
+
+    /**
+     * Ditto Protocol messages are sent and received as JSON in text frames. This is the encoding spoken by the
+     * Eclipse Ditto WebSocket endpoint.
+     */
+    JSON,
+
+    /**
+     * Ditto Protocol messages are sent and received as CBOR (RFC 7049) in binary frames. The CBOR data item has the
+     * same structure as the JSON message, so the endpoint must be able to decode CBOR. Protocol commands like
+     * {@code START-SEND-EVENTS} and their acknowledgements are still exchanged in text frames.
+     */
+    CBOR
+
+}
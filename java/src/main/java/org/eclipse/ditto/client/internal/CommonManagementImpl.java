@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -42,6 +43,7 @@ import org.eclipse.ditto.client.internal.bus.PointerBus;
 import org.eclipse.ditto.client.internal.bus.SelectorUtil;
 import org.eclipse.ditto.client.management.CommonManagement;
 import org.eclipse.ditto.client.management.FeatureHandle;
+import org.eclipse.ditto.client.management.HandlerCacheMetrics;
 import org.eclipse.ditto.client.management.ThingHandle;
 import org.eclipse.ditto.client.messaging.MessagingProvider;
 import org.eclipse.ditto.client.options.Option;
@@ -110,6 +112,24 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
 
     @Override
     public CompletableFuture<Void> startConsumption(final Option<?>... consumptionOptions) {
+        return doStartConsumption(toConsumptionConfig(consumptionOptions));
+    }
+
+    @Override
+    public CompletableFuture<Void> startRawConsumption(final Consumer<String> rawMessageConsumer,
+            final Option<?>... consumptionOptions) {
+        return startRawConsumption(rawMessageConsumer, topic -> true, consumptionOptions);
+    }
+
+    @Override
+    public CompletableFuture<Void> startRawConsumption(final Consumer<String> rawMessageConsumer,
+            final Predicate<String> topicFilter, final Option<?>... consumptionOptions) {
+        argumentNotNull(rawMessageConsumer, "rawMessageConsumer");
+        argumentNotNull(topicFilter, "topicFilter");
+        return doStartRawConsumption(rawMessageConsumer, topicFilter, toConsumptionConfig(consumptionOptions));
+    }
+
+    private static Map<String, String> toConsumptionConfig(final Option<?>... consumptionOptions) {
 
         // only accept "Consumption" related options here:
         final Optional<Option<?>> unknownOptionIncluded = Arrays.stream(consumptionOptions)
@@ -132,8 +152,7 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
                 subscriptionConfig.put(CONSUMPTION_PARAM_FILTER, filter.toString()));
         options.getExtraFields().ifPresent(extraFields ->
                 subscriptionConfig.put(CONSUMPTION_PARAM_EXTRA_FIELDS, extraFields.toString()));
-
-        return doStartConsumption(subscriptionConfig);
+        return subscriptionConfig;
     }
 
     /**
@@ -144,6 +163,17 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
      */
     protected abstract CompletableFuture<Void> doStartConsumption(Map<String, String> consumptionConfig);
 
+    /**
+     * Starts the consumption of raw twin events / messages / live events.
+     *
+     * @param rawMessageConsumer the consumer of the raw messages.
+     * @param topicFilter the filter the topics of the raw messages must match to be handed over.
+     * @param consumptionConfig the configuration Map to apply for the consumption.
+     * @return a CompletableFuture that terminates when the start operation was successful.
+     */
+    protected abstract CompletableFuture<Void> doStartRawConsumption(Consumer<String> rawMessageConsumer,
+            Predicate<String> topicFilter, Map<String, String> consumptionConfig);
+
     /**
      * Returns the MessagingProvider this CommonManagement uses.
      *
@@ -189,6 +219,11 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
         return bus;
     }
 
+    @Override
+    public HandlerCacheMetrics getHandlerCacheMetrics() {
+        return bus.getHandlerCacheMetrics();
+    }
+
     @Override
     public boolean deregister(final String registrationId) {
         return handlerRegistry.deregister(registrationId);
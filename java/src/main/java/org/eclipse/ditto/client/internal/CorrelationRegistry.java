@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.argumentNotEmpty;
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds pending requests by their correlation-id until their response arrives or their deadline passes. Deadlines are
+ * tracked by a hashed wheel timer: each entry is put into the slot of the tick its deadline falls into, and a single
+ * ticker thread expires the entries of one slot per tick. Registering and removing an entry is therefore constant in
+ * time, regardless of how many requests are pending.
+ * <p>
+ * Expired entries are removed and handed to the timeout handler, which is invoked on the ticker thread and thus must
+ * not block. Deadlines have a granularity of {@value #TICK_MILLIS} milliseconds; an entry never expires before its
+ * deadline but may expire up to one tick after it.
+ * </p>
+ * <p>
+ * The ticker thread is started with the first registration and released by {@link #close()}.
+ * </p>
+ *
+ * @param <T> the type of the pending requests.
+ * @since 1.1.0
+ */
+@ThreadSafe
+public final class CorrelationRegistry<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CorrelationRegistry.class);
+
+    private static final long TICK_MILLIS = 100L;
+    private static final int WHEEL_SIZE = 512;
+
+    private final String threadName;
+    private final Duration defaultTimeout;
+    private final BiConsumer<String, T> timeoutHandler;
+    private final ConcurrentMap<String, Entry<T>> entries;
+    private final List<Set<Entry<T>>> wheel;
+    private final AtomicLong timeouts;
+
+    private volatile long lastTick;
+    @Nullable private volatile ScheduledExecutorService ticker;
+    private boolean closed;
+
+    private CorrelationRegistry(final String threadName, final Duration defaultTimeout,
+            final BiConsumer<String, T> timeoutHandler) {
+        this.threadName = threadName;
+        this.defaultTimeout = defaultTimeout;
+        this.timeoutHandler = timeoutHandler;
+        entries = new ConcurrentHashMap<>();
+        wheel = new ArrayList<>(WHEEL_SIZE);
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(ConcurrentHashMap.newKeySet());
+        }
+        timeouts = new AtomicLong();
+        lastTick = 0L;
+        ticker = null;
+        closed = false;
+    }
+
+    /**
+     * Returns a new {@code CorrelationRegistry}.
+     *
+     * @param threadName the name of the ticker thread.
+     * @param defaultTimeout the timeout of requests which are registered without a timeout of their own.
+     * @param timeoutHandler invoked with the correlation-id and the request of each expired entry.
+     * @param <T> the type of the pending requests.
+     * @return the registry.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code defaultTimeout} is not positive.
+     */
+    public static <T> CorrelationRegistry<T> newInstance(final String threadName, final Duration defaultTimeout,
+            final BiConsumer<String, T> timeoutHandler) {
+        checkNotNull(threadName, "threadName");
+        checkNotNull(defaultTimeout, "defaultTimeout");
+        checkNotNull(timeoutHandler, "timeoutHandler");
+        if (defaultTimeout.isNegative() || defaultTimeout.isZero()) {
+            throw new IllegalArgumentException("Default timeout must not be negative or zero.");
+        }
+        return new CorrelationRegistry<>(threadName, defaultTimeout, timeoutHandler);
+    }
+
+    /**
+     * Registers the passed request with the default timeout.
+     *
+     * @param correlationId the correlation-id of the request.
+     * @param request the pending request.
+     * @return the request which was previously registered with {@code correlationId} or {@code null}.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code correlationId} is empty.
+     * @see #register(CharSequence, Object, Duration)
+     */
+    @Nullable
+    public T register(final CharSequence correlationId, final T request) {
+        return register(correlationId, request, null);
+    }
+
+    /**
+     * Registers the passed request which expires after the passed timeout unless it is removed before. A request
+     * previously registered with the same correlation-id is replaced and will not expire anymore.
+     *
+     * @param correlationId the correlation-id of the request.
+     * @param request the pending request.
+     * @param timeout the timeout of the request or {@code null} for the default timeout.
+     * @return the request which was previously registered with {@code correlationId} or {@code null}.
+     * @throws NullPointerException if {@code correlationId} or {@code request} is {@code null}.
+     * @throws IllegalArgumentException if {@code correlationId} is empty.
+     */
+    @Nullable
+    public T register(final CharSequence correlationId, final T request, @Nullable final Duration timeout) {
+        argumentNotEmpty(correlationId, "correlationId");
+        checkNotNull(request, "request");
+
+        final Entry<T> entry = new Entry<>(correlationId.toString(), request);
+        final Entry<T> previous = entries.put(entry.correlationId, entry);
+        if (null != previous) {
+            unschedule(previous);
+        }
+        schedule(entry, null != timeout ? timeout : defaultTimeout);
+        return null != previous ? previous.request : null;
+    }
+
+    private void schedule(final Entry<T> entry, final Duration timeout) {
+        if (!startTickerIfNecessary()) {
+            return;
+        }
+        final long ticks = Math.max(1L, (timeout.toMillis() + TICK_MILLIS - 1) / TICK_MILLIS);
+        // the slot after the next one, as the next one may be expired concurrently:
+        final long deadlineTick = lastTick + 1 + ticks;
+        final Set<Entry<T>> slot = wheel.get(slotIndex(deadlineTick));
+        entry.deadlineTick = deadlineTick;
+        entry.slot = slot;
+        slot.add(entry);
+    }
+
+    private boolean startTickerIfNecessary() {
+        if (null != ticker) {
+            return true;
+        }
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            if (null == ticker) {
+                final ScheduledExecutorService newTicker =
+                        new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory(threadName));
+                newTicker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+                ticker = newTicker;
+            }
+            return true;
+        }
+    }
+
+    private void tick() {
+        final long currentTick = lastTick + 1;
+        final Iterator<Entry<T>> slotIterator = wheel.get(slotIndex(currentTick)).iterator();
+        while (slotIterator.hasNext()) {
+            final Entry<T> entry = slotIterator.next();
+            if (entry.deadlineTick <= currentTick) {
+                slotIterator.remove();
+                if (entries.remove(entry.correlationId, entry)) {
+                    timeouts.incrementAndGet();
+                    notifyTimeout(entry);
+                }
+            }
+        }
+        lastTick = currentTick;
+    }
+
+    private void notifyTimeout(final Entry<T> entry) {
+        try {
+            timeoutHandler.accept(entry.correlationId, entry.request);
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Timeout handler failed for correlation-id <{}>: {}", entry.correlationId, e.getMessage());
+        }
+    }
+
+    private static int slotIndex(final long tick) {
+        return (int) (tick % WHEEL_SIZE);
+    }
+
+    private static <T> void unschedule(final Entry<T> entry) {
+        final Set<Entry<T>> slot = entry.slot;
+        if (null != slot) {
+            slot.remove(entry);
+        }
+    }
+
+    /**
+     * Removes the request registered with the passed correlation-id.
+     *
+     * @param correlationId the correlation-id.
+     * @return the removed request or {@code null} if no request was registered with {@code correlationId}.
+     * @throws NullPointerException if {@code correlationId} is {@code null}.
+     */
+    @Nullable
+    public T remove(final CharSequence correlationId) {
+        checkNotNull(correlationId, "correlationId");
+        final Entry<T> entry = entries.remove(correlationId.toString());
+        if (null == entry) {
+            return null;
+        }
+        unschedule(entry);
+        return entry.request;
+    }
+
+    /**
+     * Removes the passed request if it is still registered with the passed correlation-id.
+     *
+     * @param correlationId the correlation-id.
+     * @param request the request.
+     * @return {@code true} if the request was removed.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    public boolean remove(final CharSequence correlationId, final T request) {
+        checkNotNull(correlationId, "correlationId");
+        checkNotNull(request, "request");
+        final String key = correlationId.toString();
+        final Entry<T> entry = entries.get(key);
+        if (null != entry && request.equals(entry.request) && entries.remove(key, entry)) {
+            unschedule(entry);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param correlationId the correlation-id.
+     * @return {@code true} if a request is registered with {@code correlationId}.
+     * @throws NullPointerException if {@code correlationId} is {@code null}.
+     */
+    public boolean contains(final CharSequence correlationId) {
+        checkNotNull(correlationId, "correlationId");
+        return entries.containsKey(correlationId.toString());
+    }
+
+    /**
+     * @return the number of registered requests.
+     */
+    public int getInFlight() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of requests which expired since the creation of this registry.
+     */
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    /**
+     * Stops the ticker thread. Requests which are still registered or registered afterwards do not expire anymore.
+     */
+    public void close() {
+        final ScheduledExecutorService tickerToShutdown;
+        synchronized (this) {
+            closed = true;
+            tickerToShutdown = ticker;
+            ticker = null;
+        }
+        if (null != tickerToShutdown) {
+            tickerToShutdown.shutdownNow();
+        }
+    }
+
+    private static final class Entry<T> {
+
+        private final String correlationId;
+        private final T request;
+        private volatile long deadlineTick;
+        @Nullable private volatile Set<Entry<T>> slot;
+
+        private Entry(final String correlationId, final T request) {
+            this.correlationId = correlationId;
+            this.request = request;
+            deadlineTick = 0L;
+            slot = null;
+        }
+
+    }
+
+}
@@ -13,6 +13,8 @@
 package org.eclipse.ditto.client.internal;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.ditto.client.DittoClient;
@@ -21,6 +23,7 @@ import org.eclipse.ditto.client.changes.internal.ImmutableChange;
 import org.eclipse.ditto.client.changes.internal.ImmutableFeatureChange;
 import org.eclipse.ditto.client.changes.internal.ImmutableFeaturesChange;
 import org.eclipse.ditto.client.changes.internal.ImmutableThingChange;
+import org.eclipse.ditto.client.configuration.MessagingConfiguration;
 import org.eclipse.ditto.client.internal.bus.BusFactory;
 import org.eclipse.ditto.client.internal.bus.JsonPointerSelectors;
 import org.eclipse.ditto.client.internal.bus.PointerBus;
@@ -91,11 +94,14 @@ public final class DefaultDittoClient implements DittoClient {
     private final TwinImpl twin;
     private final LiveImpl live;
     private final PoliciesImpl policies;
+    private final ResponseForwarder responseForwarder;
 
-    private DefaultDittoClient(final TwinImpl twin, final LiveImpl live, final PoliciesImpl policies) {
+    private DefaultDittoClient(final TwinImpl twin, final LiveImpl live, final PoliciesImpl policies,
+            final ResponseForwarder responseForwarder) {
         this.twin = twin;
         this.live = live;
         this.policies = policies;
+        this.responseForwarder = responseForwarder;
         logVersionInformation();
     }
 
@@ -117,7 +123,63 @@ public final class DefaultDittoClient implements DittoClient {
         final TwinImpl twin = configureTwin(twinMessagingProvider, responseForwarder);
         final LiveImpl live = configureLive(liveMessagingProvider, responseForwarder, messageSerializerRegistry);
         final PoliciesImpl policy = configurePolicyClient(policyMessagingProvider, responseForwarder);
-        return new DefaultDittoClient(twin, live, policy);
+        distinct(twinMessagingProvider, liveMessagingProvider, policyMessagingProvider)
+                .forEach(MessagingProvider::initialize);
+        return new DefaultDittoClient(twin, live, policy, responseForwarder);
+    }
+
+    /**
+     * Creates a new {@link org.eclipse.ditto.client.DittoClient} without blocking the calling thread. The messaging
+     * providers are initialized in parallel, each distinct provider only once.
+     *
+     * @param twinMessagingProvider the messaging provider to use for the {@code Twin} aspect.
+     * @param liveMessagingProvider the messaging provider to use for the {@code Live} aspect.
+     * @param policyMessagingProvider the messaging provider for the {@code Policy} part of the client.
+     * @param responseForwarder forwarder used to optimize response performance.
+     * @param messageSerializerRegistry registry for all serializers of live messages.
+     * @return a future of the client which is completed exceptionally if any of the providers could not be
+     * initialized. In that case all providers, the buses and the {@code responseForwarder} are closed.
+     * @since 1.1.0
+     */
+    public static CompletableFuture<DittoClient> newInstanceAsync(final MessagingProvider twinMessagingProvider,
+            final MessagingProvider liveMessagingProvider,
+            final MessagingProvider policyMessagingProvider,
+            final ResponseForwarder responseForwarder,
+            final MessageSerializerRegistry messageSerializerRegistry) {
+        final TwinImpl twin = configureTwin(twinMessagingProvider, responseForwarder);
+        final LiveImpl live = configureLive(liveMessagingProvider, responseForwarder, messageSerializerRegistry);
+        final PoliciesImpl policy = configurePolicyClient(policyMessagingProvider, responseForwarder);
+        final List<MessagingProvider> messagingProviders =
+                distinct(twinMessagingProvider, liveMessagingProvider, policyMessagingProvider);
+        final CompletableFuture<?>[] initializations = messagingProviders.stream()
+                .map(MessagingProvider::initializeAsync)
+                .toArray(CompletableFuture<?>[]::new);
+        final CompletableFuture<DittoClient> result = new CompletableFuture<>();
+        CompletableFuture.allOf(initializations).whenComplete((aVoid, error) -> {
+            if (null == error) {
+                result.complete(new DefaultDittoClient(twin, live, policy, responseForwarder));
+            } else {
+                // nobody gets hold of the client, thus the providers which could be initialized have to be closed here:
+                messagingProviders.forEach(MessagingProvider::close);
+                twin.getBus().close();
+                live.getBus().close();
+                policy.getBus().close();
+                responseForwarder.close();
+                result.completeExceptionally(error);
+            }
+        });
+        return result;
+    }
+
+    private static List<MessagingProvider> distinct(final MessagingProvider... messagingProviders) {
+        // providers are compared by identity as one provider may be used for several aspects:
+        final List<MessagingProvider> result = new ArrayList<>(messagingProviders.length);
+        for (final MessagingProvider messagingProvider : messagingProviders) {
+            if (result.stream().noneMatch(distinctProvider -> distinctProvider == messagingProvider)) {
+                result.add(messagingProvider);
+            }
+        }
+        return result;
     }
 
     @Override
@@ -177,6 +239,7 @@ public final class DefaultDittoClient implements DittoClient {
         live.getBus().close();
         policies.getMessagingProvider().close();
         policies.getBus().close();
+        responseForwarder.close();
     }
 
     private static void logVersionInformation() {
@@ -188,21 +251,24 @@ public final class DefaultDittoClient implements DittoClient {
     private static TwinImpl configureTwin(final MessagingProvider messagingProvider,
             final ResponseForwarder responseForwarder) {
         final String name = TopicPath.Channel.TWIN.getName();
-        final PointerBus bus = BusFactory.createPointerBus(name, messagingProvider.getExecutorService());
+        final PointerBus bus = createPointerBus(name, messagingProvider);
         init(bus, messagingProvider, responseForwarder);
-        final JsonSchemaVersion schemaVersion = messagingProvider.getMessagingConfiguration().getJsonSchemaVersion();
-        final OutgoingMessageFactory messageFactory = OutgoingMessageFactory.newInstance(schemaVersion);
+        final MessagingConfiguration configuration = messagingProvider.getMessagingConfiguration();
+        final OutgoingMessageFactory messageFactory = OutgoingMessageFactory.newInstance(
+                configuration.getJsonSchemaVersion(), configuration.getCorrelationIdGenerator());
         return TwinImpl.newInstance(messagingProvider, responseForwarder, messageFactory, bus);
     }
 
     private static LiveImpl configureLive(final MessagingProvider messagingProvider,
             final ResponseForwarder responseForwarder, final MessageSerializerRegistry messageSerializerRegistry) {
         final String name = TopicPath.Channel.LIVE.getName();
-        final PointerBus bus = BusFactory.createPointerBus(name, messagingProvider.getExecutorService());
+        final PointerBus bus = createPointerBus(name, messagingProvider);
         init(bus, messagingProvider, responseForwarder);
         final String sessionId = messagingProvider.getAuthenticationConfiguration().getSessionId();
-        final JsonSchemaVersion schemaVersion = messagingProvider.getMessagingConfiguration().getJsonSchemaVersion();
-        final OutgoingMessageFactory messageFactory = OutgoingMessageFactory.newInstance(schemaVersion);
+        final MessagingConfiguration configuration = messagingProvider.getMessagingConfiguration();
+        final JsonSchemaVersion schemaVersion = configuration.getJsonSchemaVersion();
+        final OutgoingMessageFactory messageFactory =
+                OutgoingMessageFactory.newInstance(schemaVersion, configuration.getCorrelationIdGenerator());
         return LiveImpl.newInstance(messagingProvider, responseForwarder, messageFactory, bus, schemaVersion,
                 sessionId, messageSerializerRegistry);
     }
@@ -210,22 +276,28 @@ public final class DefaultDittoClient implements DittoClient {
     private static PoliciesImpl configurePolicyClient(final MessagingProvider messagingProvider,
             final ResponseForwarder responseForwarder) {
         final String busName = TopicPath.Channel.NONE.getName();
-        final PointerBus bus = BusFactory.createPointerBus(busName, messagingProvider.getExecutorService());
+        final PointerBus bus = createPointerBus(busName, messagingProvider);
         init(bus, messagingProvider, responseForwarder);
         final OutgoingMessageFactory messageFactory = getOutgoingMessageFactoryForPolicies(messagingProvider);
         return PoliciesImpl.newInstance(messagingProvider, responseForwarder, messageFactory, bus);
     }
 
+    private static PointerBus createPointerBus(final String name, final MessagingProvider messagingProvider) {
+        return BusFactory.createPointerBus(name, messagingProvider.getExecutorService(),
+                messagingProvider.getMessagingConfiguration().getHandlerCacheSize());
+    }
+
     private static OutgoingMessageFactory getOutgoingMessageFactoryForPolicies(final MessagingProvider messagingProvider) {
-        final JsonSchemaVersion schemaVersion = messagingProvider.getMessagingConfiguration().getJsonSchemaVersion();
+        final MessagingConfiguration configuration = messagingProvider.getMessagingConfiguration();
+        final JsonSchemaVersion schemaVersion = configuration.getJsonSchemaVersion();
         if (JsonSchemaVersion.V_1.equals(schemaVersion)) {
             LOGGER.warn("The MessagingProvider was configured with JsonSchemaVersion V_1 which is invalid for policy" +
                     " commands. Therefore defaulting to V_2 for all policy commands." +
                     " Please consider upgrading to JsonSchemaVersion V_2 as V_1 is deprecated and will be removed" +
                     " in an upcoming release.");
-            return OutgoingMessageFactory.newInstance(JsonSchemaVersion.V_2);
+            return OutgoingMessageFactory.newInstance(JsonSchemaVersion.V_2, configuration.getCorrelationIdGenerator());
         }
-        return OutgoingMessageFactory.newInstance(schemaVersion);
+        return OutgoingMessageFactory.newInstance(schemaVersion, configuration.getCorrelationIdGenerator());
     }
 
     private static void init(final PointerBus bus, final MessagingProvider messagingProvider,
@@ -233,7 +305,6 @@ public final class DefaultDittoClient implements DittoClient {
         registerKeyBasedDistributorForIncomingEvents(bus);
         registerKeyBasedHandlersForIncomingEvents(bus);
         messagingProvider.registerReplyHandler(responseForwarder::handle);
-        messagingProvider.initialize();
     }
 
     private static void registerKeyBasedDistributorForIncomingEvents(final PointerBus bus) {
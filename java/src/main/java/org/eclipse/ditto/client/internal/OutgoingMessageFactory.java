@@ -20,11 +20,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
 
+import org.eclipse.ditto.client.configuration.CorrelationIdGenerator;
 import org.eclipse.ditto.client.live.messages.MessageSerializationException;
 import org.eclipse.ditto.client.live.messages.MessageSerializer;
 import org.eclipse.ditto.client.live.messages.MessageSerializerRegistry;
@@ -94,9 +94,12 @@ public final class OutgoingMessageFactory {
             EntityTagMatchers.fromList(Collections.singletonList(EntityTagMatcher.asterisk()));
 
     private final JsonSchemaVersion jsonSchemaVersion;
+    private final CorrelationIdGenerator correlationIdGenerator;
 
-    private OutgoingMessageFactory(final JsonSchemaVersion jsonSchemaVersion) {
+    private OutgoingMessageFactory(final JsonSchemaVersion jsonSchemaVersion,
+            final CorrelationIdGenerator correlationIdGenerator) {
         this.jsonSchemaVersion = jsonSchemaVersion;
+        this.correlationIdGenerator = correlationIdGenerator;
     }
 
     /**
@@ -107,8 +110,23 @@ public final class OutgoingMessageFactory {
      * @throws NullPointerException if {@code configuration} is {@code null}.
      */
     public static OutgoingMessageFactory newInstance(final JsonSchemaVersion jsonSchemaVersion) {
+        return newInstance(jsonSchemaVersion, CorrelationIdGenerator.sessionPrefixed());
+    }
+
+    /**
+     * Creates a new {@code OutgoingMessageFactory}.
+     *
+     * @param jsonSchemaVersion the version in which messages should be created by this factory.
+     * @param correlationIdGenerator the generator of the correlation-ids of the created messages.
+     * @return the factory.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @since 1.1.0
+     */
+    public static OutgoingMessageFactory newInstance(final JsonSchemaVersion jsonSchemaVersion,
+            final CorrelationIdGenerator correlationIdGenerator) {
         checkNotNull(jsonSchemaVersion, "jsonSchemaVersion");
-        return new OutgoingMessageFactory(jsonSchemaVersion);
+        checkNotNull(correlationIdGenerator, "correlationIdGenerator");
+        return new OutgoingMessageFactory(jsonSchemaVersion, correlationIdGenerator);
     }
 
     /**
@@ -436,7 +454,7 @@ public final class OutgoingMessageFactory {
     public <T> Message<T> sendMessage(final MessageSerializerRegistry registry, final Message<T> message) {
 
         final MessageHeaders messageHeaders = message.getHeaders().toBuilder()
-                .correlationId(message.getHeaders().getCorrelationId().orElseGet(() -> UUID.randomUUID().toString()))
+                .correlationId(message.getHeaders().getCorrelationId().orElseGet(correlationIdGenerator::newCorrelationId))
                 .build();
 
         final MessageBuilder<T> messageBuilder = message.getPayload()
@@ -498,12 +516,14 @@ public final class OutgoingMessageFactory {
     }
 
     private DittoHeaders buildDittoHeaders(final boolean allowExists, final Option<?>... options) {
+        final OptionsEvaluator.Global global = OptionsEvaluator.forGlobalOptions(options);
         final OptionsEvaluator.Modify modify = OptionsEvaluator.forModifyOptions(options);
 
         final DittoHeadersBuilder headersBuilder = DittoHeaders.newBuilder()
-                .correlationId(UUID.randomUUID().toString())
+                .correlationId(correlationIdGenerator.newCorrelationId())
                 .schemaVersion(jsonSchemaVersion)
                 .responseRequired(modify.isResponseRequired().orElse(true));
+        global.getTimeout().ifPresent(headersBuilder::timeout);
         modify.exists().ifPresent(exists -> {
             if (!allowExists) {
                 throw new IllegalArgumentException("Option \"exists\" is not allowed for this operation.");
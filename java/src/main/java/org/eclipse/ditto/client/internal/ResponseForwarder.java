@@ -16,11 +16,14 @@ import static org.eclipse.ditto.model.base.common.ConditionChecker.argumentNotEm
 import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
 
 import java.text.MessageFormat;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 import org.eclipse.ditto.model.base.headers.DittoHeaders;
@@ -33,6 +36,11 @@ import org.slf4j.LoggerFactory;
  * Holds a map of correlation-id to response promises to quickly select the correct Bus for received responses. The
  * standard consumer registry is very slow for large number of registrations. Until we optimize the Registry we use this
  * HashMap for better performance.
+ * <p>
+ * Each response promise is completed with a {@link TimeoutException} if no response arrives within its timeout. A
+ * promise which is completed or cancelled otherwise is removed right away. Timed out promises are completed on the
+ * timeout executor, so that dependent stages of a promise do not delay timing out other promises.
+ * </p>
  *
  * @since 1.0.0
  */
@@ -41,25 +49,63 @@ public final class ResponseForwarder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ResponseForwarder.class);
 
-    private final ConcurrentMap<String, CompletableFuture<CommandResponse>> map;
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(60);
 
-    private ResponseForwarder() {
-        map = new ConcurrentHashMap<>();
+    private final Executor timeoutExecutor;
+    private final CorrelationRegistry<CompletableFuture<CommandResponse>> registry;
+
+    private ResponseForwarder(final Duration defaultTimeout, final Executor timeoutExecutor) {
+        this.timeoutExecutor = timeoutExecutor;
+        registry = CorrelationRegistry.newInstance("ditto-client-response-timeout", defaultTimeout,
+                this::completeWithTimeout);
     }
 
     /**
-     * Returns an instance of {@code ResponseForwarder}.
+     * Returns an instance of {@code ResponseForwarder} whose response promises time out after 60 seconds by default.
+     * Timed out promises are completed on the thread tracking the timeouts, use
+     * {@link #getInstance(Duration, Executor)} to complete them on another executor.
      *
      * @return the instance.
      */
     public static ResponseForwarder getInstance() {
-        return new ResponseForwarder();
+        return getInstance(DEFAULT_TIMEOUT, Runnable::run);
+    }
+
+    /**
+     * Returns an instance of {@code ResponseForwarder}.
+     *
+     * @param defaultTimeout the timeout of response promises which are put without a timeout of their own.
+     * @param timeoutExecutor the executor completing timed out response promises, usually the callback executor of
+     * the client.
+     * @return the instance.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code defaultTimeout} is not positive.
+     * @since 1.1.0
+     */
+    public static ResponseForwarder getInstance(final Duration defaultTimeout, final Executor timeoutExecutor) {
+        checkNotNull(timeoutExecutor, "timeoutExecutor");
+        return new ResponseForwarder(defaultTimeout, timeoutExecutor);
+    }
+
+    private void completeWithTimeout(final String correlationId,
+            final CompletableFuture<CommandResponse> responsePromise) {
+
+        LOGGER.debug("No response received in time for correlation-id <{}>.", correlationId);
+        final String msgTemplate = "No response was received in time for correlation-id <{0}>!";
+        final TimeoutException timeoutException =
+                new TimeoutException(MessageFormat.format(msgTemplate, correlationId));
+        try {
+            timeoutExecutor.execute(() -> responsePromise.completeExceptionally(timeoutException));
+        } catch (final RejectedExecutionException e) {
+            // the client is shutting down - nobody would complete the promise otherwise:
+            responsePromise.completeExceptionally(timeoutException);
+        }
     }
 
     /**
      * Associates the specified response promise with the specified correlation-id. If this correlation-id is already
      * associated with another response promise the association gets replaced and the previous promise is completed with
-     * an IllegalStateException.
+     * an IllegalStateException. The response promise times out after the default timeout.
      *
      * @param correlationId the correlationId of the request.
      * @param responsePromise the response promise for the request with the given correlation-id.
@@ -70,10 +116,32 @@ public final class ResponseForwarder {
     public CompletableFuture<CommandResponse> put(final CharSequence correlationId,
             final CompletableFuture<CommandResponse> responsePromise) {
 
+        return put(correlationId, responsePromise, null);
+    }
+
+    /**
+     * Associates the specified response promise with the specified correlation-id. If this correlation-id is already
+     * associated with another response promise the association gets replaced and the previous promise is completed with
+     * an IllegalStateException.
+     *
+     * @param correlationId the correlationId of the request.
+     * @param responsePromise the response promise for the request with the given correlation-id.
+     * @param timeout the duration after which the response promise is completed with a {@link TimeoutException} or
+     * {@code null} for the default timeout.
+     * @return {@code responsePromise} if no conflict occurred or the previously associated response promise.
+     * @throws NullPointerException if {@code correlationId} or {@code responsePromise} is {@code null}.
+     * @throws IllegalArgumentException if {@code correlationId} is empty.
+     * @since 1.1.0
+     */
+    public CompletableFuture<CommandResponse> put(final CharSequence correlationId,
+            final CompletableFuture<CommandResponse> responsePromise, @Nullable final Duration timeout) {
+
         argumentNotEmpty(correlationId, "correlationId");
         checkNotNull(responsePromise, "response promise");
 
-        final CompletableFuture<CommandResponse> previous = map.put(correlationId.toString(), responsePromise);
+        final CompletableFuture<CommandResponse> previous = registry.register(correlationId, responsePromise, timeout);
+        // a promise which is cancelled by the caller does not wait for its response anymore:
+        responsePromise.whenComplete((response, error) -> registry.remove(correlationId, responsePromise));
 
         if (null != previous && !responsePromise.equals(previous)) {
             final String msgTemplate = "A new response promise was associated with correlation-id <{0}>!";
@@ -103,7 +171,7 @@ public final class ResponseForwarder {
 
         final String correlationId = correlationIdOptional.get();
         LOGGER.trace("Received response for correlation-id <{}>.", correlationId);
-        final CompletableFuture<CommandResponse> responsePromise = map.remove(correlationId);
+        final CompletableFuture<CommandResponse> responsePromise = registry.remove(correlationId);
         if (null != responsePromise) {
             tryToCompleteResponsePromise(response, responsePromise);
         } else {
@@ -113,6 +181,31 @@ public final class ResponseForwarder {
         return Optional.ofNullable(responsePromise);
     }
 
+    /**
+     * @return the number of response promises which wait for their response.
+     * @since 1.1.0
+     */
+    public int getPendingResponses() {
+        return registry.getInFlight();
+    }
+
+    /**
+     * @return the number of response promises which were completed with a {@link TimeoutException}.
+     * @since 1.1.0
+     */
+    public long getResponseTimeouts() {
+        return registry.getTimeouts();
+    }
+
+    /**
+     * Stops timing out response promises and releases the thread doing so.
+     *
+     * @since 1.1.0
+     */
+    public void close() {
+        registry.close();
+    }
+
     private static void tryToCompleteResponsePromise(final CommandResponse<?> response,
             final CompletableFuture<CommandResponse> responsePromise) {
 
@@ -139,7 +139,7 @@ public final class SendTerminator<T> {
     public CompletableFuture<T> applyModify(final Function<ThingModifyCommandResponse<?>, T> function) {
         final CompletableFuture<CommandResponse> intermediaryResult = createIntermediaryResult(function);
         LOGGER.trace("Sending modify command <{}>.", command);
-        messagingProvider.sendCommand(command, channel);
+        sendCommand(intermediaryResult);
 
         return intermediaryResult.thenApply(tcr -> (ThingModifyCommandResponse<?>) tcr).thenApply(function);
     }
@@ -157,7 +157,7 @@ public final class SendTerminator<T> {
     public CompletableFuture<T> applyModifyPolicy(final Function<PolicyModifyCommandResponse<?>, T> function) {
         final CompletableFuture<CommandResponse> intermediaryResult = createIntermediaryResult(function);
         LOGGER.trace("Sending modify command <{}>.", command);
-        messagingProvider.sendCommand(command, channel);
+        sendCommand(intermediaryResult);
 
         return intermediaryResult.thenApply(pcr -> (PolicyModifyCommandResponse<?>) pcr).thenApply(function);
     }
@@ -172,7 +172,7 @@ public final class SendTerminator<T> {
         final boolean responseRequired = dittoHeaders.isResponseRequired();
         final Optional<String> correlationId = dittoHeaders.getCorrelationId();
         if (responseRequired && correlationId.isPresent()) {
-            responseForwarder.put(correlationId.get(), intermediaryResult);
+            responseForwarder.put(correlationId.get(), intermediaryResult, dittoHeaders.getTimeout().orElse(null));
         } else {
             // If no response was required or no correlation-id present: complete the future right away
             // no need to let the caller wait:
@@ -182,6 +182,16 @@ public final class SendTerminator<T> {
         return intermediaryResult;
     }
 
+    private void sendCommand(final CompletableFuture<CommandResponse> intermediaryResult) {
+        try {
+            messagingProvider.sendCommand(command, channel);
+        } catch (final RuntimeException e) {
+            // completing the result removes it from the response forwarder, no response would arrive for it anyway:
+            intermediaryResult.completeExceptionally(e);
+            throw e;
+        }
+    }
+
     /**
      * Applies the {@code command} of this SendTerminator with "void" behavior. If a response is required and received
      * the returned promise is completed with {@code null}. If no response is required the promise is immediately
@@ -194,7 +204,7 @@ public final class SendTerminator<T> {
         // this case.
         final CompletableFuture<CommandResponse> intermediaryResult = createIntermediaryResult(cr -> null);
         LOGGER.trace("Sending void command <{}>.", command);
-        messagingProvider.sendCommand(command, channel);
+        sendCommand(intermediaryResult);
 
         return intermediaryResult.thenApply(tcr -> null);
     }
@@ -211,7 +221,7 @@ public final class SendTerminator<T> {
     public CompletableFuture<T> applyView(final Function<ThingQueryCommandResponse<?>, T> function) {
         final CompletableFuture<CommandResponse> result = createIntermediaryResult(function);
         LOGGER.trace("Sending view command <{}>.", command);
-        messagingProvider.sendCommand(command, channel);
+        sendCommand(result);
 
         return result.thenApply(tcr -> (ThingQueryCommandResponse<?>) tcr).thenApply(function);
     }
@@ -229,7 +239,7 @@ public final class SendTerminator<T> {
     public CompletableFuture<T> applyViewWithPolicyResponse(final Function<PolicyQueryCommandResponse<?>, T> function) {
         final CompletableFuture<CommandResponse> result = createIntermediaryResult(function);
         LOGGER.trace("Sending view command <{}>.", command);
-        messagingProvider.sendCommand(command, channel);
+        sendCommand(result);
 
         return result.thenApply(tcr -> (PolicyQueryCommandResponse<?>) tcr).thenApply(function);
     }
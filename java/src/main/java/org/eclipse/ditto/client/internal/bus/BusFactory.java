@@ -33,7 +33,23 @@ public final class BusFactory {
      * @return the newly created PointerBus
      */
     public static PointerBus createPointerBus(final String name, final ExecutorService executor) {
-        return new DefaultPointerBus(name, executor);
+        return createPointerBus(name, executor, DefaultRegistry.DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a new {@link PointerBus} using the passed in {@code name} and {@code executor} which caches the
+     * consumers selected for at most {@code selectionCacheSize} pointers.
+     *
+     * @param name the name of the bus (e.g. used in thread names).
+     * @param executor the {@link ExecutorService} to use for asynchronous operations on the Bus.
+     * @param selectionCacheSize the maximum number of cached selections or {@code 0} to disable caching.
+     * @return the newly created PointerBus
+     * @throws IllegalArgumentException if {@code selectionCacheSize} is negative.
+     * @since 1.1.0
+     */
+    public static PointerBus createPointerBus(final String name, final ExecutorService executor,
+            final int selectionCacheSize) {
+        return new DefaultPointerBus(name, executor, selectionCacheSize);
     }
 
 }
@@ -12,9 +12,6 @@
  */
 package org.eclipse.ditto.client.internal.bus;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import javax.annotation.Nullable;
 
 import org.eclipse.ditto.json.JsonPointer;
@@ -27,10 +24,11 @@ import org.eclipse.ditto.json.JsonPointer;
  */
 final class DefaultJsonPointerSelector implements JsonPointerSelector {
 
-    private final JsonPointer jsonPointer;
+    private final JsonPointerTemplate template;
 
     private DefaultJsonPointerSelector(final JsonPointer jsonPointer) {
-        this.jsonPointer = jsonPointer;
+        // compiled once, so matching does not have to find out which levels are template parameters:
+        template = JsonPointerTemplate.of(jsonPointer);
     }
 
     /**
@@ -46,7 +44,15 @@ final class DefaultJsonPointerSelector implements JsonPointerSelector {
 
     @Override
     public JsonPointer getPointer() {
-        return jsonPointer;
+        return template.getPointer();
+    }
+
+    /**
+     * @return the compiled template of the pointer.
+     * @since 1.1.0
+     */
+    JsonPointerTemplate getTemplate() {
+        return template;
     }
 
     @Override
@@ -68,19 +74,20 @@ final class DefaultJsonPointerSelector implements JsonPointerSelector {
             final JsonPointerWithChangePaths target = (JsonPointerWithChangePaths) pointer;
             final JsonPointer targetPointer = target.getTargetPath();
 
-            // we need to add the target path for modification on empty objects
-            final List<JsonPointer> targetPaths = new ArrayList<>(target.getChangePaths());
-            targetPaths.add(JsonPointer.empty());
-
-            return targetPaths.stream() // iterate over all configured "changePaths"
-                    .anyMatch(
-                            targetPath -> // and check if the "changePath" appended to the initial "targetPath" matches
-                                    // the template key looked up via "getObject()":
-                                    JsonPointerSelector.doesTargetMatchTemplate(targetPointer.append(targetPath),
-                                            getPointer()));
+            // we need to match the target path itself for modification on empty objects
+            if (template.matches(targetPointer)) {
+                return true;
+            }
+            // check if any "changePath" appended to the initial "targetPath" matches the template:
+            for (final JsonPointer changePath : target.getChangePaths()) {
+                if (template.matches(targetPointer, changePath)) {
+                    return true;
+                }
+            }
+            return false;
         } else if (JsonPointer.class.isAssignableFrom(type)) // or JsonPointer class are supported
         {
-            return JsonPointerSelector.doesTargetMatchTemplate(pointer, getPointer());
+            return template.matches(pointer);
         } else {
             // for all other classes (e.g. String) we can very quickly respond:
             return false;
@@ -17,6 +17,8 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
+import org.eclipse.ditto.client.management.HandlerCacheMetrics;
+
 /**
  * Default implementation of {@link PointerBus}.
  *
@@ -30,10 +32,10 @@ final class DefaultPointerBus implements PointerBus {
     private final ExecutorService executor;
     private final Registry<Consumer<PointerWithData>> consumerRegistry;
 
-    DefaultPointerBus(final String name, final ExecutorService executor) {
+    DefaultPointerBus(final String name, final ExecutorService executor, final int selectionCacheSize) {
         this.name = name;
         this.executor = executor;
-        consumerRegistry = new DefaultRegistry<>();
+        consumerRegistry = new DefaultRegistry<>(selectionCacheSize);
     }
 
     @Override
@@ -41,6 +43,11 @@ final class DefaultPointerBus implements PointerBus {
         return executor;
     }
 
+    @Override
+    public HandlerCacheMetrics getHandlerCacheMetrics() {
+        return consumerRegistry.getCacheMetrics();
+    }
+
     @Override
     public <T> void notify(final PointerWithData<T> pointerWithData) {
         consumerRegistry.select(pointerWithData.getPointer())
@@ -72,6 +79,7 @@ final class DefaultPointerBus implements PointerBus {
         return getClass().getSimpleName() + " [" +
                 "name=" + name +
                 ", executor=" + executor +
+                ", consumerRegistry=" + consumerRegistry +
                 "]";
     }
 
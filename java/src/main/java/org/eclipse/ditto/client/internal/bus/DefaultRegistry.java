@@ -13,108 +13,173 @@
 package org.eclipse.ditto.client.internal.bus;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.management.HandlerCacheMetrics;
 import org.eclipse.ditto.json.JsonPointer;
 
 /**
- * Default implementation of {@link Registry}.
+ * Default implementation of {@link Registry}. The selectors are indexed by a {@link SelectorIndex}, so selecting the
+ * registrations for a pointer does not check every registered selector.
+ * <p>
+ * Reading never blocks: {@link #select(JsonPointer)} and {@link #iterator()} do not take a lock. Writers are serialized
+ * and replace the immutable registration list of a selector and the changed parts of the index copy-on-write, so a
+ * reader sees either the state before or after a write of each selector. The selections are cached in a bounded
+ * {@link SelectionCache} which invalidates them selectively after each write.
+ * </p>
  *
  * @since 1.0.0
  */
+@ThreadSafe
 final class DefaultRegistry<T> implements Registry<T> {
 
-    private final ConcurrentHashMap<JsonPointer, List<Registration<T>>> pointerCache = new
-            ConcurrentHashMap<>();
-    private final ConcurrentHashMap<JsonPointerSelector, List<Registration<T>>> registrationMap = new
-            ConcurrentHashMap<>();
+    /**
+     * The default maximum number of cached selections.
+     */
+    static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    private final ConcurrentHashMap<JsonPointerSelector, List<Registration<T>>> registrationMap =
+            new ConcurrentHashMap<>();
+    private final SelectorIndex selectorIndex = new SelectorIndex();
+    private final Object writeLock = new Object();
 
-    private final boolean useCache;
+    @Nullable private final SelectionCache<T> pointerCache;
 
     /**
      * Constructs a new DefaultRegistry with JsonPointer caching enabled.
      */
     DefaultRegistry() {
-        this(true);
+        this(DEFAULT_CACHE_SIZE);
     }
 
     /**
      * Constructs a new DefaultRegistry withe the passed options.
      *
-     * @param useJsonPointerCache whether to use a JsonPointer cache or not.
+     * @param cacheSize the maximum number of cached selections or {@code 0} to disable caching.
+     * @throws IllegalArgumentException if {@code cacheSize} is negative.
      */
-    private DefaultRegistry(final boolean useJsonPointerCache) {
-        this.useCache = useJsonPointerCache;
+    DefaultRegistry(final int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("The cache size must not be negative.");
+        }
+        pointerCache = cacheSize > 0 ? new SelectionCache<>(cacheSize) : null;
     }
 
     @Override
-    public synchronized Registration<T> register(final JsonPointerSelector sel, final T obj) {
-        List<Registration<T>> registrations;
-        if (null == (registrations = this.registrationMap.get(sel))) {
-            registrations = this.registrationMap.computeIfAbsent(sel, selector -> new ArrayList<>());
+    public Registration<T> register(final JsonPointerSelector sel, final T obj) {
+        final Registration<T> reg = new DefaultRegistration<>(sel, obj, () -> remove(sel));
+        synchronized (writeLock) {
+            final List<Registration<T>> registrations = registrationMap.get(sel);
+            final List<Registration<T>> newRegistrations;
+            if (null == registrations) {
+                newRegistrations = Collections.singletonList(reg);
+                selectorIndex.add(sel);
+            } else {
+                newRegistrations = new ArrayList<>(registrations.size() + 1);
+                newRegistrations.addAll(registrations);
+                newRegistrations.add(reg);
+            }
+            registrationMap.put(sel, Collections.unmodifiableList(newRegistrations));
+            changed(sel);
         }
-
-        final Registration<T> reg = new DefaultRegistration<>(sel, obj, () -> {
-            this.registrationMap.remove(sel);
-            pointerCache.clear();
-        });
-        registrations.add(reg);
-
-        pointerCache.clear();
         return reg;
     }
 
+    private void remove(final JsonPointerSelector sel) {
+        synchronized (writeLock) {
+            if (null != registrationMap.remove(sel)) {
+                selectorIndex.remove(sel);
+                changed(sel);
+            }
+        }
+    }
+
     @Override
-    public synchronized boolean unregister(final JsonPointer pointer) {
+    public boolean unregister(final JsonPointer pointer) {
         boolean found = false;
-        for (final JsonPointerSelector sel : registrationMap.keySet()) {
-            if (!sel.matches(pointer)) {
-                continue;
-            }
-            if (null != registrationMap.remove(sel) && !found) {
-                found = true;
+        synchronized (writeLock) {
+            for (final JsonPointerSelector sel : selectorIndex.select(pointer)) {
+                if (null != registrationMap.remove(sel)) {
+                    selectorIndex.remove(sel);
+                    changed(sel);
+                    found = true;
+                }
             }
         }
+        return found;
+    }
 
-        if (useCache) {
-            pointerCache.remove(pointer);
+    /**
+     * Invalidates the cached selections the passed selector may be part of. Must be called after the registrations
+     * were changed, so that a selection computed before is not cached afterwards.
+     */
+    private void changed(final JsonPointerSelector sel) {
+        if (null != pointerCache) {
+            pointerCache.invalidate(sel);
         }
-        return found;
     }
 
     @Override
-    public synchronized List<Registration<T>> select(final JsonPointer pointer) {
-        List<Registration<T>> selectedRegs;
-        if (null != (selectedRegs = pointerCache.get(pointer))) {
-            return selectedRegs;
+    public List<Registration<T>> select(final JsonPointer pointer) {
+        SelectionCache.Stamp stamp = null;
+        if (null != pointerCache && SelectionCache.isCacheable(pointer)) {
+            final List<Registration<T>> cachedSelection = pointerCache.get(pointer);
+            if (null != cachedSelection) {
+                return cachedSelection;
+            }
+            stamp = pointerCache.stamp(pointer);
         }
 
         final List<Registration<T>> regs = new ArrayList<>();
-        registrationMap.forEach((selector, theRegistrations) -> {
-            if (selector.matches(pointer)) {
+        for (final JsonPointerSelector selector : selectorIndex.select(pointer)) {
+            final List<Registration<T>> theRegistrations = registrationMap.get(selector);
+            if (null != theRegistrations) {
                 regs.addAll(theRegistrations);
             }
-        });
+        }
 
-        if (useCache && !regs.isEmpty()) {
-            pointerCache.put(pointer, regs);
+        if (null != pointerCache && null != stamp && !regs.isEmpty()) {
+            pointerCache.put(pointer, stamp, regs);
         }
 
         return regs;
     }
 
     @Override
-    public synchronized void clear() {
-        pointerCache.clear();
-        registrationMap.clear();
+    public void clear() {
+        synchronized (writeLock) {
+            registrationMap.clear();
+            selectorIndex.clear();
+            if (null != pointerCache) {
+                pointerCache.invalidateAll();
+            }
+        }
+    }
+
+    @Override
+    public HandlerCacheMetrics getCacheMetrics() {
+        return null != pointerCache ? pointerCache : HandlerCacheMetrics.empty();
     }
 
     @Override
-    public synchronized Iterator<Registration<T>> iterator() {
+    public Iterator<Registration<T>> iterator() {
         final List<Registration<T>> regs = new ArrayList<>();
         registrationMap.forEach((selector, theRegistrations) -> regs.addAll(theRegistrations));
         return regs.iterator();
     }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "selectors=" + registrationMap.size() +
+                ", pointerCache=" + pointerCache +
+                "]";
+    }
+
 }
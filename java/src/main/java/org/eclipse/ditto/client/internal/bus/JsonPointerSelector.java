@@ -103,7 +103,7 @@ public interface JsonPointerSelector extends Predicate<JsonPointer> {
     static boolean matchesTemplateParam(@Nullable final JsonKey targetKeyOnLevel,
             @Nullable final JsonKey configuredKeyOnLevel) {
         return targetKeyOnLevel != null && configuredKeyOnLevel != null
-                && configuredKeyOnLevel.toString().matches("^\\{.*}$");
+                && JsonPointerTemplate.isParameter(configuredKeyOnLevel);
     }
 
 }
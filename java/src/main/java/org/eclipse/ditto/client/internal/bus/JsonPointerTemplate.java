@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.util.Iterator;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.json.JsonKey;
+import org.eclipse.ditto.json.JsonPointer;
+
+/**
+ * A {@link JsonPointer} template like {@code /things/{thingId}/attributes} compiled for matching: for each level it
+ * is known whether the key is a literal or a parameter like {@code {thingId}} which matches any key. Matching neither
+ * evaluates regular expressions nor allocates strings.
+ * <p>
+ * A template matches a target pointer if it is empty or if each level of the template matches the key of the target
+ * on the same level, i. e. the target may have more levels than the template.
+ * </p>
+ *
+ * @since 1.1.0
+ */
+@Immutable
+final class JsonPointerTemplate {
+
+    private final JsonPointer pointer;
+    private final JsonKey[] keys;
+    private final boolean[] parameters;
+
+    private JsonPointerTemplate(final JsonPointer pointer) {
+        this.pointer = pointer;
+        final int levelCount = pointer.getLevelCount();
+        keys = new JsonKey[levelCount];
+        parameters = new boolean[levelCount];
+        int level = 0;
+        for (final JsonKey key : pointer) {
+            keys[level] = key;
+            parameters[level] = isParameter(key);
+            level++;
+        }
+    }
+
+    /**
+     * Compiles the passed template pointer.
+     *
+     * @param pointer the pointer which may contain parameters like {@code {thingId}}.
+     * @return the compiled template.
+     * @throws NullPointerException if {@code pointer} is {@code null}.
+     */
+    static JsonPointerTemplate of(final JsonPointer pointer) {
+        return new JsonPointerTemplate(checkNotNull(pointer, "pointer"));
+    }
+
+    /**
+     * Indicates whether the passed key is a parameter like {@code {thingId}}, i. e. it is enclosed in curly braces
+     * and does not contain line terminators.
+     *
+     * @param key the key.
+     * @return {@code true} if the key is a parameter.
+     */
+    static boolean isParameter(final CharSequence key) {
+        final int length = key.length();
+        if (length < 2 || '{' != key.charAt(0) || '}' != key.charAt(length - 1)) {
+            return false;
+        }
+        for (int i = 1; i < length - 1; i++) {
+            if (isLineTerminator(key.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLineTerminator(final char c) {
+        return '\n' == c || '\r' == c || '\u0085' == c || '\u2028' == c || '\u2029' == c;
+    }
+
+    /**
+     * @return the template pointer.
+     */
+    JsonPointer getPointer() {
+        return pointer;
+    }
+
+    /**
+     * @return the number of levels of the template.
+     */
+    int getLevelCount() {
+        return keys.length;
+    }
+
+    /**
+     * @param level the level.
+     * @return the key of the template on the passed level.
+     * @throws IndexOutOfBoundsException if the template has no such level.
+     */
+    JsonKey getKey(final int level) {
+        return keys[level];
+    }
+
+    /**
+     * @param level the level.
+     * @return whether the key of the template on the passed level is a parameter.
+     * @throws IndexOutOfBoundsException if the template has no such level.
+     */
+    boolean isParameter(final int level) {
+        return parameters[level];
+    }
+
+    /**
+     * Indicates whether this template matches the passed target.
+     *
+     * @param target the target pointer.
+     * @return {@code true} if the template matches.
+     */
+    boolean matches(final JsonPointer target) {
+        if (target.isEmpty()) {
+            return true;
+        }
+        return keys.length > 0 && matchedLevels(target.iterator(), 0) == keys.length;
+    }
+
+    /**
+     * Indicates whether this template matches the passed target appended by the passed path without creating the
+     * appended pointer.
+     *
+     * @param target the target pointer.
+     * @param path the path to append to the target.
+     * @return {@code true} if the template matches.
+     */
+    boolean matches(final JsonPointer target, final JsonPointer path) {
+        if (target.isEmpty() && path.isEmpty()) {
+            return true;
+        }
+        if (keys.length == 0) {
+            return false;
+        }
+        final int matchedLevels = matchedLevels(target.iterator(), 0);
+        if (matchedLevels < 0) {
+            return false;
+        }
+        return matchedLevels == keys.length || matchedLevels(path.iterator(), matchedLevels) == keys.length;
+    }
+
+    /**
+     * Matches the keys of the passed iterator against the template starting at the passed level.
+     *
+     * @return the level up to which the keys match or {@code -1} if a key does not match.
+     */
+    private int matchedLevels(final Iterator<JsonKey> targetKeys, final int fromLevel) {
+        int level = fromLevel;
+        while (level < keys.length && targetKeys.hasNext()) {
+            final JsonKey targetKey = targetKeys.next();
+            if (!parameters[level] && !keys[level].equals(targetKey)) {
+                return -1;
+            }
+            level++;
+        }
+        return level;
+    }
+
+}
@@ -19,20 +19,31 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.json.JsonField;
 import org.eclipse.ditto.json.JsonFieldSelector;
 import org.eclipse.ditto.json.JsonKey;
+import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
 
 /**
  * Contains a {@code targetPath} where a Change was initially created and a list of changed paths relative to this base
  * {@code targetPath} containing information about which elements got changes together with the "root".
+ * <p>
+ * If created for a changed value via {@link #ofChangedValue(JsonPointer, JsonValue)}, the changed paths are only
+ * calculated from the value when they are requested, the {@link SelectorIndex} instead walks the changed object only
+ * as deep as selectors are registered.
+ * </p>
  *
  * @since 1.0.0
  */
 final class JsonPointerWithChangePaths implements JsonPointer {
 
     private final JsonPointer targetPath;
-    private final List<JsonPointer> changePaths;
+    @Nullable private final JsonObject changedObject;
+    @Nullable private volatile List<JsonPointer> changePaths;
 
     /**
      * Constructs a new {@code JsonPointerWithChangePaths}.
@@ -43,9 +54,47 @@ final class JsonPointerWithChangePaths implements JsonPointer {
      */
     JsonPointerWithChangePaths(final JsonPointer targetPath, final List<JsonPointer> changePaths) {
         this.targetPath = targetPath;
+        changedObject = null;
         this.changePaths = Collections.unmodifiableList(new ArrayList<>(changePaths));
     }
 
+    private JsonPointerWithChangePaths(final JsonPointer targetPath, final JsonObject changedObject) {
+        this.targetPath = targetPath;
+        this.changedObject = changedObject;
+        changePaths = null;
+    }
+
+    /**
+     * Returns a {@code JsonPointerWithChangePaths} whose changed paths are the paths of the passed changed value.
+     * <p>
+     * Example: If a {@code targetPath} of "/things/my:thing1/attributes" is given and a {@code changedValue} of
+     * {@code { "foo": { "sub": 1, "misc": "hello" }, "bar": { "other": false } } } the changed paths would be:
+     * </p>
+     * <ul>
+     * <li>/foo</li>
+     * <li>/foo/sub</li>
+     * <li>/foo/misc</li>
+     * <li>/bar/other</li>
+     * </ul>
+     * <p>
+     * An object on a path is only a changed path itself if it contains more than one field. If the value is not an
+     * object or absent, the only changed path is the empty pointer.
+     * </p>
+     *
+     * @param targetPath the JsonPointer where a Change was initially created
+     * @param changedValue the value of the Change or {@code null}.
+     * @return the JsonPointerWithChangePaths.
+     * @since 1.1.0
+     */
+    static JsonPointerWithChangePaths ofChangedValue(final JsonPointer targetPath,
+            @Nullable final JsonValue changedValue) {
+
+        if (null == changedValue || !changedValue.isObject()) {
+            return new JsonPointerWithChangePaths(targetPath, Collections.singletonList(JsonPointer.empty()));
+        }
+        return new JsonPointerWithChangePaths(targetPath, changedValue.asObject());
+    }
+
     /**
      * Returns the JsonPointer where a Change was initially created.
      *
@@ -61,7 +110,67 @@ final class JsonPointerWithChangePaths implements JsonPointer {
      * @return a list of changed paths relative to the {@code targetPath} which were also involved in a change.
      */
     List<JsonPointer> getChangePaths() {
-        return changePaths;
+        List<JsonPointer> result = changePaths;
+        if (null == result) {
+            result = Collections.unmodifiableList(getChangePaths(Integer.MAX_VALUE));
+            changePaths = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the changed paths relative to the {@code targetPath} which have at most the passed number of levels.
+     *
+     * @param maxLevels the maximum number of levels of the returned paths.
+     * @return the changed paths with at most {@code maxLevels} levels.
+     * @since 1.1.0
+     */
+    List<JsonPointer> getChangePaths(final int maxLevels) {
+        final List<JsonPointer> result = new ArrayList<>();
+        final List<JsonPointer> calculatedChangePaths = changePaths;
+        if (null != calculatedChangePaths) {
+            for (final JsonPointer changePath : calculatedChangePaths) {
+                if (changePath.getLevelCount() <= maxLevels) {
+                    result.add(changePath);
+                }
+            }
+        } else if (null != changedObject && maxLevels > 0) {
+            addChangePaths(JsonPointer.empty(), changedObject, maxLevels, result);
+        }
+        return result;
+    }
+
+    private static void addChangePaths(final JsonPointer parentPath, final JsonObject parent, final int maxLevels,
+            final List<JsonPointer> result) {
+
+        for (final JsonField field : parent) {
+            final JsonValue value = field.getValue();
+            final JsonPointer path = parentPath.addLeaf(field.getKey());
+            if (value.isObject()) {
+                final JsonObject object = value.asObject();
+                if (object.getSize() > 1) {
+                    // if more than one sub-field is contained in the object on this level, we add the "parent"
+                    // aggregating the changed fields:
+                    result.add(path);
+                }
+                if (path.getLevelCount() < maxLevels) {
+                    addChangePaths(path, object, maxLevels, result);
+                }
+            } else {
+                result.add(path);
+            }
+        }
+    }
+
+    /**
+     * Returns the changed object whose paths are the changed paths if they are calculated only when requested.
+     *
+     * @return the changed object or an empty Optional if the changed paths were passed explicitly or the changed
+     * value is no object.
+     * @since 1.1.0
+     */
+    Optional<JsonObject> getChangedObject() {
+        return Optional.ofNullable(changedObject);
     }
 
     public static JsonPointer empty() {return JsonPointer.empty();}
@@ -127,16 +236,17 @@ final class JsonPointerWithChangePaths implements JsonPointer {
             return false;
         }
         final JsonPointerWithChangePaths that = (JsonPointerWithChangePaths) o;
-        return Objects.equals(targetPath, that.targetPath) && Objects.equals(changePaths, that.changePaths);
+        return Objects.equals(targetPath, that.targetPath) &&
+                Objects.equals(getChangePaths(), that.getChangePaths());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(targetPath, changePaths);
+        return Objects.hash(targetPath, getChangePaths());
     }
 
     @Override
     public String toString() {
-        return targetPath + " + " + changePaths;
+        return targetPath + " + " + getChangePaths();
     }
 }
@@ -15,6 +15,7 @@ package org.eclipse.ditto.client.internal.bus;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
+import org.eclipse.ditto.client.management.HandlerCacheMetrics;
 import org.eclipse.ditto.json.JsonPointer;
 
 /**
@@ -71,6 +72,12 @@ public interface PointerBus {
      */
     ExecutorService getExecutor();
 
+    /**
+     * @return the metrics of the cache of the consumers selected for notifications.
+     * @since 1.1.0
+     */
+    HandlerCacheMetrics getHandlerCacheMetrics();
+
     /**
      * Closes the Bus.
      */
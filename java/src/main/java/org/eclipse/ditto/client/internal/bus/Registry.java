@@ -14,6 +14,7 @@ package org.eclipse.ditto.client.internal.bus;
 
 import java.util.List;
 
+import org.eclipse.ditto.client.management.HandlerCacheMetrics;
 import org.eclipse.ditto.json.JsonPointer;
 
 /**
@@ -57,4 +58,10 @@ public interface Registry<T> extends Iterable<Registration<T>> {
      * Registration}.
      */
     void clear();
+
+    /**
+     * @return the metrics of the cache of selected registrations.
+     * @since 1.1.0
+     */
+    HandlerCacheMetrics getCacheMetrics();
 }
@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.management.HandlerCacheMetrics;
+import org.eclipse.ditto.json.JsonKey;
+import org.eclipse.ditto.json.JsonPointer;
+
+/**
+ * Bounded cache of the registrations selected for a pointer.
+ * <p>
+ * When the cache exceeds its maximum size, the least recently used quarter of the entries is evicted in one batch, so
+ * the cost of finding them is spread over many insertions and reading an entry only records its access time.
+ * </p>
+ * <p>
+ * Entries are invalidated selectively instead of clearing the cache whenever a selector is added or removed: a
+ * selector whose pointer starts with two concrete levels, e.g. {@code /things/org.eclipse.ditto:thing1/attributes},
+ * can only match pointers in the same scope {@code /things/org.eclipse.ditto:thing1}, so only the entries of that
+ * scope are invalidated. Changing any other selector invalidates all entries. Each entry is stamped with the versions
+ * read before its selection was computed and is ignored once these versions changed, so a selection computed
+ * concurrently with a change is never served after the change.
+ * </p>
+ *
+ * @param <T> the type of the registered objects.
+ * @since 1.1.0
+ */
+@ThreadSafe
+final class SelectionCache<T> implements HandlerCacheMetrics {
+
+    private static final int SCOPE_LEVELS = 2;
+
+    private final int maxSize;
+    private final int maxScopes;
+    private final Map<JsonPointer, Entry<T>> entries;
+    private final Map<JsonPointer, Long> scopeVersions;
+    private final AtomicLong version;
+    private final AtomicBoolean evicting;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private volatile long globalVersion;
+
+    /**
+     * Constructs a new {@code SelectionCache}.
+     *
+     * @param maxSize the maximum number of cached selections.
+     * @throws IllegalArgumentException if {@code maxSize} is not positive.
+     */
+    SelectionCache(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maximum size must be positive.");
+        }
+        this.maxSize = maxSize;
+        maxScopes = Math.max(1024, 4 * maxSize);
+        entries = new ConcurrentHashMap<>();
+        scopeVersions = new ConcurrentHashMap<>();
+        version = new AtomicLong();
+        evicting = new AtomicBoolean(false);
+        hits = new LongAdder();
+        misses = new LongAdder();
+        evictions = new LongAdder();
+        globalVersion = 0L;
+    }
+
+    /**
+     * Indicates whether the selection for the passed pointer may be cached. Pointers whose changed paths are calculated
+     * from a changed object are not cached, as comparing them would require to calculate all of their changed paths.
+     *
+     * @param pointer the pointer.
+     * @return {@code true} if the selection may be cached.
+     * @since 1.1.0
+     */
+    static boolean isCacheable(final JsonPointer pointer) {
+        return !(pointer instanceof JsonPointerWithChangePaths) ||
+                !((JsonPointerWithChangePaths) pointer).getChangedObject().isPresent();
+    }
+
+    /**
+     * Returns the cached selection for the passed pointer.
+     *
+     * @param pointer the pointer.
+     * @return the selection or {@code null} if none is cached or the cached one was invalidated.
+     */
+    @Nullable
+    List<Registration<T>> get(final JsonPointer pointer) {
+        final Entry<T> entry = entries.get(pointer);
+        if (null != entry && isValid(entry)) {
+            entry.lastAccess = System.nanoTime();
+            hits.increment();
+            return entry.registrations;
+        }
+        if (null != entry) {
+            entries.remove(pointer, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    private boolean isValid(final Entry<T> entry) {
+        if (null == entry.scope) {
+            return entry.version == version.get();
+        }
+        return entry.version == globalVersion && entry.scopeVersion == getScopeVersion(entry.scope);
+    }
+
+    private long getScopeVersion(final JsonPointer scope) {
+        final Long result = scopeVersions.get(scope);
+        return null != result ? result : 0L;
+    }
+
+    /**
+     * Returns the stamp to pass to {@link #put(JsonPointer, Stamp, List)} for a selection which is computed after this
+     * method returned.
+     *
+     * @param pointer the pointer to compute the selection for.
+     * @return the stamp.
+     */
+    Stamp stamp(final JsonPointer pointer) {
+        final JsonPointer scope = getScope(pointer);
+        if (null == scope) {
+            return new Stamp(null, version.get(), 0L);
+        }
+        return new Stamp(scope, globalVersion, getScopeVersion(scope));
+    }
+
+    /**
+     * Caches the passed selection.
+     *
+     * @param pointer the pointer the selection was computed for.
+     * @param stamp the stamp retrieved before the selection was computed.
+     * @param registrations the selection.
+     */
+    void put(final JsonPointer pointer, final Stamp stamp, final List<Registration<T>> registrations) {
+        entries.put(pointer, new Entry<>(stamp, registrations));
+        if (entries.size() > maxSize) {
+            evictLeastRecentlyUsed();
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        if (!evicting.compareAndSet(false, true)) {
+            // another thread is evicting already
+            return;
+        }
+        try {
+            final long[] accessTimes = entries.values().stream().mapToLong(entry -> entry.lastAccess).toArray();
+            final int toEvict = accessTimes.length - maxSize + maxSize / 4;
+            if (toEvict <= 0) {
+                return;
+            }
+            Arrays.sort(accessTimes);
+            final long threshold = accessTimes[Math.min(toEvict, accessTimes.length) - 1];
+            entries.forEach((pointer, entry) -> {
+                if (entry.lastAccess <= threshold && entries.remove(pointer, entry)) {
+                    evictions.increment();
+                }
+            });
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Invalidates the cached selections the passed selector may be part of. Must be called after the selector was
+     * added or removed.
+     *
+     * @param selector the added or removed selector.
+     */
+    void invalidate(final JsonPointerSelector selector) {
+        final long newVersion = version.incrementAndGet();
+        final JsonPointer scope = getScope(selector);
+        if (null == scope || scopeVersions.size() >= maxScopes) {
+            scopeVersions.clear();
+            globalVersion = newVersion;
+        } else {
+            scopeVersions.put(scope, newVersion);
+        }
+    }
+
+    /**
+     * Invalidates all cached selections.
+     */
+    void invalidateAll() {
+        globalVersion = version.incrementAndGet();
+        scopeVersions.clear();
+        entries.clear();
+    }
+
+    /**
+     * @return the number of cached selections.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Nullable
+    private static JsonPointer getScope(final JsonPointer pointer) {
+        final JsonPointer scopedPointer = pointer instanceof JsonPointerWithChangePaths
+                ? ((JsonPointerWithChangePaths) pointer).getTargetPath()
+                : pointer;
+        if (scopedPointer.getLevelCount() < SCOPE_LEVELS) {
+            // the empty pointer and pointers with change paths of a different scope are matched by many scopes
+            return null;
+        }
+        return toScope(scopedPointer);
+    }
+
+    @Nullable
+    private static JsonPointer getScope(final JsonPointerSelector selector) {
+        if (!(selector instanceof DefaultJsonPointerSelector)) {
+            return null;
+        }
+        final JsonPointerTemplate template = ((DefaultJsonPointerSelector) selector).getTemplate();
+        if (template.getLevelCount() < SCOPE_LEVELS) {
+            return null;
+        }
+        for (int i = 0; i < SCOPE_LEVELS; i++) {
+            if (template.isParameter(i)) {
+                return null;
+            }
+        }
+        return toScope(template.getPointer());
+    }
+
+    private static JsonPointer toScope(final JsonPointer pointer) {
+        JsonPointer result = JsonPointer.empty();
+        for (int i = 0; i < SCOPE_LEVELS; i++) {
+            final JsonKey key = pointer.get(i).orElseThrow(IllegalStateException::new);
+            result = result.addLeaf(key);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "size=" + size() +
+                ", maxSize=" + maxSize +
+                ", hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", evictions=" + getEvictions() +
+                "]";
+    }
+
+    /**
+     * The versions a selection was computed for.
+     */
+    static final class Stamp {
+
+        @Nullable private final JsonPointer scope;
+        private final long version;
+        private final long scopeVersion;
+
+        private Stamp(@Nullable final JsonPointer scope, final long version, final long scopeVersion) {
+            this.scope = scope;
+            this.version = version;
+            this.scopeVersion = scopeVersion;
+        }
+
+    }
+
+    private static final class Entry<T> {
+
+        @Nullable private final JsonPointer scope;
+        private final long version;
+        private final long scopeVersion;
+        private final List<Registration<T>> registrations;
+        private volatile long lastAccess;
+
+        private Entry(final Stamp stamp, final List<Registration<T>> registrations) {
+            scope = stamp.scope;
+            version = stamp.version;
+            scopeVersion = stamp.scopeVersion;
+            this.registrations = registrations;
+            lastAccess = System.nanoTime();
+        }
+
+    }
+
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonKey;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+
+/**
+ * Index of {@link JsonPointerSelector}s which selects the selectors matching a {@link JsonPointer} in time
+ * proportional to the depth of the pointer instead of the number of selectors.
+ * <p>
+ * The pointers of {@link DefaultJsonPointerSelector}s are stored in a trie with one level per pointer level. All
+ * template keys like {@code {thingId}} of a level share a wildcard branch, as they match the same keys. As a template
+ * matches all pointers it is a prefix of, the selectors of every node on the way down are selected. Other selectors,
+ * e.g. predicate based ones, cannot be indexed and are matched one after another.
+ * </p>
+ * <p>
+ * If the changed paths of a {@link JsonPointerWithChangePaths} are calculated from a changed object, the object is
+ * walked along the trie instead, so it is only descended as deep as selectors are registered below the target path.
+ * </p>
+ * <p>
+ * Selecting does not block and may run concurrently with adding and removing selectors, the selectors of a node are
+ * replaced copy-on-write. Adding, removing and clearing have to be serialized by the caller.
+ * </p>
+ *
+ * @since 1.1.0
+ */
+final class SelectorIndex {
+
+    private final Node root;
+    private final List<JsonPointerSelector> unindexed;
+
+    SelectorIndex() {
+        root = new Node();
+        unindexed = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Adds the passed selector to the index.
+     *
+     * @param selector the selector to add.
+     */
+    void add(final JsonPointerSelector selector) {
+        if (selector instanceof DefaultJsonPointerSelector) {
+            final JsonPointer pointer = selector.getPointer();
+            Node node = root;
+            for (int i = 0; i < pointer.getLevelCount(); i++) {
+                node = node.getOrCreateChild(getKey(pointer, i));
+            }
+            node.selectors.add(selector);
+        } else {
+            unindexed.add(selector);
+        }
+    }
+
+    /**
+     * Removes the passed selector from the index.
+     *
+     * @param selector the selector to remove.
+     */
+    void remove(final JsonPointerSelector selector) {
+        if (selector instanceof DefaultJsonPointerSelector) {
+            remove(root, selector, selector.getPointer(), 0);
+        } else {
+            unindexed.remove(selector);
+        }
+    }
+
+    private static void remove(final Node node, final JsonPointerSelector selector, final JsonPointer pointer,
+            final int level) {
+        if (level == pointer.getLevelCount()) {
+            node.selectors.remove(selector);
+            return;
+        }
+        final JsonKey key = getKey(pointer, level);
+        final Node child = node.getChild(key);
+        if (null != child) {
+            remove(child, selector, pointer, level + 1);
+            if (child.isEmpty()) {
+                node.removeChild(key);
+            }
+        }
+    }
+
+    /**
+     * Selects the selectors matching the passed pointer. The result contains each selector once.
+     *
+     * @param pointer the pointer to match.
+     * @return the matching selectors.
+     */
+    Set<JsonPointerSelector> select(final JsonPointer pointer) {
+        final Set<JsonPointerSelector> result = new LinkedHashSet<>();
+        if (pointer instanceof JsonPointerWithChangePaths) {
+            // a selector matches if it matches the target path or the target path appended by any change path:
+            final JsonPointerWithChangePaths pointerWithChangePaths = (JsonPointerWithChangePaths) pointer;
+            final JsonPointer targetPath = pointerWithChangePaths.getTargetPath();
+            final JsonObject changedObject = pointerWithChangePaths.getChangedObject().orElse(null);
+            if (null != changedObject && !targetPath.isEmpty()) {
+                root.collectMatching(targetPath, 0, changedObject, result);
+            } else {
+                selectIndexed(targetPath, result);
+                for (final JsonPointer changePath : pointerWithChangePaths.getChangePaths()) {
+                    selectIndexed(targetPath.append(changePath), result);
+                }
+            }
+        } else {
+            selectIndexed(pointer, result);
+        }
+        for (final JsonPointerSelector selector : unindexed) {
+            if (selector.matches(pointer)) {
+                result.add(selector);
+            }
+        }
+        return result;
+    }
+
+    private void selectIndexed(final JsonPointer pointer, final Set<JsonPointerSelector> result) {
+        if (pointer.isEmpty()) {
+            // the empty pointer matches every template:
+            root.collectAll(result);
+        } else {
+            root.collectMatching(pointer, 0, null, result);
+        }
+    }
+
+    /**
+     * Removes all selectors.
+     */
+    void clear() {
+        root.selectors.clear();
+        root.children.clear();
+        root.wildcard = null;
+        unindexed.clear();
+    }
+
+    private static JsonKey getKey(final JsonPointer pointer, final int level) {
+        return pointer.get(level).orElseThrow(IllegalStateException::new);
+    }
+
+    private static final class Node {
+
+        private final Map<JsonKey, Node> children = new ConcurrentHashMap<>();
+        private final List<JsonPointerSelector> selectors = new CopyOnWriteArrayList<>();
+        @Nullable private volatile Node wildcard;
+
+        private Node getOrCreateChild(final JsonKey key) {
+            if (JsonPointerTemplate.isParameter(key)) {
+                Node result = wildcard;
+                if (null == result) {
+                    result = new Node();
+                    wildcard = result;
+                }
+                return result;
+            }
+            return children.computeIfAbsent(key, k -> new Node());
+        }
+
+        @Nullable
+        private Node getChild(final JsonKey key) {
+            return JsonPointerTemplate.isParameter(key) ? wildcard : children.get(key);
+        }
+
+        private void removeChild(final JsonKey key) {
+            if (JsonPointerTemplate.isParameter(key)) {
+                wildcard = null;
+            } else {
+                children.remove(key);
+            }
+        }
+
+        private boolean isEmpty() {
+            return selectors.isEmpty() && children.isEmpty() && null == wildcard;
+        }
+
+        private void collectMatching(final JsonPointer pointer, final int level,
+                @Nullable final JsonObject changedObject, final Collection<JsonPointerSelector> result) {
+            if (level == pointer.getLevelCount()) {
+                if (null != changedObject) {
+                    collectChanged(changedObject, result);
+                }
+                return;
+            }
+            final Node child = children.get(getKey(pointer, level));
+            if (null != child) {
+                result.addAll(child.selectors);
+                child.collectMatching(pointer, level + 1, changedObject, result);
+            }
+            final Node wildcardChild = wildcard;
+            if (null != wildcardChild) {
+                result.addAll(wildcardChild.selectors);
+                wildcardChild.collectMatching(pointer, level + 1, changedObject, result);
+            }
+        }
+
+        private void collectChanged(final JsonObject changedObject, final Collection<JsonPointerSelector> result) {
+            final Node wildcardChild = wildcard;
+            if (children.isEmpty() && null == wildcardChild) {
+                return;
+            }
+            for (final JsonField field : changedObject) {
+                final Node child = children.get(field.getKey());
+                if (null != child) {
+                    child.collectChangedValue(field.getValue(), result);
+                }
+                if (null != wildcardChild) {
+                    wildcardChild.collectChangedValue(field.getValue(), result);
+                }
+            }
+        }
+
+        private void collectChangedValue(final JsonValue value, final Collection<JsonPointerSelector> result) {
+            if (isChanged(value)) {
+                result.addAll(selectors);
+                if (value.isObject()) {
+                    collectChanged(value.asObject(), result);
+                }
+            }
+        }
+
+        /*
+         * A value is changed if its path is a prefix of a changed path, i.e. it is no object, an object with more
+         * than one field or an object with a changed field.
+         */
+        private static boolean isChanged(final JsonValue value) {
+            JsonValue current = value;
+            while (current.isObject() && current.asObject().getSize() == 1) {
+                current = current.asObject().iterator().next().getValue();
+            }
+            return !current.isObject() || !current.asObject().isEmpty();
+        }
+
+        private void collectAll(final Collection<JsonPointerSelector> result) {
+            result.addAll(selectors);
+            children.values().forEach(child -> child.collectAll(result));
+            final Node wildcardChild = wildcard;
+            if (null != wildcardChild) {
+                wildcardChild.collectAll(result);
+            }
+        }
+
+    }
+
+}
@@ -15,13 +15,10 @@ package org.eclipse.ditto.client.internal.bus;
 import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
 
 import java.text.MessageFormat;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -33,12 +30,10 @@ import java.util.regex.Pattern;
 import org.eclipse.ditto.client.changes.Change;
 import org.eclipse.ditto.client.internal.HandlerRegistry;
 import org.eclipse.ditto.client.internal.SpecificChangeBuilderFunction;
-import org.eclipse.ditto.json.JsonField;
 import org.eclipse.ditto.json.JsonKey;
 import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonPointer;
 import org.eclipse.ditto.json.JsonValue;
-import org.eclipse.ditto.json.JsonValueContainer;
 import org.eclipse.ditto.model.messages.Message;
 import org.slf4j.Logger;
 
@@ -135,62 +130,16 @@ public final class SelectorUtil {
             final String address = addressBuilderFunction.apply(event);
             final Change change = changeBuilderFunction.apply(event, message.getExtra().orElse(null));
 
-            final List<JsonPointer> jsonPointers = change.getValue()
-                    .filter(JsonValue::isObject)
-                    .map(JsonValue::asObject)
-                    .map(obj -> calculateJsonPointerHierarchy(JsonPointer.empty(), obj))
-                    .orElse(Collections.singletonList(JsonPointer.empty()));
-
-            // notify the address where the Change actually happened:
+            // notify the address where the Change actually happened, the changed paths are only calculated from the
+            // changed value as far as they are needed:
             final JsonPointer jsonPointer = JsonPointer.of(address);
-            final JsonPointerWithChangePaths
-                    jsonPointerWithChangePaths = new JsonPointerWithChangePaths(jsonPointer, jsonPointers);
+            final JsonPointerWithChangePaths jsonPointerWithChangePaths =
+                    JsonPointerWithChangePaths.ofChangedValue(jsonPointer, change.getValue().orElse(null));
             logger.trace("Notifying bus at address '{}' with obj: {}", jsonPointerWithChangePaths, change);
             in.notify(jsonPointerWithChangePaths, change);
         });
     }
 
-    /**
-     * Calculates a List of JsonPointers based on the passed {@code entryPointer} and the passed {@code fromJsonObject}.
-     * The hierarchy of the {@code fromJsonObject} will be "mapped" to the returned List of JsonPointers.
-     * <p>
-     * Example: If a {@code entryPointer} of "/things/my:thing1/attributes" is given and a {@code fromJsonObject} of
-     * {@code { "foo": { "sub": 1, "misc": "hello" }, "bar": { "other": false } } } the resulting List of JsonPointers
-     * would be:
-     * <ul>
-     * <li>/things/my:thing1/attributes/foo</li>
-     * <li>/things/my:thing1/attributes/bar/other</li>
-     * </ul>
-     */
-    private static List<JsonPointer> calculateJsonPointerHierarchy(final JsonPointer entryPointer,
-            final JsonValueContainer<JsonField> fromJsonObject) {
-
-        return fromJsonObject.stream()
-                .map(jsonField -> {
-                    final JsonValue value = jsonField.getValue();
-                    final JsonPointer pointerOnLevel = entryPointer.addLeaf(jsonField.getKey());
-                    if (value.isObject()) {
-                        final List<JsonPointer> pointersOnLevel = new ArrayList<>();
-                        final JsonObject objectOnLevel = value.asObject();
-                        if (objectOnLevel.getSize() > 1) {
-                            // if more than one sub-fields are contained in the object on this level, we add the "parent"
-                            // aggregating both of the changed fields:
-                            pointersOnLevel.add(pointerOnLevel);
-                        }
-
-                        // recurse further "down":
-                        pointersOnLevel.addAll(calculateJsonPointerHierarchy(pointerOnLevel, objectOnLevel));
-                        return pointersOnLevel;
-                    } else {
-                        return Collections.singletonList(pointerOnLevel);
-                    }
-                })
-                .reduce(new ArrayList<>(), (a, b) -> {
-                    a.addAll(b);
-                    return a;
-                });
-    }
-
     /**
      * Registers for the passed {@code selector} and {@code changeClass} the specified {@code handler} which will get a
      * Change of type {@code <T>} when a messages on the bus matches the passed {@link DefaultJsonPointerSelector
@@ -212,9 +161,11 @@ public final class SelectorUtil {
             final Consumer<T> handler,
             final SpecificChangeBuilderFunction<T> changeBuilderFunction) {
 
+        // compile the templates once so that handling an event does not need to determine the template parameters:
+        final JsonPointerTemplate selectorTemplate = JsonPointerTemplate.of(selector.getPointer());
         // everything after /things/{thingId}:
-        final Optional<JsonPointer> subPath = selector.getPointer().getSubPointer(2);
-        final JsonPointer selectorTemplatePath = subPath.orElse(JsonPointer.empty());
+        final JsonPointerTemplate selectorTemplatePath =
+                JsonPointerTemplate.of(selector.getPointer().getSubPointer(2).orElse(JsonPointer.empty()));
 
         // get the configured Dispatcher for the Thing Client
         final Executor busDispatcher = inHandlerRegistry.getBusExecutor();
@@ -231,27 +182,28 @@ public final class SelectorUtil {
                     final JsonPointer targetPointer = jsonPointerWithChangePaths.getTargetPath();
                     // only of the rootChange defines the passed in "changeClass" directly as interface (not inherited)
                     if (Arrays.asList(rootChange.getClass().getInterfaces()).contains(changeClass) &&
-                            JsonPointerSelector.doesTargetMatchTemplate(targetPointer, selector.getPointer())) {
+                            selectorTemplate.matches(targetPointer)) {
                         // the change is directly accepted
                         handler.accept(changeClass.cast(rootChange));
                     }
                     // if already the targetPointer matches the selector
-                    else if (JsonPointerSelector.doesTargetMatchTemplate(targetPointer, selector.getPointer())) {
+                    else if (selectorTemplate.matches(targetPointer)) {
                         // we can directly invoke the handler
                         resolveTemplateParametersAndPassChangeToHandler(targetPointer, targetPointer,
                                 selectorTemplatePath, rootChange, changeBuilderFunction, handler, busDispatcher);
                     } else {
-                        // otherwise, we iterate over all "changePaths", find the matching paths and invoke the handler
-                        // for them:
-                        jsonPointerWithChangePaths.getChangePaths().stream() // for each change path
-                                .map(targetPointer::append) // append the changePath to the targetPointer
-                                // filter only matching combined paths:
-                                .filter(combinedPath -> JsonPointerSelector.doesTargetMatchTemplate(combinedPath,
-                                        selector.getPointer()))
-                                // for each matching combinedPath, resolve its template parameters and pass it to the handler:
-                                .forEach(combinedPath -> resolveTemplateParametersAndPassChangeToHandler(targetPointer,
-                                        combinedPath, selectorTemplatePath, rootChange, changeBuilderFunction, handler,
-                                        busDispatcher));
+                        // otherwise, we iterate over the "changePaths" reaching down to the level of the selector, find
+                        // the matching paths and invoke the handler for them:
+                        final int levels = selectorTemplate.getLevelCount() - targetPointer.getLevelCount();
+                        for (final JsonPointer changePath : jsonPointerWithChangePaths.getChangePaths(levels)) {
+                            // only for the matching combined paths, resolve the template parameters and pass the
+                            // change to the handler:
+                            if (selectorTemplate.matches(targetPointer, changePath)) {
+                                resolveTemplateParametersAndPassChangeToHandler(targetPointer,
+                                        targetPointer.append(changePath), selectorTemplatePath, rootChange,
+                                        changeBuilderFunction, handler, busDispatcher);
+                            }
+                        }
                     }
                 } else {
                     // only of the rootChange defines the passed in "changeClass" directly as interface (not inherited)
@@ -275,7 +227,7 @@ public final class SelectorUtil {
      */
     private static <T extends Change> void resolveTemplateParametersAndPassChangeToHandler(final JsonPointer targetPath,
             final JsonPointer combinedPath,
-            final JsonPointer selectorTemplatePath,
+            final JsonPointerTemplate selectorTemplatePath,
             final Change rootChange,
             final SpecificChangeBuilderFunction<T> changeBuilderFunction,
             final Consumer<T> handler,
@@ -286,26 +238,20 @@ public final class SelectorUtil {
 
         final Map<String, String> templateParams = new HashMap<>();
         JsonPointer pathRelativePointer = thingRelativePointer;
-        JsonPointer tmpResolvedSelectorTemplatePath = JsonPointer.empty();
-        for (int i = 0; i < selectorTemplatePath.getLevelCount(); i++) {
-            final Optional<JsonKey> trKey = thingRelativePointer.get(i);
-            final Optional<JsonKey> pKey = selectorTemplatePath.get(i);
-            if (trKey.equals(pKey)) {
+        final Iterator<JsonKey> trKeys = thingRelativePointer.iterator();
+        for (int i = 0; i < selectorTemplatePath.getLevelCount() && trKeys.hasNext(); i++) {
+            final JsonKey trKey = trKeys.next();
+            if (trKey.equals(selectorTemplatePath.getKey(i))) {
                 pathRelativePointer = pathRelativePointer.nextLevel();
-                if (trKey.isPresent()) {
-                    tmpResolvedSelectorTemplatePath = tmpResolvedSelectorTemplatePath.addLeaf(trKey.get());
-                }
-            } else if (trKey.isPresent() && pKey.isPresent() && pKey.get().toString().matches("^\\{.*}$")) {
+            } else if (selectorTemplatePath.isParameter(i)) {
                 // matches a template, e.g. {featureId}
-                final String s = pKey.get().toString();
-                templateParams.put(s, trKey.get().toString());
+                templateParams.put(selectorTemplatePath.getKey(i).toString(), trKey.toString());
                 pathRelativePointer = pathRelativePointer.nextLevel();
-                tmpResolvedSelectorTemplatePath = tmpResolvedSelectorTemplatePath.addLeaf(trKey.get());
             }
         }
 
-        final JsonPointer diff = JsonPointer.of(combinedPath.toString().replace(targetPath.toString(), ""));
-
+        // the change path which was appended to the target path:
+        final JsonPointer diff = combinedPath.getSubPointer(targetPath.getLevelCount()).orElse(JsonPointer.empty());
 
         final JsonPointer parsedPath = pathRelativePointer;
         if (!diff.isEmpty() && !diff.toString().startsWith(parsedPath.toString())) {
@@ -15,6 +15,7 @@ package org.eclipse.ditto.client.live.internal;
 import static org.eclipse.ditto.model.base.common.ConditionChecker.argumentNotNull;
 
 import java.text.MessageFormat;
+import java.time.Clock;
 import java.util.Arrays;
 import java.util.IdentityHashMap;
 import java.util.Map;
@@ -22,6 +23,7 @@ import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -30,7 +32,6 @@ import org.eclipse.ditto.client.internal.CommonManagementImpl;
 import org.eclipse.ditto.client.internal.HandlerRegistry;
 import org.eclipse.ditto.client.internal.OutgoingMessageFactory;
 import org.eclipse.ditto.client.internal.ResponseForwarder;
-import org.eclipse.ditto.client.internal.SendTerminator;
 import org.eclipse.ditto.client.internal.bus.JsonPointerSelector;
 import org.eclipse.ditto.client.internal.bus.PointerBus;
 import org.eclipse.ditto.client.internal.bus.SelectorUtil;
@@ -185,12 +186,17 @@ public final class LiveImpl extends CommonManagementImpl<LiveThingHandle, LiveFe
         getMessagingProvider().registerMessageHandler(CONSUME_LIVE_EVENTS_HANDLER, consumptionConfig,
                 m -> getBus().notify(m.getSubject(), m), completableFutureEvents);
 
-        // register message handler which handles incoming messages:
+        // register message handler which handles incoming messages, reassembling chunked ones if configured:
+        final MessageAssembler messageAssembler = getMessagingProvider().getMessagingConfiguration()
+                .getMessageChunkingConfiguration()
+                .map(config -> MessageAssembler.newInstance(config, Clock.systemUTC()))
+                .orElse(null);
         getMessagingProvider().registerMessageHandler(CONSUME_LIVE_MESSAGES_HANDLER, consumptionConfig,
                 m -> {
-                    final String messagePath = calculateMessagePath(m);
+                    final Message<?> message = null != messageAssembler ? messageAssembler.add(m).orElse(null) : m;
+                    final String messagePath = null != message ? calculateMessagePath(message) : null;
                     if (messagePath != null) {
-                        getBus().notify(JsonFactory.newPointer(messagePath), m);
+                        getBus().notify(JsonFactory.newPointer(messagePath), message);
                     }
                 },
                 completableFutureMessages);
@@ -239,6 +245,21 @@ public final class LiveImpl extends CommonManagementImpl<LiveThingHandle, LiveFe
         return completableFutureCombined;
     }
 
+    @Override
+    protected CompletableFuture<Void> doStartRawConsumption(final Consumer<String> rawMessageConsumer,
+            final Predicate<String> topicFilter, final Map<String, String> consumptionConfig) {
+        final CompletableFuture<Void> completableFutureEvents = new CompletableFuture<>();
+        final CompletableFuture<Void> completableFutureMessages = new CompletableFuture<>();
+
+        // register raw message handlers which pass the live events and messages on without parsing them:
+        getMessagingProvider().registerRawMessageHandler(CONSUME_LIVE_EVENTS_HANDLER, consumptionConfig,
+                topicFilter, rawMessageConsumer, completableFutureEvents);
+        getMessagingProvider().registerRawMessageHandler(CONSUME_LIVE_MESSAGES_HANDLER, consumptionConfig,
+                topicFilter, rawMessageConsumer, completableFutureMessages);
+
+        return CompletableFuture.allOf(completableFutureEvents, completableFutureMessages);
+    }
+
     @Override
     public CompletableFuture<Void> suspendConsumption() {
         final CompletableFuture<Void> completableFutureEvents = new CompletableFuture<>();
@@ -317,7 +338,7 @@ public final class LiveImpl extends CommonManagementImpl<LiveThingHandle, LiveFe
                 final Message<?> toBeSentMessage =
                         getOutgoingMessageFactory().sendMessage(messageSerializerRegistry, message);
                 LOGGER.trace("Message about to send: {}", toBeSentMessage);
-                new SendTerminator<>(getMessagingProvider(), getResponseForwarder(), toBeSentMessage).send();
+                LiveMessagesUtil.sendMessage(getMessagingProvider(), getResponseForwarder(), toBeSentMessage);
             }
         };
     }
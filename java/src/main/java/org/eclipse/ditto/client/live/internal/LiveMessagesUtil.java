@@ -57,6 +57,29 @@ final class LiveMessagesUtil {
         }
     }
 
+    /**
+     * Sends the passed serialized message, split into chunks if message chunking is configured and its payload
+     * exceeds the chunk size.
+     *
+     * @param messagingProvider the provider to send the message with.
+     * @param responseForwarder the forwarder to register the response consumer of the message at.
+     * @param message the serialized message to send.
+     */
+    static void sendMessage(final MessagingProvider messagingProvider, final ResponseForwarder responseForwarder,
+            final Message<?> message) {
+        final MessageChunker chunker = messagingProvider.getMessagingConfiguration()
+                .getMessageChunkingConfiguration()
+                .map(MessageChunker::newInstance)
+                .filter(c -> c.isTooLarge(message))
+                .orElse(null);
+        if (null != chunker) {
+            LOGGER.debug("Sending message <{}> in chunks.", message.getCorrelationId().orElse(null));
+            chunker.split(message, chunk -> new SendTerminator<>(messagingProvider, responseForwarder, chunk).send());
+        } else {
+            new SendTerminator<>(messagingProvider, responseForwarder, message).send();
+        }
+    }
+
     static <T, U> Consumer<PointerWithData> createEventConsumerForRepliableMessage(
             final MessagingProvider messagingProvider,
             final ResponseForwarder responseForwarder,
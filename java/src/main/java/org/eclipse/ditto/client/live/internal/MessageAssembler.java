@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.live.internal;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.configuration.MessageChunkingConfiguration;
+import org.eclipse.ditto.model.messages.Message;
+import org.eclipse.ditto.model.messages.MessageHeaders;
+import org.eclipse.ditto.model.messages.MessagesModelFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reassembles the chunks created by {@link MessageChunker} into the original message. The payload of a chunked
+ * message is written into one buffer of the announced total size as the chunks arrive, in any order, and the chunks
+ * themselves are not retained. Messages without chunk headers are passed through.
+ * <p>
+ * The memory is bounded by rejecting chunked messages larger than the maximum message size and by reassembling at
+ * most the maximum number of pending messages at a time. Incomplete messages are discarded once their first chunk
+ * is older than the reassembly timeout; this is checked whenever a chunk arrives, so no thread is needed.
+ * </p>
+ *
+ * @since 1.1.0
+ */
+@ThreadSafe
+final class MessageAssembler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MessageAssembler.class);
+
+    private final int maxMessageSize;
+    private final int maxPendingMessages;
+    private final long reassemblyTimeoutMillis;
+    private final Clock clock;
+    private final Map<String, PendingMessage> pendingMessages;
+
+    private MessageAssembler(final MessageChunkingConfiguration configuration, final Clock clock) {
+        maxMessageSize = configuration.getMaxMessageSize();
+        maxPendingMessages = configuration.getMaxPendingMessages();
+        reassemblyTimeoutMillis = configuration.getReassemblyTimeout().toMillis();
+        this.clock = clock;
+        // insertion ordered, so the oldest pending messages are found first when expiring:
+        pendingMessages = new LinkedHashMap<>();
+    }
+
+    /**
+     * Returns a new {@code MessageAssembler}.
+     *
+     * @param configuration the configuration providing the limits.
+     * @param clock the clock for determining the age of pending messages.
+     * @return the assembler.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    static MessageAssembler newInstance(final MessageChunkingConfiguration configuration, final Clock clock) {
+        checkNotNull(configuration, "configuration");
+        checkNotNull(clock, "clock");
+        return new MessageAssembler(configuration, clock);
+    }
+
+    /**
+     * Adds the passed received message.
+     *
+     * @param message the received message.
+     * @return the message itself if it is no chunk, the reassembled message if it is the missing chunk of a message
+     * or an empty optional if more chunks are needed or the chunk was rejected.
+     */
+    Optional<Message<?>> add(final Message<?> message) {
+        final MessageHeaders headers = message.getHeaders();
+        final String chunkId = headers.get(MessageChunker.CHUNK_ID);
+        if (null == chunkId) {
+            return Optional.of(message);
+        }
+        final Chunk chunk = Chunk.of(headers, message.getRawPayload().orElseGet(() -> ByteBuffer.allocate(0)));
+        if (null == chunk) {
+            LOGGER.warn("Discarding chunk of message <{}> with invalid chunk headers.", chunkId);
+            return Optional.empty();
+        }
+        if (chunk.totalSize > maxMessageSize) {
+            LOGGER.warn("Discarding chunk of message <{}> as its size of <{}> bytes exceeds the maximum of <{}>.",
+                    chunkId, chunk.totalSize, maxMessageSize);
+            return Optional.empty();
+        }
+        final PendingMessage pendingMessage = getOrCreatePendingMessage(chunkId, chunk);
+        if (null == pendingMessage) {
+            return Optional.empty();
+        }
+        if (!pendingMessage.add(chunk, headers)) {
+            return Optional.empty();
+        }
+        synchronized (pendingMessages) {
+            pendingMessages.remove(chunkId, pendingMessage);
+        }
+        return Optional.of(pendingMessage.toMessage());
+    }
+
+    @Nullable
+    private PendingMessage getOrCreatePendingMessage(final String chunkId, final Chunk chunk) {
+        synchronized (pendingMessages) {
+            removeExpired();
+            final PendingMessage existing = pendingMessages.get(chunkId);
+            if (null != existing) {
+                return existing.matches(chunk) ? existing : null;
+            }
+            if (pendingMessages.size() >= maxPendingMessages) {
+                LOGGER.warn("Discarding chunk of message <{}> as <{}> chunked messages are already pending.",
+                        chunkId, pendingMessages.size());
+                return null;
+            }
+            final PendingMessage result = new PendingMessage(chunk, clock.millis());
+            pendingMessages.put(chunkId, result);
+            return result;
+        }
+    }
+
+    private void removeExpired() {
+        final long deadline = clock.millis() - reassemblyTimeoutMillis;
+        final Iterator<Map.Entry<String, PendingMessage>> iterator = pendingMessages.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, PendingMessage> entry = iterator.next();
+            if (entry.getValue().createdAtMillis > deadline) {
+                return;
+            }
+            LOGGER.warn("Discarding chunked message <{}> as it was not completely received in time.", entry.getKey());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * @return the number of chunked messages which are not completely received yet.
+     */
+    int getPendingMessages() {
+        synchronized (pendingMessages) {
+            return pendingMessages.size();
+        }
+    }
+
+    private static final class Chunk {
+
+        private final int index;
+        private final int count;
+        private final int chunkSize;
+        private final int totalSize;
+        private final ByteBuffer payload;
+
+        private Chunk(final int index, final int count, final int chunkSize, final int totalSize,
+                final ByteBuffer payload) {
+            this.index = index;
+            this.count = count;
+            this.chunkSize = chunkSize;
+            this.totalSize = totalSize;
+            this.payload = payload;
+        }
+
+        @Nullable
+        private static Chunk of(final MessageHeaders headers, final ByteBuffer payload) {
+            try {
+                final int index = Integer.parseInt(headers.get(MessageChunker.CHUNK_INDEX));
+                final int count = Integer.parseInt(headers.get(MessageChunker.CHUNK_COUNT));
+                final int chunkSize = Integer.parseInt(headers.get(MessageChunker.CHUNK_SIZE));
+                final int totalSize = Integer.parseInt(headers.get(MessageChunker.TOTAL_SIZE));
+                final boolean valid = chunkSize > 0 && totalSize >= 0 &&
+                        count == Math.max(1, (totalSize + (long) chunkSize - 1) / chunkSize) &&
+                        index >= 0 && index < count &&
+                        payload.remaining() == Math.min(chunkSize, totalSize - (long) index * chunkSize);
+                return valid ? new Chunk(index, count, chunkSize, totalSize, payload) : null;
+            } catch (final NumberFormatException e) {
+                return null;
+            }
+        }
+
+    }
+
+    private static final class PendingMessage {
+
+        private final int count;
+        private final int chunkSize;
+        private final int totalSize;
+        private final long createdAtMillis;
+        private final ByteBuffer payload;
+        private final BitSet received;
+        @Nullable private MessageHeaders lastChunkHeaders;
+
+        private PendingMessage(final Chunk first, final long createdAtMillis) {
+            count = first.count;
+            chunkSize = first.chunkSize;
+            totalSize = first.totalSize;
+            this.createdAtMillis = createdAtMillis;
+            payload = ByteBuffer.allocate(totalSize);
+            received = new BitSet(count);
+            lastChunkHeaders = null;
+        }
+
+        private boolean matches(final Chunk chunk) {
+            return count == chunk.count && chunkSize == chunk.chunkSize && totalSize == chunk.totalSize;
+        }
+
+        /**
+         * @return {@code true} if the passed chunk completed the message.
+         */
+        private synchronized boolean add(final Chunk chunk, final MessageHeaders headers) {
+            if (received.get(chunk.index)) {
+                return false;
+            }
+            final ByteBuffer target = payload.duplicate();
+            target.position(chunk.index * chunkSize);
+            target.put(chunk.payload.duplicate());
+            received.set(chunk.index);
+            if (chunk.index == count - 1) {
+                lastChunkHeaders = headers;
+            }
+            return received.cardinality() == count;
+        }
+
+        private Message<?> toMessage() {
+            final MessageHeaders headers = checkNotNull(lastChunkHeaders, "lastChunkHeaders");
+            final MessageHeaders messageHeaders = headers.toBuilder()
+                    .contentType(headers.get(MessageChunker.CONTENT_TYPE))
+                    .removeHeader(MessageChunker.CHUNK_ID)
+                    .removeHeader(MessageChunker.CHUNK_INDEX)
+                    .removeHeader(MessageChunker.CHUNK_COUNT)
+                    .removeHeader(MessageChunker.CHUNK_SIZE)
+                    .removeHeader(MessageChunker.TOTAL_SIZE)
+                    .removeHeader(MessageChunker.CONTENT_TYPE)
+                    .build();
+            return MessagesModelFactory.newMessageBuilder(messageHeaders)
+                    .rawPayload(payload)
+                    .build();
+        }
+
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.live.internal;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.client.configuration.MessageChunkingConfiguration;
+import org.eclipse.ditto.client.live.messages.MessageSerializers;
+import org.eclipse.ditto.model.messages.Message;
+import org.eclipse.ditto.model.messages.MessageBuilder;
+import org.eclipse.ditto.model.messages.MessageHeaders;
+import org.eclipse.ditto.model.messages.MessageHeadersBuilder;
+import org.eclipse.ditto.model.messages.MessagesModelFactory;
+
+/**
+ * Splits a message whose serialized payload exceeds the chunk size into a sequence of
+ * {@value MessageSerializers#CONTENT_TYPE_APPLICATION_OCTET_STREAM} messages carrying one chunk of the payload each.
+ * <p>
+ * Each chunk keeps the headers of the original message and carries the chunk headers {@value #CHUNK_ID},
+ * {@value #CHUNK_INDEX}, {@value #CHUNK_COUNT}, {@value #CHUNK_SIZE}, {@value #TOTAL_SIZE} and
+ * {@value #CONTENT_TYPE}. Only the last chunk has the correlation-id of the original message and requires a response
+ * if the original message does, so a response to the reassembled message answers the original one.
+ * </p>
+ *
+ * @since 1.1.0
+ */
+@Immutable
+final class MessageChunker {
+
+    /**
+     * Header containing the ID of the chunked message which is the correlation-id of the original message.
+     */
+    static final String CHUNK_ID = "ditto-message-chunk-id";
+
+    /**
+     * Header containing the zero-based index of a chunk.
+     */
+    static final String CHUNK_INDEX = "ditto-message-chunk-index";
+
+    /**
+     * Header containing the number of chunks of the chunked message.
+     */
+    static final String CHUNK_COUNT = "ditto-message-chunk-count";
+
+    /**
+     * Header containing the size of all chunks but the last one in bytes.
+     */
+    static final String CHUNK_SIZE = "ditto-message-chunk-size";
+
+    /**
+     * Header containing the payload size of the original message in bytes.
+     */
+    static final String TOTAL_SIZE = "ditto-message-chunk-total-size";
+
+    /**
+     * Header containing the content-type of the original message.
+     */
+    static final String CONTENT_TYPE = "ditto-message-chunk-content-type";
+
+    private final int chunkSize;
+
+    private MessageChunker(final int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns a new {@code MessageChunker}.
+     *
+     * @param configuration the configuration providing the chunk size.
+     * @return the chunker.
+     * @throws NullPointerException if {@code configuration} is {@code null}.
+     */
+    static MessageChunker newInstance(final MessageChunkingConfiguration configuration) {
+        checkNotNull(configuration, "configuration");
+        return new MessageChunker(configuration.getChunkSize());
+    }
+
+    /**
+     * Determines whether the passed serialized message has to be split.
+     *
+     * @param message the message whose payload was serialized.
+     * @return {@code true} if the raw payload of the message exceeds the chunk size.
+     */
+    boolean isTooLarge(final Message<?> message) {
+        return message.getRawPayload()
+                .map(ByteBuffer::remaining)
+                .filter(size -> size > chunkSize)
+                .isPresent();
+    }
+
+    /**
+     * Splits the passed serialized message and hands the chunks to the passed consumer one after another. Each chunk
+     * is copied right before it is handed over, so only the chunk being sent is held in addition to the payload.
+     *
+     * @param message the message whose payload was serialized, it must have a correlation-id.
+     * @param chunkConsumer the consumer sending the chunks.
+     * @throws IllegalArgumentException if the message has no correlation-id.
+     */
+    void split(final Message<?> message, final Consumer<Message<?>> chunkConsumer) {
+        final MessageHeaders headers = message.getHeaders();
+        final String correlationId = headers.getCorrelationId()
+                .orElseThrow(() -> new IllegalArgumentException("A chunked message must have a correlation-id."));
+        final ByteBuffer payload = message.getRawPayload().orElseGet(() -> ByteBuffer.allocate(0)).duplicate();
+        final int totalSize = payload.remaining();
+        final int chunkCount = Math.max(1, (totalSize + chunkSize - 1) / chunkSize);
+        final MessageHeaders chunkHeaders = headers.toBuilder()
+                .contentType(MessageSerializers.CONTENT_TYPE_APPLICATION_OCTET_STREAM)
+                .putHeader(CHUNK_ID, correlationId)
+                .putHeader(CHUNK_COUNT, String.valueOf(chunkCount))
+                .putHeader(CHUNK_SIZE, String.valueOf(chunkSize))
+                .putHeader(TOTAL_SIZE, String.valueOf(totalSize))
+                .putHeader(CONTENT_TYPE, message.getContentType()
+                        .orElse(MessageSerializers.CONTENT_TYPE_APPLICATION_OCTET_STREAM))
+                .build();
+
+        for (int index = 0; index < chunkCount; index++) {
+            final byte[] chunk = new byte[Math.min(chunkSize, payload.remaining())];
+            payload.get(chunk);
+            final boolean last = index == chunkCount - 1;
+            final MessageHeadersBuilder headersBuilder = chunkHeaders.toBuilder()
+                    .putHeader(CHUNK_INDEX, String.valueOf(index));
+            if (!last) {
+                headersBuilder.correlationId(correlationId + "-chunk-" + index).responseRequired(false);
+            }
+            final MessageBuilder<ByteBuffer> chunkBuilder =
+                    MessagesModelFactory.<ByteBuffer>newMessageBuilder(headersBuilder.build())
+                            .rawPayload(ByteBuffer.wrap(chunk));
+            if (last) {
+                message.getExtra().ifPresent(chunkBuilder::extra);
+                message.getResponseConsumer().ifPresent(chunkBuilder::responseConsumer);
+            }
+            chunkConsumer.accept(chunkBuilder.build());
+        }
+    }
+
+}
@@ -12,6 +12,7 @@
  */
 package org.eclipse.ditto.client.live.internal;
 
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 
 import org.eclipse.ditto.client.live.messages.MessageSerializerRegistry;
@@ -49,6 +50,7 @@ public final class MessageSerializerFactory {
      * <li>Content-Type "application/json" -&gt; Java-Type {@link JsonValue}</li>
      * <li>Content-Type "text/plain" -&gt; Java-Type {@link String}</li>
      * <li>Content-Type "application/octet-stream" -&gt; Java-Type {@link ByteBuffer}</li>
+     * <li>Content-Type "application/octet-stream" -&gt; Java-Type {@link InputStream}</li>
      * </ul>
      *
      * @return a MessageSerializerRegistry with the default Serializers initialized.
@@ -58,6 +60,7 @@ public final class MessageSerializerFactory {
         serializerRegistry.registerMessageSerializer(MessageSerializers.textPlainAsString());
         serializerRegistry.registerMessageSerializer(MessageSerializers.applicationJsonAsJsonValue());
         serializerRegistry.registerMessageSerializer(MessageSerializers.applicationOctetStreamAsByteBuffer());
+        serializerRegistry.registerMessageSerializer(MessageSerializers.applicationOctetStreamAsInputStream());
         return serializerRegistry;
     }
 
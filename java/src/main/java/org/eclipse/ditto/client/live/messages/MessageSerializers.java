@@ -12,6 +12,9 @@
  */
 package org.eclipse.ditto.client.live.messages;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.Optional;
@@ -117,6 +120,32 @@ public class MessageSerializers {
                 (byteBuffer, charset) -> byteBuffer);
     }
 
+    /**
+     * MessageSerializer for handling Content-Type "{@value #CONTENT_TYPE_APPLICATION_OCTET_STREAM}" with Java type
+     * {@link InputStream} for all subjects ("{@value #SUBJECT_WILDCARD}"). The deserialized stream reads the received
+     * bytes directly from the raw payload without copying them, which suits large (e.g. chunked) messages.
+     *
+     * @return MessageSerializer for handling Content-Type "{@value #CONTENT_TYPE_APPLICATION_OCTET_STREAM}".
+     * @since 1.1.0
+     */
+    public static MessageSerializer<InputStream> applicationOctetStreamAsInputStream() {
+        return MessageSerializers.of(CONTENT_TYPE_APPLICATION_OCTET_STREAM, InputStream.class, SUBJECT_WILDCARD,
+                (inputStream, charset) -> {
+                    try {
+                        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                        final byte[] buffer = new byte[8192];
+                        int read;
+                        while ((read = inputStream.read(buffer)) != -1) {
+                            outputStream.write(buffer, 0, read);
+                        }
+                        return ByteBuffer.wrap(outputStream.toByteArray());
+                    } catch (final IOException e) {
+                        throw new MessageSerializationException("Reading the payload stream failed", e);
+                    }
+                },
+                (byteBuffer, charset) -> new ByteBufferInputStream(byteBuffer.duplicate()));
+    }
+
     /**
      * Determines from the passed in Optional Content-Type string the "charset" which is defined as follows: "{@code
      * application/json; charset=utf-8}" and tries to instantiate a Java {@link Charset} from that.
@@ -134,4 +163,48 @@ public class MessageSerializers {
                 .filter(Charset::isSupported)
                 .map(Charset::forName);
     }
+
+    /**
+     * An InputStream reading the remaining bytes of a ByteBuffer.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer byteBuffer;
+
+        private ByteBufferInputStream(final ByteBuffer byteBuffer) {
+            this.byteBuffer = byteBuffer;
+        }
+
+        @Override
+        public int read() {
+            return byteBuffer.hasRemaining() ? byteBuffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!byteBuffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(len, byteBuffer.remaining());
+            byteBuffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(final long n) {
+            final int count = (int) Math.max(0, Math.min(n, byteBuffer.remaining()));
+            byteBuffer.position(byteBuffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return byteBuffer.remaining();
+        }
+
+    }
+
 }
@@ -15,6 +15,8 @@ package org.eclipse.ditto.client.management;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.eclipse.ditto.client.changes.Change;
 import org.eclipse.ditto.client.changes.ThingChange;
@@ -79,6 +81,14 @@ public interface CommonManagement<T extends ThingHandle, F extends FeatureHandle
      */
     String CONSUMPTION_PARAM_EXTRA_FIELDS = "extraFields";
 
+    /**
+     * Returns the metrics of the cache of the handlers selected for the received changes, messages and commands.
+     *
+     * @return the metrics, empty metrics if the handler cache is disabled.
+     * @since 1.1.0
+     */
+    HandlerCacheMetrics getHandlerCacheMetrics();
+
     /**
      * Creates a new instance of {@link ThingHandle} which aggregates all operations of an already existing {@link
      * Thing} specified by the given identifier.
@@ -120,6 +130,43 @@ public interface CommonManagement<T extends ThingHandle, F extends FeatureHandle
      */
     CompletableFuture<Void> startConsumption(Option<?>... consumptionOptions);
 
+    /**
+     * Start consuming the raw Ditto Protocol messages of events (for {@code twin()} and additionally messages (for
+     * {@code live()}) with the passed {@code consumptionOptions}. The messages are handed over as JSON strings exactly
+     * as received, without being parsed, so the registered change and message handlers are not notified. Use the
+     * {@code namespaces} and {@code filter} options to let the back end pre-filter the messages.
+     * <p>
+     * Live commands are not available as raw messages. Use {@link #suspendConsumption()} to stop the consumption.
+     * </p>
+     *
+     * @param rawMessageConsumer the consumer of the raw messages, invoked in the order the messages were received
+     * for each Thing.
+     * @param consumptionOptions specifies the {@link org.eclipse.ditto.client.options.Options.Consumption
+     * ConsumptionOptions} to apply.
+     * @return a CompletableFuture that terminates when the start operation was successful.
+     * @since 1.1.0
+     */
+    CompletableFuture<Void> startRawConsumption(Consumer<String> rawMessageConsumer,
+            Option<?>... consumptionOptions);
+
+    /**
+     * Start consuming the raw Ditto Protocol messages like {@link #startRawConsumption(Consumer, Option[])}, but
+     * only hand over the messages whose topic matches the passed {@code topicFilter}. The filter is tested on the
+     * topic before the message is handed over, e. g. {@code topic -> topic.endsWith("/things/twin/events/modified")}.
+     * Messages with a topic not matching the filter are dropped without being parsed.
+     *
+     * @param rawMessageConsumer the consumer of the raw messages, invoked in the order the messages were received
+     * for each Thing.
+     * @param topicFilter the filter for the topics of the raw messages, e. g.
+     * {@code org.eclipse.ditto/my-thing/things/twin/events/modified}.
+     * @param consumptionOptions specifies the {@link org.eclipse.ditto.client.options.Options.Consumption
+     * ConsumptionOptions} to apply.
+     * @return a CompletableFuture that terminates when the start operation was successful.
+     * @since 1.1.0
+     */
+    CompletableFuture<Void> startRawConsumption(Consumer<String> rawMessageConsumer, Predicate<String> topicFilter,
+            Option<?>... consumptionOptions);
+
     /**
      * Suspend consuming events from Eclipse Ditto.
      *
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.management;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * {@link HandlerCacheMetrics} of a disabled handler cache.
+ *
+ * @since 1.1.0
+ */
+@Immutable
+enum EmptyHandlerCacheMetrics implements HandlerCacheMetrics {
+
+    INSTANCE;
+
+    @Override
+    public long getHits() {
+        return 0L;
+    }
+
+    @Override
+    public long getMisses() {
+        return 0L;
+    }
+
+    @Override
+    public long getEvictions() {
+        return 0L;
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.management;
+
+/**
+ * Metrics of the cache of the handlers selected for the addresses of received signals, whose size is configured by
+ * {@link org.eclipse.ditto.client.configuration.MessagingConfiguration#getHandlerCacheSize()}. A low ratio of hits to
+ * misses or many evictions indicate that the cache is too small for the addresses of the received signals.
+ *
+ * @since 1.1.0
+ */
+public interface HandlerCacheMetrics {
+
+    /**
+     * Returns the number of received signals whose handlers were read from the cache.
+     *
+     * @return the number of cache hits.
+     */
+    long getHits();
+
+    /**
+     * Returns the number of received signals whose handlers were not cached or whose cached handlers were
+     * invalidated by registering or deregistering a handler.
+     *
+     * @return the number of cache misses.
+     */
+    long getMisses();
+
+    /**
+     * Returns the number of cached selections which were evicted because the cache exceeded its maximum size.
+     *
+     * @return the number of evictions.
+     */
+    long getEvictions();
+
+    /**
+     * Returns metrics without any values for a disabled handler cache.
+     *
+     * @return the empty metrics.
+     */
+    static HandlerCacheMetrics empty() {
+        return EmptyHandlerCacheMetrics.INSTANCE;
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging;
+
+import java.time.Duration;
+
+/**
+ * Provides a snapshot of the distribution of recorded durations. Durations are counted in buckets with a relative
+ * width of at most 25 % and a resolution of one microsecond, so percentiles are approximations.
+ *
+ * @since 1.1.0
+ */
+public interface DurationHistogram {
+
+    /**
+     * @return the number of recorded durations.
+     */
+    long getCount();
+
+    /**
+     * @return the mean of the recorded durations or {@link Duration#ZERO} if nothing was recorded.
+     */
+    Duration getMean();
+
+    /**
+     * @return the longest recorded duration or {@link Duration#ZERO} if nothing was recorded.
+     */
+    Duration getMax();
+
+    /**
+     * Returns an upper bound of the duration which the passed percentage of the recorded durations does not exceed.
+     *
+     * @param percentile the percentage, e. g. {@code 99.0}.
+     * @return the upper bound or {@link Duration#ZERO} if nothing was recorded.
+     * @throws IllegalArgumentException if {@code percentile} is not greater than 0 and at most 100.
+     */
+    Duration getPercentile(double percentile);
+
+    /**
+     * Returns a histogram without any recorded durations.
+     *
+     * @return the empty histogram.
+     */
+    static DurationHistogram empty() {
+        return EmptyDurationHistogram.INSTANCE;
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging;
+
+import java.time.Duration;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A {@link DurationHistogram} without any recorded durations.
+ *
+ * @since 1.1.0
+ */
+@Immutable
+enum EmptyDurationHistogram implements DurationHistogram {
+
+    INSTANCE;
+
+    @Override
+    public long getCount() {
+        return 0L;
+    }
+
+    @Override
+    public Duration getMean() {
+        return Duration.ZERO;
+    }
+
+    @Override
+    public Duration getMax() {
+        return Duration.ZERO;
+    }
+
+    @Override
+    public Duration getPercentile(final double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be greater than 0 and at most 100.");
+        }
+        return Duration.ZERO;
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging;
+
+import java.time.Duration;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * {@link MessagingMetrics} of a messaging provider which does not record any metrics.
+ *
+ * @since 1.1.0
+ */
+@Immutable
+enum EmptyMessagingMetrics implements MessagingMetrics {
+
+    INSTANCE;
+
+    @Override
+    public long getReconnectAttempts() {
+        return 0L;
+    }
+
+    @Override
+    public long getReconnects() {
+        return 0L;
+    }
+
+    @Override
+    public Duration getLastReconnectDuration() {
+        return Duration.ZERO;
+    }
+
+    @Override
+    public Duration getTotalReconnectDuration() {
+        return Duration.ZERO;
+    }
+
+    @Override
+    public long getBytesSent() {
+        return 0L;
+    }
+
+    @Override
+    public long getUncompressedBytesSent() {
+        return 0L;
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return 0L;
+    }
+
+    @Override
+    public long getUncompressedBytesReceived() {
+        return 0L;
+    }
+
+    @Override
+    public DurationHistogram getRoundTripTimes() {
+        return DurationHistogram.empty();
+    }
+
+    @Override
+    public long getMissedPongs() {
+        return 0L;
+    }
+
+    @Override
+    public int getPendingResponses() {
+        return 0;
+    }
+
+    @Override
+    public long getResponseTimeouts() {
+        return 0L;
+    }
+
+}
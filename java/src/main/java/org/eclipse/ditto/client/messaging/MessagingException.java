@@ -30,12 +30,21 @@ public class MessagingException extends RuntimeException {
     private static final String TIMEOUT_MESSAGE_TEMPLATE =
             "Connect of session <%s> failed because it timed out.";
 
+    private static final String SEND_QUEUE_FULL_MESSAGE_TEMPLATE =
+            "Sending via session <%s> failed because the outbound queue with capacity <%d> is full.";
+
+    private static final String SEND_FAILED_MESSAGE_TEMPLATE = "Sending via session <%s> failed: %s";
+
     private static final long serialVersionUID = 6930767503633213674L;
 
     private MessagingException(final String message, final Throwable cause) {
         super(message, cause);
     }
 
+    private MessagingException(final String message) {
+        super(message);
+    }
+
     public static MessagingException connectFailed(final String sessionId, final Throwable cause) {
         return new MessagingException(String.format(DEFAULT_MESSAGE_TEMPLATE, sessionId), cause);
     }
@@ -48,4 +57,28 @@ public class MessagingException extends RuntimeException {
         return new MessagingException(String.format(TIMEOUT_MESSAGE_TEMPLATE, sessionId), cause);
     }
 
+    /**
+     * Creates an exception signalling that a message could not be sent because the outbound queue is full.
+     *
+     * @param sessionId the ID of the session.
+     * @param capacity the capacity of the outbound queue.
+     * @return the exception.
+     * @since 1.1.0
+     */
+    public static MessagingException sendQueueFull(final String sessionId, final int capacity) {
+        return new MessagingException(String.format(SEND_QUEUE_FULL_MESSAGE_TEMPLATE, sessionId, capacity));
+    }
+
+    /**
+     * Creates an exception signalling that a message was not written to the connection.
+     *
+     * @param sessionId the ID of the session.
+     * @param reason the reason why the message was not written.
+     * @return the exception.
+     * @since 1.1.0
+     */
+    public static MessagingException sendFailed(final String sessionId, final String reason) {
+        return new MessagingException(String.format(SEND_FAILED_MESSAGE_TEMPLATE, sessionId, reason));
+    }
+
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging;
+
+import java.time.Duration;
+
+/**
+ * Provides a snapshot of metrics about the connection of a {@link MessagingProvider}. All values are accumulated
+ * since the provider was created.
+ *
+ * @since 1.1.0
+ */
+public interface MessagingMetrics {
+
+    /**
+     * Returns the number of connection attempts made in order to re-establish a lost connection, including the failed
+     * ones.
+     *
+     * @return the number of reconnect attempts.
+     */
+    long getReconnectAttempts();
+
+    /**
+     * Returns the number of successfully re-established connections.
+     *
+     * @return the number of reconnects.
+     */
+    long getReconnects();
+
+    /**
+     * Returns the duration between the loss of the connection and its re-establishment for the last successful
+     * reconnect.
+     *
+     * @return the duration of the last reconnect or {@link Duration#ZERO} if the connection was never re-established.
+     */
+    Duration getLastReconnectDuration();
+
+    /**
+     * Returns the accumulated duration of all successful reconnects.
+     *
+     * @return the total duration of all reconnects.
+     */
+    Duration getTotalReconnectDuration();
+
+    /**
+     * Returns the number of payload bytes of the messages sent over the connection, after compression.
+     *
+     * @return the number of bytes sent.
+     */
+    long getBytesSent();
+
+    /**
+     * Returns the number of payload bytes of the messages sent over the connection before compression. The difference
+     * to {@link #getBytesSent()} is the bandwidth saved by compression.
+     *
+     * @return the number of uncompressed bytes sent.
+     */
+    long getUncompressedBytesSent();
+
+    /**
+     * Returns the number of payload bytes of the messages received over the connection, before decompression.
+     *
+     * @return the number of bytes received.
+     */
+    long getBytesReceived();
+
+    /**
+     * Returns the number of payload bytes of the messages received over the connection after decompression. The
+     * difference to {@link #getBytesReceived()} is the bandwidth saved by compression.
+     *
+     * @return the number of uncompressed bytes received.
+     */
+    long getUncompressedBytesReceived();
+
+    /**
+     * Returns the distribution of the round trip times of keepalive pings.
+     *
+     * @return the round trip times.
+     */
+    DurationHistogram getRoundTripTimes();
+
+    /**
+     * Returns the number of keepalive pings which were not answered with a pong before the next ping was due.
+     *
+     * @return the number of missed pongs.
+     */
+    long getMissedPongs();
+
+    /**
+     * Returns the number of sent messages and adaptables which currently wait for their response. Responses to
+     * commands sent via the twin, live and policies APIs are not included.
+     *
+     * @return the number of pending responses.
+     */
+    int getPendingResponses();
+
+    /**
+     * Returns the number of sent messages and adaptables whose response was not received within their timeout.
+     *
+     * @return the number of response timeouts.
+     */
+    long getResponseTimeouts();
+
+    /**
+     * Returns metrics without any values for messaging providers which do not record metrics.
+     *
+     * @return the empty metrics.
+     */
+    static MessagingMetrics empty() {
+        return EmptyMessagingMetrics.INSTANCE;
+    }
+
+}
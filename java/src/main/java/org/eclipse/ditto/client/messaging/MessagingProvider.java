@@ -14,8 +14,10 @@ package org.eclipse.ditto.client.messaging;
 
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.eclipse.ditto.client.configuration.AuthenticationConfiguration;
 import org.eclipse.ditto.client.configuration.MessagingConfiguration;
@@ -38,6 +40,21 @@ public interface MessagingProvider {
      */
     void initialize();
 
+    /**
+     * Initializes the Messaging Provider like {@link #initialize()} without blocking the calling thread.
+     * <p>
+     * The default implementation runs {@link #initialize()} with the {@link #getExecutorService() executor service}
+     * of this provider.
+     * </p>
+     *
+     * @return a future which is completed when the provider is initialized or completed exceptionally with the
+     * {@link AuthenticationException} or {@link MessagingException} {@code initialize()} would throw.
+     * @since 1.1.0
+     */
+    default CompletableFuture<Void> initializeAsync() {
+        return CompletableFuture.runAsync(this::initialize, getExecutorService());
+    }
+
     /**
      * Returns the {@code AuthenticationConfiguration} of this provider.
      *
@@ -104,6 +121,85 @@ public interface MessagingProvider {
      */
     void emitEvent(Event<?> event, TopicPath.Channel channel);
 
+    /**
+     * Send message using the underlying connection like {@link #send(Message, TopicPath.Channel)} and reports when
+     * it was written to the connection.
+     * <p>
+     * The default implementation completes the returned stage as soon as {@code send} returned, i. e. when the
+     * message was handed over to the provider.
+     * </p>
+     *
+     * @param message the message to be sent
+     * @param channel the Channel to use for sending the message (Live/Twin)
+     * @return a stage which is completed when the message was written or completed exceptionally with a
+     * {@link MessagingException} if it was discarded.
+     * @throws UnsupportedOperationException if the MessagingProvider is not able to send Messages
+     * @since 1.1.0
+     */
+    default CompletionStage<Void> sendAsync(final Message<?> message, final TopicPath.Channel channel) {
+        send(message, channel);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Send command using the underlying connection like {@link #sendCommand(Command, TopicPath.Channel)} and reports
+     * when it was written to the connection.
+     * <p>
+     * The default implementation completes the returned stage as soon as {@code sendCommand} returned.
+     * </p>
+     *
+     * @param command the command to be sent
+     * @param channel the Channel to use for sending the command (Live/Twin)
+     * @return a stage which is completed when the command was written or completed exceptionally with a
+     * {@link MessagingException} if it was discarded.
+     * @throws UnsupportedOperationException if the MessagingProvider is not able to send Commands
+     * @since 1.1.0
+     */
+    default CompletionStage<Void> sendCommandAsync(final Command<?> command, final TopicPath.Channel channel) {
+        sendCommand(command, channel);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Send CommandResponse using the underlying connection like
+     * {@link #sendCommandResponse(CommandResponse, TopicPath.Channel)} and reports when it was written to the
+     * connection.
+     * <p>
+     * The default implementation completes the returned stage as soon as {@code sendCommandResponse} returned.
+     * </p>
+     *
+     * @param commandResponse the CommandResponse to be sent
+     * @param channel the Channel to use for sending the commandResponse (Live/Twin)
+     * @return a stage which is completed when the response was written or completed exceptionally with a
+     * {@link MessagingException} if it was discarded.
+     * @throws UnsupportedOperationException if the MessagingProvider is not able to send CommandResponses
+     * @since 1.1.0
+     */
+    default CompletionStage<Void> sendCommandResponseAsync(final CommandResponse<?> commandResponse,
+            final TopicPath.Channel channel) {
+        sendCommandResponse(commandResponse, channel);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Emits Event using the underlying connection like {@link #emitEvent(Event, TopicPath.Channel)} and reports when
+     * it was written to the connection.
+     * <p>
+     * The default implementation completes the returned stage as soon as {@code emitEvent} returned.
+     * </p>
+     *
+     * @param event the Event to be emitted
+     * @param channel the Channel to use for emitting the event (Live/Twin)
+     * @return a stage which is completed when the event was written or completed exceptionally with a
+     * {@link MessagingException} if it was discarded.
+     * @throws UnsupportedOperationException if the MessagingProvider is not able to emit Events
+     * @since 1.1.0
+     */
+    default CompletionStage<Void> emitEventAsync(final Event<?> event, final TopicPath.Channel channel) {
+        emitEvent(event, channel);
+        return CompletableFuture.completedFuture(null);
+    }
+
     /**
      * Register handler for ThingCommandResponse.
      *
@@ -125,6 +221,28 @@ public interface MessagingProvider {
             Consumer<Message<?>> handler,
             CompletableFuture<Void> receiptFuture);
 
+    /**
+     * Register a named handler for the raw Ditto Protocol messages received for a subscription. The messages are
+     * handed over as JSON strings without being parsed.
+     *
+     * @param name name of the message handler, the same as for {@link #registerMessageHandler(String, Map, Consumer,
+     * CompletableFuture)}
+     * @param registrationConfig optional configuration for this registration
+     * @param topicFilter tests the topic of each raw message before the handler is invoked, messages with a topic
+     * not matching the filter are dropped
+     * @param handler the handler invoked with the raw messages
+     * @param receiptFuture the future that takes responses to this register call
+     * @return the {@code true} if handler was registered, {@code false} otherwise (e.g. a handler was already
+     * registered with this name)
+     * @throws IllegalArgumentException if raw messages are not supported for the subscription {@code name}
+     * @since 1.1.0
+     */
+    boolean registerRawMessageHandler(String name,
+            Map<String, String> registrationConfig,
+            Predicate<String> topicFilter,
+            Consumer<String> handler,
+            CompletableFuture<Void> receiptFuture);
+
     /**
      * Remove a previously registered message handler.
      *
@@ -133,6 +251,16 @@ public interface MessagingProvider {
      */
     void deregisterMessageHandler(String name, CompletableFuture<Void> future);
 
+    /**
+     * Returns the metrics about the connection of this provider.
+     *
+     * @return the metrics, empty metrics if this provider does not record metrics.
+     * @since 1.1.0
+     */
+    default MessagingMetrics getMetrics() {
+        return MessagingMetrics.empty();
+    }
+
     /**
      * Close the underlying connection.
      */
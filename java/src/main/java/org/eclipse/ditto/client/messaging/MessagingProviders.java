@@ -12,14 +12,20 @@
  */
 package org.eclipse.ditto.client.messaging;
 
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.eclipse.ditto.client.configuration.MessagingConfiguration;
 import org.eclipse.ditto.client.internal.DefaultThreadFactory;
+import org.eclipse.ditto.client.messaging.internal.PooledMessagingProvider;
 import org.eclipse.ditto.client.messaging.internal.WebSocketMessagingProvider;
 
 import com.neovisionaries.ws.client.WebSocket;
@@ -48,6 +54,71 @@ public final class MessagingProviders {
         return webSocket(configuration, authenticationProvider, defaultExecutorService);
     }
 
+    /**
+     * Creates a {@link MessagingProvider} which opens {@code sessions} WebSocket connections with the passed
+     * configuration and distributes the traffic over them. Commands and events for the same thing are always sent over
+     * the same connection, so their order is kept.
+     * <p>
+     * Each connection owns an authentication provider of its own, which it destroys when it is closed. Therefore
+     * {@code authenticationProviderFactory} is called once per connection and has to return a new provider on each
+     * call, e.g. {@code () -> AuthenticationProviders.clientCredentials(authenticationConfiguration)}.
+     * </p>
+     *
+     * @param configuration the configuration of each connection.
+     * @param authenticationProviderFactory creates the authentication provider of each connection.
+     * @param callbackExecutor the executor for messages, shared by all connections.
+     * @param sessions the number of connections.
+     * @return the provider.
+     * @throws NullPointerException if {@code authenticationProviderFactory} is {@code null}.
+     * @throws IllegalArgumentException if {@code sessions} is not positive or if {@code authenticationProviderFactory}
+     * returned the same provider for two connections.
+     * @since 1.1.0
+     */
+    public static MessagingProvider webSocketPool(final MessagingConfiguration configuration,
+            final Supplier<AuthenticationProvider<WebSocket>> authenticationProviderFactory,
+            final ExecutorService callbackExecutor,
+            final int sessions) {
+        checkNotNull(authenticationProviderFactory, "authenticationProviderFactory");
+        if (sessions <= 0) {
+            throw new IllegalArgumentException("Sessions must not be negative or zero.");
+        }
+        final List<AuthenticationProvider<WebSocket>> authenticationProviders = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            final AuthenticationProvider<WebSocket> authenticationProvider = authenticationProviderFactory.get();
+            // a shared provider would be destroyed by the first connection which is closed:
+            if (authenticationProviders.stream().anyMatch(provider -> provider == authenticationProvider)) {
+                throw new IllegalArgumentException("Each session requires an authentication provider of its own.");
+            }
+            authenticationProviders.add(authenticationProvider);
+        }
+        final List<MessagingProvider> providers = new ArrayList<>(sessions);
+        for (final AuthenticationProvider<WebSocket> authenticationProvider : authenticationProviders) {
+            providers.add(webSocket(configuration, authenticationProvider, callbackExecutor));
+        }
+        return PooledMessagingProvider.newInstance(providers);
+    }
+
+    /**
+     * Creates a {@link MessagingProvider} which opens {@code sessions} WebSocket connections with the passed
+     * configuration and distributes the traffic over them, see
+     * {@link #webSocketPool(MessagingConfiguration, Supplier, ExecutorService, int)}.
+     *
+     * @param configuration the configuration of each connection.
+     * @param authenticationProviderFactory creates the authentication provider of each connection.
+     * @param sessions the number of connections.
+     * @return the provider.
+     * @throws NullPointerException if {@code authenticationProviderFactory} is {@code null}.
+     * @throws IllegalArgumentException if {@code sessions} is not positive or if {@code authenticationProviderFactory}
+     * returned the same provider for two connections.
+     * @since 1.1.0
+     */
+    public static MessagingProvider webSocketPool(final MessagingConfiguration configuration,
+            final Supplier<AuthenticationProvider<WebSocket>> authenticationProviderFactory,
+            final int sessions) {
+        final ExecutorService defaultExecutorService = createDefaultExecutorService(UUID.randomUUID().toString());
+        return webSocketPool(configuration, authenticationProviderFactory, defaultExecutorService, sessions);
+    }
+
     private static ExecutorService createDefaultExecutorService(final String name) {
         final int availableProcessors = Runtime.getRuntime().availableProcessors();
         final ThreadPoolExecutor executor = new ThreadPoolExecutor(
@@ -17,9 +17,13 @@ import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import javax.annotation.concurrent.ThreadSafe;
@@ -30,9 +34,15 @@ import org.eclipse.ditto.client.messaging.JsonWebTokenSupplier;
 import org.eclipse.ditto.model.jwt.JsonWebToken;
 
 import com.neovisionaries.ws.client.WebSocket;
+import com.neovisionaries.ws.client.WebSocketState;
 
 /**
  * Common base implementation for authentication providers based on {@link org.eclipse.ditto.model.jwt.JsonWebToken}.
+ * <p>
+ * The token is refreshed by one schedule, regardless of how many WebSockets were prepared. A refreshed token is handed
+ * to the registered token message senders, i. e. the messaging providers which send it over the WebSocket they
+ * currently use. Without any sender, it is sent over the most recently prepared WebSocket unless that one is closed.
+ * </p>
  *
  * @since 1.0.0
  */
@@ -43,6 +53,9 @@ abstract class AbstractTokenAuthenticationProvider implements AuthenticationProv
     private final Map<String, String> additionalHeaders;
     private final JsonWebTokenSupplier jsonWebTokenSupplier;
     private final JwtRefreshScheduler jwtRefreshScheduler;
+    private final AtomicBoolean refreshScheduled;
+    private final AtomicReference<WebSocket> lastPreparedWebSocket;
+    private final Set<Consumer<String>> tokenMessageSenders;
 
     AbstractTokenAuthenticationProvider(final Map<String, String> additionalHeaders,
             final JsonWebTokenSupplier jsonWebTokenSupplier,
@@ -50,6 +63,9 @@ abstract class AbstractTokenAuthenticationProvider implements AuthenticationProv
         this.additionalHeaders = checkNotNull(additionalHeaders, "additionalHeaders");
         this.jsonWebTokenSupplier = checkNotNull(jsonWebTokenSupplier, "accessTokenSupplier");
         jwtRefreshScheduler = JwtRefreshScheduler.newInstance(jsonWebTokenSupplier, expiryGracePeriod);
+        refreshScheduled = new AtomicBoolean(false);
+        lastPreparedWebSocket = new AtomicReference<>();
+        tokenMessageSenders = new CopyOnWriteArraySet<>();
     }
 
     @Override
@@ -58,11 +74,41 @@ abstract class AbstractTokenAuthenticationProvider implements AuthenticationProv
         final String authorizationHeader = String.format("Bearer %s", jwt.getToken());
         webSocket.addHeader("Authorization", authorizationHeader);
         additionalHeaders.forEach(webSocket::addHeader);
-        jwtRefreshScheduler.scheduleRefresh(jwt.getExpirationTime(), newJwt -> sendJwt(webSocket, newJwt));
+        lastPreparedWebSocket.set(webSocket);
+        // each WebSocket used to start a refresh chain of its own which was never cancelled:
+        if (refreshScheduled.compareAndSet(false, true)) {
+            jwtRefreshScheduler.scheduleRefresh(jwt.getExpirationTime(), this::sendJwt);
+        }
+    }
+
+    /**
+     * Adds a sender of the protocol message which hands a refreshed token to the back end.
+     *
+     * @param tokenMessageSender sends the passed protocol message over the WebSocket in use.
+     */
+    void addTokenMessageSender(final Consumer<String> tokenMessageSender) {
+        tokenMessageSenders.add(checkNotNull(tokenMessageSender, "tokenMessageSender"));
     }
 
-    private void sendJwt(final WebSocket webSocket, final JsonWebToken jsonWebToken) {
-        webSocket.sendText(String.format(PROTOCOL_CMD_JWT_TOKEN_TEMPLATE, jsonWebToken.getToken()));
+    /**
+     * Removes a sender added by {@link #addTokenMessageSender(Consumer)}.
+     *
+     * @param tokenMessageSender the sender to remove.
+     */
+    void removeTokenMessageSender(final Consumer<String> tokenMessageSender) {
+        tokenMessageSenders.remove(tokenMessageSender);
+    }
+
+    private void sendJwt(final JsonWebToken jsonWebToken) {
+        final String tokenMessage = String.format(PROTOCOL_CMD_JWT_TOKEN_TEMPLATE, jsonWebToken.getToken());
+        if (!tokenMessageSenders.isEmpty()) {
+            tokenMessageSenders.forEach(tokenMessageSender -> tokenMessageSender.accept(tokenMessage));
+        } else {
+            final WebSocket webSocket = lastPreparedWebSocket.get();
+            if (null != webSocket && WebSocketState.CLOSED != webSocket.getState()) {
+                webSocket.sendText(tokenMessage);
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,529 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.json.JsonArray;
+import org.eclipse.ditto.json.JsonArrayBuilder;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.json.JsonParseException;
+import org.eclipse.ditto.json.JsonValue;
+
+/**
+ * Encodes JSON values as CBOR (RFC 7049) data items and decodes them again. Only the part of CBOR which corresponds
+ * to the JSON data model is supported: maps with text keys, arrays, text strings, integers, floating-point numbers,
+ * booleans and {@code null}. When decoding, indefinite-length items are accepted, tags are ignored and
+ * {@code undefined} is treated as {@code null}; byte strings are rejected as they have no JSON representation.
+ *
+ * @since 1.1.0
+ */
+@Immutable
+final class CborCodec {
+
+    private static final int MAJOR_TYPE_UNSIGNED_INTEGER = 0;
+    private static final int MAJOR_TYPE_NEGATIVE_INTEGER = 1;
+    private static final int MAJOR_TYPE_BYTE_STRING = 2;
+    private static final int MAJOR_TYPE_TEXT_STRING = 3;
+    private static final int MAJOR_TYPE_ARRAY = 4;
+    private static final int MAJOR_TYPE_MAP = 5;
+    private static final int MAJOR_TYPE_TAG = 6;
+    private static final int MAJOR_TYPE_SIMPLE = 7;
+
+    private static final int ONE_BYTE_ARGUMENT = 24;
+    private static final int TWO_BYTES_ARGUMENT = 25;
+    private static final int FOUR_BYTES_ARGUMENT = 26;
+    private static final int EIGHT_BYTES_ARGUMENT = 27;
+    private static final int INDEFINITE_LENGTH = 31;
+
+    private static final int SIMPLE_FALSE = 20;
+    private static final int SIMPLE_TRUE = 21;
+    private static final int SIMPLE_NULL = 22;
+    private static final int SIMPLE_UNDEFINED = 23;
+
+    private static final int BREAK = 0xff;
+
+    private CborCodec() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Encodes the passed JSON value as CBOR data item.
+     *
+     * @param jsonValue the JSON value to encode.
+     * @return the CBOR data item.
+     * @throws NullPointerException if {@code jsonValue} is {@code null}.
+     */
+    static byte[] encode(final JsonValue jsonValue) {
+        checkNotNull(jsonValue, "jsonValue");
+        final Encoder encoder = new Encoder();
+        encoder.writeValue(jsonValue);
+        return encoder.toByteArray();
+    }
+
+    /**
+     * Decodes the passed CBOR data item to a JSON value.
+     *
+     * @param cbor the CBOR data item.
+     * @return the JSON value.
+     * @throws NullPointerException if {@code cbor} is {@code null}.
+     * @throws JsonParseException if {@code cbor} is no well-formed CBOR data item or contains items without JSON
+     * representation.
+     */
+    static JsonValue decode(final byte[] cbor) {
+        checkNotNull(cbor, "cbor");
+        final Decoder decoder = new Decoder(cbor);
+        final JsonValue result = decoder.readValue();
+        decoder.requireEnd();
+        return result;
+    }
+
+    /**
+     * Scans the passed CBOR data item for a text string which is reached by following the passed map keys, without
+     * decoding any other item.
+     *
+     * @param cbor the CBOR data item.
+     * @param keys the keys of the nested maps which lead to the text string.
+     * @return the text string or {@code null} if there is no text string at the given keys or if the data item is
+     * malformed.
+     */
+    @Nullable
+    static String findText(final byte[] cbor, final String... keys) {
+        final Decoder decoder = new Decoder(cbor);
+        try {
+            for (final String key : keys) {
+                if (!decoder.seekMapValue(key)) {
+                    return null;
+                }
+            }
+            return decoder.readTextIfPresent();
+        } catch (final JsonParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Scans the passed CBOR data item for the passed key of its top level map, without decoding any other item.
+     *
+     * @param cbor the CBOR data item.
+     * @param key the key.
+     * @return {@code true} if the data item is a map containing the key, {@code false} if it does not contain the key
+     * or if the data item is malformed.
+     */
+    static boolean containsKey(final byte[] cbor, final String key) {
+        try {
+            return new Decoder(cbor).seekMapValue(key);
+        } catch (final JsonParseException e) {
+            return false;
+        }
+    }
+
+    private static final class Encoder {
+
+        private byte[] buffer;
+        private int size;
+
+        private Encoder() {
+            buffer = new byte[256];
+            size = 0;
+        }
+
+        private void writeValue(final JsonValue value) {
+            // null literals of objects and arrays are null as well, so null has to be checked first:
+            if (value.isNull()) {
+                writeHead(MAJOR_TYPE_SIMPLE, SIMPLE_NULL);
+            } else if (value.isBoolean()) {
+                writeHead(MAJOR_TYPE_SIMPLE, value.asBoolean() ? SIMPLE_TRUE : SIMPLE_FALSE);
+            } else if (value.isNumber()) {
+                writeNumber(value);
+            } else if (value.isString()) {
+                writeText(value.asString());
+            } else if (value.isArray()) {
+                writeArray(value.asArray());
+            } else if (value.isObject()) {
+                writeObject(value.asObject());
+            } else {
+                throw new IllegalArgumentException("Unsupported JSON value: " + value);
+            }
+        }
+
+        private void writeNumber(final JsonValue number) {
+            if (number.isLong()) {
+                final long value = number.asLong();
+                if (value >= 0) {
+                    writeHead(MAJOR_TYPE_UNSIGNED_INTEGER, value);
+                } else {
+                    writeHead(MAJOR_TYPE_NEGATIVE_INTEGER, -1 - value);
+                }
+            } else {
+                final double value = number.asDouble();
+                final float floatValue = (float) value;
+                if (floatValue == value) {
+                    // single precision is sufficient without losing anything:
+                    writeByte(MAJOR_TYPE_SIMPLE << 5 | FOUR_BYTES_ARGUMENT);
+                    writeBigEndian(Float.floatToIntBits(floatValue), Integer.BYTES);
+                } else {
+                    writeByte(MAJOR_TYPE_SIMPLE << 5 | EIGHT_BYTES_ARGUMENT);
+                    writeBigEndian(Double.doubleToLongBits(value), Long.BYTES);
+                }
+            }
+        }
+
+        private void writeText(final String text) {
+            final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            writeHead(MAJOR_TYPE_TEXT_STRING, bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private void writeArray(final JsonArray array) {
+            writeHead(MAJOR_TYPE_ARRAY, array.getSize());
+            array.forEach(this::writeValue);
+        }
+
+        private void writeObject(final JsonObject object) {
+            writeHead(MAJOR_TYPE_MAP, object.getSize());
+            for (final JsonField field : object) {
+                writeText(field.getKeyName());
+                writeValue(field.getValue());
+            }
+        }
+
+        private void writeHead(final int majorType, final long argument) {
+            final int initialByte = majorType << 5;
+            if (argument < ONE_BYTE_ARGUMENT) {
+                writeByte(initialByte | (int) argument);
+            } else if (argument <= 0xffL) {
+                writeByte(initialByte | ONE_BYTE_ARGUMENT);
+                writeBigEndian(argument, 1);
+            } else if (argument <= 0xffffL) {
+                writeByte(initialByte | TWO_BYTES_ARGUMENT);
+                writeBigEndian(argument, 2);
+            } else if (argument <= 0xffffffffL) {
+                writeByte(initialByte | FOUR_BYTES_ARGUMENT);
+                writeBigEndian(argument, 4);
+            } else {
+                writeByte(initialByte | EIGHT_BYTES_ARGUMENT);
+                writeBigEndian(argument, 8);
+            }
+        }
+
+        private void writeBigEndian(final long value, final int byteCount) {
+            ensureCapacity(byteCount);
+            for (int i = byteCount - 1; i >= 0; i--) {
+                buffer[size++] = (byte) (value >>> (8 * i));
+            }
+        }
+
+        private void writeByte(final int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        private void ensureCapacity(final int additionalBytes) {
+            final int required = size + additionalBytes;
+            if (required > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+    }
+
+    private static final class Decoder {
+
+        private final byte[] data;
+        private int position;
+
+        private Decoder(final byte[] data) {
+            this.data = data;
+            position = 0;
+        }
+
+        private JsonValue readValue() {
+            final int initialByte = readUnsignedByte();
+            final int majorType = initialByte >>> 5;
+            final int additionalInformation = initialByte & 0x1f;
+            switch (majorType) {
+                case MAJOR_TYPE_UNSIGNED_INTEGER:
+                    return toJsonNumber(readArgument(additionalInformation));
+                case MAJOR_TYPE_NEGATIVE_INTEGER:
+                    return toJsonNumber(-1 - readArgument(additionalInformation));
+                case MAJOR_TYPE_TEXT_STRING:
+                    return JsonFactory.newValue(readText(additionalInformation));
+                case MAJOR_TYPE_ARRAY:
+                    return readArray(additionalInformation);
+                case MAJOR_TYPE_MAP:
+                    return readObject(additionalInformation);
+                case MAJOR_TYPE_TAG:
+                    // tags only add semantics to the tagged item which has no JSON representation anyway:
+                    readArgument(additionalInformation);
+                    return readValue();
+                case MAJOR_TYPE_SIMPLE:
+                    return readSimpleValue(additionalInformation);
+                default:
+                    throw parseException("Byte strings are not supported");
+            }
+        }
+
+        private static JsonValue toJsonNumber(final long value) {
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return JsonFactory.newValue((int) value);
+            }
+            return JsonFactory.newValue(value);
+        }
+
+        private String readText(final int additionalInformation) {
+            if (INDEFINITE_LENGTH == additionalInformation) {
+                final StringBuilder stringBuilder = new StringBuilder();
+                while (!tryToReadBreak()) {
+                    final int chunkInitialByte = readUnsignedByte();
+                    if (chunkInitialByte >>> 5 != MAJOR_TYPE_TEXT_STRING ||
+                            INDEFINITE_LENGTH == (chunkInitialByte & 0x1f)) {
+                        throw parseException("Invalid chunk of indefinite-length text string");
+                    }
+                    stringBuilder.append(readText(chunkInitialByte & 0x1f));
+                }
+                return stringBuilder.toString();
+            }
+            final int length = readLength(additionalInformation);
+            final String result = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return result;
+        }
+
+        private JsonArray readArray(final int additionalInformation) {
+            final JsonArrayBuilder arrayBuilder = JsonFactory.newArrayBuilder();
+            if (INDEFINITE_LENGTH == additionalInformation) {
+                while (!tryToReadBreak()) {
+                    arrayBuilder.add(readValue());
+                }
+            } else {
+                final long length = readArgument(additionalInformation);
+                for (long i = 0; i < length; i++) {
+                    arrayBuilder.add(readValue());
+                }
+            }
+            return arrayBuilder.build();
+        }
+
+        private JsonObject readObject(final int additionalInformation) {
+            final JsonObjectBuilder objectBuilder = JsonFactory.newObjectBuilder();
+            if (INDEFINITE_LENGTH == additionalInformation) {
+                while (!tryToReadBreak()) {
+                    objectBuilder.set(readField());
+                }
+            } else {
+                final long length = readArgument(additionalInformation);
+                for (long i = 0; i < length; i++) {
+                    objectBuilder.set(readField());
+                }
+            }
+            return objectBuilder.build();
+        }
+
+        private JsonField readField() {
+            final String key = readKey();
+            return JsonFactory.newField(JsonFactory.newKey(key), readValue());
+        }
+
+        private String readKey() {
+            final int initialByte = readUnsignedByte();
+            if (initialByte >>> 5 != MAJOR_TYPE_TEXT_STRING) {
+                throw parseException("Map keys must be text strings");
+            }
+            return readText(initialByte & 0x1f);
+        }
+
+        private JsonValue readSimpleValue(final int additionalInformation) {
+            switch (additionalInformation) {
+                case SIMPLE_FALSE:
+                    return JsonFactory.newValue(false);
+                case SIMPLE_TRUE:
+                    return JsonFactory.newValue(true);
+                case SIMPLE_NULL:
+                case SIMPLE_UNDEFINED:
+                    return JsonFactory.nullLiteral();
+                case TWO_BYTES_ARGUMENT:
+                    return JsonFactory.newValue(toDouble((int) readBigEndian(2)));
+                case FOUR_BYTES_ARGUMENT:
+                    return JsonFactory.newValue((double) Float.intBitsToFloat((int) readBigEndian(4)));
+                case EIGHT_BYTES_ARGUMENT:
+                    return JsonFactory.newValue(Double.longBitsToDouble(readBigEndian(8)));
+                default:
+                    throw parseException("Unsupported simple value " + additionalInformation);
+            }
+        }
+
+        private static double toDouble(final int halfPrecision) {
+            final int exponent = (halfPrecision >> 10) & 0x1f;
+            final int mantissa = halfPrecision & 0x3ff;
+            final double magnitude;
+            if (0 == exponent) {
+                magnitude = mantissa * Math.pow(2, -24);
+            } else if (0x1f != exponent) {
+                magnitude = (mantissa + 1024) * Math.pow(2, exponent - 25.0);
+            } else {
+                magnitude = 0 == mantissa ? Double.POSITIVE_INFINITY : Double.NaN;
+            }
+            return 0 != (halfPrecision & 0x8000) ? -magnitude : magnitude;
+        }
+
+        /**
+         * Positions the decoder at the value of the passed key in the map at the current position.
+         *
+         * @return {@code true} if the map contains the key.
+         */
+        private boolean seekMapValue(final String key) {
+            final int initialByte = readUnsignedByte();
+            if (initialByte >>> 5 != MAJOR_TYPE_MAP) {
+                return false;
+            }
+            final int additionalInformation = initialByte & 0x1f;
+            final long length = INDEFINITE_LENGTH == additionalInformation
+                    ? Long.MAX_VALUE
+                    : readArgument(additionalInformation);
+            for (long i = 0; i < length && !(INDEFINITE_LENGTH == additionalInformation && tryToReadBreak()); i++) {
+                if (key.equals(readKey())) {
+                    return true;
+                }
+                skipValue();
+            }
+            return false;
+        }
+
+        @Nullable
+        private String readTextIfPresent() {
+            if (position < data.length && (data[position] & 0xff) >>> 5 == MAJOR_TYPE_TEXT_STRING) {
+                return readText(readUnsignedByte() & 0x1f);
+            }
+            return null;
+        }
+
+        private void skipValue() {
+            final int initialByte = readUnsignedByte();
+            final int majorType = initialByte >>> 5;
+            final int additionalInformation = initialByte & 0x1f;
+            switch (majorType) {
+                case MAJOR_TYPE_BYTE_STRING:
+                case MAJOR_TYPE_TEXT_STRING:
+                    if (INDEFINITE_LENGTH == additionalInformation) {
+                        while (!tryToReadBreak()) {
+                            skipValue();
+                        }
+                    } else {
+                        final int length = readLength(additionalInformation);
+                        position += length;
+                    }
+                    break;
+                case MAJOR_TYPE_ARRAY:
+                case MAJOR_TYPE_MAP:
+                    final int itemsPerEntry = MAJOR_TYPE_MAP == majorType ? 2 : 1;
+                    if (INDEFINITE_LENGTH == additionalInformation) {
+                        while (!tryToReadBreak()) {
+                            for (int i = 0; i < itemsPerEntry; i++) {
+                                skipValue();
+                            }
+                        }
+                    } else {
+                        final long length = readArgument(additionalInformation);
+                        for (long i = 0; i < length * itemsPerEntry; i++) {
+                            skipValue();
+                        }
+                    }
+                    break;
+                case MAJOR_TYPE_TAG:
+                    readArgument(additionalInformation);
+                    skipValue();
+                    break;
+                case MAJOR_TYPE_SIMPLE:
+                    if (additionalInformation >= ONE_BYTE_ARGUMENT && additionalInformation <= EIGHT_BYTES_ARGUMENT) {
+                        readBigEndian(1 << (additionalInformation - ONE_BYTE_ARGUMENT));
+                    }
+                    break;
+                default:
+                    readArgument(additionalInformation);
+            }
+        }
+
+        private long readArgument(final int additionalInformation) {
+            if (additionalInformation < ONE_BYTE_ARGUMENT) {
+                return additionalInformation;
+            } else if (additionalInformation <= EIGHT_BYTES_ARGUMENT) {
+                final long result = readBigEndian(1 << (additionalInformation - ONE_BYTE_ARGUMENT));
+                if (result < 0) {
+                    throw parseException("Integers exceeding 64-bit signed integers are not supported");
+                }
+                return result;
+            }
+            throw parseException("Invalid additional information " + additionalInformation);
+        }
+
+        private int readLength(final int additionalInformation) {
+            final long length = readArgument(additionalInformation);
+            if (length > data.length - position) {
+                throw parseException("Length " + length + " exceeds the remaining data");
+            }
+            return (int) length;
+        }
+
+        private long readBigEndian(final int byteCount) {
+            long result = 0;
+            for (int i = 0; i < byteCount; i++) {
+                result = (result << 8) | readUnsignedByte();
+            }
+            return result;
+        }
+
+        private boolean tryToReadBreak() {
+            if (position < data.length && BREAK == (data[position] & 0xff)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private int readUnsignedByte() {
+            if (position >= data.length) {
+                throw parseException("Unexpected end of data");
+            }
+            return data[position++] & 0xff;
+        }
+
+        private void requireEnd() {
+            if (position != data.length) {
+                throw parseException("Unexpected data after the data item");
+            }
+        }
+
+        private JsonParseException parseException(final String description) {
+            return new JsonParseException(
+                    "Failed to decode CBOR at offset " + position + ": " + description + ".");
+        }
+
+    }
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.channels.Channel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Orders the endpoints of a client by their latency. The latency of an endpoint is estimated from the duration of TCP
+ * handshakes with it and from the round trip times of keepalive pings while connected to it, both of which take one
+ * network round trip. Recent measurements weigh more than older ones.
+ * <p>
+ * All endpoints are probed concurrently from the calling thread by non-blocking TCP connects. Endpoints which could
+ * not be reached are ordered behind the reachable ones, endpoints with equal or unknown latency keep their configured
+ * order. If probing is disabled, e.g. because the endpoints are only reachable via a proxy, the order is only
+ * determined by earlier failures and round trip times.
+ * </p>
+ *
+ * @since 1.1.0
+ */
+@ThreadSafe
+final class EndpointSelector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EndpointSelector.class);
+
+    private static final int DEFAULT_WS_PORT = 80;
+    private static final int DEFAULT_WSS_PORT = 443;
+
+    private final List<URI> endpoints;
+    private final boolean probingEnabled;
+    private final long probeTimeoutNanos;
+    private final Map<URI, Long> latencies;
+
+    private EndpointSelector(final List<URI> endpoints, final boolean probingEnabled, final Duration probeTimeout) {
+        this.endpoints = Collections.unmodifiableList(new ArrayList<>(endpoints));
+        this.probingEnabled = probingEnabled;
+        probeTimeoutNanos = probeTimeout.toNanos();
+        latencies = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns a new {@code EndpointSelector}.
+     *
+     * @param endpoints the endpoints in their configured order.
+     * @param probingEnabled whether the endpoints should be probed before each ranking.
+     * @param probeTimeout how long to wait for the TCP handshakes of a probe.
+     * @return the selector.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code endpoints} is empty.
+     */
+    static EndpointSelector newInstance(final List<URI> endpoints, final boolean probingEnabled,
+            final Duration probeTimeout) {
+        checkNotNull(endpoints, "endpoints");
+        checkNotNull(probeTimeout, "probeTimeout");
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("The endpoints must not be empty.");
+        }
+        return new EndpointSelector(endpoints, probingEnabled, probeTimeout);
+    }
+
+    /**
+     * Probes the endpoints if enabled and returns them ordered by their estimated latency. A single endpoint is
+     * returned without probing it.
+     *
+     * @return the endpoints, fastest first.
+     */
+    List<URI> rank() {
+        if (endpoints.size() == 1) {
+            return endpoints;
+        }
+        if (probingEnabled) {
+            final Map<URI, Long> handshakeNanos = probe();
+            for (final URI endpoint : endpoints) {
+                final Long nanos = handshakeNanos.get(endpoint);
+                if (null != nanos) {
+                    latencyMeasured(endpoint, nanos);
+                } else {
+                    failed(endpoint);
+                }
+            }
+        }
+        final Map<URI, Long> snapshot = new HashMap<>(latencies);
+        final List<URI> result = new ArrayList<>(endpoints);
+        // List.sort is stable, so endpoints of unknown latency keep their configured order:
+        result.sort(Comparator.comparingLong(endpoint -> snapshot.getOrDefault(endpoint, Long.MAX_VALUE)));
+        LOGGER.debug("Ranked endpoints <{}> by their latencies <{}>.", result, snapshot);
+        return result;
+    }
+
+    /**
+     * Records a latency measured for the passed endpoint.
+     *
+     * @param endpoint the endpoint.
+     * @param nanos the duration of a network round trip to the endpoint.
+     */
+    void latencyMeasured(final URI endpoint, final long nanos) {
+        // exponentially weighted moving average giving the new measurement a weight of 1/4:
+        latencies.merge(endpoint, nanos, (previous, measured) -> previous - (previous >> 2) + (measured >> 2));
+    }
+
+    /**
+     * Records that the passed endpoint could not be reached, which orders it behind all reachable endpoints until
+     * its latency is measured again.
+     *
+     * @param endpoint the endpoint.
+     */
+    void failed(final URI endpoint) {
+        latencies.remove(endpoint);
+    }
+
+    /**
+     * @return the endpoints in their configured order.
+     */
+    List<URI> getEndpoints() {
+        return endpoints;
+    }
+
+    private Map<URI, Long> probe() {
+        final Map<URI, Long> result = new HashMap<>();
+        try (final Selector selector = Selector.open()) {
+            int pending = 0;
+            for (final URI endpoint : endpoints) {
+                if (startProbe(selector, endpoint, result)) {
+                    pending++;
+                }
+            }
+            final long deadline = System.nanoTime() + probeTimeoutNanos;
+            long remainingMillis;
+            while (pending > 0 &&
+                    (remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())) > 0) {
+                selector.select(remainingMillis);
+                for (final SelectionKey key : selector.selectedKeys()) {
+                    finishProbe(key, result);
+                    pending--;
+                }
+                selector.selectedKeys().clear();
+            }
+            for (final SelectionKey key : selector.keys()) {
+                closeQuietly(key.channel());
+            }
+        } catch (final IOException e) {
+            LOGGER.warn("Probing the endpoints failed: {}", e.getMessage());
+        }
+        return result;
+    }
+
+    private static boolean startProbe(final Selector selector, final URI endpoint, final Map<URI, Long> result) {
+        final InetSocketAddress address = new InetSocketAddress(endpoint.getHost(), getPort(endpoint));
+        if (address.isUnresolved()) {
+            LOGGER.debug("Could not resolve endpoint <{}>.", endpoint);
+            return false;
+        }
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            final Probe probe = new Probe(endpoint, System.nanoTime());
+            if (channel.connect(address)) {
+                result.put(endpoint, System.nanoTime() - probe.startedAtNanos);
+                closeQuietly(channel);
+                return false;
+            }
+            channel.register(selector, SelectionKey.OP_CONNECT, probe);
+            return true;
+        } catch (final IOException e) {
+            LOGGER.debug("Could not connect to endpoint <{}>: {}", endpoint, e.getMessage());
+            closeQuietly(channel);
+            return false;
+        }
+    }
+
+    private static void finishProbe(final SelectionKey key, final Map<URI, Long> result) {
+        final SocketChannel channel = (SocketChannel) key.channel();
+        final Probe probe = (Probe) key.attachment();
+        try {
+            if (channel.finishConnect()) {
+                result.put(probe.endpoint, System.nanoTime() - probe.startedAtNanos);
+            }
+        } catch (final IOException e) {
+            LOGGER.debug("Could not connect to endpoint <{}>: {}", probe.endpoint, e.getMessage());
+        } finally {
+            key.cancel();
+            closeQuietly(channel);
+        }
+    }
+
+    private static int getPort(final URI endpoint) {
+        if (-1 != endpoint.getPort()) {
+            return endpoint.getPort();
+        }
+        return "wss".equalsIgnoreCase(endpoint.getScheme()) ? DEFAULT_WSS_PORT : DEFAULT_WS_PORT;
+    }
+
+    private static void closeQuietly(@Nullable final Channel channel) {
+        if (null != channel) {
+            try {
+                channel.close();
+            } catch (final IOException e) {
+                LOGGER.debug("Could not close probe channel: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static final class Probe {
+
+        private final URI endpoint;
+        private final long startedAtNanos;
+
+        private Probe(final URI endpoint, final long startedAtNanos) {
+            this.endpoint = endpoint;
+            this.startedAtNanos = startedAtNanos;
+        }
+
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.configuration.InboundFlowControlConfiguration;
+
+/**
+ * Counts the incoming messages which were received but are not yet handled and lets the reading thread of the
+ * WebSocket wait while there are too many of them. Waiting in the reading thread stops reading from the socket, so the
+ * TCP receive window fills up and the backend has to slow down.
+ * <p>
+ * Reading is paused once the number of unhandled messages reached the high watermark and resumed once it dropped to
+ * the low watermark. The gap between both avoids pausing and resuming for every single message.
+ * </p>
+ *
+ * @since 1.1.0
+ */
+@ThreadSafe
+final class InboundFlowControl {
+
+    private final int highWatermark;
+    private final int lowWatermark;
+
+    private int unhandled;
+    private boolean paused;
+    private boolean closed;
+
+    private InboundFlowControl(final InboundFlowControlConfiguration configuration) {
+        highWatermark = configuration.getHighWatermark();
+        lowWatermark = configuration.getLowWatermark();
+        unhandled = 0;
+        paused = false;
+        closed = false;
+    }
+
+    /**
+     * Returns a new {@code InboundFlowControl}.
+     *
+     * @param configuration the configuration of the watermarks.
+     * @return the flow control.
+     * @throws NullPointerException if {@code configuration} is {@code null}.
+     */
+    static InboundFlowControl newInstance(final InboundFlowControlConfiguration configuration) {
+        checkNotNull(configuration, "configuration");
+        return new InboundFlowControl(configuration);
+    }
+
+    /**
+     * Wraps the passed task which handles a received message, so that the message is counted as unhandled until the
+     * task ran.
+     *
+     * @param task the task handling a received message.
+     * @return the wrapped task which has to be executed exactly once.
+     */
+    Runnable received(final Runnable task) {
+        synchronized (this) {
+            unhandled++;
+        }
+        return () -> {
+            try {
+                task.run();
+            } finally {
+                handled();
+            }
+        };
+    }
+
+    /**
+     * Counts a message as handled whose task will not be executed, e.g. because it was rejected by the executor.
+     */
+    synchronized void handled() {
+        unhandled--;
+        if (paused && unhandled <= lowWatermark) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * @return {@code true} if the number of unhandled messages reached the high watermark.
+     */
+    synchronized boolean isAboveHighWatermark() {
+        return !closed && unhandled >= highWatermark;
+    }
+
+    /**
+     * Lets the calling reading thread wait until the number of unhandled messages dropped to the low watermark, the
+     * flow control was closed or the thread was interrupted.
+     */
+    synchronized void awaitLowWatermark() {
+        paused = true;
+        try {
+            while (!closed && unhandled > lowWatermark) {
+                wait();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            paused = false;
+        }
+    }
+
+    /**
+     * @return the number of received messages which are not yet handled.
+     */
+    synchronized int getUnhandled() {
+        return unhandled;
+    }
+
+    /**
+     * Releases a waiting reading thread and stops pausing reading.
+     */
+    synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+}
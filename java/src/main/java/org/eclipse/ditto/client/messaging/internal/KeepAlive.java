@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.configuration.KeepAliveConfiguration;
+import org.eclipse.ditto.client.internal.DefaultThreadFactory;
+
+import com.neovisionaries.ws.client.WebSocket;
+import com.neovisionaries.ws.client.WebSocketFrame;
+
+/**
+ * Sends keepalive pings over a connected WebSocket and matches the received pongs. Each ping carries the time it was
+ * sent at, so the round trip time can be recorded when its pong arrives. If the pong of a ping is still missing when
+ * the next ping is due, the pong is counted as missed; after {@code maxMissedPongs} missed pongs in a row the
+ * connection is handed to the dead connection handler.
+ *
+ * @since 1.1.0
+ */
+@ThreadSafe
+final class KeepAlive {
+
+    private final long intervalMillis;
+    private final int maxMissedPongs;
+    private final WebSocketMessagingMetrics metrics;
+    private final Consumer<WebSocket> deadConnectionHandler;
+    private final ScheduledExecutorService executor;
+
+    @Nullable private ScheduledFuture<?> pingTask;
+    private boolean awaitingPong;
+    private long pingSentAtNanos;
+    private int missedPongs;
+    private boolean readingPaused;
+
+    private KeepAlive(final KeepAliveConfiguration configuration, final WebSocketMessagingMetrics metrics,
+            final Consumer<WebSocket> deadConnectionHandler) {
+        intervalMillis = configuration.getInterval().toMillis();
+        maxMissedPongs = configuration.getMaxMissedPongs();
+        this.metrics = metrics;
+        this.deadConnectionHandler = deadConnectionHandler;
+        executor = new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory("ditto-client-keepalive"));
+    }
+
+    /**
+     * Returns a new {@code KeepAlive}.
+     *
+     * @param configuration the keepalive configuration.
+     * @param metrics the metrics to record round trip times and missed pongs in.
+     * @param deadConnectionHandler invoked with the WebSocket once too many pongs in a row were missed.
+     * @return the keepalive.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    static KeepAlive newInstance(final KeepAliveConfiguration configuration, final WebSocketMessagingMetrics metrics,
+            final Consumer<WebSocket> deadConnectionHandler) {
+        checkNotNull(configuration, "configuration");
+        checkNotNull(metrics, "metrics");
+        checkNotNull(deadConnectionHandler, "deadConnectionHandler");
+        return new KeepAlive(configuration, metrics, deadConnectionHandler);
+    }
+
+    /**
+     * Starts sending pings over the passed connected WebSocket, stopping the pings to a previous one.
+     *
+     * @param webSocket the WebSocket.
+     */
+    synchronized void start(final WebSocket webSocket) {
+        stop();
+        awaitingPong = false;
+        missedPongs = 0;
+        pingTask = executor.scheduleAtFixedRate(() -> ping(webSocket), intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops sending pings.
+     */
+    synchronized void stop() {
+        if (null != pingTask) {
+            pingTask.cancel(false);
+            pingTask = null;
+        }
+    }
+
+    /**
+     * Stops sending pings and releases the thread.
+     */
+    void shutdown() {
+        stop();
+        executor.shutdownNow();
+    }
+
+    private void ping(final WebSocket webSocket) {
+        if (isDead()) {
+            deadConnectionHandler.accept(webSocket);
+            return;
+        }
+        webSocket.sendFrame(WebSocketFrame.createPingFrame(ByteBuffer.allocate(Long.BYTES)
+                .putLong(pingSentAtNanos())
+                .array()));
+        // auto flush is disabled when writing batches from the outbound queue:
+        webSocket.flush();
+    }
+
+    private synchronized boolean isDead() {
+        if (awaitingPong && !readingPaused) {
+            metrics.pongMissed();
+            if (++missedPongs >= maxMissedPongs) {
+                stop();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets whether reading from the WebSocket is paused. Pongs cannot be received while reading is paused, so they
+     * are not counted as missed then.
+     *
+     * @param readingPaused whether reading is paused.
+     */
+    synchronized void setReadingPaused(final boolean readingPaused) {
+        this.readingPaused = readingPaused;
+        if (!readingPaused) {
+            // the pong of a ping sent while paused may still be unread in the socket:
+            awaitingPong = false;
+        }
+    }
+
+    private synchronized long pingSentAtNanos() {
+        awaitingPong = true;
+        pingSentAtNanos = System.nanoTime();
+        return pingSentAtNanos;
+    }
+
+    /**
+     * Matches the passed pong payload against the last ping and records the round trip time. Pongs of earlier pings
+     * and unsolicited pongs are ignored.
+     *
+     * @param payload the payload of the received pong frame.
+     * @return the round trip time in nanoseconds or {@code -1} if the pong was ignored.
+     */
+    synchronized long pongReceived(@Nullable final byte[] payload) {
+        if (awaitingPong && null != payload && Long.BYTES == payload.length &&
+                ByteBuffer.wrap(payload).getLong() == pingSentAtNanos) {
+            final long roundTripNanos = System.nanoTime() - pingSentAtNanos;
+            metrics.pongReceived(roundTripNanos);
+            awaitingPong = false;
+            missedPongs = 0;
+            return roundTripNanos;
+        }
+        return -1L;
+    }
+
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.configuration.OfflineBufferConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A FIFO buffer for outgoing messages which are sent while the WebSocket is not connected. Messages are kept in a
+ * bounded in-memory ring first; if that is full and a spill directory is configured, further messages are appended to
+ * memory-mapped segment files. As long as spilled messages exist, new messages are spilled as well in order to keep
+ * the overall order.
+ * <p>
+ * Each message is stored together with the time it was buffered so that messages older than the configured time to
+ * live can be removed via {@link #removeExpired()}.
+ * </p>
+ *
+ * @since 1.1.0
+ */
+@ThreadSafe
+final class OfflineBuffer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OfflineBuffer.class);
+
+    private static final String SEGMENT_FILE_PREFIX = "ditto-client-offline-";
+    private static final String SEGMENT_FILE_SUFFIX = ".segment";
+
+    private final int capacity;
+    private final long timeToLiveMillis;
+    @Nullable private final Path spillDirectory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final Clock clock;
+    private final Deque<Entry> memory;
+    private final Deque<Segment> segments;
+
+    private OfflineBuffer(final OfflineBufferConfiguration configuration, final Clock clock) {
+        capacity = configuration.getCapacity();
+        timeToLiveMillis = configuration.getTimeToLive().toMillis();
+        spillDirectory = configuration.getSpillDirectory().orElse(null);
+        segmentSize = configuration.getSegmentSize();
+        maxSegments = configuration.getMaxSegments();
+        this.clock = clock;
+        memory = new ArrayDeque<>(capacity);
+        segments = new ArrayDeque<>(maxSegments);
+    }
+
+    /**
+     * Returns a new {@code OfflineBuffer}.
+     *
+     * @param configuration the configuration of the buffer.
+     * @param clock the clock for determining the age of buffered messages.
+     * @return the buffer.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    static OfflineBuffer newInstance(final OfflineBufferConfiguration configuration, final Clock clock) {
+        checkNotNull(configuration, "configuration");
+        checkNotNull(clock, "clock");
+        return new OfflineBuffer(configuration, clock);
+    }
+
+    /**
+     * Appends the passed message to the buffer.
+     *
+     * @param message the message to buffer.
+     * @return {@code true} if the message was buffered, {@code false} if the buffer is full.
+     */
+    synchronized boolean add(final String message) {
+        final long now = clock.millis();
+        if (segments.isEmpty() && memory.size() < capacity) {
+            memory.addLast(new Entry(now, message));
+            return true;
+        }
+        return null != spillDirectory && spill(now, message);
+    }
+
+    private boolean spill(final long timestamp, final String message) {
+        final byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        if (Segment.recordSize(bytes) > segmentSize) {
+            LOGGER.warn("Message of <{}> bytes exceeds the segment size of <{}> bytes and cannot be spilled.",
+                    bytes.length, segmentSize);
+            return false;
+        }
+        final Segment last = segments.peekLast();
+        if (null != last && last.tryWrite(timestamp, bytes)) {
+            return true;
+        }
+        if (segments.size() >= maxSegments) {
+            return false;
+        }
+        return createSegment()
+                .map(segment -> {
+                    segments.addLast(segment);
+                    return segment.tryWrite(timestamp, bytes);
+                })
+                .orElse(false);
+    }
+
+    private Optional<Segment> createSegment() {
+        try {
+            return Optional.of(Segment.create(checkNotNull(spillDirectory, "spillDirectory"), segmentSize));
+        } catch (final IOException e) {
+            LOGGER.error("Failed to create segment file in <{}>: {}", spillDirectory, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Removes the oldest message from the buffer.
+     *
+     * @return the oldest message or {@code null} if the buffer is empty.
+     */
+    @Nullable
+    synchronized String poll() {
+        final Entry entry = memory.pollFirst();
+        if (null != entry) {
+            return entry.message;
+        }
+        while (!segments.isEmpty()) {
+            final Segment segment = segments.peekFirst();
+            if (segment.hasNext()) {
+                final String result = segment.next();
+                if (!segment.hasNext()) {
+                    removeFirstSegment();
+                }
+                return result;
+            }
+            removeFirstSegment();
+        }
+        return null;
+    }
+
+    private void removeFirstSegment() {
+        segments.removeFirst().delete();
+    }
+
+    /**
+     * Removes all messages which were buffered longer than the configured time to live.
+     *
+     * @return the removed messages, oldest first.
+     */
+    synchronized List<String> removeExpired() {
+        final long deadline = clock.millis() - timeToLiveMillis;
+        final List<String> result = new ArrayList<>();
+        while (true) {
+            final Long timestamp = peekTimestamp();
+            if (null == timestamp || timestamp > deadline) {
+                return result;
+            }
+            result.add(poll());
+        }
+    }
+
+    @Nullable
+    private Long peekTimestamp() {
+        final Entry entry = memory.peekFirst();
+        if (null != entry) {
+            return entry.timestamp;
+        }
+        for (final Segment segment : segments) {
+            if (segment.hasNext()) {
+                return segment.peekTimestamp();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return {@code true} if no message is buffered.
+     */
+    synchronized boolean isEmpty() {
+        return null == peekTimestamp();
+    }
+
+    /**
+     * Discards all buffered messages and deletes the segment files.
+     */
+    synchronized void clear() {
+        memory.clear();
+        while (!segments.isEmpty()) {
+            removeFirstSegment();
+        }
+    }
+
+    private static final class Entry {
+
+        private final long timestamp;
+        private final String message;
+
+        private Entry(final long timestamp, final String message) {
+            this.timestamp = timestamp;
+            this.message = message;
+        }
+
+    }
+
+    /**
+     * A memory-mapped file containing records of the form {@code [timestamp: long][length: int][UTF-8 bytes]}.
+     */
+    private static final class Segment {
+
+        private static final int HEADER_SIZE = Long.BYTES + Integer.BYTES;
+
+        private final Path file;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int readPosition;
+        private int writePosition;
+
+        private Segment(final Path file, final FileChannel channel, final MappedByteBuffer buffer) {
+            this.file = file;
+            this.channel = channel;
+            this.buffer = buffer;
+            readPosition = 0;
+            writePosition = 0;
+        }
+
+        private static Segment create(final Path directory, final int size) throws IOException {
+            Files.createDirectories(directory);
+            final Path file = Files.createTempFile(directory, SEGMENT_FILE_PREFIX, SEGMENT_FILE_SUFFIX);
+            final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                return new Segment(file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            } catch (final IOException e) {
+                channel.close();
+                Files.deleteIfExists(file);
+                throw e;
+            }
+        }
+
+        private static int recordSize(final byte[] bytes) {
+            return HEADER_SIZE + bytes.length;
+        }
+
+        private boolean tryWrite(final long timestamp, final byte[] bytes) {
+            if (buffer.capacity() - writePosition < recordSize(bytes)) {
+                return false;
+            }
+            buffer.putLong(writePosition, timestamp);
+            buffer.putInt(writePosition + Long.BYTES, bytes.length);
+            positionedView(writePosition + HEADER_SIZE).put(bytes);
+            writePosition += recordSize(bytes);
+            return true;
+        }
+
+        private ByteBuffer positionedView(final int position) {
+            final ByteBuffer result = buffer.duplicate();
+            result.position(position);
+            return result;
+        }
+
+        private boolean hasNext() {
+            return readPosition < writePosition;
+        }
+
+        private long peekTimestamp() {
+            return buffer.getLong(readPosition);
+        }
+
+        private String next() {
+            final byte[] bytes = new byte[buffer.getInt(readPosition + Long.BYTES)];
+            positionedView(readPosition + HEADER_SIZE).get(bytes);
+            readPosition += recordSize(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private void delete() {
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (final IOException e) {
+                // the file may still be mapped on some platforms
+                LOGGER.debug("Could not delete segment file <{}>: {}", file, e.getMessage());
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+import org.eclipse.ditto.client.internal.DefaultThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded queue of outgoing frames which may be filled by many producers and is drained by one dedicated writer
+ * thread. The writer hands over the frames in batches so that a batch can be flushed to the network at once.
+ * <p>
+ * Producers never block: if the queue is full, {@link #offer(Object)} returns {@code false} and it is up to the
+ * caller to signal the backpressure.
+ * </p>
+ *
+ * @param <T> the type of the queued frames.
+ * @since 1.1.0
+ */
+final class OutboundQueue<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboundQueue.class);
+
+    private final BlockingQueue<T> queue;
+    private final int maxBatchSize;
+    private final Consumer<List<T>> batchWriter;
+    private final Thread writerThread;
+
+    private volatile boolean running;
+
+    private OutboundQueue(final int capacity, final int maxBatchSize, final String name,
+            final Consumer<List<T>> batchWriter) {
+        queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.batchWriter = batchWriter;
+        writerThread = new DefaultThreadFactory(name).newThread(this::drain);
+        writerThread.setDaemon(true);
+        running = true;
+    }
+
+    /**
+     * Returns a new started {@code OutboundQueue}.
+     *
+     * @param capacity the maximum number of queued frames.
+     * @param maxBatchSize the maximum number of frames handed to the {@code batchWriter} at once.
+     * @param name the name prefix of the writer thread.
+     * @param batchWriter writes a batch of frames; it is only ever invoked by the writer thread.
+     * @param <T> the type of the queued frames.
+     * @return the queue.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code capacity} or {@code maxBatchSize} is not positive.
+     */
+    static <T> OutboundQueue<T> newInstance(final int capacity, final int maxBatchSize, final String name,
+            final Consumer<List<T>> batchWriter) {
+        checkNotNull(name, "name");
+        checkNotNull(batchWriter, "batchWriter");
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be positive but was <" + capacity + ">!");
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("The maxBatchSize must be positive but was <" + maxBatchSize + ">!");
+        }
+        final OutboundQueue<T> result = new OutboundQueue<>(capacity, maxBatchSize, name, batchWriter);
+        result.writerThread.start();
+        return result;
+    }
+
+    /**
+     * Enqueues the passed frame without blocking.
+     *
+     * @param frame the frame to send.
+     * @return {@code true} if the frame was enqueued, {@code false} if the queue is full or was shut down.
+     * @throws NullPointerException if {@code frame} is {@code null}.
+     */
+    boolean offer(final T frame) {
+        checkNotNull(frame, "frame");
+        return running && queue.offer(frame);
+    }
+
+    /**
+     * @return the number of currently queued frames.
+     */
+    int size() {
+        return queue.size();
+    }
+
+    /**
+     * @return the maximum number of queued frames.
+     */
+    int capacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    /**
+     * Stops the writer thread. Frames still queued are discarded.
+     */
+    void shutdown() {
+        running = false;
+        writerThread.interrupt();
+    }
+
+    private void drain() {
+        final List<T> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+            try {
+                batchWriter.accept(batch);
+            } catch (final RuntimeException e) {
+                LOGGER.error("Failed to write batch of <{}> outgoing frames: {}", batch.size(), e.getMessage(), e);
+            }
+            batch.clear();
+        }
+        queue.clear();
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.Deflater;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.configuration.CompressionConfiguration;
+
+import com.neovisionaries.ws.client.WebSocket;
+import com.neovisionaries.ws.client.WebSocketExtension;
+import com.neovisionaries.ws.client.WebSocketFrame;
+
+/**
+ * Compresses data frames for a WebSocket which negotiated the {@code permessage-deflate} extension (RFC 7692).
+ * <p>
+ * The WebSocket library compresses every unfragmented data frame with a newly allocated {@link Deflater}. Therefore
+ * frames are compressed here with pooled deflaters and the compressed copy is marked as compressed (RSV1) so that the
+ * library sends it as it is. A frame which does not get smaller is left to the library, which sends it uncompressed
+ * for the same reason. The compressor does not take over its context between messages, which RFC 7692 always permits
+ * for clients.
+ * </p>
+ *
+ * @since 1.1.0
+ */
+@ThreadSafe
+final class PerMessageDeflater {
+
+    private static final String CLIENT_MAX_WINDOW_BITS = "client_max_window_bits";
+    private static final String SERVER_MAX_WINDOW_BITS = "server_max_window_bits";
+    private static final int MAX_WINDOW_BITS = 15;
+    private static final byte[] EMPTY_BLOCK_TAIL = {0x00, 0x00, (byte) 0xFF, (byte) 0xFF};
+
+    // a deflater is borrowed for a single compression, so the pool does not grow beyond the number of writing threads
+    private final Queue<Deflater> idleDeflaters;
+
+    private PerMessageDeflater() {
+        idleDeflaters = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Returns a new {@code PerMessageDeflater}.
+     *
+     * @return the deflater.
+     */
+    static PerMessageDeflater newInstance() {
+        return new PerMessageDeflater();
+    }
+
+    /**
+     * Returns the {@code permessage-deflate} extension to offer in the opening handshake.
+     *
+     * @param configuration the compression configuration.
+     * @return the extension offer.
+     */
+    static WebSocketExtension extensionOffer(final CompressionConfiguration configuration) {
+        final WebSocketExtension result = new WebSocketExtension(WebSocketExtension.PERMESSAGE_DEFLATE);
+        // without a value the server may choose the client window, which is respected when compressing
+        result.setParameter(CLIENT_MAX_WINDOW_BITS, configuration.getClientMaxWindowBits() < MAX_WINDOW_BITS
+                ? String.valueOf(configuration.getClientMaxWindowBits())
+                : null);
+        if (configuration.getServerMaxWindowBits() < MAX_WINDOW_BITS) {
+            result.setParameter(SERVER_MAX_WINDOW_BITS, String.valueOf(configuration.getServerMaxWindowBits()));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the frame to write to the passed WebSocket instead of the passed text or binary frame: a new compressed
+     * frame if the extension was agreed and compression makes the payload smaller, the passed frame otherwise. The
+     * passed frame is never changed.
+     *
+     * @param webSocket the WebSocket to write to.
+     * @param frame the unfragmented data frame to write.
+     * @return the frame to write.
+     */
+    WebSocketFrame deflate(final WebSocket webSocket, final WebSocketFrame frame) {
+        final int clientWindowBits = agreedClientWindowBits(webSocket);
+        final int size = frame.getPayloadLength();
+        if (clientWindowBits > 0 && size > 0 && !frame.getRsv1() && fitsWindow(size, clientWindowBits)) {
+            final byte[] compressed = compress(frame.getPayload());
+            if (compressed.length < size) {
+                return new WebSocketFrame()
+                        .setFin(frame.getFin())
+                        .setRsv1(true)
+                        .setOpcode(frame.getOpcode())
+                        .setPayload(compressed);
+            }
+        }
+        return frame;
+    }
+
+    private static int agreedClientWindowBits(final WebSocket webSocket) {
+        for (final WebSocketExtension extension : webSocket.getAgreedExtensions()) {
+            if (WebSocketExtension.PERMESSAGE_DEFLATE.equals(extension.getName())) {
+                return parseWindowBits(extension.getParameter(CLIENT_MAX_WINDOW_BITS));
+            }
+        }
+        return 0;
+    }
+
+    private static int parseWindowBits(@Nullable final String value) {
+        if (null == value) {
+            return MAX_WINDOW_BITS;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (final NumberFormatException e) {
+            return MAX_WINDOW_BITS;
+        }
+    }
+
+    private static boolean fitsWindow(final int size, final int windowBits) {
+        // without context takeover, a message smaller than the window cannot refer to a larger distance
+        return windowBits >= MAX_WINDOW_BITS || size < 1 << windowBits;
+    }
+
+    /**
+     * Compresses the passed payload as specified by RFC 7692, i. e. as raw DEFLATE data which is flushed and stripped
+     * of the trailing empty stored block.
+     *
+     * @param payload the payload to compress.
+     * @return the compressed payload.
+     */
+    byte[] compress(final byte[] payload) {
+        final Deflater pooledDeflater = idleDeflaters.poll();
+        final Deflater deflater =
+                null != pooledDeflater ? pooledDeflater : new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        byte[] buffer = new byte[Math.max(64, payload.length / 2)];
+        int length = 0;
+        try {
+            deflater.setInput(payload);
+            while (true) {
+                length += deflater.deflate(buffer, length, buffer.length - length, Deflater.SYNC_FLUSH);
+                if (length < buffer.length) {
+                    break;
+                }
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        } finally {
+            deflater.reset();
+            idleDeflaters.offer(deflater);
+        }
+        if (endsWithEmptyBlock(buffer, length)) {
+            length -= EMPTY_BLOCK_TAIL.length;
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private static boolean endsWithEmptyBlock(final byte[] buffer, final int length) {
+        if (length < EMPTY_BLOCK_TAIL.length) {
+            return false;
+        }
+        for (int i = 0; i < EMPTY_BLOCK_TAIL.length; i++) {
+            if (buffer[length - EMPTY_BLOCK_TAIL.length + i] != EMPTY_BLOCK_TAIL[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Releases the native memory of the pooled deflaters. Deflaters still in use are released when they are dropped
+     * by the garbage collector.
+     */
+    void close() {
+        Deflater deflater;
+        while (null != (deflater = idleDeflaters.poll())) {
+            deflater.end();
+        }
+    }
+
+}
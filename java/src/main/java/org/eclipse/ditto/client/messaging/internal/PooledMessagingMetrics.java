@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.messaging.DurationHistogram;
+import org.eclipse.ditto.client.messaging.MessagingMetrics;
+import org.eclipse.ditto.client.messaging.MessagingProvider;
+
+/**
+ * The {@link MessagingMetrics} of a {@link PooledMessagingProvider}: the values of all sessions of the pool added up.
+ *
+ * @since 1.1.0
+ */
+@ThreadSafe
+final class PooledMessagingMetrics implements MessagingMetrics {
+
+    private final List<MessagingProvider> sessions;
+
+    PooledMessagingMetrics(final List<MessagingProvider> sessions) {
+        this.sessions = sessions;
+    }
+
+    private long sum(final ToLongFunction<MessagingMetrics> metric) {
+        return sessions.stream()
+                .map(MessagingProvider::getMetrics)
+                .mapToLong(metric)
+                .sum();
+    }
+
+    @Override
+    public long getReconnectAttempts() {
+        return sum(MessagingMetrics::getReconnectAttempts);
+    }
+
+    @Override
+    public long getReconnects() {
+        return sum(MessagingMetrics::getReconnects);
+    }
+
+    /**
+     * Returns the longest of the last reconnect durations of the sessions.
+     *
+     * @return the duration of the last reconnect or {@link Duration#ZERO} if no connection was ever re-established.
+     */
+    @Override
+    public Duration getLastReconnectDuration() {
+        return sessions.stream()
+                .map(session -> session.getMetrics().getLastReconnectDuration())
+                .max(Duration::compareTo)
+                .orElse(Duration.ZERO);
+    }
+
+    @Override
+    public Duration getTotalReconnectDuration() {
+        return Duration.ofNanos(sum(metrics -> metrics.getTotalReconnectDuration().toNanos()));
+    }
+
+    @Override
+    public long getBytesSent() {
+        return sum(MessagingMetrics::getBytesSent);
+    }
+
+    @Override
+    public long getUncompressedBytesSent() {
+        return sum(MessagingMetrics::getUncompressedBytesSent);
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return sum(MessagingMetrics::getBytesReceived);
+    }
+
+    @Override
+    public long getUncompressedBytesReceived() {
+        return sum(MessagingMetrics::getUncompressedBytesReceived);
+    }
+
+    /**
+     * Returns the round trip times of all sessions which record them in a {@link RecordingDurationHistogram}.
+     *
+     * @return the round trip times.
+     */
+    @Override
+    public DurationHistogram getRoundTripTimes() {
+        final RecordingDurationHistogram result = new RecordingDurationHistogram();
+        sessions.stream()
+                .map(session -> session.getMetrics().getRoundTripTimes())
+                .filter(RecordingDurationHistogram.class::isInstance)
+                .map(RecordingDurationHistogram.class::cast)
+                .forEach(result::add);
+        return result;
+    }
+
+    @Override
+    public long getMissedPongs() {
+        return sum(MessagingMetrics::getMissedPongs);
+    }
+
+    @Override
+    public int getPendingResponses() {
+        return (int) sum(MessagingMetrics::getPendingResponses);
+    }
+
+    @Override
+    public long getResponseTimeouts() {
+        return sum(MessagingMetrics::getResponseTimeouts);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "sessions=" + sessions.size() +
+                ", reconnectAttempts=" + getReconnectAttempts() +
+                ", reconnects=" + getReconnects() +
+                ", bytesSent=" + getBytesSent() +
+                ", bytesReceived=" + getBytesReceived() +
+                ", missedPongs=" + getMissedPongs() +
+                ", pendingResponses=" + getPendingResponses() +
+                ", responseTimeouts=" + getResponseTimeouts() +
+                "]";
+    }
+
+}
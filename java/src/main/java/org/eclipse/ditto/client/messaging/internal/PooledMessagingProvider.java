@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkArgument;
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.configuration.AuthenticationConfiguration;
+import org.eclipse.ditto.client.configuration.MessagingConfiguration;
+import org.eclipse.ditto.client.management.CommonManagement;
+import org.eclipse.ditto.client.messaging.MessagingMetrics;
+import org.eclipse.ditto.client.messaging.MessagingProvider;
+import org.eclipse.ditto.model.messages.Message;
+import org.eclipse.ditto.protocoladapter.Adaptable;
+import org.eclipse.ditto.protocoladapter.TopicPath;
+import org.eclipse.ditto.signals.base.Signal;
+import org.eclipse.ditto.signals.commands.base.Command;
+import org.eclipse.ditto.signals.commands.base.CommandResponse;
+import org.eclipse.ditto.signals.events.base.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link MessagingProvider} which distributes the traffic of one client over a pool of sessions, e.g. several
+ * WebSocket connections, in order to not be limited by the throughput of a single connection.
+ * <p>
+ * Commands, command responses, events, messages and adaptables are sent via the session determined by the hash of
+ * the ID of the entity they concern, so that all signals for one thing are sent over the same session in the order
+ * they were sent. Responses are received on the session the request was sent on.
+ * </p>
+ * <p>
+ * Subscriptions for events, messages and live commands are spread across the sessions so that each signal is received
+ * only once: if a subscription is restricted to several namespaces, the namespaces are partitioned among the
+ * sessions; otherwise the whole subscription is assigned to one session, alternating between the sessions for
+ * subsequent subscriptions.
+ * </p>
+ * <p>
+ * Closing the pool closes each session, which releases the resources the session owns such as its authentication
+ * provider. Sessions must therefore not share resources which are released on closing.
+ * </p>
+ *
+ * @since 1.1.0
+ */
+@ThreadSafe
+public final class PooledMessagingProvider implements MessagingProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PooledMessagingProvider.class);
+
+    private static final String NAMESPACES_SEPARATOR = ",";
+
+    private final List<MessagingProvider> sessions;
+    private final Map<String, List<MessagingProvider>> subscriptions;
+    private final AtomicInteger nextSubscriptionSession;
+    private final MessagingMetrics metrics;
+
+    private PooledMessagingProvider(final List<MessagingProvider> sessions) {
+        this.sessions = Collections.unmodifiableList(new ArrayList<>(sessions));
+        subscriptions = new ConcurrentHashMap<>();
+        nextSubscriptionSession = new AtomicInteger();
+        metrics = new PooledMessagingMetrics(this.sessions);
+    }
+
+    /**
+     * Returns a new {@code PooledMessagingProvider}. The configurations and the executor service of the pool are the
+     * ones of the first session.
+     *
+     * @param sessions the sessions of the pool.
+     * @return the provider.
+     * @throws NullPointerException if {@code sessions} is {@code null}.
+     * @throws IllegalArgumentException if {@code sessions} is empty.
+     */
+    public static PooledMessagingProvider newInstance(final List<MessagingProvider> sessions) {
+        checkNotNull(sessions, "sessions");
+        checkArgument(sessions, s -> !s.isEmpty(), () -> "The pool must contain at least one session!");
+        return new PooledMessagingProvider(sessions);
+    }
+
+    /**
+     * Returns the number of sessions of this pool.
+     *
+     * @return the number of sessions.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    @Override
+    public void initialize() {
+        sessions.forEach(MessagingProvider::initialize);
+    }
+
+    @Override
+    public CompletableFuture<Void> initializeAsync() {
+        return CompletableFuture.allOf(sessions.stream()
+                .map(MessagingProvider::initializeAsync)
+                .toArray(CompletableFuture<?>[]::new));
+    }
+
+    @Override
+    public AuthenticationConfiguration getAuthenticationConfiguration() {
+        return sessions.get(0).getAuthenticationConfiguration();
+    }
+
+    @Override
+    public MessagingConfiguration getMessagingConfiguration() {
+        return sessions.get(0).getMessagingConfiguration();
+    }
+
+    @Override
+    public ExecutorService getExecutorService() {
+        return sessions.get(0).getExecutorService();
+    }
+
+    @Override
+    public CompletableFuture<Adaptable> sendAdaptable(final Adaptable adaptable) {
+        final TopicPath topicPath = adaptable.getTopicPath();
+        return sessionFor(topicPath.getNamespace() + ":" + topicPath.getId()).sendAdaptable(adaptable);
+    }
+
+    @Override
+    public void send(final Message<?> message, final TopicPath.Channel channel) {
+        sessionFor(message.getThingEntityId()).send(message, channel);
+    }
+
+    @Override
+    public void sendCommand(final Command<?> command, final TopicPath.Channel channel) {
+        sessionFor(command).sendCommand(command, channel);
+    }
+
+    @Override
+    public void sendCommandResponse(final CommandResponse<?> commandResponse, final TopicPath.Channel channel) {
+        sessionFor(commandResponse).sendCommandResponse(commandResponse, channel);
+    }
+
+    @Override
+    public void emitEvent(final Event<?> event, final TopicPath.Channel channel) {
+        sessionFor(event).emitEvent(event, channel);
+    }
+
+    @Override
+    public CompletionStage<Void> sendAsync(final Message<?> message, final TopicPath.Channel channel) {
+        return sessionFor(message.getThingEntityId()).sendAsync(message, channel);
+    }
+
+    @Override
+    public CompletionStage<Void> sendCommandAsync(final Command<?> command, final TopicPath.Channel channel) {
+        return sessionFor(command).sendCommandAsync(command, channel);
+    }
+
+    @Override
+    public CompletionStage<Void> sendCommandResponseAsync(final CommandResponse<?> commandResponse,
+            final TopicPath.Channel channel) {
+        return sessionFor(commandResponse).sendCommandResponseAsync(commandResponse, channel);
+    }
+
+    @Override
+    public CompletionStage<Void> emitEventAsync(final Event<?> event, final TopicPath.Channel channel) {
+        return sessionFor(event).emitEventAsync(event, channel);
+    }
+
+    private MessagingProvider sessionFor(final Signal<?> signal) {
+        return sessionFor(signal.getEntityId());
+    }
+
+    /**
+     * Returns the session for the entity with the passed ID.
+     *
+     * @param entityId the ID of the entity in the form {@code namespace:name}.
+     * @return the session.
+     */
+    MessagingProvider sessionFor(final CharSequence entityId) {
+        return sessions.get(Math.floorMod(entityId.toString().hashCode(), sessions.size()));
+    }
+
+    @Override
+    public void registerReplyHandler(final Consumer<CommandResponse<?>> commandResponseHandler) {
+        sessions.forEach(session -> session.registerReplyHandler(commandResponseHandler));
+    }
+
+    @Override
+    public boolean registerMessageHandler(final String name, final Map<String, String> registrationConfig,
+            final Consumer<Message<?>> handler, final CompletableFuture<Void> receiptFuture) {
+        return register(name, registrationConfig, receiptFuture,
+                (session, sessionConfig, receipt) -> session.registerMessageHandler(name, sessionConfig, handler,
+                        receipt));
+    }
+
+    @Override
+    public boolean registerRawMessageHandler(final String name, final Map<String, String> registrationConfig,
+            final Predicate<String> topicFilter, final Consumer<String> handler,
+            final CompletableFuture<Void> receiptFuture) {
+        return register(name, registrationConfig, receiptFuture,
+                (session, sessionConfig, receipt) -> session.registerRawMessageHandler(name, sessionConfig,
+                        topicFilter, handler, receipt));
+    }
+
+    private boolean register(final String name, final Map<String, String> registrationConfig,
+            final CompletableFuture<Void> receiptFuture, final SessionRegistration sessionRegistration) {
+
+        final List<CompletableFuture<Void>> receipts = new ArrayList<>();
+        final List<MessagingProvider> subscribedSessions = new ArrayList<>();
+        if (null != subscriptions.putIfAbsent(name, subscribedSessions)) {
+            LOGGER.info("Handler {} already registered for pool", name);
+            receiptFuture.complete(null);
+            return false;
+        }
+        synchronized (subscribedSessions) {
+            try {
+                partition(registrationConfig).forEach((session, sessionConfig) -> {
+                    final CompletableFuture<Void> receipt = new CompletableFuture<>();
+                    if (sessionRegistration.register(session, sessionConfig, receipt)) {
+                        subscribedSessions.add(session);
+                    }
+                    receipts.add(receipt);
+                });
+            } catch (final RuntimeException e) {
+                subscriptions.remove(name, subscribedSessions);
+                throw e;
+            }
+        }
+        completeWhenAllComplete(receipts, receiptFuture);
+        return true;
+    }
+
+    /**
+     * Assigns the passed subscription to the sessions which should receive the subscribed signals.
+     *
+     * @param registrationConfig the configuration of the subscription.
+     * @return the sessions with the configuration of their part of the subscription.
+     */
+    Map<MessagingProvider, Map<String, String>> partition(final Map<String, String> registrationConfig) {
+        final int offset = Math.floorMod(nextSubscriptionSession.getAndIncrement(), sessions.size());
+        final List<String> namespaces = getNamespaces(registrationConfig);
+        if (namespaces.size() < 2) {
+            return Collections.singletonMap(sessions.get(offset), registrationConfig);
+        }
+        final Map<MessagingProvider, List<String>> namespacesPerSession = new LinkedHashMap<>();
+        for (int i = 0; i < namespaces.size(); i++) {
+            final MessagingProvider session = sessions.get((offset + i) % sessions.size());
+            namespacesPerSession.computeIfAbsent(session, s -> new ArrayList<>()).add(namespaces.get(i));
+        }
+        return namespacesPerSession.entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> withNamespaces(registrationConfig,
+                        entry.getValue())));
+    }
+
+    private static List<String> getNamespaces(final Map<String, String> registrationConfig) {
+        final String namespaces = registrationConfig.get(CommonManagement.CONSUMPTION_PARAM_NAMESPACES);
+        if (null == namespaces || namespaces.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(namespaces.split(NAMESPACES_SEPARATOR));
+    }
+
+    private static Map<String, String> withNamespaces(final Map<String, String> registrationConfig,
+            final List<String> namespaces) {
+        final Map<String, String> result = new HashMap<>(registrationConfig);
+        result.put(CommonManagement.CONSUMPTION_PARAM_NAMESPACES, String.join(NAMESPACES_SEPARATOR, namespaces));
+        return result;
+    }
+
+    @Override
+    public void deregisterMessageHandler(final String name, final CompletableFuture<Void> future) {
+        final List<MessagingProvider> subscribedSessions = subscriptions.remove(name);
+        if (null == subscribedSessions) {
+            future.complete(null);
+            return;
+        }
+        final List<CompletableFuture<Void>> receipts = new ArrayList<>();
+        synchronized (subscribedSessions) {
+            subscribedSessions.forEach(session -> {
+                final CompletableFuture<Void> receipt = new CompletableFuture<>();
+                session.deregisterMessageHandler(name, receipt);
+                receipts.add(receipt);
+            });
+        }
+        completeWhenAllComplete(receipts, future);
+    }
+
+    private static void completeWhenAllComplete(final List<CompletableFuture<Void>> futures,
+            final CompletableFuture<Void> result) {
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((aVoid, throwable) -> {
+                    if (null != throwable) {
+                        result.completeExceptionally(throwable);
+                    } else {
+                        result.complete(null);
+                    }
+                });
+    }
+
+    @Override
+    public MessagingMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        sessions.forEach(MessagingProvider::close);
+    }
+
+    @FunctionalInterface
+    private interface SessionRegistration {
+
+        boolean register(MessagingProvider session, Map<String, String> sessionConfig,
+                CompletableFuture<Void> receipt);
+
+    }
+
+}
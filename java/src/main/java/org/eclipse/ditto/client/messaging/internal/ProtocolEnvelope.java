@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The routing relevant parts of an incoming Ditto Protocol message, i. e. the parts of its topic and its
+ * correlation-id, which are determined by scanning the raw message. This allows to decide what to do with a message
+ * before paying for parsing it as JSON and materializing it as
+ * {@link org.eclipse.ditto.signals.base.Signal Signal}.
+ *
+ * @since 1.1.0
+ */
+@Immutable
+final class ProtocolEnvelope {
+
+    private static final String TOPIC_KEY = "topic";
+    private static final String HEADERS_KEY = "headers";
+    private static final String CORRELATION_ID_KEY = "correlation-id";
+    private static final String STATUS_KEY = "status";
+    private static final String TOPIC_DELIMITER = "/";
+
+    private static final String GROUP_THINGS = "things";
+    private static final String GROUP_POLICIES = "policies";
+    private static final String CHANNEL_TWIN = "twin";
+    private static final String CHANNEL_LIVE = "live";
+    private static final String CHANNEL_NONE = "none";
+    private static final String CRITERION_EVENTS = "events";
+    private static final String CRITERION_MESSAGES = "messages";
+
+    private final String topic;
+    private final String namespace;
+    private final String name;
+    private final String group;
+    private final String channel;
+    private final String criterion;
+    @Nullable private final String correlationId;
+    private final boolean response;
+
+    private ProtocolEnvelope(final String topic, final String namespace, final String name, final String group,
+            final String channel, final String criterion, @Nullable final String correlationId,
+            final boolean response) {
+        this.topic = topic;
+        this.namespace = namespace;
+        this.name = name;
+        this.group = group;
+        this.channel = channel;
+        this.criterion = criterion;
+        this.correlationId = correlationId;
+        this.response = response;
+    }
+
+    /**
+     * Scans the envelope of the passed raw Ditto Protocol message.
+     *
+     * @param message the raw message.
+     * @return the envelope or {@code null} if the message has no topic of the {@code things} or {@code policies}
+     * group, e. g. because it is a protocol message like {@code START-SEND-EVENTS:ACK}.
+     */
+    @Nullable
+    static ProtocolEnvelope scan(final String message) {
+        return fromTopic(TopicPathScanner.findTopic(message), () -> TopicPathScanner.findCorrelationId(message),
+                () -> TopicPathScanner.containsKey(message, STATUS_KEY));
+    }
+
+    /**
+     * Scans the envelope of the passed CBOR encoded Ditto Protocol message.
+     *
+     * @param message the CBOR encoded message.
+     * @return the envelope or {@code null} if the message has no topic of the {@code things} or {@code policies}
+     * group.
+     */
+    @Nullable
+    static ProtocolEnvelope scanCbor(final byte[] message) {
+        return fromTopic(CborCodec.findText(message, TOPIC_KEY),
+                () -> CborCodec.findText(message, HEADERS_KEY, CORRELATION_ID_KEY),
+                () -> CborCodec.containsKey(message, STATUS_KEY));
+    }
+
+    @Nullable
+    private static ProtocolEnvelope fromTopic(@Nullable final String topic,
+            final Supplier<String> correlationIdSupplier, final BooleanSupplier responseDetector) {
+        if (null == topic) {
+            return null;
+        }
+        // at most 6 segments are relevant: namespace/name/group/channel/criterion/action
+        final String[] segments = topic.split(TOPIC_DELIMITER, 6);
+        if (segments.length < 4) {
+            return null;
+        }
+        final String group = segments[2];
+        if (GROUP_THINGS.equals(group) && segments.length >= 5) {
+            // only live signals other than events may be responses which must not be dispatched in order, only
+            // responses have a "status" which usually follows the value and is therefore only scanned for them:
+            final boolean response = CHANNEL_LIVE.equals(segments[3]) && !CRITERION_EVENTS.equals(segments[4]) &&
+                    responseDetector.getAsBoolean();
+            return new ProtocolEnvelope(topic, segments[0], segments[1], group, segments[3], segments[4],
+                    correlationIdSupplier.get(), response);
+        } else if (GROUP_POLICIES.equals(group)) {
+            // policies have no channel in their topic:
+            return new ProtocolEnvelope(topic, segments[0], segments[1], group, CHANNEL_NONE, segments[3],
+                    correlationIdSupplier.get(), false);
+        }
+        return null;
+    }
+
+    /**
+     * @return the topic of the message as received, e. g.
+     * {@code org.eclipse.ditto/my-thing/things/twin/events/modified}.
+     */
+    String getTopic() {
+        return topic;
+    }
+
+    /**
+     * @return the entity ID in the form {@code namespace:name}.
+     */
+    String getEntityId() {
+        return namespace + ":" + name;
+    }
+
+    /**
+     * @return the correlation-id or {@code null} if the message has no plain correlation-id header.
+     */
+    @Nullable
+    String getCorrelationId() {
+        return correlationId;
+    }
+
+    /**
+     * @return whether the message is sent on the {@code twin} channel.
+     */
+    boolean isTwin() {
+        return CHANNEL_TWIN.equals(channel);
+    }
+
+    /**
+     * @return whether the message is sent on the {@code live} channel.
+     */
+    boolean isLive() {
+        return CHANNEL_LIVE.equals(channel);
+    }
+
+    /**
+     * @return whether the message is a Thing event.
+     */
+    boolean isThingEvent() {
+        return GROUP_THINGS.equals(group) && CRITERION_EVENTS.equals(criterion);
+    }
+
+    /**
+     * @return whether the message is a live message or a response to a live message.
+     */
+    boolean isLiveMessage() {
+        return GROUP_THINGS.equals(group) && isLive() && CRITERION_MESSAGES.equals(criterion);
+    }
+
+    /**
+     * @return whether the message is a response to a signal of the {@code live} channel, e. g. a live command response
+     * or a live message response. Whether a message of another channel is a response is not determined.
+     */
+    boolean isLiveResponse() {
+        return response;
+    }
+
+    /**
+     * Determines the key for dispatching the message in order. Only events and signals of the {@code live} channel
+     * are dispatched in order per Thing; responses are not ordered as callers may wait for them from within a handler.
+     *
+     * @return the Thing ID in the form {@code namespace:name} or {@code null} if the message should not be dispatched
+     * in order.
+     */
+    @Nullable
+    String getOrderingKey() {
+        if (isThingEvent() || (isLive() && !response)) {
+            return getEntityId();
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "namespace=" + namespace +
+                ", name=" + name +
+                ", group=" + group +
+                ", channel=" + channel +
+                ", criterion=" + criterion +
+                ", correlationId=" + correlationId +
+                ", response=" + response +
+                "]";
+    }
+
+}
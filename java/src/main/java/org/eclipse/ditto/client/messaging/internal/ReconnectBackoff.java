@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Calculates the delays between attempts to re-establish a lost connection by exponential backoff with full jitter:
+ * the first attempt is made immediately, the delay before each further attempt is chosen randomly between zero and an
+ * upper bound which starts at the initial backoff and doubles with each attempt until it reaches the maximum backoff.
+ * Choosing the delay randomly prevents many clients which lost their connection at the same time from reconnecting
+ * in lockstep.
+ *
+ * @since 1.1.0
+ */
+final class ReconnectBackoff {
+
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Random random;
+
+    private ReconnectBackoff(final Duration initialBackoff, final Duration maxBackoff, final Random random) {
+        initialBackoffMillis = initialBackoff.toMillis();
+        maxBackoffMillis = maxBackoff.toMillis();
+        this.random = random;
+    }
+
+    /**
+     * Returns a new {@code ReconnectBackoff}.
+     *
+     * @param initialBackoff the upper bound of the delay before the second attempt.
+     * @param maxBackoff the maximum upper bound of the delay.
+     * @param random the source of the jitter.
+     * @return the backoff.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    static ReconnectBackoff newInstance(final Duration initialBackoff, final Duration maxBackoff,
+            final Random random) {
+        checkNotNull(initialBackoff, "initialBackoff");
+        checkNotNull(maxBackoff, "maxBackoff");
+        checkNotNull(random, "random");
+        return new ReconnectBackoff(initialBackoff, maxBackoff, random);
+    }
+
+    /**
+     * Returns the delay before the passed attempt.
+     *
+     * @param attempt the number of the attempt, starting with {@code 1}.
+     * @return the delay.
+     */
+    Duration getDelay(final int attempt) {
+        if (attempt <= 1) {
+            return Duration.ZERO;
+        }
+        final long upperBound = getUpperBoundMillis(attempt);
+        return Duration.ofMillis((long) (random.nextDouble() * (upperBound + 1)));
+    }
+
+    private long getUpperBoundMillis(final int attempt) {
+        long result = initialBackoffMillis;
+        for (int i = 2; i < attempt && result < maxBackoffMillis; i++) {
+            result *= 2;
+        }
+        return Math.min(result, maxBackoffMillis);
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.messaging.DurationHistogram;
+
+/**
+ * A {@link DurationHistogram} which counts durations in log-linear buckets of microseconds: each power of two is
+ * divided into four buckets of equal width. Recording is lock-free and does not allocate.
+ *
+ * @since 1.1.0
+ */
+@ThreadSafe
+final class RecordingDurationHistogram implements DurationHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40; // about 12 days in microseconds
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records the passed duration.
+     *
+     * @param nanos the duration in nanoseconds, negative values are recorded as zero.
+     */
+    void record(final long nanos) {
+        final long nonNegativeNanos = Math.max(0L, nanos);
+        counts.incrementAndGet(bucketIndex(TimeUnit.NANOSECONDS.toMicros(nonNegativeNanos)));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nonNegativeNanos);
+        maxNanos.accumulateAndGet(nonNegativeNanos, Math::max);
+    }
+
+    /**
+     * Adds the durations recorded by the passed histogram to this histogram.
+     *
+     * @param other the histogram to add.
+     */
+    void add(final RecordingDurationHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.addAndGet(i, other.counts.get(i));
+        }
+        count.addAndGet(other.count.get());
+        totalNanos.addAndGet(other.totalNanos.get());
+        maxNanos.accumulateAndGet(other.maxNanos.get(), Math::max);
+    }
+
+    static int bucketIndex(final long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        final int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_EXPONENT);
+        final int shift = exponent - SUB_BUCKET_BITS;
+        final int subBucket = (int) Math.min((micros >>> shift) - SUB_BUCKETS, SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBoundMicros(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKETS - 1;
+        final int subBucket = index % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    @Override
+    public long getCount() {
+        return count.get();
+    }
+
+    @Override
+    public Duration getMean() {
+        final long currentCount = count.get();
+        return currentCount == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos.get() / currentCount);
+    }
+
+    @Override
+    public Duration getMax() {
+        return Duration.ofNanos(maxNanos.get());
+    }
+
+    @Override
+    public Duration getPercentile(final double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be greater than 0 and at most 100.");
+        }
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        final long rank = Math.max(1L, (long) Math.ceil(percentile / 100 * total));
+        long cumulated = 0;
+        for (int i = 0; i < BUCKETS && total > 0; i++) {
+            cumulated += counts.get(i);
+            if (cumulated >= rank) {
+                // the bucket contains all durations shorter than the microsecond after its upper bound
+                final long upperBoundNanos = TimeUnit.MICROSECONDS.toNanos(bucketUpperBoundMicros(i) + 1) - 1;
+                return Duration.ofNanos(Math.min(upperBoundNanos, maxNanos.get()));
+            }
+        }
+        return Duration.ZERO;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "count=" + count +
+                ", mean=" + getMean() +
+                ", max=" + getMax() +
+                "]";
+    }
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.neovisionaries.ws.client.WebSocket;
+import com.neovisionaries.ws.client.WebSocketFrame;
+
+/**
+ * Tracks the frames of messages whose sender waits for them to be written to the socket. A frame is tracked from
+ * the moment it was created until the WebSocket reports it as sent or unsent. While a message is kept in the offline
+ * buffer it is tracked by its string representation, as the frame is created anew when the buffer is replayed.
+ * <p>
+ * A fragmented message is regarded as sent when its first frame was sent, as the remaining frames directly follow it
+ * in the frame queue of the WebSocket.
+ * </p>
+ * <p>
+ * Frames are compared by identity. As long as nothing is tracked, the callbacks do not cost more than a check for
+ * emptiness.
+ * </p>
+ *
+ * @since 1.1.0
+ */
+@ThreadSafe
+final class SendTracker {
+
+    private final Map<WebSocketFrame, Pending> frames;
+    private final Map<String, Deque<CompletableFuture<Void>>> bufferedMessages;
+
+    private SendTracker() {
+        // WebSocketFrame does not override equals and hashCode
+        frames = new ConcurrentHashMap<>();
+        bufferedMessages = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns a new {@code SendTracker}.
+     *
+     * @return the tracker.
+     */
+    static SendTracker newInstance() {
+        return new SendTracker();
+    }
+
+    /**
+     * Starts to track the passed frame.
+     *
+     * @param frame the frame of a message which is about to be sent.
+     * @param sent the future to complete when the frame was written to the socket.
+     */
+    void track(final WebSocketFrame frame, final CompletableFuture<Void> sent) {
+        frames.put(frame, new Pending(sent));
+    }
+
+    /**
+     * Records that the passed frame is handed to the passed WebSocket for writing, possibly as a compressed copy which
+     * is tracked instead from now on.
+     *
+     * @param frame the frame.
+     * @param written the frame which is actually written, either {@code frame} or a copy of it.
+     * @param webSocket the WebSocket.
+     */
+    void writing(final WebSocketFrame frame, final WebSocketFrame written, final WebSocket webSocket) {
+        if (!frames.isEmpty()) {
+            final Pending pending = written == frame ? frames.get(frame) : frames.remove(frame);
+            if (null != pending) {
+                pending.webSocket = webSocket;
+                if (written != frame) {
+                    frames.put(written, pending);
+                }
+            }
+        }
+    }
+
+    /**
+     * Completes the future of the passed frame, if it is tracked.
+     *
+     * @param frame the frame the WebSocket wrote to the socket.
+     */
+    void sent(final WebSocketFrame frame) {
+        if (!frames.isEmpty()) {
+            final Pending pending = frames.remove(frame);
+            if (null != pending) {
+                pending.future.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Completes the future of the passed frame exceptionally, if it is tracked.
+     *
+     * @param frame the frame which was not sent.
+     * @param cause supplies the reason.
+     */
+    void failed(final WebSocketFrame frame, final Supplier<? extends Throwable> cause) {
+        if (!frames.isEmpty()) {
+            final Pending pending = frames.remove(frame);
+            if (null != pending) {
+                pending.future.completeExceptionally(cause.get());
+            }
+        }
+    }
+
+    /**
+     * Completes the futures of all frames handed to the passed WebSocket exceptionally, as the WebSocket drops
+     * frames without notice once it is closed.
+     *
+     * @param webSocket the disconnected WebSocket.
+     * @param cause supplies the reason.
+     */
+    void disconnected(final WebSocket webSocket, final Supplier<? extends Throwable> cause) {
+        if (!frames.isEmpty()) {
+            frames.forEach((frame, pending) -> {
+                if (webSocket == pending.webSocket && frames.remove(frame, pending)) {
+                    pending.future.completeExceptionally(cause.get());
+                }
+            });
+        }
+    }
+
+    /**
+     * Tracks the message of the passed frame by its string representation while it is kept in the offline buffer.
+     *
+     * @param frame the frame whose message is buffered.
+     * @param bufferedMessage the message as it is buffered.
+     */
+    void buffered(final WebSocketFrame frame, final String bufferedMessage) {
+        if (!frames.isEmpty()) {
+            final Pending pending = frames.remove(frame);
+            if (null != pending) {
+                bufferedMessages.compute(bufferedMessage, (message, futures) -> {
+                    final Deque<CompletableFuture<Void>> result = null != futures ? futures : new ArrayDeque<>(1);
+                    result.addLast(pending.future);
+                    return result;
+                });
+            }
+        }
+    }
+
+    /**
+     * Tracks the frame of a replayed message of the offline buffer.
+     *
+     * @param bufferedMessage the message as it was buffered.
+     * @param frame the frame created for replaying the message.
+     */
+    void replaying(final String bufferedMessage, final WebSocketFrame frame) {
+        final CompletableFuture<Void> future = pollBuffered(bufferedMessage);
+        if (null != future) {
+            frames.put(frame, new Pending(future));
+        }
+    }
+
+    /**
+     * Completes the future of the passed message of the offline buffer exceptionally, if it is tracked.
+     *
+     * @param bufferedMessage the discarded message as it was buffered.
+     * @param cause supplies the reason.
+     */
+    void bufferedMessageDiscarded(final String bufferedMessage, final Supplier<? extends Throwable> cause) {
+        final CompletableFuture<Void> future = pollBuffered(bufferedMessage);
+        if (null != future) {
+            future.completeExceptionally(cause.get());
+        }
+    }
+
+    @Nullable
+    private CompletableFuture<Void> pollBuffered(final String bufferedMessage) {
+        if (bufferedMessages.isEmpty()) {
+            return null;
+        }
+        final List<CompletableFuture<Void>> result = new ArrayList<>(1);
+        // equal messages were buffered in the order of their futures:
+        bufferedMessages.computeIfPresent(bufferedMessage, (message, futures) -> {
+            result.add(futures.pollFirst());
+            return futures.isEmpty() ? null : futures;
+        });
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    /**
+     * Completes the futures of all tracked frames and messages exceptionally.
+     *
+     * @param cause supplies the reason.
+     */
+    void failAll(final Supplier<? extends Throwable> cause) {
+        frames.keySet().forEach(frame -> failed(frame, cause));
+        bufferedMessages.keySet().forEach(bufferedMessage -> {
+            CompletableFuture<Void> future;
+            while (null != (future = pollBuffered(bufferedMessage))) {
+                future.completeExceptionally(cause.get());
+            }
+        });
+    }
+
+    /**
+     * Returns the number of tracked frames and messages.
+     *
+     * @return the number.
+     */
+    int size() {
+        return frames.size() + bufferedMessages.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    private static final class Pending {
+
+        private final CompletableFuture<Void> future;
+        @Nullable private volatile WebSocket webSocket;
+
+        private Pending(final CompletableFuture<Void> future) {
+            this.future = future;
+            webSocket = null;
+        }
+
+    }
+
+}
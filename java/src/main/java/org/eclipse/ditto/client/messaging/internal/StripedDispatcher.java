@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.client.internal.DefaultThreadFactory;
+
+/**
+ * Dispatches tasks onto a fixed number of lanes. All tasks with the same key are executed by the same lane one after
+ * another, tasks with different keys may be executed in parallel. Tasks without a key are executed one after another
+ * by a dedicated fallback lane.
+ * <p>
+ * Each lane is backed by a single thread consuming an unbounded queue, so dispatching never blocks and never executes
+ * the task in the calling thread. The fallback lane keeps that promise for tasks without key, too, which a shared
+ * executor with a caller-runs policy would break under load.
+ * </p>
+ *
+ * @since 1.1.0
+ */
+final class StripedDispatcher {
+
+    private static final ThreadLocal<Boolean> ON_LANE = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private static final long LANE_KEEP_ALIVE_SECONDS = 60L;
+
+    private final ThreadPoolExecutor[] lanes;
+    private final ThreadPoolExecutor fallbackLane;
+    private final ExecutorService laneAwareExecutor;
+
+    private StripedDispatcher(final int laneCount, final String name, final ExecutorService fallbackExecutor) {
+        final ThreadFactory threadFactory = new LaneThreadFactory(new DefaultThreadFactory(name));
+        lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = createLane(threadFactory);
+        }
+        fallbackLane = createLane(threadFactory);
+        laneAwareExecutor = new LaneAwareExecutorService(fallbackExecutor);
+    }
+
+    /**
+     * Returns a new {@code StripedDispatcher}.
+     *
+     * @param laneCount the number of lanes to use.
+     * @param name the name prefix of the lane threads.
+     * @param fallbackExecutor the executor for tasks submitted to the lane aware ExecutorService outside of any lane.
+     * @return the dispatcher.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code laneCount} is not positive.
+     */
+    static StripedDispatcher newInstance(final int laneCount, final String name,
+            final ExecutorService fallbackExecutor) {
+        checkNotNull(name, "name");
+        checkNotNull(fallbackExecutor, "fallbackExecutor");
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("The laneCount must be positive but was <" + laneCount + ">!");
+        }
+        return new StripedDispatcher(laneCount, name, fallbackExecutor);
+    }
+
+    private static ThreadPoolExecutor createLane(final ThreadFactory threadFactory) {
+        final ThreadPoolExecutor lane = new ThreadPoolExecutor(1, 1, LANE_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        lane.allowCoreThreadTimeOut(true);
+        return lane;
+    }
+
+    /**
+     * Dispatches the passed {@code task} onto the lane determined by the passed {@code key}.
+     *
+     * @param key the key determining the lane or {@code null} to execute the task by the fallback lane.
+     * @param task the task to execute.
+     */
+    void dispatch(@Nullable final CharSequence key, final Runnable task) {
+        if (null == key) {
+            fallbackLane.execute(task);
+        } else {
+            lanes[laneIndex(key)].execute(task);
+        }
+    }
+
+    private int laneIndex(final CharSequence key) {
+        final int hash = key.toString().hashCode();
+        // spread the higher bits as String hashes of similar Thing IDs only differ in the lower bits:
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % lanes.length;
+    }
+
+    /**
+     * Returns an ExecutorService which executes tasks submitted from a lane directly in that lane in order to keep
+     * the order of the lane. Tasks submitted from other threads are executed by the fallback executor.
+     *
+     * @return the lane aware ExecutorService.
+     */
+    ExecutorService getLaneAwareExecutorService() {
+        return laneAwareExecutor;
+    }
+
+    /**
+     * Shuts down all lanes. Already dispatched tasks are still executed.
+     */
+    void shutdown() {
+        for (final ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        fallbackLane.shutdown();
+    }
+
+    private static final class LaneThreadFactory implements ThreadFactory {
+
+        private final ThreadFactory delegate;
+
+        private LaneThreadFactory(final ThreadFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            return delegate.newThread(() -> {
+                ON_LANE.set(Boolean.TRUE);
+                r.run();
+            });
+        }
+
+    }
+
+    private static final class LaneAwareExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+
+        private LaneAwareExecutorService(final ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            if (ON_LANE.get()) {
+                command.run();
+            } else {
+                delegate.execute(command);
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return new ArrayList<>(delegate.shutdownNow());
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+
+    }
+
+}
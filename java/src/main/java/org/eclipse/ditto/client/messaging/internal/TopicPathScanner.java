@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import javax.annotation.Nullable;
+
+/**
+ * Scans the {@code "topic"} and the {@code "correlation-id"} header of a Ditto Protocol message in its raw String
+ * representation without parsing the whole message as JSON. Only the fields of the top level object and of its
+ * {@code "headers"} object are regarded, nested values are skipped without looking at their keys.
+ *
+ * @since 1.1.0
+ */
+final class TopicPathScanner {
+
+    private static final String TOPIC_KEY = "topic";
+    private static final String HEADERS_KEY = "headers";
+    private static final String CORRELATION_ID_KEY = "correlation-id";
+
+    private TopicPathScanner() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Finds the value of the top level {@code "topic"} field in the passed raw Ditto Protocol message.
+     *
+     * @param message the raw message.
+     * @return the topic or {@code null} if the message does not contain a plain topic string.
+     */
+    @Nullable
+    static String findTopic(final String message) {
+        return readPlainString(message, findValueIndex(message, 0, TOPIC_KEY));
+    }
+
+    /**
+     * Finds the value of the {@code "correlation-id"} header in the passed raw Ditto Protocol message.
+     *
+     * @param message the raw message.
+     * @return the correlation-id or {@code null} if the message does not contain a plain correlation-id string.
+     */
+    @Nullable
+    static String findCorrelationId(final String message) {
+        final int headersIndex = findValueIndex(message, 0, HEADERS_KEY);
+        if (headersIndex < 0) {
+            return null;
+        }
+        return readPlainString(message, findValueIndex(message, headersIndex, CORRELATION_ID_KEY));
+    }
+
+    /**
+     * Indicates whether the top level object of the passed raw Ditto Protocol message contains the passed key.
+     *
+     * @param message the raw message.
+     * @param key the key.
+     * @return {@code true} if the key is contained.
+     */
+    static boolean containsKey(final String message, final String key) {
+        return findValueIndex(message, 0, key) >= 0;
+    }
+
+    /**
+     * Finds the value of the passed key in the object starting at the passed index, skipping the values of the other
+     * keys of the object.
+     *
+     * @return the index of the value or {@code -1} if the object does not contain the key or is malformed.
+     */
+    private static int findValueIndex(final String message, final int objectIndex, final String key) {
+        int i = skipWhitespace(message, objectIndex);
+        if (!isCharAt(message, i, '{')) {
+            return -1;
+        }
+        i = skipWhitespace(message, i + 1);
+        if (isCharAt(message, i, '}')) {
+            return -1;
+        }
+        while (isCharAt(message, i, '"')) {
+            final int keyEnd = skipString(message, i);
+            if (keyEnd < 0) {
+                return -1;
+            }
+            final boolean matches = keyEnd - i - 2 == key.length() && message.startsWith(key, i + 1);
+            i = skipWhitespace(message, keyEnd);
+            if (!isCharAt(message, i, ':')) {
+                return -1;
+            }
+            i = skipWhitespace(message, i + 1);
+            if (matches) {
+                return i;
+            }
+            i = skipWhitespace(message, skipValue(message, i));
+            if (!isCharAt(message, i, ',')) {
+                // either the end of the object or malformed
+                return -1;
+            }
+            i = skipWhitespace(message, i + 1);
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index after the value starting at the passed index or {@code -1} if it is malformed.
+     */
+    private static int skipValue(final String message, final int valueIndex) {
+        if (isCharAt(message, valueIndex, '"')) {
+            return skipString(message, valueIndex);
+        }
+        int depth = 0;
+        int i = valueIndex;
+        while (i >= 0 && i < message.length()) {
+            final char c = message.charAt(i);
+            if (c == '"') {
+                i = skipString(message, i);
+                continue;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (0 == depth) {
+                    // end of a literal at the end of the enclosing object
+                    return i;
+                }
+                depth--;
+                if (0 == depth) {
+                    return i + 1;
+                }
+            } else if (0 == depth && (c == ',' || Character.isWhitespace(c))) {
+                // end of a literal like a number, true, false or null
+                return i;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index after the closing quote of the string starting at the passed index or {@code -1} if the
+     * string is not terminated.
+     */
+    private static int skipString(final String message, final int quoteIndex) {
+        int i = quoteIndex + 1;
+        while (i < message.length()) {
+            final char c = message.charAt(i);
+            if (c == '"') {
+                return i + 1;
+            }
+            i += c == '\\' ? 2 : 1;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the string starting at the passed index or {@code null} if there is none or it contains escapes.
+     */
+    @Nullable
+    private static String readPlainString(final String message, final int valueIndex) {
+        if (!isCharAt(message, valueIndex, '"')) {
+            return null;
+        }
+        final int start = valueIndex + 1;
+        for (int j = start; j < message.length(); j++) {
+            final char c = message.charAt(j);
+            if (c == '"') {
+                return message.substring(start, j);
+            } else if (c == '\\') {
+                // escaped values are not expected - let the JSON parser deal with them
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isCharAt(final String message, final int index, final char c) {
+        return index >= 0 && index < message.length() && message.charAt(index) == c;
+    }
+
+    private static int skipWhitespace(final String message, final int fromIndex) {
+        if (fromIndex < 0) {
+            return fromIndex;
+        }
+        int i = fromIndex;
+        while (i < message.length() && Character.isWhitespace(message.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+}
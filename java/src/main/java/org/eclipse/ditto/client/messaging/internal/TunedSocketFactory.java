@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketException;
+
+import javax.net.SocketFactory;
+import javax.net.ssl.SSLSocketFactory;
+
+import org.eclipse.ditto.client.configuration.TransportTuningConfiguration;
+
+/**
+ * A {@link SocketFactory} which applies the socket options of a {@link TransportTuningConfiguration} to the sockets
+ * created by a delegate factory. The WebSocket library creates its sockets unconnected, so the buffer sizes are set
+ * before connecting and thereby also determine the TCP window scaling.
+ *
+ * @since 1.1.0
+ */
+final class TunedSocketFactory extends SocketFactory {
+
+    private final SocketFactory delegate;
+    private final TransportTuningConfiguration configuration;
+
+    private TunedSocketFactory(final SocketFactory delegate, final TransportTuningConfiguration configuration) {
+        this.delegate = delegate;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Returns a factory creating plain sockets with the options of the passed {@code configuration}.
+     *
+     * @param delegate the factory creating the sockets.
+     * @param configuration the configuration providing the socket options.
+     * @return the factory.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    static SocketFactory of(final SocketFactory delegate, final TransportTuningConfiguration configuration) {
+        return new TunedSocketFactory(checkNotNull(delegate, "delegate"), checkNotNull(configuration, "configuration"));
+    }
+
+    /**
+     * Returns a factory creating TLS sockets with the options of the passed {@code configuration}. Sockets layered
+     * over an existing socket, e.g. one connected to a proxy, keep the options of that socket.
+     *
+     * @param delegate the factory creating the sockets.
+     * @param configuration the configuration providing the socket options.
+     * @return the factory.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    static SSLSocketFactory ofSsl(final SSLSocketFactory delegate, final TransportTuningConfiguration configuration) {
+        return new TunedSslSocketFactory(checkNotNull(delegate, "delegate"),
+                checkNotNull(configuration, "configuration"));
+    }
+
+    @Override
+    public Socket createSocket() throws IOException {
+        return tune(delegate.createSocket(), configuration);
+    }
+
+    @Override
+    public Socket createSocket(final String host, final int port) throws IOException {
+        return tune(delegate.createSocket(host, port), configuration);
+    }
+
+    @Override
+    public Socket createSocket(final String host, final int port, final InetAddress localHost, final int localPort)
+            throws IOException {
+        return tune(delegate.createSocket(host, port, localHost, localPort), configuration);
+    }
+
+    @Override
+    public Socket createSocket(final InetAddress host, final int port) throws IOException {
+        return tune(delegate.createSocket(host, port), configuration);
+    }
+
+    @Override
+    public Socket createSocket(final InetAddress address, final int port, final InetAddress localAddress,
+            final int localPort) throws IOException {
+        return tune(delegate.createSocket(address, port, localAddress, localPort), configuration);
+    }
+
+    private static Socket tune(final Socket socket, final TransportTuningConfiguration configuration)
+            throws SocketException {
+        if (configuration.isTcpNoDelay()) {
+            socket.setTcpNoDelay(true);
+        }
+        if (configuration.getSendBufferSize() > 0) {
+            socket.setSendBufferSize(configuration.getSendBufferSize());
+        }
+        if (configuration.getReceiveBufferSize() > 0) {
+            socket.setReceiveBufferSize(configuration.getReceiveBufferSize());
+        }
+        return socket;
+    }
+
+    private static final class TunedSslSocketFactory extends SSLSocketFactory {
+
+        private final SSLSocketFactory delegate;
+        private final TransportTuningConfiguration configuration;
+
+        private TunedSslSocketFactory(final SSLSocketFactory delegate,
+                final TransportTuningConfiguration configuration) {
+            this.delegate = delegate;
+            this.configuration = configuration;
+        }
+
+        @Override
+        public String[] getDefaultCipherSuites() {
+            return delegate.getDefaultCipherSuites();
+        }
+
+        @Override
+        public String[] getSupportedCipherSuites() {
+            return delegate.getSupportedCipherSuites();
+        }
+
+        @Override
+        public Socket createSocket() throws IOException {
+            return tune(delegate.createSocket(), configuration);
+        }
+
+        @Override
+        public Socket createSocket(final Socket socket, final String host, final int port, final boolean autoClose)
+                throws IOException {
+            return delegate.createSocket(socket, host, port, autoClose);
+        }
+
+        @Override
+        public Socket createSocket(final String host, final int port) throws IOException {
+            return tune(delegate.createSocket(host, port), configuration);
+        }
+
+        @Override
+        public Socket createSocket(final String host, final int port, final InetAddress localHost,
+                final int localPort) throws IOException {
+            return tune(delegate.createSocket(host, port, localHost, localPort), configuration);
+        }
+
+        @Override
+        public Socket createSocket(final InetAddress host, final int port) throws IOException {
+            return tune(delegate.createSocket(host, port), configuration);
+        }
+
+        @Override
+        public Socket createSocket(final InetAddress address, final int port, final InetAddress localAddress,
+                final int localPort) throws IOException {
+            return tune(delegate.createSocket(address, port, localAddress, localPort), configuration);
+        }
+
+    }
+
+}
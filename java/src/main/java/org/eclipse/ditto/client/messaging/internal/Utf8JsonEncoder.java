@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.model.base.headers.DittoHeaderDefinition;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.base.headers.HeaderDefinition;
+import org.eclipse.ditto.protocoladapter.Adaptable;
+import org.eclipse.ditto.protocoladapter.Payload;
+import org.eclipse.ditto.protocoladapter.ProtocolFactory;
+import org.eclipse.ditto.protocoladapter.TopicPath;
+
+/**
+ * Encodes Ditto Protocol messages as UTF-8 JSON by writing the envelope and its payload directly into a reusable
+ * thread-local byte buffer. The produced JSON is equivalent to the string representation of
+ * {@link ProtocolFactory#wrapAsJsonifiableAdaptable(Adaptable)}, but no intermediate JSON objects or strings are
+ * created.
+ *
+ * @since 1.1.0
+ */
+@Immutable
+final class Utf8JsonEncoder {
+
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+    private static final byte[] HEX_DIGITS = {
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
+    };
+
+    private static final ThreadLocal<Utf8Buffer> BUFFER = ThreadLocal.withInitial(Utf8Buffer::new);
+
+    private Utf8JsonEncoder() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Encodes the passed adaptable as UTF-8 JSON.
+     *
+     * @param adaptable the adaptable to encode.
+     * @param headerFilter determines by their key which headers are included.
+     * @return the UTF-8 bytes of the JSON message.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    static byte[] encode(final Adaptable adaptable, final Predicate<String> headerFilter) {
+        checkNotNull(adaptable, "adaptable");
+        checkNotNull(headerFilter, "headerFilter");
+        final Utf8Buffer buffer = BUFFER.get();
+        try {
+            writeAdaptable(buffer, adaptable, headerFilter);
+            return buffer.toByteArray();
+        } finally {
+            buffer.reset();
+        }
+    }
+
+    private static void writeAdaptable(final Utf8Buffer buffer, final Adaptable adaptable,
+            final Predicate<String> headerFilter) {
+
+        buffer.writeByte('{');
+        final TopicPath topicPath = adaptable.getTopicPath();
+        if (!ProtocolFactory.emptyTopicPath().equals(topicPath)) {
+            buffer.writeAscii("\"topic\":");
+            buffer.writeString(topicPath.getPath());
+            buffer.writeByte(',');
+        }
+        buffer.writeAscii("\"headers\":");
+        writeHeaders(buffer, adaptable.getHeaders().orElseGet(ProtocolFactory::emptyHeaders), headerFilter);
+        writePayload(buffer, adaptable.getPayload());
+        buffer.writeByte('}');
+    }
+
+    private static void writeHeaders(final Utf8Buffer buffer, final DittoHeaders headers,
+            final Predicate<String> headerFilter) {
+
+        buffer.writeByte('{');
+        boolean first = true;
+        for (final Map.Entry<String, String> header : headers.entrySet()) {
+            final String key = header.getKey();
+            if (headerFilter.test(key)) {
+                if (!first) {
+                    buffer.writeByte(',');
+                }
+                first = false;
+                buffer.writeString(key);
+                buffer.writeByte(':');
+                if (isSerializedAsString(key)) {
+                    buffer.writeString(header.getValue());
+                } else {
+                    // the value of a header which is not serialized as string is the JSON representation itself
+                    buffer.writeText(header.getValue());
+                }
+            }
+        }
+        buffer.writeByte('}');
+    }
+
+    private static boolean isSerializedAsString(final String headerKey) {
+        return DittoHeaderDefinition.forKey(headerKey)
+                .map(HeaderDefinition::getSerializationType)
+                .map(CharSequence.class::isAssignableFrom)
+                .orElse(true);
+    }
+
+    private static void writePayload(final Utf8Buffer buffer, final Payload payload) {
+        buffer.writeAscii(",\"path\":");
+        buffer.writeString(payload.getPath().toString());
+        payload.getValue().ifPresent(value -> {
+            buffer.writeAscii(",\"value\":");
+            writeValue(buffer, value);
+        });
+        payload.getExtra().ifPresent(extra -> {
+            buffer.writeAscii(",\"extra\":");
+            writeValue(buffer, extra);
+        });
+        payload.getStatus().ifPresent(status -> {
+            buffer.writeAscii(",\"status\":");
+            buffer.writeLong(status.toInt());
+        });
+        payload.getRevision().ifPresent(revision -> {
+            buffer.writeAscii(",\"revision\":");
+            buffer.writeLong(revision);
+        });
+        payload.getTimestamp().ifPresent(timestamp -> {
+            buffer.writeAscii(",\"timestamp\":");
+            buffer.writeString(timestamp.toString());
+        });
+        payload.getFields().ifPresent(fields -> {
+            buffer.writeAscii(",\"fields\":");
+            buffer.writeString(fields.toString());
+        });
+    }
+
+    private static void writeValue(final Utf8Buffer buffer, final JsonValue value) {
+        if (value.isNull()) {
+            buffer.writeAscii("null");
+        } else if (value.isBoolean()) {
+            buffer.writeAscii(value.asBoolean() ? "true" : "false");
+        } else if (value.isNumber()) {
+            // integral doubles claim to be longs as well, so the number's own representation is kept
+            buffer.writeAscii(value.toString());
+        } else if (value.isString()) {
+            buffer.writeString(value.asString());
+        } else if (value.isObject()) {
+            buffer.writeByte('{');
+            boolean first = true;
+            for (final JsonField field : value.asObject()) {
+                if (!first) {
+                    buffer.writeByte(',');
+                }
+                first = false;
+                buffer.writeString(field.getKeyName());
+                buffer.writeByte(':');
+                writeValue(buffer, field.getValue());
+            }
+            buffer.writeByte('}');
+        } else if (value.isArray()) {
+            buffer.writeByte('[');
+            boolean first = true;
+            for (final JsonValue element : value.asArray()) {
+                if (!first) {
+                    buffer.writeByte(',');
+                }
+                first = false;
+                writeValue(buffer, element);
+            }
+            buffer.writeByte(']');
+        } else {
+            buffer.writeText(value.toString());
+        }
+    }
+
+    /**
+     * A growable byte buffer which writes characters as UTF-8.
+     */
+    private static final class Utf8Buffer {
+
+        private byte[] bytes;
+        private int size;
+
+        private Utf8Buffer() {
+            bytes = new byte[INITIAL_BUFFER_SIZE];
+            size = 0;
+        }
+
+        private void ensureCapacity(final int additionalBytes) {
+            final int required = size + additionalBytes;
+            if (required > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length * 2));
+            }
+        }
+
+        private void writeByte(final int b) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) b;
+        }
+
+        private void writeAscii(final String ascii) {
+            final int length = ascii.length();
+            ensureCapacity(length);
+            for (int i = 0; i < length; i++) {
+                bytes[size++] = (byte) ascii.charAt(i);
+            }
+        }
+
+        private void writeLong(final long value) {
+            if (Long.MIN_VALUE == value) {
+                writeAscii(Long.toString(value));
+                return;
+            }
+            ensureCapacity(20);
+            long remaining = value;
+            if (remaining < 0) {
+                bytes[size++] = '-';
+                remaining = -remaining;
+            }
+            int digits = 1;
+            for (long bound = 10; digits < 19 && remaining >= bound; bound *= 10) {
+                digits++;
+            }
+            int position = size + digits;
+            size = position;
+            do {
+                bytes[--position] = (byte) ('0' + (remaining % 10));
+                remaining /= 10;
+            } while (remaining > 0);
+        }
+
+        private void writeString(final CharSequence string) {
+            writeByte('"');
+            final int length = string.length();
+            for (int i = 0; i < length; i++) {
+                final char c = string.charAt(i);
+                switch (c) {
+                    case '"':
+                        writeEscape('"');
+                        break;
+                    case '\\':
+                        writeEscape('\\');
+                        break;
+                    case '\n':
+                        writeEscape('n');
+                        break;
+                    case '\r':
+                        writeEscape('r');
+                        break;
+                    case '\t':
+                        writeEscape('t');
+                        break;
+                    case '\b':
+                        writeEscape('b');
+                        break;
+                    case '\f':
+                        writeEscape('f');
+                        break;
+                    case '\u2028':
+                    case '\u2029':
+                        writeUnicodeEscape(c);
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            writeUnicodeEscape(c);
+                        } else {
+                            i = writeChar(string, i);
+                        }
+                }
+            }
+            writeByte('"');
+        }
+
+        private void writeEscape(final char escaped) {
+            ensureCapacity(2);
+            bytes[size++] = '\\';
+            bytes[size++] = (byte) escaped;
+        }
+
+        private void writeUnicodeEscape(final char c) {
+            ensureCapacity(6);
+            bytes[size++] = '\\';
+            bytes[size++] = 'u';
+            bytes[size++] = HEX_DIGITS[(c >> 12) & 0xf];
+            bytes[size++] = HEX_DIGITS[(c >> 8) & 0xf];
+            bytes[size++] = HEX_DIGITS[(c >> 4) & 0xf];
+            bytes[size++] = HEX_DIGITS[c & 0xf];
+        }
+
+        private void writeText(final CharSequence text) {
+            final int length = text.length();
+            for (int i = 0; i < length; i++) {
+                i = writeChar(text, i);
+            }
+        }
+
+        /**
+         * Writes the char at the passed index as UTF-8 and returns the index of the last char which was consumed,
+         * which is the next one for a surrogate pair.
+         */
+        private int writeChar(final CharSequence text, final int index) {
+            final char c = text.charAt(index);
+            ensureCapacity(4);
+            if (c < 0x80) {
+                bytes[size++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[size++] = (byte) (0xc0 | (c >> 6));
+                bytes[size++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && index + 1 < text.length() &&
+                    Character.isLowSurrogate(text.charAt(index + 1))) {
+                final int codePoint = Character.toCodePoint(c, text.charAt(index + 1));
+                bytes[size++] = (byte) (0xf0 | (codePoint >> 18));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                bytes[size++] = (byte) (0x80 | (codePoint & 0x3f));
+                return index + 1;
+            } else if (Character.isSurrogate(c)) {
+                // an unpaired surrogate cannot be encoded, String#getBytes replaces it alike
+                bytes[size++] = '?';
+            } else {
+                bytes[size++] = (byte) (0xe0 | (c >> 12));
+                bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                bytes[size++] = (byte) (0x80 | (c & 0x3f));
+            }
+            return index;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void reset() {
+            size = 0;
+            // a buffer which grew for a large message is not retained by the thread
+            if (bytes.length > MAX_RETAINED_BUFFER_SIZE) {
+                bytes = new byte[INITIAL_BUFFER_SIZE];
+            }
+        }
+
+    }
+
+}
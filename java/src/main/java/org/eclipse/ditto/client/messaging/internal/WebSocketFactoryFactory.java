@@ -22,14 +22,18 @@ import java.security.SecureRandom;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 
+import javax.net.SocketFactory;
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.TrustManagerFactory;
 
 import org.eclipse.ditto.client.configuration.MessagingConfiguration;
+import org.eclipse.ditto.client.configuration.TransportTuningConfiguration;
 import org.eclipse.ditto.client.configuration.TrustStoreConfiguration;
 
 import com.neovisionaries.ws.client.ProxySettings;
+import com.neovisionaries.ws.client.WebSocket;
 import com.neovisionaries.ws.client.WebSocketFactory;
 
 /**
@@ -51,7 +55,9 @@ final class WebSocketFactoryFactory {
      */
     static WebSocketFactory newWebSocketFactory(final MessagingConfiguration configuration) {
 
+        final TransportTuningConfiguration transportTuning = configuration.getTransportTuningConfiguration();
         final WebSocketFactory webSocketFactory = new WebSocketFactory();
+        webSocketFactory.setConnectionTimeout((int) transportTuning.getConnectTimeout().toMillis());
 
         configuration.getProxyConfiguration().ifPresent(proxyConfiguration -> {
             final ProxySettings proxySettings = webSocketFactory.getProxySettings();
@@ -65,13 +71,43 @@ final class WebSocketFactoryFactory {
             }
         });
 
-        configuration.getTrustStoreConfiguration().ifPresent(trustStoreConfiguration ->
-                webSocketFactory.setSSLContext(
-                        sslContext(trustStoreConfiguration, loadTrustStore(trustStoreConfiguration))));
+        final SSLContext sslContext = configuration.getTrustStoreConfiguration()
+                .map(trustStoreConfiguration ->
+                        sslContext(trustStoreConfiguration, loadTrustStore(trustStoreConfiguration)))
+                .orElse(null);
+
+        if (transportTuning.hasSocketOptions()) {
+            // a configured SSLContext takes precedence over the SSLSocketFactory, so its factory is wrapped instead:
+            final SSLSocketFactory sslSocketFactory = null != sslContext
+                    ? sslContext.getSocketFactory()
+                    : (SSLSocketFactory) SSLSocketFactory.getDefault();
+            webSocketFactory.setSocketFactory(TunedSocketFactory.of(SocketFactory.getDefault(), transportTuning));
+            webSocketFactory.setSSLSocketFactory(TunedSocketFactory.ofSsl(sslSocketFactory, transportTuning));
+            // if a proxy is used, the socket connected to the proxy carries the connection:
+            webSocketFactory.getProxySettings()
+                    .setSocketFactory(TunedSocketFactory.of(SocketFactory.getDefault(), transportTuning))
+                    .setSSLSocketFactory(TunedSocketFactory.ofSsl((SSLSocketFactory) SSLSocketFactory.getDefault(),
+                            transportTuning));
+        } else if (null != sslContext) {
+            webSocketFactory.setSSLContext(sslContext);
+        }
 
         return webSocketFactory;
     }
 
+    /**
+     * Adds the WebSocket extensions enabled by the passed {@code configuration} to the opening handshake of the passed
+     * {@code webSocket}.
+     *
+     * @param webSocket the WebSocket to offer the extensions on.
+     * @param configuration the messaging configuration.
+     * @since 1.1.0
+     */
+    static void addExtensions(final WebSocket webSocket, final MessagingConfiguration configuration) {
+        configuration.getCompressionConfiguration().ifPresent(compressionConfiguration ->
+                webSocket.addExtension(PerMessageDeflater.extensionOffer(compressionConfiguration)));
+    }
+
     private static SSLContext sslContext(final TrustStoreConfiguration configuration, final KeyStore trustStore) {
         try {
             final KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance("SunX509");
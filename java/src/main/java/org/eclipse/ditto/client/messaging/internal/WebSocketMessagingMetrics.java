@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.messaging.DurationHistogram;
+import org.eclipse.ditto.client.messaging.MessagingMetrics;
+
+/**
+ * Records the {@link MessagingMetrics} of a {@link WebSocketMessagingProvider}.
+ *
+ * @since 1.1.0
+ */
+@ThreadSafe
+final class WebSocketMessagingMetrics implements MessagingMetrics {
+
+    private final AtomicLong reconnectAttempts = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+    private final AtomicLong lastReconnectNanos = new AtomicLong();
+    private final AtomicLong totalReconnectNanos = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong uncompressedBytesSent = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong uncompressedBytesReceived = new AtomicLong();
+    private final RecordingDurationHistogram roundTripTimes = new RecordingDurationHistogram();
+    private final AtomicLong missedPongs = new AtomicLong();
+    private final AtomicLong responseTimeouts = new AtomicLong();
+    private final IntSupplier pendingResponses;
+
+    /**
+     * Constructs a new {@code WebSocketMessagingMetrics} object.
+     *
+     * @param pendingResponses supplies the number of requests which currently wait for their response.
+     */
+    WebSocketMessagingMetrics(final IntSupplier pendingResponses) {
+        this.pendingResponses = pendingResponses;
+    }
+
+    /**
+     * Records an attempt to re-establish the connection.
+     */
+    void reconnectAttempted() {
+        reconnectAttempts.incrementAndGet();
+    }
+
+    /**
+     * Records a successfully re-established connection.
+     *
+     * @param durationNanos the duration between the loss of the connection and its re-establishment.
+     */
+    void reconnected(final long durationNanos) {
+        reconnects.incrementAndGet();
+        lastReconnectNanos.set(durationNanos);
+        totalReconnectNanos.addAndGet(durationNanos);
+    }
+
+    /**
+     * Records a sent message.
+     *
+     * @param uncompressedBytes the payload size of the message before compression.
+     * @param bytes the payload size of the message as sent over the connection.
+     */
+    void sent(final int uncompressedBytes, final int bytes) {
+        uncompressedBytesSent.addAndGet(uncompressedBytes);
+        bytesSent.addAndGet(bytes);
+    }
+
+    /**
+     * Records the payload of a received frame as read from the connection.
+     *
+     * @param bytes the payload size of the frame.
+     */
+    void received(final int bytes) {
+        bytesReceived.addAndGet(bytes);
+    }
+
+    /**
+     * Records a received message after decompression.
+     *
+     * @param uncompressedBytes the payload size of the decompressed message.
+     */
+    void receivedUncompressed(final int uncompressedBytes) {
+        uncompressedBytesReceived.addAndGet(uncompressedBytes);
+    }
+
+    /**
+     * Records the round trip time of a keepalive ping.
+     *
+     * @param roundTripNanos the time between sending the ping and receiving its pong.
+     */
+    void pongReceived(final long roundTripNanos) {
+        roundTripTimes.record(roundTripNanos);
+    }
+
+    /**
+     * Records a keepalive ping which was not answered before the next ping was due.
+     */
+    void pongMissed() {
+        missedPongs.incrementAndGet();
+    }
+
+    /**
+     * Records a request whose response was not received in time.
+     */
+    void responseTimedOut() {
+        responseTimeouts.incrementAndGet();
+    }
+
+    @Override
+    public long getReconnectAttempts() {
+        return reconnectAttempts.get();
+    }
+
+    @Override
+    public long getReconnects() {
+        return reconnects.get();
+    }
+
+    @Override
+    public Duration getLastReconnectDuration() {
+        return Duration.ofNanos(lastReconnectNanos.get());
+    }
+
+    @Override
+    public Duration getTotalReconnectDuration() {
+        return Duration.ofNanos(totalReconnectNanos.get());
+    }
+
+    @Override
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    @Override
+    public long getUncompressedBytesSent() {
+        return uncompressedBytesSent.get();
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    @Override
+    public long getUncompressedBytesReceived() {
+        return uncompressedBytesReceived.get();
+    }
+
+    @Override
+    public DurationHistogram getRoundTripTimes() {
+        return roundTripTimes;
+    }
+
+    @Override
+    public long getMissedPongs() {
+        return missedPongs.get();
+    }
+
+    @Override
+    public int getPendingResponses() {
+        return pendingResponses.getAsInt();
+    }
+
+    @Override
+    public long getResponseTimeouts() {
+        return responseTimeouts.get();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "reconnectAttempts=" + reconnectAttempts +
+                ", reconnects=" + reconnects +
+                ", lastReconnectNanos=" + lastReconnectNanos +
+                ", totalReconnectNanos=" + totalReconnectNanos +
+                ", bytesSent=" + bytesSent +
+                ", uncompressedBytesSent=" + uncompressedBytesSent +
+                ", bytesReceived=" + bytesReceived +
+                ", uncompressedBytesReceived=" + uncompressedBytesReceived +
+                ", roundTripTimes=" + roundTripTimes +
+                ", missedPongs=" + missedPongs +
+                ", pendingResponses=" + getPendingResponses() +
+                ", responseTimeouts=" + responseTimeouts +
+                "]";
+    }
+
+}
@@ -16,22 +16,27 @@ import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Random;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.SynchronousQueue;
@@ -39,19 +44,29 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 
 import org.eclipse.ditto.client.configuration.AuthenticationConfiguration;
+import org.eclipse.ditto.client.configuration.KeepAliveConfiguration;
 import org.eclipse.ditto.client.configuration.MessagingConfiguration;
+import org.eclipse.ditto.client.configuration.OfflineBufferConfiguration;
+import org.eclipse.ditto.client.configuration.TransportTuningConfiguration;
+import org.eclipse.ditto.client.configuration.WireEncoding;
+import org.eclipse.ditto.client.internal.CorrelationRegistry;
 import org.eclipse.ditto.client.internal.DefaultThreadFactory;
 import org.eclipse.ditto.client.internal.VersionReader;
 import org.eclipse.ditto.client.live.internal.LiveImpl;
 import org.eclipse.ditto.client.messaging.AuthenticationException;
 import org.eclipse.ditto.client.messaging.AuthenticationProvider;
 import org.eclipse.ditto.client.messaging.MessagingException;
+import org.eclipse.ditto.client.messaging.MessagingMetrics;
 import org.eclipse.ditto.client.messaging.MessagingProvider;
 import org.eclipse.ditto.client.twin.internal.TwinImpl;
 import org.eclipse.ditto.json.JsonFactory;
@@ -66,12 +81,12 @@ import org.eclipse.ditto.model.base.exceptions.DittoRuntimeException;
 import org.eclipse.ditto.model.base.headers.DittoHeaderDefinition;
 import org.eclipse.ditto.model.base.headers.DittoHeaders;
 import org.eclipse.ditto.model.base.headers.DittoHeadersBuilder;
-import org.eclipse.ditto.model.base.headers.WithDittoHeaders;
 import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
 import org.eclipse.ditto.model.messages.Message;
 import org.eclipse.ditto.model.messages.MessageDirection;
 import org.eclipse.ditto.model.messages.MessageHeaders;
 import org.eclipse.ditto.model.messages.MessageResponseConsumer;
+import org.eclipse.ditto.model.policies.PolicyId;
 import org.eclipse.ditto.model.things.ThingId;
 import org.eclipse.ditto.protocoladapter.Adaptable;
 import org.eclipse.ditto.protocoladapter.DittoProtocolAdapter;
@@ -84,6 +99,7 @@ import org.eclipse.ditto.signals.base.Signal;
 import org.eclipse.ditto.signals.commands.base.Command;
 import org.eclipse.ditto.signals.commands.base.CommandResponse;
 import org.eclipse.ditto.signals.commands.base.ErrorResponse;
+import org.eclipse.ditto.signals.commands.base.exceptions.GatewayServiceUnavailableException;
 import org.eclipse.ditto.signals.commands.live.LiveCommandFactory;
 import org.eclipse.ditto.signals.commands.live.base.LiveCommand;
 import org.eclipse.ditto.signals.commands.messages.MessageCommand;
@@ -106,9 +122,13 @@ import com.neovisionaries.ws.client.OpeningHandshakeException;
 import com.neovisionaries.ws.client.StatusLine;
 import com.neovisionaries.ws.client.WebSocket;
 import com.neovisionaries.ws.client.WebSocketAdapter;
+import com.neovisionaries.ws.client.WebSocketCloseCode;
 import com.neovisionaries.ws.client.WebSocketException;
 import com.neovisionaries.ws.client.WebSocketFactory;
 import com.neovisionaries.ws.client.WebSocketFrame;
+import com.neovisionaries.ws.client.WebSocketListener;
+import com.neovisionaries.ws.client.WebSocketOpcode;
+import com.neovisionaries.ws.client.WebSocketState;
 
 /**
  * Messaging Provider providing messaging access to Ditto WebSocket which is directly provided by Eclipse Ditto
@@ -120,8 +140,6 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
 
     private static final Logger LOGGER = LoggerFactory.getLogger(WebSocketMessagingProvider.class);
 
-    private static final int RECONNECTION_TIMEOUT_SECONDS = 5;
-
     private static final String PROTOCOL_CMD_START_SEND_EVENTS = "START-SEND-EVENTS";
     private static final String PROTOCOL_CMD_STOP_SEND_EVENTS = "STOP-SEND-EVENTS";
 
@@ -142,28 +160,49 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
      */
     private static final String PROTOCOL_CMD_ACK_SUFFIX = ":ACK";
 
-    private static final int MAX_OUTSTANDING_MESSAGE_RESPONSES = 250;
-
     private static final String DITTO_CLIENT_USER_AGENT = "DittoClient/" + VersionReader.determineClientVersion();
-    private static final int CONNECTION_TIMEOUT_MS = 5000;
+    private static final Duration ENDPOINT_PROBE_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration STANDBY_PING_INTERVAL = Duration.ofSeconds(30);
+    private static final int OUTBOUND_MAX_BATCH_SIZE = 64;
+    private static final long OFFLINE_BUFFER_MAX_EXPIRY_INTERVAL_MS = 1000L;
 
     private final MessagingConfiguration messagingConfiguration;
+    private final boolean cborEncoded;
     private final AuthenticationProvider<WebSocket> authenticationProvider;
     private final ExecutorService callbackExecutor;
+    @Nullable private final StripedDispatcher stripedDispatcher;
+    @Nullable private final OutboundQueue<WebSocketFrame> outboundQueue;
+    @Nullable private final OfflineBuffer offlineBuffer;
+    @Nullable private final ScheduledExecutorService offlineBufferExpiryExecutor;
+    @Nullable private final PerMessageDeflater perMessageDeflater;
+    private final Consumer<String> tokenMessageSender;
+    @Nullable private final KeepAlive keepAlive;
+    @Nullable private final InboundFlowControl inboundFlowControl;
 
     private final String sessionId;
     private final Map<String, CompletableFuture<Void>> subscriptionsAcks;
     private final Map<String, Consumer<Message<?>>> subscriptions;
+    private final Map<String, RawSubscription> rawSubscriptions;
     private final ScheduledExecutorService reconnectExecutor;
     private final DittoProtocolAdapter protocolAdapter;
     private final AtomicBoolean reconnecting = new AtomicBoolean(false);
     private final AtomicBoolean initiallyConnected = new AtomicBoolean(false);
-    private final Map<String, MessageResponseConsumer<?>> messageCommandResponseConsumers;
+    private final ReconnectBackoff reconnectBackoff;
+    private final WebSocketMessagingMetrics metrics;
+    private final CorrelationRegistry<MessageResponseConsumer<?>> messageCommandResponseConsumers;
     private final Map<String, Map<String, String>> registrationConfigs;
-    private final Map<String, CompletableFuture<Adaptable>> customAdaptableResponseFutures;
+    private final CorrelationRegistry<CompletableFuture<Adaptable>> customAdaptableResponseFutures;
+    private final SendTracker sendTracker;
+    private final EndpointSelector endpointSelector;
+    private final boolean standbyConnectionEnabled;
+    private final AtomicReference<WebSocket> standbyWebSocket = new AtomicReference<>();
+    private final AtomicBoolean standbyConnecting = new AtomicBoolean(false);
+    private final StandbyListener standbyListener = new StandbyListener();
 
     private Consumer<CommandResponse<?>> commandResponseConsumer;
-    private WebSocket webSocket;
+    private volatile WebSocket webSocket;
+    @Nullable private volatile URI connectedEndpoint;
+    @Nullable private volatile URI standbyEndpoint;
     private boolean sendMeTwinEvents = false;
     private boolean sendMeLiveMessages = false;
     private boolean sendMeLiveCommands = false;
@@ -178,20 +217,120 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
             final AuthenticationProvider<WebSocket> authenticationProvider,
             final ExecutorService callbackExecutor) {
         this.messagingConfiguration = messagingConfiguration;
+        cborEncoded = WireEncoding.CBOR == messagingConfiguration.getWireEncoding();
         this.authenticationProvider = authenticationProvider;
         this.callbackExecutor = callbackExecutor;
 
         sessionId = authenticationProvider.getConfiguration().getSessionId();
+        stripedDispatcher = createStripedDispatcherIfEnabled(messagingConfiguration, callbackExecutor);
+        outboundQueue = createOutboundQueueIfEnabled(messagingConfiguration);
+        offlineBuffer = messagingConfiguration.getOfflineBufferConfiguration()
+                .map(configuration -> OfflineBuffer.newInstance(configuration, Clock.systemUTC()))
+                .orElse(null);
+        offlineBufferExpiryExecutor = createOfflineBufferExpiryExecutorIfEnabled(messagingConfiguration);
+        perMessageDeflater = messagingConfiguration.getCompressionConfiguration().isPresent()
+                ? PerMessageDeflater.newInstance()
+                : null;
         subscriptionsAcks = new ConcurrentHashMap<>();
         subscriptions = new ConcurrentHashMap<>();
+        rawSubscriptions = new ConcurrentHashMap<>();
         reconnectExecutor = messagingConfiguration.isReconnectEnabled() ? createScheduledThreadPoolExecutor() : null;
+        reconnectBackoff = ReconnectBackoff.newInstance(messagingConfiguration.getReconnectInitialBackoff(),
+                messagingConfiguration.getReconnectMaxBackoff(), new Random());
+        metrics = new WebSocketMessagingMetrics(this::getPendingResponses);
+        keepAlive = messagingConfiguration.getKeepAliveConfiguration()
+                .map(configuration -> KeepAlive.newInstance(configuration, metrics, this::closeDeadConnection))
+                .orElse(null);
+        inboundFlowControl = messagingConfiguration.getInboundFlowControlConfiguration()
+                .map(InboundFlowControl::newInstance)
+                .orElse(null);
 
         // by using an empty HeaderTranslator, make sure that all incoming and outgoing headers are just passed through
         protocolAdapter = DittoProtocolAdapter.of(HeaderTranslator.empty());
-        // limit the max. outstanding MessageResponseConsumers to not produce a memory leak if messages are never answered
-        messageCommandResponseConsumers = new LimitedHashMap<>(MAX_OUTSTANDING_MESSAGE_RESPONSES);
+        // time out the outstanding responses to not produce a memory leak if requests are never answered
+        messageCommandResponseConsumers = CorrelationRegistry.newInstance("ditto-client-message-timeout",
+                messagingConfiguration.getDefaultResponseTimeout(), this::timeOutMessageResponse);
         registrationConfigs = new HashMap<>();
-        customAdaptableResponseFutures = new HashMap<>();
+        customAdaptableResponseFutures = CorrelationRegistry.newInstance("ditto-client-adaptable-timeout",
+                messagingConfiguration.getDefaultResponseTimeout(), this::timeOutAdaptableResponse);
+        sendTracker = SendTracker.newInstance();
+        // probing connects directly, which tells nothing about the endpoints if they are reached via a proxy:
+        endpointSelector = EndpointSelector.newInstance(messagingConfiguration.getEndpointUris(),
+                !messagingConfiguration.getProxyConfiguration().isPresent(), ENDPOINT_PROBE_TIMEOUT);
+        standbyConnectionEnabled = messagingConfiguration.isStandbyConnectionEnabled() && null != reconnectExecutor;
+        // refreshed tokens must only go to the WebSocket in use, not to every standby or reconnect attempt:
+        tokenMessageSender = this::sendTokenMessage;
+        if (authenticationProvider instanceof AbstractTokenAuthenticationProvider) {
+            ((AbstractTokenAuthenticationProvider) authenticationProvider).addTokenMessageSender(tokenMessageSender);
+        }
+    }
+
+    private void timeOutMessageResponse(final String correlationId, final MessageResponseConsumer<?> consumer) {
+        metrics.responseTimedOut();
+        final TimeoutException timeoutException = newResponseTimeoutException(correlationId);
+        executeTimeout(() -> consumer.getResponseConsumer().accept(null, timeoutException));
+    }
+
+    private void timeOutAdaptableResponse(final String correlationId, final CompletableFuture<Adaptable> future) {
+        metrics.responseTimedOut();
+        final TimeoutException timeoutException = newResponseTimeoutException(correlationId);
+        // dependent stages of the future must not run on the thread timing out all other responses:
+        executeTimeout(() -> future.completeExceptionally(timeoutException));
+    }
+
+    private void executeTimeout(final Runnable completion) {
+        try {
+            callbackExecutor.execute(completion);
+        } catch (final RejectedExecutionException e) {
+            // the provider is closing - nobody would complete the pending response otherwise:
+            completion.run();
+        }
+    }
+
+    private TimeoutException newResponseTimeoutException(final String correlationId) {
+        LOGGER.debug("Client <{}>: No response received in time for correlation-id <{}>.", sessionId, correlationId);
+        return new TimeoutException(
+                MessageFormat.format("No response was received in time for correlation-id <{0}>!", correlationId));
+    }
+
+    private int getPendingResponses() {
+        return messageCommandResponseConsumers.getInFlight() + customAdaptableResponseFutures.getInFlight();
+    }
+
+    @Nullable
+    private static StripedDispatcher createStripedDispatcherIfEnabled(
+            final MessagingConfiguration messagingConfiguration, final ExecutorService callbackExecutor) {
+        final int lanes = messagingConfiguration.getInboundDispatchLanes();
+        if (lanes > 0) {
+            return StripedDispatcher.newInstance(lanes, "ditto-client-dispatch", callbackExecutor);
+        }
+        return null;
+    }
+
+    @Nullable
+    private OutboundQueue<WebSocketFrame> createOutboundQueueIfEnabled(final MessagingConfiguration messagingConfiguration) {
+        final int capacity = messagingConfiguration.getOutboundQueueCapacity();
+        if (capacity > 0) {
+            return OutboundQueue.newInstance(capacity, OUTBOUND_MAX_BATCH_SIZE, "ditto-client-send",
+                    this::writeBatch);
+        }
+        return null;
+    }
+
+    @Nullable
+    private ScheduledExecutorService createOfflineBufferExpiryExecutorIfEnabled(
+            final MessagingConfiguration messagingConfiguration) {
+        final Optional<OfflineBufferConfiguration> configuration =
+                messagingConfiguration.getOfflineBufferConfiguration();
+        if (configuration.isPresent()) {
+            final long interval = Math.min(configuration.get().getTimeToLive().toMillis(),
+                    OFFLINE_BUFFER_MAX_EXPIRY_INTERVAL_MS);
+            final ScheduledExecutorService executor =
+                    new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory("ditto-client-offline-buffer"));
+            executor.scheduleWithFixedDelay(this::expireOfflineBuffer, interval, interval, TimeUnit.MILLISECONDS);
+            return executor;
+        }
+        return null;
     }
 
     private static ScheduledThreadPoolExecutor createScheduledThreadPoolExecutor() {
@@ -228,9 +367,18 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
 
     @Override
     public ExecutorService getExecutorService() {
+        if (null != stripedDispatcher) {
+            // handlers invoked from a dispatch lane must stay on that lane in order to keep the per Thing order:
+            return stripedDispatcher.getLaneAwareExecutorService();
+        }
         return callbackExecutor;
     }
 
+    @Override
+    public MessagingMetrics getMetrics() {
+        return metrics;
+    }
+
     @Override
     public void initialize() {
         if (webSocket != null && webSocket.isOpen()) {
@@ -238,21 +386,101 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
             return;
         }
 
-        safeGet(initiateConnection(createWebsocket()));
+        // onConnected is called asynchronously by the reading thread, so the connected socket is set here as well:
+        webSocket = safeGet(connectToFastestEndpoint(),
+                getConnectTimeoutMillis() * endpointSelector.getEndpoints().size());
+    }
+
+    @Override
+    public CompletableFuture<Void> initializeAsync() {
+        if (webSocket != null && webSocket.isOpen()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // preparing the authentication may block as well, e.g. while a token is retrieved:
+        return CompletableFuture.supplyAsync(this::connectToFastestEndpoint, callbackExecutor)
+                .thenCompose(Function.identity())
+                .thenAccept(ws -> webSocket = ws);
+    }
+
+    /**
+     * Connects to the endpoint with the lowest latency. If that fails, the other endpoints are tried one after
+     * another in the order of their latency.
+     *
+     * @return a promise for the connected web socket which is completed exceptionally with the error of the last
+     * attempt if no endpoint could be connected.
+     */
+    private CompletableFuture<WebSocket> connectToFastestEndpoint() {
+        return connectToFastestEndpoint(this, null, endpoint -> connectedEndpoint = endpoint);
+    }
+
+    private CompletableFuture<WebSocket> connectToFastestEndpoint(final WebSocketListener listener,
+            @Nullable final URI avoidedEndpoint, final Consumer<URI> connectedEndpointConsumer) {
+        final List<URI> endpoints = new ArrayList<>(endpointSelector.rank());
+        if (null != avoidedEndpoint && endpoints.size() > 1 && endpoints.remove(avoidedEndpoint)) {
+            endpoints.add(avoidedEndpoint);
+        }
+        if (endpoints.size() > 1) {
+            LOGGER.info("Client <{}>: Connecting to endpoints in the order <{}>.", sessionId, endpoints);
+        }
+        return connectToEndpoint(endpoints, 0, listener, connectedEndpointConsumer);
     }
 
-    private WebSocket createWebsocket() {
+    private CompletableFuture<WebSocket> connectToEndpoint(final List<URI> endpoints, final int index,
+            final WebSocketListener listener, final Consumer<URI> connectedEndpointConsumer) {
+        final URI endpoint = endpoints.get(index);
+        CompletableFuture<WebSocket> connectFuture;
+        try {
+            connectFuture = initiateConnection(createWebsocket(endpoint), listener);
+        } catch (final RuntimeException e) {
+            connectFuture = new CompletableFuture<>();
+            connectFuture.completeExceptionally(e);
+        }
+        connectFuture = connectFuture.whenComplete((ws, error) -> {
+            if (null == error) {
+                connectedEndpointConsumer.accept(endpoint);
+            } else {
+                endpointSelector.failed(endpoint);
+            }
+        });
+        if (index + 1 >= endpoints.size()) {
+            return connectFuture;
+        }
+        return connectFuture.handle((ws, error) -> {
+            if (null == error) {
+                return CompletableFuture.completedFuture(ws);
+            }
+            final Throwable cause = error instanceof CompletionException && null != error.getCause()
+                    ? error.getCause()
+                    : error;
+            LOGGER.warn("Client <{}>: Failed to connect to endpoint <{}>, failing over to <{}>: {}", sessionId,
+                    endpoint, endpoints.get(index + 1), cause.getMessage());
+            return connectToEndpoint(endpoints, index + 1, listener, connectedEndpointConsumer);
+        }).thenCompose(Function.identity());
+    }
+
+    private WebSocket createWebsocket(final URI endpoint) {
         final WebSocketFactory webSocketFactory = WebSocketFactoryFactory.newWebSocketFactory(messagingConfiguration);
         final WebSocket ws;
         try {
-            ws = webSocketFactory.createSocket(messagingConfiguration.getEndpointUri());
+            ws = webSocketFactory.createSocket(endpoint);
         } catch (final IOException e) {
             throw MessagingException.connectFailed(sessionId, e);
         }
+        final TransportTuningConfiguration transportTuning = messagingConfiguration.getTransportTuningConfiguration();
         ws.addHeader("User-Agent", DITTO_CLIENT_USER_AGENT);
-        ws.setMaxPayloadSize(256 * 1024); // 256 KiB
+        ws.setMaxPayloadSize(transportTuning.getMaxPayloadSize());
         ws.setMissingCloseFrameAllowed(true);
-        ws.setFrameQueueSize(1); // allow applied backpressure from backend to block emitting of new messages
+        WebSocketFactoryFactory.addExtensions(ws, messagingConfiguration);
+        if (null != outboundQueue) {
+            // the writer thread flushes once per batch, backpressure from backend only blocks the writer thread;
+            // a whole batch must fit into the queue, a larger configured queue absorbs several batches:
+            ws.setAutoFlush(false);
+            ws.setFrameQueueSize(Math.max(OUTBOUND_MAX_BATCH_SIZE, transportTuning.getFrameQueueSize()));
+        } else {
+            // allow applied backpressure from backend to block emitting of new messages:
+            ws.setFrameQueueSize(transportTuning.getFrameQueueSize());
+        }
         return ws;
     }
 
@@ -266,8 +494,17 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
      */
     @SuppressWarnings("squid:S2142")
     private <T> T safeGet(final Future<T> future) {
+        return safeGet(future, getConnectTimeoutMillis());
+    }
+
+    private long getConnectTimeoutMillis() {
+        return messagingConfiguration.getTransportTuningConfiguration().getConnectTimeout().toMillis();
+    }
+
+    @SuppressWarnings("squid:S2142")
+    private <T> T safeGet(final Future<T> future, final long timeoutMillis) {
         try {
-            return future.get(CONNECTION_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
         } catch (final InterruptedException e) {
             return handleInterruptedException(e);
         } catch (final TimeoutException e) {
@@ -329,15 +566,16 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
      * webSocketListener} for web socket handling and incoming messages.
      *
      * @param ws the WebSocket instance to use for connecting.
+     * @param listener the listener to add to the web socket.
      * @return a promise for the web socket which should be available after successful establishment of a connection.
      * This promise may be completed exceptionally if the connection upgrade attempt to web socket failed.
      * @throws NullPointerException if any argument is {@code null}.
      */
-    private CompletableFuture<WebSocket> initiateConnection(final WebSocket ws) {
+    private CompletableFuture<WebSocket> initiateConnection(final WebSocket ws, final WebSocketListener listener) {
         checkNotNull(ws, "ws");
 
         authenticationProvider.prepareAuthentication(ws);
-        ws.addListener(this);
+        ws.addListener(listener);
 
         LOGGER.info("Connecting WebSocket on endpoint <{}>", ws.getURI());
         final ExecutorService connectionExecutor = createConnectionExecutor();
@@ -362,6 +600,18 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
 
     @Override
     public void send(final Message<?> message, final TopicPath.Channel channel) {
+        doSendAdaptable(toAdaptable(message), headerKey -> true, null);
+    }
+
+    @Override
+    public CompletionStage<Void> sendAsync(final Message<?> message, final TopicPath.Channel channel) {
+        final CompletableFuture<Void> sent = new CompletableFuture<>();
+        doSendAdaptable(toAdaptable(message), headerKey -> true, sent);
+        return sent;
+    }
+
+    @Nullable
+    private Adaptable toAdaptable(final Message<?> message) {
         final DittoHeadersBuilder headersBuilder = DittoHeaders.newBuilder();
         final Optional<String> optionalCorrelationId = message.getCorrelationId();
         optionalCorrelationId.ifPresent(headersBuilder::correlationId);
@@ -386,10 +636,11 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
 
             final Optional<MessageResponseConsumer<?>> optionalResponseConsumer = message.getResponseConsumer();
             if (optionalCorrelationId.isPresent() && optionalResponseConsumer.isPresent()) {
-                messageCommandResponseConsumers.put(optionalCorrelationId.get(), optionalResponseConsumer.get());
+                messageCommandResponseConsumers.register(optionalCorrelationId.get(), optionalResponseConsumer.get(),
+                        message.getTimeout().orElse(null));
             }
         }
-        doSendAdaptable(adaptable);
+        return adaptable;
     }
 
     @Nullable
@@ -421,15 +672,23 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
 
     @Override
     public void sendCommand(final Command<?> command, final TopicPath.Channel channel) {
-        doSendAdaptable(tryToConvertToAdaptable(command, channel));
+        doSendAdaptable(tryToConvertToAdaptable(command, channel), WebSocketMessagingProvider::isSentToBackend,
+                null);
+    }
+
+    @Override
+    public CompletionStage<Void> sendCommandAsync(final Command<?> command, final TopicPath.Channel channel) {
+        final CompletableFuture<Void> sent = new CompletableFuture<>();
+        doSendAdaptable(tryToConvertToAdaptable(command, channel), WebSocketMessagingProvider::isSentToBackend,
+                sent);
+        return sent;
     }
 
     @Nullable
     private Adaptable tryToConvertToAdaptable(final Command<?> command, final TopicPath.Channel channel) {
 
         try {
-            final Command<?> adjustedCommand = command.setDittoHeaders(adjustHeadersForLive(command));
-            return protocolAdapter.toAdaptable(adjustedCommand, channel);
+            return protocolAdapter.toAdaptable(command, channel);
         } catch (final UnknownCommandException e) {
             logUnknownType(command, e);
             return null;
@@ -438,7 +697,17 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
 
     @Override
     public void sendCommandResponse(final CommandResponse<?> commandResponse, final TopicPath.Channel channel) {
-        doSendAdaptable(tryToConvertToAdaptable(commandResponse, channel));
+        doSendAdaptable(tryToConvertToAdaptable(commandResponse, channel),
+                WebSocketMessagingProvider::isSentToBackend, null);
+    }
+
+    @Override
+    public CompletionStage<Void> sendCommandResponseAsync(final CommandResponse<?> commandResponse,
+            final TopicPath.Channel channel) {
+        final CompletableFuture<Void> sent = new CompletableFuture<>();
+        doSendAdaptable(tryToConvertToAdaptable(commandResponse, channel),
+                WebSocketMessagingProvider::isSentToBackend, sent);
+        return sent;
     }
 
     @Nullable
@@ -446,9 +715,7 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
             final TopicPath.Channel channel) {
 
         try {
-            final CommandResponse<?> adjustedResponse = commandResponse.setDittoHeaders(
-                    adjustHeadersForLive(commandResponse));
-            return protocolAdapter.toAdaptable(adjustedResponse, channel);
+            return protocolAdapter.toAdaptable(commandResponse, channel);
         } catch (final UnknownCommandException e) {
             logUnknownType(commandResponse, e);
             return null;
@@ -457,28 +724,37 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
 
     @Override
     public void emitEvent(final Event<?> event, final TopicPath.Channel channel) {
-        doSendAdaptable(tryToConvertToAdaptable(event, channel));
+        doSendAdaptable(tryToConvertToAdaptable(event, channel), WebSocketMessagingProvider::isSentToBackend,
+                null);
+    }
+
+    @Override
+    public CompletionStage<Void> emitEventAsync(final Event<?> event, final TopicPath.Channel channel) {
+        final CompletableFuture<Void> sent = new CompletableFuture<>();
+        doSendAdaptable(tryToConvertToAdaptable(event, channel), WebSocketMessagingProvider::isSentToBackend,
+                sent);
+        return sent;
     }
 
     @Nullable
     private Adaptable tryToConvertToAdaptable(final Event<?> event, final TopicPath.Channel channel) {
 
         try {
-            final Event<?> adjustedEvent = event.setDittoHeaders(adjustHeadersForLive(event));
-            return protocolAdapter.toAdaptable(adjustedEvent, channel);
+            return protocolAdapter.toAdaptable(event, channel);
         } catch (final UnknownCommandException e) {
             logUnknownType(event, e);
             return null;
         }
     }
 
-    private DittoHeaders adjustHeadersForLive(final WithDittoHeaders<?> withDittoHeaders) {
-
-        return withDittoHeaders.getDittoHeaders().toBuilder()
-                .removeHeader(DittoHeaderDefinition.READ_SUBJECTS.getKey())
-                .removeHeader(DittoHeaderDefinition.AUTHORIZATION_SUBJECTS.getKey())
-                .removeHeader(DittoHeaderDefinition.RESPONSE_REQUIRED.getKey())
-                .build();
+    /**
+     * Determines whether a header of a command, command response or event is sent to the backend; the subjects and
+     * whether a response is required are not.
+     */
+    private static boolean isSentToBackend(final String headerKey) {
+        return !DittoHeaderDefinition.READ_SUBJECTS.getKey().equals(headerKey) &&
+                !DittoHeaderDefinition.AUTHORIZATION_SUBJECTS.getKey().equals(headerKey) &&
+                !DittoHeaderDefinition.RESPONSE_REQUIRED.getKey().equals(headerKey);
     }
 
     @Override
@@ -487,33 +763,268 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         DittoHeaders headers = adaptable.getHeaders().orElseGet(DittoHeaders::empty);
         Adaptable adaptableToSend = adaptable;
         if (!headers.getCorrelationId().isPresent()) {
-            final String newCorrelationId = UUID.randomUUID().toString();
+            final String newCorrelationId = messagingConfiguration.getCorrelationIdGenerator().newCorrelationId();
             headers = headers.toBuilder().correlationId(newCorrelationId)
                     .build();
             adaptableToSend = adaptable.setDittoHeaders(headers);
         }
 
         final String correlationId = getCorrelationIdOrThrow(headers).toString();
-        doSendAdaptable(adaptableToSend);
-
         final CompletableFuture<Adaptable> responseFuture = new CompletableFuture<>();
-        customAdaptableResponseFutures.put(correlationId, responseFuture);
+        // register the future before sending as a buffered message may be failed right away:
+        customAdaptableResponseFutures.register(correlationId, responseFuture, headers.getTimeout().orElse(null));
+        // a future which is cancelled by the caller does not wait for its response anymore:
+        responseFuture.whenComplete((response, error) ->
+                customAdaptableResponseFutures.remove(correlationId, responseFuture));
+        try {
+            doSendAdaptable(adaptableToSend, headerKey -> true, null);
+        } catch (final RuntimeException e) {
+            // no response will arrive for an adaptable which was not sent:
+            customAdaptableResponseFutures.remove(correlationId, responseFuture);
+            responseFuture.completeExceptionally(e);
+            throw e;
+        }
         return responseFuture;
     }
 
-    private void doSendAdaptable(@Nullable final Adaptable adaptable) {
+    /**
+     * Sends the passed adaptable and completes the passed future, if any, when its frame was written to the socket.
+     */
+    private void doSendAdaptable(@Nullable final Adaptable adaptable, final Predicate<String> headerFilter,
+            @Nullable final CompletableFuture<Void> sent) {
         if (null == adaptable) {
+            if (null != sent) {
+                sent.completeExceptionally(newSendFailedException("The signal could not be converted."));
+            }
             return;
         }
-        if (webSocket != null && webSocket.isOpen()) {
-            final String stringMessage = ProtocolFactory.wrapAsJsonifiableAdaptable(adaptable).toJsonString();
-            LOGGER.debug("Client <{}>: Sending JSON: {}", sessionId,
-                    stringMessage);
-            webSocket.sendText(stringMessage);
-        } else {
+        if (null == offlineBuffer && !isConnected()) {
             LOGGER.error("Client <{}>: WebSocket is not connected - going to discard Adaptable '{}'",
                     sessionId, adaptable);
+            if (null != sent) {
+                sent.completeExceptionally(newSendFailedException("The WebSocket is not connected."));
+            }
+            return;
+        }
+        final WebSocketFrame frame = toFrame(adaptable, headerFilter);
+        if (null != sent) {
+            sendTracker.track(frame, sent);
         }
+        try {
+            if (null != offlineBuffer) {
+                sendOrBuffer(offlineBuffer, frame);
+            } else {
+                sendFrame(frame);
+            }
+        } catch (final MessagingException e) {
+            if (null == sent) {
+                throw e;
+            }
+            sendTracker.failed(frame, () -> e);
+        }
+    }
+
+    private MessagingException newSendFailedException(final String reason) {
+        return MessagingException.sendFailed(sessionId, reason);
+    }
+
+    private WebSocketFrame toFrame(final Adaptable adaptable, final Predicate<String> headerFilter) {
+        final WebSocketFrame frame;
+        if (cborEncoded) {
+            final DittoHeaders headers = adaptable.getHeaders().orElseGet(ProtocolFactory::emptyHeaders);
+            final JsonObject jsonMessage = ProtocolFactory.wrapAsJsonifiableAdaptable(adaptable)
+                    .toJson(filterHeaders(headers, headerFilter));
+            LOGGER.debug("Client <{}>: Sending JSON: {}", sessionId, jsonMessage);
+            frame = WebSocketFrame.createBinaryFrame(CborCodec.encode(jsonMessage));
+        } else {
+            // the JSON is written as UTF-8 right away without building a JSON object and a string first:
+            frame = new WebSocketFrame()
+                    .setFin(true)
+                    .setOpcode(WebSocketOpcode.TEXT)
+                    .setPayload(Utf8JsonEncoder.encode(adaptable, headerFilter));
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Client <{}>: Sending JSON: {}", sessionId, frame.getPayloadText());
+            }
+        }
+        return frame;
+    }
+
+    private static DittoHeaders filterHeaders(final DittoHeaders headers, final Predicate<String> headerFilter) {
+        if (headers.keySet().stream().allMatch(headerFilter)) {
+            return headers;
+        }
+        final DittoHeadersBuilder<?, ?> builder = headers.toBuilder();
+        headers.keySet().stream()
+                .filter(headerFilter.negate())
+                .forEach(builder::removeHeader);
+        return builder.build();
+    }
+
+    private WebSocketFrame toFrame(final String stringMessage) {
+        if (cborEncoded) {
+            return WebSocketFrame.createBinaryFrame(CborCodec.encode(JsonFactory.readFrom(stringMessage)));
+        }
+        return WebSocketFrame.createTextFrame(stringMessage);
+    }
+
+    private static String toStringMessage(final WebSocketFrame frame) {
+        if (frame.isBinaryFrame()) {
+            return CborCodec.decode(frame.getPayload()).toString();
+        }
+        return frame.getPayloadText();
+    }
+
+    private boolean isConnected() {
+        final WebSocket ws = webSocket;
+        return ws != null && ws.isOpen();
+    }
+
+    private void sendTokenMessage(final String tokenMessage) {
+        if (isConnected()) {
+            try {
+                sendFrame(WebSocketFrame.createTextFrame(tokenMessage));
+            } catch (final MessagingException e) {
+                LOGGER.warn("Client <{}>: Could not send refreshed token: {}", sessionId, e.getMessage());
+            }
+        }
+    }
+
+    private void sendFrame(final WebSocketFrame frame) {
+        if (null == outboundQueue) {
+            writeFrame(webSocket, frame);
+        } else if (!outboundQueue.offer(frame)) {
+            throw MessagingException.sendQueueFull(sessionId, outboundQueue.capacity());
+        }
+    }
+
+    private void writeBatch(final List<WebSocketFrame> frames) {
+        final WebSocket ws = webSocket;
+        if (ws != null && ws.isOpen()) {
+            frames.forEach(frame -> writeFrame(ws, frame));
+            ws.flush();
+        } else if (null != offlineBuffer) {
+            LOGGER.info("Client <{}>: WebSocket is not connected - going to buffer <{}> queued messages",
+                    sessionId, frames.size());
+            frames.forEach(frame -> bufferWhileOffline(offlineBuffer, frame));
+        } else {
+            LOGGER.error("Client <{}>: WebSocket is not connected - going to discard <{}> queued messages",
+                    sessionId, frames.size());
+            frames.forEach(frame -> sendTracker.failed(frame,
+                    () -> newSendFailedException("The WebSocket is not connected.")));
+        }
+    }
+
+    private void writeFrame(final WebSocket ws, final WebSocketFrame frame) {
+        final WebSocketFrame written = null != perMessageDeflater ? perMessageDeflater.deflate(ws, frame) : frame;
+        sendTracker.writing(frame, written, ws);
+        ws.sendFrame(written);
+        metrics.sent(frame.getPayloadLength(), written.getPayloadLength());
+        // the WebSocket drops frames silently once it is closed, which might have happened before it knew the frame:
+        if (WebSocketState.CLOSED == ws.getState()) {
+            sendTracker.failed(written, () -> newSendFailedException("The WebSocket was closed."));
+        }
+    }
+
+    private void sendOrBuffer(final OfflineBuffer buffer, final WebSocketFrame frame) {
+        synchronized (buffer) {
+            // messages must be buffered until all previously buffered messages were replayed in order to keep the order:
+            if (isConnected() && buffer.isEmpty()) {
+                sendFrame(frame);
+            } else {
+                bufferWhileOffline(buffer, frame);
+            }
+        }
+    }
+
+    private void bufferWhileOffline(final OfflineBuffer buffer, final WebSocketFrame frame) {
+        final String stringMessage = toStringMessage(frame);
+        sendTracker.buffered(frame, stringMessage);
+        if (buffer.add(stringMessage)) {
+            LOGGER.debug("Client <{}>: WebSocket is not connected - buffering message until reconnect", sessionId);
+        } else {
+            LOGGER.warn("Client <{}>: WebSocket is not connected and offline buffer is full - going to discard " +
+                    "message", sessionId);
+            failBufferedMessages(Collections.singletonList(stringMessage),
+                    "The message could not be sent as the client is not connected and its offline buffer is full.");
+        }
+    }
+
+    private void replayOfflineBuffer(final OfflineBuffer buffer) {
+        synchronized (buffer) {
+            expireOfflineBuffer();
+            int count = 0;
+            String message;
+            // the outbound queue is bypassed as no new messages are queued as long as the buffer is not empty:
+            while (isConnected() && null != (message = buffer.poll())) {
+                final WebSocketFrame frame = toFrame(message);
+                sendTracker.replaying(message, frame);
+                writeFrame(webSocket, frame);
+                count++;
+            }
+            if (null != outboundQueue) {
+                webSocket.flush();
+            }
+            LOGGER.info("Client <{}>: Replayed <{}> messages buffered while not connected", sessionId, count);
+        }
+    }
+
+    private void expireOfflineBuffer() {
+        if (null != offlineBuffer) {
+            final List<String> expired = offlineBuffer.removeExpired();
+            if (!expired.isEmpty()) {
+                LOGGER.warn("Client <{}>: Discarding <{}> buffered messages as their time to live expired",
+                        sessionId, expired.size());
+                failBufferedMessages(expired,
+                        "The message could not be sent as the client was not connected within its time to live.");
+            }
+        }
+    }
+
+    private void failBufferedMessages(final List<String> messages, final String reason) {
+        messages.forEach(message -> sendTracker.bufferedMessageDiscarded(message,
+                () -> newSendFailedException(reason)));
+        messages.forEach(message -> callbackExecutor.execute(() -> failPendingResponse(message, reason)));
+    }
+
+    /**
+     * Completes the pending response of the passed unsent message exceptionally.
+     */
+    private void failPendingResponse(final String message, final String reason) {
+        final JsonObject messageJson = tryToGetMessageAsJsonObject(message);
+        final JsonifiableAdaptable adaptable =
+                null != messageJson ? tryToGetJsonifiableAdaptableFromMessageJson(messageJson) : null;
+        if (null == adaptable) {
+            return;
+        }
+        final DittoHeaders headers = adaptable.getHeaders().orElseGet(DittoHeaders::empty);
+        final String correlationId = headers.getCorrelationId().orElse(null);
+        if (null == correlationId) {
+            return;
+        }
+        final DittoRuntimeException exception = GatewayServiceUnavailableException.newBuilder()
+                .message(reason)
+                .dittoHeaders(headers)
+                .build();
+        final CompletableFuture<Adaptable> adaptableResponseFuture =
+                customAdaptableResponseFutures.remove(correlationId);
+        final MessageResponseConsumer<?> messageResponseConsumer =
+                messageCommandResponseConsumers.remove(correlationId);
+        if (null != adaptableResponseFuture) {
+            adaptableResponseFuture.completeExceptionally(exception);
+        } else if (null != messageResponseConsumer) {
+            messageResponseConsumer.getResponseConsumer().accept(null, exception);
+        } else if (null != commandResponseConsumer) {
+            commandResponseConsumer.accept(toErrorResponse(adaptable.getTopicPath(), exception, headers));
+        }
+    }
+
+    private static ErrorResponse<?> toErrorResponse(final TopicPath topicPath,
+            final DittoRuntimeException exception, final DittoHeaders headers) {
+        if (TopicPath.Group.POLICIES == topicPath.getGroup()) {
+            return PolicyErrorResponse.of(PolicyId.of(topicPath.getNamespace(), topicPath.getId()), exception,
+                    headers);
+        }
+        return ThingErrorResponse.of(ThingId.of(topicPath.getNamespace(), topicPath.getId()), exception, headers);
     }
 
     @Override
@@ -524,7 +1035,7 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
     @Override
     public boolean registerMessageHandler(final String name, final Map<String, String> registrationConfig,
             final Consumer<Message<?>> handler, final CompletableFuture<Void> receiptFuture) {
-        if (subscriptions.containsKey(name)) {
+        if (isSubscribed(name)) {
             LOGGER.info("Client <{}>: Handler {} already registered for client",
                     sessionId, name);
             receiptFuture.complete(null);
@@ -534,7 +1045,38 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         LOGGER.trace("Client <{}>: Registering incoming message handler'", sessionId);
         subscriptions.put(name, handler);
         registrationConfigs.put(name, registrationConfig);
+        startSending(name, registrationConfig, receiptFuture);
+        return true;
+    }
+
+    @Override
+    public boolean registerRawMessageHandler(final String name, final Map<String, String> registrationConfig,
+            final Predicate<String> topicFilter, final Consumer<String> handler,
+            final CompletableFuture<Void> receiptFuture) {
+        if (LiveImpl.CONSUME_LIVE_COMMANDS_HANDLER.equals(name)) {
+            // the envelope of live commands does not tell them apart from responses to live commands of this client
+            throw new IllegalArgumentException("Raw consumption is not supported for <" + name + ">!");
+        }
+        if (isSubscribed(name)) {
+            LOGGER.info("Client <{}>: Handler {} already registered for client",
+                    sessionId, name);
+            receiptFuture.complete(null);
+            return false;
+        }
 
+        LOGGER.trace("Client <{}>: Registering incoming raw message handler'", sessionId);
+        rawSubscriptions.put(name, new RawSubscription(topicFilter, handler));
+        registrationConfigs.put(name, registrationConfig);
+        startSending(name, registrationConfig, receiptFuture);
+        return true;
+    }
+
+    private boolean isSubscribed(final String name) {
+        return subscriptions.containsKey(name) || rawSubscriptions.containsKey(name);
+    }
+
+    private void startSending(final String name, final Map<String, String> registrationConfig,
+            final CompletableFuture<Void> receiptFuture) {
         // connection already opened - finish future:
         if (webSocket != null) {
             if (TwinImpl.CONSUME_TWIN_EVENTS_HANDLER.equals(name)) {
@@ -551,13 +1093,12 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
                 askBackend(PROTOCOL_CMD_START_SEND_LIVE_EVENTS, registrationConfig, receiptFuture);
             }
         }
-
-        return true;
     }
 
     @Override
     public synchronized void deregisterMessageHandler(final String name, final CompletableFuture<Void> future) {
         subscriptions.remove(name);
+        rawSubscriptions.remove(name);
 
         if (TwinImpl.CONSUME_TWIN_EVENTS_HANDLER.equals(name)) {
             sendMeTwinEvents = false;
@@ -583,7 +1124,36 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
             if (null != reconnectExecutor) {
                 reconnectExecutor.shutdownNow();
             }
+            discardStandbyConnection();
+            if (null != stripedDispatcher) {
+                stripedDispatcher.shutdown();
+            }
+            if (null != outboundQueue) {
+                outboundQueue.shutdown();
+            }
+            if (null != offlineBufferExpiryExecutor) {
+                offlineBufferExpiryExecutor.shutdownNow();
+            }
+            if (null != offlineBuffer) {
+                offlineBuffer.clear();
+            }
+            sendTracker.failAll(() -> newSendFailedException("The client was closed."));
+            if (null != keepAlive) {
+                keepAlive.shutdown();
+            }
+            if (null != inboundFlowControl) {
+                inboundFlowControl.close();
+            }
+            messageCommandResponseConsumers.close();
+            customAdaptableResponseFutures.close();
+            if (null != perMessageDeflater) {
+                perMessageDeflater.close();
+            }
 
+            if (authenticationProvider instanceof AbstractTokenAuthenticationProvider) {
+                ((AbstractTokenAuthenticationProvider) authenticationProvider).removeTokenMessageSender(
+                        tokenMessageSender);
+            }
             authenticationProvider.destroy();
             webSocket.disconnect();
             LOGGER.debug("Client <{}>: WebSocket destroyed.", sessionId);
@@ -595,6 +1165,9 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
     @Override
     public void onConnected(final WebSocket websocket, final Map<String, List<String>> headers) {
         this.webSocket = websocket;
+        if (null != keepAlive) {
+            keepAlive.start(websocket);
+        }
 
         callbackExecutor.execute(() -> {
             LOGGER.info("Client <{}>: WebSocket connection is established", sessionId);
@@ -624,6 +1197,10 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
                 }
             }
             initiallyConnected.set(true);
+            if (null != offlineBuffer) {
+                replayOfflineBuffer(offlineBuffer);
+            }
+            ensureStandbyConnection();
         });
     }
 
@@ -632,6 +1209,16 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
             final CompletableFuture<Void> receiptFuture) {
         LOGGER.info("Client <{}>: Requesting at backend that this client wants to <{}> with params <{}>",
                 sessionId, protocolCmd, registrationConfig);
+
+        final CompletableFuture<Void> loggingFuture = new CompletableFuture<>();
+        // thenAcceptAsync is very important here! Otherwise the main thread is blocked and no other messages are received:
+        loggingFuture.thenAcceptAsync(aVoid -> {
+            LOGGER.debug("Client <{}>: Backend now <{}>.", sessionId, protocolCmd);
+            receiptFuture.complete(aVoid);
+        }, callbackExecutor);
+        // register the ack before sending as the backend may acknowledge before sendText returns:
+        subscriptionsAcks.put(protocolCmd, loggingFuture);
+
         if (webSocket != null) {
             final String paramsString = registrationConfig.entrySet()
                     .stream()
@@ -644,16 +1231,12 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
                 toSend = protocolCmd + "?" + paramsString;
             }
             LOGGER.debug("Sending: {}", toSend);
-            webSocket.sendText(toSend);
+            writeFrame(webSocket, WebSocketFrame.createTextFrame(toSend));
+            if (null != outboundQueue) {
+                // auto flush is disabled when writing batches from the outbound queue:
+                webSocket.flush();
+            }
         }
-
-        final CompletableFuture<Void> loggingFuture = new CompletableFuture<>();
-        // thenAcceptAsync is very important here! Otherwise the main thread is blocked and no other messages are received:
-        loggingFuture.thenAcceptAsync(aVoid -> {
-            LOGGER.debug("Client <{}>: Backend now <{}>.", sessionId, protocolCmd);
-            receiptFuture.complete(aVoid);
-        }, callbackExecutor);
-        subscriptionsAcks.put(protocolCmd, loggingFuture);
     }
 
     private static String urlEncode(final String value) {
@@ -669,17 +1252,21 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
             final WebSocketFrame clientCloseFrame,
             final boolean closedByServer) {
 
+        if (null != keepAlive && websocket == webSocket) {
+            keepAlive.stop();
+        }
+        sendTracker.disconnected(websocket, () -> newSendFailedException("The WebSocket was disconnected."));
         callbackExecutor.execute(() -> {
             if (closedByServer) {
                 LOGGER.info(
                         "Client <{}>: WebSocket connection to endpoint <{}> was closed by Server with code <{}> and " +
-                                "reason <{}>.", sessionId, messagingConfiguration.getEndpointUri(),
+                                "reason <{}>.", sessionId, websocket.getURI(),
                         serverCloseFrame.getCloseCode(),
                         serverCloseFrame.getCloseReason());
-                handleReconnectionIfEnabled();
+                handleReconnectionIfEnabled(websocket);
             } else {
                 LOGGER.info("Client <{}>: WebSocket connection to endpoint <{}> was closed by client",
-                        sessionId, messagingConfiguration.getEndpointUri());
+                        sessionId, websocket.getURI());
             }
         });
     }
@@ -696,19 +1283,62 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
                 errorMsg = "-";
             }
             LOGGER.error(msgPattern, sessionId, errorMsg);
-            handleReconnectionIfEnabled();
+            handleReconnectionIfEnabled(websocket);
         });
     }
 
-    private void handleReconnectionIfEnabled() {
+    @Override
+    public void onFrameSent(final WebSocket websocket, final WebSocketFrame frame) {
+        sendTracker.sent(frame);
+    }
+
+    @Override
+    public void onFrameUnsent(final WebSocket websocket, final WebSocketFrame frame) {
+        sendTracker.failed(frame, () -> newSendFailedException("The WebSocket was closing."));
+    }
+
+    @Override
+    public void onSendError(final WebSocket websocket, final WebSocketException cause,
+            @Nullable final WebSocketFrame frame) {
+        if (null != frame) {
+            sendTracker.failed(frame, () -> newSendFailedException(String.valueOf(cause.getMessage())));
+        }
+    }
 
+    @Override
+    public void onPongFrame(final WebSocket websocket, final WebSocketFrame frame) {
+        if (null != keepAlive) {
+            final long roundTripNanos = keepAlive.pongReceived(frame.getPayload());
+            final URI endpoint = connectedEndpoint;
+            if (roundTripNanos >= 0 && null != endpoint) {
+                endpointSelector.latencyMeasured(endpoint, roundTripNanos);
+            }
+        }
+    }
+
+    private void closeDeadConnection(final WebSocket websocket) {
+        LOGGER.warn("Client <{}>: WebSocket connection to endpoint <{}> did not answer keepalive pings - closing it",
+                sessionId, websocket.getURI());
+        // a dead connection does not complete the closing handshake, so the socket is closed without waiting for it:
+        websocket.disconnect(WebSocketCloseCode.AWAY, "No pong received", 0L);
+        callbackExecutor.execute(() -> handleReconnectionIfEnabled(websocket));
+    }
+
+    private void handleReconnectionIfEnabled(final WebSocket failedWebSocket) {
+        if (failedWebSocket != webSocket) {
+            // e.g. the second error of a connection which was already replaced by the standby connection
+            LOGGER.debug("Client <{}>: Ignoring failure of replaced WebSocket.", sessionId);
+            return;
+        }
         if (messagingConfiguration.isReconnectEnabled()) {
-            // reconnect in a while if client was initially connected and we are not reconnecting already
+            // reconnect if client was initially connected and we are not reconnecting already
             if (initiallyConnected.get() && reconnecting.compareAndSet(false, true) && null != reconnectExecutor) {
-                LOGGER.info("Client <{}>: Reconnection is enabled. Reconnecting in <{}> seconds ...",
-                        sessionId, RECONNECTION_TIMEOUT_SECONDS);
-                reconnectExecutor.schedule(this::initWebSocketConnectionWithReconnect, RECONNECTION_TIMEOUT_SECONDS,
-                        TimeUnit.SECONDS);
+                if (promoteStandbyConnection(failedWebSocket)) {
+                    reconnecting.set(false);
+                    return;
+                }
+                LOGGER.info("Client <{}>: Reconnection is enabled. Reconnecting ...", sessionId);
+                scheduleReconnectAttempt(1, System.nanoTime());
             }
         } else {
             LOGGER.info("Client <{}>: Reconnection is NOT enabled. Closing client ...", sessionId);
@@ -716,64 +1346,284 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         }
     }
 
-    private void initWebSocketConnectionWithReconnect() {
-        int count = 0;
-        WebSocket newWebSocket = null;
-        while (null == newWebSocket) {
-            if (0 < count) {
-                waitUntilNextReconnectionAttempt();
+    /**
+     * Replaces the failed connection by the standby connection if one is open. The failed connection is abandoned,
+     * the subscriptions are requested again on the standby connection as after a reconnect and a new standby
+     * connection is opened.
+     *
+     * @param failedWebSocket the connection which was lost.
+     * @return {@code true} if the standby connection took over.
+     */
+    private boolean promoteStandbyConnection(final WebSocket failedWebSocket) {
+        final WebSocket standby = standbyWebSocket.getAndSet(null);
+        if (null == standby) {
+            return false;
+        }
+        if (!standby.isOpen()) {
+            standby.clearListeners();
+            ensureStandbyConnection();
+            return false;
+        }
+        LOGGER.info("Client <{}>: Switching over to the standby connection to endpoint <{}>.", sessionId,
+                standbyEndpoint);
+        failedWebSocket.clearListeners();
+        sendTracker.disconnected(failedWebSocket, () -> newSendFailedException("The WebSocket was disconnected."));
+        failedWebSocket.disconnect(WebSocketCloseCode.AWAY, null, 0L);
+        standby.setPingInterval(0L);
+        standby.clearListeners();
+        standby.addListener(this);
+        connectedEndpoint = standbyEndpoint;
+        metrics.reconnectAttempted();
+        metrics.reconnected(0L);
+        onConnected(standby, Collections.emptyMap());
+        return true;
+    }
+
+    private void ensureStandbyConnection() {
+        if (standbyConnectionEnabled && null == standbyWebSocket.get() &&
+                standbyConnecting.compareAndSet(false, true)) {
+            scheduleStandbyConnectionAttempt(1);
+        }
+    }
+
+    private void scheduleStandbyConnectionAttempt(final int attempt) {
+        if (null == reconnectExecutor || reconnectExecutor.isShutdown()) {
+            standbyConnecting.set(false);
+            return;
+        }
+        reconnectExecutor.schedule(() -> connectStandby(attempt), reconnectBackoff.getDelay(attempt).toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void connectStandby(final int attempt) {
+        // the standby connection should not depend on the endpoint of the connection in use:
+        connectToFastestEndpoint(standbyListener, connectedEndpoint, endpoint -> standbyEndpoint = endpoint)
+                .whenComplete((ws, error) -> {
+                    if (null != error) {
+                        final Throwable cause = error instanceof CompletionException && null != error.getCause()
+                                ? error.getCause()
+                                : error;
+                        LOGGER.warn("Client <{}>: Failed to open standby connection ({}): {}", sessionId, attempt,
+                                cause.getMessage());
+                        scheduleStandbyConnectionAttempt(attempt + 1);
+                        return;
+                    }
+                    // an idle connection could be closed by intermediaries, so it is kept busy with pings:
+                    ws.setPingInterval(messagingConfiguration.getKeepAliveConfiguration()
+                            .map(KeepAliveConfiguration::getInterval)
+                            .orElse(STANDBY_PING_INTERVAL)
+                            .toMillis());
+                    standbyWebSocket.set(ws);
+                    standbyConnecting.set(false);
+                    if (null == reconnectExecutor || reconnectExecutor.isShutdown()) {
+                        // the client was closed meanwhile
+                        discardStandbyConnection();
+                    } else {
+                        LOGGER.info("Client <{}>: Standby connection to endpoint <{}> is open.", sessionId,
+                                standbyEndpoint);
+                    }
+                });
+    }
+
+    private void discardStandbyConnection() {
+        final WebSocket standby = standbyWebSocket.getAndSet(null);
+        if (null != standby) {
+            standby.clearListeners();
+            standby.disconnect();
+        }
+    }
+
+    /**
+     * Listens to the standby connection, which is not subscribed for anything, until it takes over. If it is lost,
+     * a new one is opened.
+     */
+    private final class StandbyListener extends WebSocketAdapter {
+
+        @Override
+        public void onDisconnected(final WebSocket websocket, final WebSocketFrame serverCloseFrame,
+                final WebSocketFrame clientCloseFrame, final boolean closedByServer) {
+            if (standbyWebSocket.compareAndSet(websocket, null)) {
+                LOGGER.info("Client <{}>: Standby connection to endpoint <{}> was closed.", sessionId,
+                        websocket.getURI());
+                websocket.clearListeners();
+                ensureStandbyConnection();
             }
-            ++count;
-            newWebSocket = tryToReconnect(count);
         }
-        reconnecting.set(false);
+
     }
 
-    private void waitUntilNextReconnectionAttempt() {
-        try {
-            LOGGER.info("Client <{}>: Retrying connection initiation again in <{}> seconds ...", sessionId,
-                    RECONNECTION_TIMEOUT_SECONDS);
-            TimeUnit.SECONDS.sleep(RECONNECTION_TIMEOUT_SECONDS);
-        } catch (final InterruptedException ie) {
-            LOGGER.error("Client <{}>: Interrupted while waiting for reconnection.", sessionId, ie);
-            Thread.currentThread().interrupt();
+    /**
+     * The handler of a raw subscription together with the filter its messages must pass by their topic.
+     */
+    private static final class RawSubscription {
+
+        private final Predicate<String> topicFilter;
+        private final Consumer<String> handler;
+
+        private RawSubscription(final Predicate<String> topicFilter, final Consumer<String> handler) {
+            this.topicFilter = topicFilter;
+            this.handler = handler;
         }
+
     }
 
-    @Nullable
-    private WebSocket tryToReconnect(final int count) {
+    private void scheduleReconnectAttempt(final int attempt, final long disconnectedAtNanos) {
+        if (null == reconnectExecutor || reconnectExecutor.isShutdown()) {
+            return;
+        }
+        final Duration delay = reconnectBackoff.getDelay(attempt);
+        if (attempt > 1) {
+            LOGGER.info("Client <{}>: Retrying connection initiation again in <{}> ms ...", sessionId,
+                    delay.toMillis());
+        }
+        reconnectExecutor.schedule(() -> tryToReconnect(attempt, disconnectedAtNanos), delay.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void tryToReconnect(final int attempt, final long disconnectedAtNanos) {
+        metrics.reconnectAttempted();
+        final CompletableFuture<WebSocket> connectFuture;
         try {
             LOGGER.info("Recreating Websocket..");
             webSocket.clearHeaders();
             webSocket.clearListeners();
-            return safeGet(initiateConnection(webSocket.recreate()));
-        } catch (final AuthenticationException | IOException e) {
-            // log error, but try again (don't end loop)
-            final String msgFormat = "Client <{}>: Failed to establish connection ({}): {}";
-            LOGGER.error(msgFormat, sessionId, count, e.getMessage());
-            return null;
+            connectFuture = connectToFastestEndpoint();
+        } catch (final RuntimeException e) {
+            handleFailedReconnectAttempt(attempt, disconnectedAtNanos, e);
+            return;
+        }
+        connectFuture.whenComplete((ws, error) -> {
+            if (null == error) {
+                final long durationNanos = System.nanoTime() - disconnectedAtNanos;
+                metrics.reconnected(durationNanos);
+                LOGGER.info("Client <{}>: Reconnected after <{}> attempts in <{}> ms", sessionId, attempt,
+                        TimeUnit.NANOSECONDS.toMillis(durationNanos));
+                reconnecting.set(false);
+            } else {
+                handleFailedReconnectAttempt(attempt, disconnectedAtNanos, error);
+            }
+        });
+    }
+
+    private void handleFailedReconnectAttempt(final int attempt, final long disconnectedAtNanos,
+            final Throwable error) {
+        // log error, but try again
+        final Throwable cause = error instanceof CompletionException && null != error.getCause()
+                ? error.getCause()
+                : error;
+        final String msgFormat = "Client <{}>: Failed to establish connection ({}): {}";
+        LOGGER.error(msgFormat, sessionId, attempt, cause.getMessage());
+        scheduleReconnectAttempt(attempt + 1, disconnectedAtNanos);
+    }
+
+    @Override
+    public void onFrame(final WebSocket websocket, final WebSocketFrame frame) {
+        if (frame.isDataFrame()) {
+            metrics.received(frame.getPayloadLength());
         }
     }
 
     @Override
     public void onBinaryMessage(final WebSocket websocket, final byte[] binary) {
-        callbackExecutor.execute(() -> {
-            final String stringMessage = new String(binary, StandardCharsets.UTF_8);
-            LOGGER.debug(
-                    "Client <{}>: Received WebSocket byte array message <{}>, as string <{}> - don't know what to do" +
-                            " with it!.", sessionId, binary, stringMessage);
-        });
+        metrics.receivedUncompressed(binary.length);
+        if (!cborEncoded) {
+            handOver(callbackExecutor::execute, () -> {
+                final String stringMessage = new String(binary, StandardCharsets.UTF_8);
+                LOGGER.debug(
+                        "Client <{}>: Received WebSocket byte array message <{}>, as string <{}> - don't know what to" +
+                                " do with it!.", sessionId, binary, stringMessage);
+            });
+        } else if (null != stripedDispatcher) {
+            final ProtocolEnvelope envelope = ProtocolEnvelope.scanCbor(binary);
+            handOver(task -> stripedDispatcher.dispatch(null != envelope ? envelope.getOrderingKey() : null, task),
+                    () -> handleIncomingCborMessage(binary, envelope));
+        } else {
+            handOver(callbackExecutor::execute,
+                    () -> handleIncomingCborMessage(binary, ProtocolEnvelope.scanCbor(binary)));
+        }
     }
 
     @Override
     public void onTextMessage(final WebSocket websocket, final String text) {
-        callbackExecutor.execute(() -> {
-            LOGGER.trace("Client <{}>: Received WebSocket string message <{}>", sessionId, text);
-            handleIncomingMessage(text);
-        });
+        metrics.receivedUncompressed(utf8Length(text));
+        if (null != stripedDispatcher) {
+            final ProtocolEnvelope envelope = ProtocolEnvelope.scan(text);
+            // events and live signals of the same Thing are handled in order on the same lane:
+            handOver(task -> stripedDispatcher.dispatch(null != envelope ? envelope.getOrderingKey() : null, task),
+                    () -> handleIncomingMessage(text, envelope));
+        } else {
+            handOver(callbackExecutor::execute, () -> handleIncomingMessage(text, ProtocolEnvelope.scan(text)));
+        }
+    }
+
+    /**
+     * Hands the passed task handling a received message over to the passed executor. With inbound flow control the
+     * calling reading thread is paused afterwards while too many received messages are not yet handled.
+     */
+    private void handOver(final Consumer<Runnable> executor, final Runnable task) {
+        if (null == inboundFlowControl) {
+            executor.accept(task);
+            return;
+        }
+        try {
+            executor.accept(inboundFlowControl.received(task));
+        } catch (final RuntimeException e) {
+            inboundFlowControl.handled();
+            throw e;
+        }
+        if (inboundFlowControl.isAboveHighWatermark()) {
+            pauseReading(inboundFlowControl);
+        }
+    }
+
+    private void pauseReading(final InboundFlowControl flowControl) {
+        LOGGER.debug("Client <{}>: <{}> received messages are not yet handled - pausing reading from WebSocket",
+                sessionId, flowControl.getUnhandled());
+        final long pausedAtNanos = System.nanoTime();
+        if (null != keepAlive) {
+            keepAlive.setReadingPaused(true);
+        }
+        try {
+            flowControl.awaitLowWatermark();
+        } finally {
+            if (null != keepAlive) {
+                keepAlive.setReadingPaused(false);
+            }
+        }
+        LOGGER.debug("Client <{}>: Resuming reading from WebSocket after <{}> ms", sessionId,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pausedAtNanos));
+    }
+
+    private static int utf8Length(final String text) {
+        int result = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c >= 0x800) {
+                // each char of a surrogate pair accounts for 2 of its 4 UTF-8 bytes
+                result += Character.isSurrogate(c) ? 1 : 2;
+            } else if (c >= 0x80) {
+                result++;
+            }
+        }
+        return result;
     }
 
-    private void handleIncomingMessage(final String message) {
+    private void handleIncomingCborMessage(final byte[] message, @Nullable final ProtocolEnvelope envelope) {
+        LOGGER.trace("Client <{}>: Received WebSocket CBOR message of <{}> bytes", sessionId, message.length);
+        if (isDroppable(envelope) || isHandledRaw(envelope, () -> CborCodec.decode(message).toString())) {
+            return;
+        }
+        final JsonObject messageJson = tryToDecodeCborMessage(message);
+        if (null != messageJson) {
+            handleIncomingJson(messageJson);
+        }
+    }
+
+    private void handleIncomingMessage(final String message, @Nullable final ProtocolEnvelope envelope) {
+        LOGGER.trace("Client <{}>: Received WebSocket string message <{}>", sessionId, message);
+        if (isDroppable(envelope) || isHandledRaw(envelope, () -> message)) {
+            return;
+        }
         switch (message) {
             case PROTOCOL_CMD_START_SEND_EVENTS + PROTOCOL_CMD_ACK_SUFFIX:
                 ackSubscription(PROTOCOL_CMD_START_SEND_EVENTS);
@@ -807,9 +1657,42 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         }
 
         final JsonObject messageJson = tryToGetMessageAsJsonObject(message);
-        if (null == messageJson) {
-            return;
+        if (null != messageJson) {
+            handleIncomingJson(messageJson);
+        }
+    }
+
+    private boolean isDroppable(@Nullable final ProtocolEnvelope envelope) {
+        if (null != envelope && !isAnyoneInterestedIn(envelope)) {
+            LOGGER.debug("Client <{}>: Dropping incoming message without parsing it as nobody is interested in " +
+                    "it: {}", sessionId, envelope);
+            return true;
         }
+        return false;
+    }
+
+    /**
+     * Hands the passed message over to the raw message handler subscribed for it, if any, without parsing it.
+     */
+    private boolean isHandledRaw(@Nullable final ProtocolEnvelope envelope, final Supplier<String> rawMessage) {
+        if (null == envelope || rawSubscriptions.isEmpty() || isPendingResponse(envelope)) {
+            return false;
+        }
+        final String subscriptionName = getSubscriptionName(envelope);
+        final RawSubscription subscription =
+                null != subscriptionName ? rawSubscriptions.get(subscriptionName) : null;
+        if (null == subscription) {
+            return false;
+        }
+        if (subscription.topicFilter.test(envelope.getTopic())) {
+            subscription.handler.accept(rawMessage.get());
+        } else {
+            LOGGER.trace("Client <{}>: Dropping raw message not matching the topic filter: {}", sessionId, envelope);
+        }
+        return true;
+    }
+
+    private void handleIncomingJson(final JsonObject messageJson) {
         final JsonifiableAdaptable jsonifiableAdaptable = tryToGetJsonifiableAdaptableFromMessageJson(messageJson);
         if (null == jsonifiableAdaptable) {
             return;
@@ -818,21 +1701,54 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         final TopicPath.Channel channel = getChannelOrNull(jsonifiableAdaptable);
         final DittoHeaders headers = jsonifiableAdaptable.getHeaders().orElseGet(DittoHeaders::empty);
         final String correlationId = getCorrelationIdOrThrow(headers).toString();
-        if (customAdaptableResponseFutures.containsKey(correlationId)) {
-            customAdaptableResponseFutures.remove(correlationId)
-                    .complete(jsonifiableAdaptable);
+        final CompletableFuture<Adaptable> adaptableResponseFuture =
+                customAdaptableResponseFutures.remove(correlationId);
+        if (null != adaptableResponseFuture) {
+            adaptableResponseFuture.complete(jsonifiableAdaptable);
         } else if (TopicPath.Channel.TWIN == channel) {
-            handleTwinMessage(message, correlationId, jsonifiableAdaptable);
+            handleTwinMessage(messageJson, correlationId, jsonifiableAdaptable);
         } else if (TopicPath.Channel.LIVE == channel) {
-            handleLiveMessage(message, correlationId, jsonifiableAdaptable);
+            handleLiveMessage(messageJson, correlationId, jsonifiableAdaptable);
         } else if (TopicPath.Channel.NONE == channel) {
-            handleNoneChannelMessage(message, jsonifiableAdaptable);
+            handleNoneChannelMessage(messageJson, jsonifiableAdaptable);
         } else {
             final String msgPattern = "Client <{}>: Got Jsonifiable on unknown channel <{}>: <{}>";
             LOGGER.warn(msgPattern, sessionId, channel, jsonifiableAdaptable);
         }
     }
 
+    /**
+     * Determines by the envelope of an incoming message whether it is worth to be parsed and materialized.
+     */
+    private boolean isAnyoneInterestedIn(final ProtocolEnvelope envelope) {
+        if (isPendingResponse(envelope)) {
+            return true;
+        }
+        final String subscriptionName = getSubscriptionName(envelope);
+        // commands and command responses are always handled
+        return null == subscriptionName || isSubscribed(subscriptionName);
+    }
+
+    private boolean isPendingResponse(final ProtocolEnvelope envelope) {
+        final String correlationId = envelope.getCorrelationId();
+        return null != correlationId && (customAdaptableResponseFutures.contains(correlationId) ||
+                messageCommandResponseConsumers.contains(correlationId));
+    }
+
+    /**
+     * Determines the name of the subscription an incoming event or message was sent for. Responses to sent messages
+     * have to be regarded by their correlation-id beforehand.
+     */
+    @Nullable
+    private static String getSubscriptionName(final ProtocolEnvelope envelope) {
+        if (envelope.isThingEvent()) {
+            return envelope.isLive() ? LiveImpl.CONSUME_LIVE_EVENTS_HANDLER : TwinImpl.CONSUME_TWIN_EVENTS_HANDLER;
+        } else if (envelope.isLiveMessage()) {
+            return LiveImpl.CONSUME_LIVE_MESSAGES_HANDLER;
+        }
+        return null;
+    }
+
     private void ackSubscription(final String protocolCommand) {
         final CompletableFuture<Void> subscriptionAckPromise = subscriptionsAcks.remove(protocolCommand);
         if (null != subscriptionAckPromise) {
@@ -853,6 +1769,20 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         }
     }
 
+    @Nullable
+    private JsonObject tryToDecodeCborMessage(final byte[] message) {
+        try {
+            final JsonValue jsonValue = CborCodec.decode(message);
+            if (!jsonValue.isObject()) {
+                throw new JsonParseException("The CBOR encoded WebSocket message was not a map as required.");
+            }
+            return jsonValue.asObject();
+        } catch (final JsonParseException e) {
+            LOGGER.warn("Client <{}>: Got malformed CBOR message on WebSocket: {}", sessionId, e.getMessage());
+            return null;
+        }
+    }
+
     private static JsonObject getMessageAsJsonObject(final String message) {
         final JsonValue jsonValue = JsonFactory.readFrom(message);
         if (!jsonValue.isObject()) {
@@ -879,7 +1809,7 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
     }
 
     @Nullable
-    private Signal<?> tryToAdaptToSignal(final Adaptable adaptable, final String message) {
+    private Signal<?> tryToAdaptToSignal(final Adaptable adaptable, final JsonObject message) {
         try {
             return adaptToSignal(adaptable);
         } catch (final DittoRuntimeException e) {
@@ -917,7 +1847,7 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         });
     }
 
-    private void handleTwinMessage(final String message, final CharSequence correlationId,
+    private void handleTwinMessage(final JsonObject message, final CharSequence correlationId,
             final JsonifiableAdaptable jsonifiableAdaptable) {
 
         final Signal<?> signal = tryToAdaptToSignal(jsonifiableAdaptable, message);
@@ -945,7 +1875,7 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         }
     }
 
-    private void handleLiveMessage(final String message, final CharSequence correlationId,
+    private void handleLiveMessage(final JsonObject message, final CharSequence correlationId,
             final JsonifiableAdaptable jsonifiableAdaptable) {
 
         final Signal<?> signal = tryToAdaptToSignal(jsonifiableAdaptable, message);
@@ -969,7 +1899,7 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
             final String description = cre.getDescription().orElse("");
             LOGGER.warn("Client <{}>: Got LIVE ThingErrorResponse: <{}: {} - {}>", sessionId,
                     cre.getClass().getSimpleName(), cre.getMessage(), description);
-            if (messageCommandResponseConsumers.containsKey(correlationId.toString())) {
+            if (messageCommandResponseConsumers.contains(correlationId)) {
                 handleLiveMessageResponse((ThingErrorResponse) signal);
             } else {
                 handleLiveCommandResponse((ThingErrorResponse) signal);
@@ -989,7 +1919,8 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
     }
 
 
-    private void handleNoneChannelMessage(final String message, final JsonifiableAdaptable jsonifiableAdaptable) {
+    private void handleNoneChannelMessage(final JsonObject message,
+            final JsonifiableAdaptable jsonifiableAdaptable) {
 
         final Signal<?> signal = tryToAdaptToSignal(jsonifiableAdaptable, message);
         if (null == signal) {
@@ -1106,52 +2037,4 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         commandResponseConsumer.accept(commandResponse);
     }
 
-    /**
-     * A LinkedHashMap with a {@code maxSize}, removing the oldest entries as new ones get in.
-     */
-    private static class LimitedHashMap<K, V> extends LinkedHashMap<K, V> {
-
-        private static final long serialVersionUID = -2771080576933386538L;
-
-        private final int maxSize;
-
-        private LimitedHashMap(final int maxSize) {
-            this.maxSize = maxSize;
-        }
-
-        @Override
-        protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
-            return size() > maxSize;
-        }
-
-        @Override
-        public boolean equals(@Nullable final Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
-            }
-            if (!super.equals(o)) {
-                return false;
-            }
-            final LimitedHashMap<?, ?> that = (LimitedHashMap<?, ?>) o;
-            return maxSize == that.maxSize;
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(super.hashCode(), maxSize);
-        }
-
-        @Override
-        public String toString() {
-            return getClass().getSimpleName() + " [" +
-                    super.toString() +
-                    ", maxSize=" + maxSize +
-                    "]";
-        }
-
-    }
-
 }
@@ -35,7 +35,12 @@ public interface OptionName extends Predicate<Object> {
      * @since 1.0.0
      */
     enum Global implements OptionName {
-        // currently empty
+        /**
+         * Name of the option for defining the duration after which an operation fails if its response was not
+         * received.
+         * @since 1.1.0
+         */
+        TIMEOUT
     }
 
     /**
@@ -12,6 +12,7 @@
  */
 package org.eclipse.ditto.client.options;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 import org.eclipse.ditto.client.management.CommonManagement;
@@ -30,6 +31,41 @@ public final class Options {
         throw new AssertionError();
     }
 
+    /**
+     * The Global class provides static factory methods for creating Options which are related to all operations.
+     *
+     * @since 1.1.0
+     */
+    public static final class Global {
+
+        private Global() {
+            throw new AssertionError();
+        }
+
+        /**
+         * Creates an option for specifying the duration after which the future of an operation is completed
+         * exceptionally with a {@link java.util.concurrent.TimeoutException} if no response was received.
+         * <p>
+         * The returned option has the name {@link OptionName.Global#TIMEOUT} and the given {@code Duration} value. It
+         * is sent to the back end as {@code timeout} header.
+         * </p>
+         * <p>
+         * If this Option is not specified, the default response timeout of the messaging configuration applies.
+         * </p>
+         * <p>
+         * A timed out future is completed on the callback executor of the client, i. e. the executor service of the
+         * messaging provider, and never on the thread tracking the timeouts. Dependent stages which are chained to the
+         * future without an executor of their own run there as well.
+         * </p>
+         *
+         * @param timeout the duration to wait for the response.
+         * @return the new option.
+         */
+        public static Option<Duration> timeout(final Duration timeout) {
+            return DefaultOption.newInstance(OptionName.Global.TIMEOUT, timeout);
+        }
+    }
+
     /**
      * The Modify class provides static factory methods for creating Options which are related to modifying operations.
      *
@@ -12,6 +12,7 @@
  */
 package org.eclipse.ditto.client.options.internal;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import javax.annotation.concurrent.Immutable;
@@ -99,6 +100,16 @@ public final class OptionsEvaluator {
             super();
         }
 
+        /**
+         * Returns the value of the option which defines the timeout of the response.
+         *
+         * @return the timeout or an empty Optional if the option was not provided.
+         * @since 1.1.0
+         */
+        public Optional<Duration> getTimeout() {
+            return getValue(new TimeoutOptionVisitor());
+        }
+
     }
 
     /**
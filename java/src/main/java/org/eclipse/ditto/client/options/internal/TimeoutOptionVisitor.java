@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.options.internal;
+
+import java.time.Duration;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.options.Option;
+import org.eclipse.ditto.client.options.OptionName;
+
+/**
+ * This visitor fetches and provides the value as {@code Duration} for the option with name {@link
+ * OptionName.Global#TIMEOUT} from the user provided options.
+ *
+ * @since 1.1.0
+ */
+@ThreadSafe
+final class TimeoutOptionVisitor extends AbstractOptionVisitor<Duration> {
+
+    /**
+     * Constructs a new {@code TimeoutOptionVisitor} object.
+     */
+    TimeoutOptionVisitor() {
+        super(OptionName.Global.TIMEOUT);
+    }
+
+    @Override
+    protected Duration getValueFromOption(final Option<?> option) {
+        return option.getValueAs(Duration.class);
+    }
+
+}
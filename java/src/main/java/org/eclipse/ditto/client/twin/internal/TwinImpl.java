@@ -14,6 +14,8 @@ package org.eclipse.ditto.client.twin.internal;
 
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -104,6 +106,18 @@ public final class TwinImpl extends CommonManagementImpl<TwinThingHandle, TwinFe
         return completableFutureEvents;
     }
 
+    @Override
+    protected CompletableFuture<Void> doStartRawConsumption(final Consumer<String> rawMessageConsumer,
+            final Predicate<String> topicFilter, final Map<String, String> consumptionConfig) {
+        final CompletableFuture<Void> completableFutureEvents = new CompletableFuture<>();
+
+        // register raw message handler which passes the twin events on without parsing them:
+        getMessagingProvider().registerRawMessageHandler(CONSUME_TWIN_EVENTS_HANDLER, consumptionConfig,
+                topicFilter, rawMessageConsumer, completableFutureEvents);
+
+        return completableFutureEvents;
+    }
+
     @Override
     public CompletableFuture<Void> suspendConsumption() {
         final CompletableFuture<Void> completableFutureEvents = new CompletableFuture<>();
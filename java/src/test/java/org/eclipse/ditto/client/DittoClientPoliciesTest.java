@@ -59,6 +59,7 @@ public class DittoClientPoliciesTest extends AbstractDittoClientTest {
 
         client.policies().retrieve(POLICY_ID);
         Assertions.assertThat(latch.await(TIMEOUT, TIME_UNIT)).isTrue();
+        client.destroy();
     }
 
     @Test
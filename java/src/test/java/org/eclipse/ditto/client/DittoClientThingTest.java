@@ -21,12 +21,15 @@ import static org.eclipse.ditto.client.TestConstants.Thing.THING_ID_COPY_POLICY;
 import static org.eclipse.ditto.client.TestConstants.Thing.THING_WITH_INLINE_POLICY;
 import static org.eclipse.ditto.client.assertions.ClientAssertions.assertThat;
 
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
 
 import org.assertj.core.api.Assertions;
 import org.eclipse.ditto.client.internal.AbstractDittoClientTest;
+import org.eclipse.ditto.client.management.HandlerCacheMetrics;
 import org.eclipse.ditto.client.options.Option;
 import org.eclipse.ditto.client.options.Options;
 import org.eclipse.ditto.client.registration.DuplicateRegistrationIdException;
@@ -224,6 +227,26 @@ public final class DittoClientThingTest extends AbstractDittoClientTest {
         Assertions.assertThat(latch.await(TIMEOUT, TIME_UNIT)).isTrue();
     }
 
+    @Test
+    public void rawConsumptionOnlyHandsOverEventsMatchingTopicFilter() throws Exception {
+        final BlockingQueue<String> rawEvents = new LinkedBlockingQueue<>();
+        client.twin().startRawConsumption(rawEvents::add, topic -> topic.endsWith("/things/twin/events/deleted"));
+
+        final MessageHeaders messageHeaders =
+                MessageHeaders.newBuilder(MessageDirection.FROM, THING_ID, ThingCreated.TYPE).build();
+        messaging.receiveEvent(MessagesModelFactory.<ThingEvent>newMessageBuilder(messageHeaders)
+                .payload(ThingCreated.of(Thing.newBuilder().setId(THING_ID).build(), 1, DittoHeaders.empty()))
+                .build());
+        messaging.receiveEvent(createThingDeletedMessage());
+
+        final String rawEvent = rawEvents.poll(TIMEOUT, TIME_UNIT);
+        Assertions.assertThat(rawEvent).isNotNull();
+        Assertions.assertThat(JsonFactory.readFrom(rawEvent).asObject().getValue("topic"))
+                .contains(JsonFactory.newValue(THING_ID.getNamespace() + "/" + THING_ID.getName() +
+                        "/things/twin/events/deleted"));
+        Assertions.assertThat(rawEvents).isEmpty();
+    }
+
     @Test
     public void testReceiveDeletedEvent() throws Exception {
         final CountDownLatch latch = new CountDownLatch(1);
@@ -243,6 +266,23 @@ public final class DittoClientThingTest extends AbstractDittoClientTest {
         Assertions.assertThat(latch.await(TIMEOUT, TIME_UNIT)).isTrue();
     }
 
+    @Test
+    public void handlerCacheMetricsCountSelectionsOfReceivedEvents() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(2);
+        client.twin().startConsumption();
+        client.twin().registerForThingChanges("test", change -> latch.countDown());
+
+        final Message<ThingEvent> thingDeleted = createThingDeletedMessage();
+        messaging.receiveEvent(thingDeleted);
+        messaging.receiveEvent(thingDeleted);
+
+        Assertions.assertThat(latch.await(TIMEOUT, TIME_UNIT)).isTrue();
+        final HandlerCacheMetrics metrics = client.twin().getHandlerCacheMetrics();
+        Assertions.assertThat(metrics.getMisses()).isPositive();
+        Assertions.assertThat(metrics.getHits() + metrics.getMisses()).isGreaterThanOrEqualTo(2L);
+        Assertions.assertThat(metrics.getEvictions()).isZero();
+    }
+
     private static Message<ThingEvent> createThingDeletedMessage() {
         final MessageHeaders messageHeaders =
                 MessageHeaders.newBuilder(MessageDirection.FROM, THING_ID, ThingDeleted.TYPE).build();
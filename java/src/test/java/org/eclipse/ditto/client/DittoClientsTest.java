@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.ditto.client.messaging.MessagingException;
+import org.eclipse.ditto.client.messaging.mock.MockMessagingProvider;
+import org.junit.Test;
+
+/**
+ * Unit test for the asynchronous creation of clients by {@link DittoClients}.
+ */
+public final class DittoClientsTest {
+
+    private static final long TIMEOUT_SECONDS = 5L;
+
+    @Test
+    public void sharedProviderIsInitializedOnce() throws Exception {
+        final AtomicInteger initializations = new AtomicInteger();
+        final MockMessagingProvider messaging = new MockMessagingProvider() {
+            @Override
+            public void initialize() {
+                initializations.incrementAndGet();
+            }
+        };
+
+        final DittoClient client = DittoClients.newInstanceAsync(messaging)
+                .toCompletableFuture()
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertThat(initializations).hasValue(1);
+        client.destroy();
+    }
+
+    @Test
+    public void providersAreInitializedInParallel() throws Exception {
+        // each initialization only finishes when the other one was started:
+        final CountDownLatch started = new CountDownLatch(2);
+        final MockMessagingProvider twin = new AwaitingMessagingProvider(started);
+        final MockMessagingProvider live = new AwaitingMessagingProvider(started);
+
+        final DittoClient client = DittoClients.newInstanceAsync(twin, live)
+                .toCompletableFuture()
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertThat(started.getCount()).isZero();
+        client.destroy();
+    }
+
+    @Test
+    public void failedInitializationCompletesFutureExceptionally() {
+        final MockMessagingProvider messaging = new MockMessagingProvider() {
+            @Override
+            public void initialize() {
+                throw MessagingException.connectFailed("session", new IOException("connection refused"));
+            }
+        };
+
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(() -> DittoClients.newInstanceAsync(messaging)
+                        .toCompletableFuture()
+                        .get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                .withCauseInstanceOf(MessagingException.class);
+        messaging.close();
+    }
+
+    @Test
+    public void failedInitializationClosesAllProviders() {
+        final AtomicInteger twinCloses = new AtomicInteger();
+        final AtomicInteger liveCloses = new AtomicInteger();
+        final MockMessagingProvider twin = new MockMessagingProvider() {
+            @Override
+            public void initialize() {
+                throw MessagingException.connectFailed("session", new IOException("connection refused"));
+            }
+
+            @Override
+            public void close() {
+                twinCloses.incrementAndGet();
+                super.close();
+            }
+        };
+        final MockMessagingProvider live = new MockMessagingProvider() {
+            @Override
+            public void close() {
+                liveCloses.incrementAndGet();
+                super.close();
+            }
+        };
+
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(() -> DittoClients.newInstanceAsync(twin, live)
+                        .toCompletableFuture()
+                        .get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                .withCauseInstanceOf(MessagingException.class);
+        assertThat(twinCloses).hasValue(1);
+        assertThat(liveCloses).hasValue(1);
+    }
+
+    private static final class AwaitingMessagingProvider extends MockMessagingProvider {
+
+        private final CountDownLatch started;
+
+        private AwaitingMessagingProvider(final CountDownLatch started) {
+            this.started = started;
+        }
+
+        @Override
+        public void initialize() {
+            started.countDown();
+            try {
+                if (!started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Providers were not initialized in parallel.");
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link SessionPrefixedCorrelationIdGenerator}.
+ */
+public final class SessionPrefixedCorrelationIdGeneratorTest {
+
+    @Test
+    public void correlationIdsConsistOfPrefixAndSequenceNumber() {
+        final SessionPrefixedCorrelationIdGenerator underTest = SessionPrefixedCorrelationIdGenerator.newInstance();
+
+        final String first = underTest.newCorrelationId();
+        final String second = underTest.newCorrelationId();
+
+        assertThat(first).matches("[A-Za-z0-9_-]{16}-1");
+        assertThat(second).isEqualTo(first.substring(0, 17) + "2");
+    }
+
+    @Test
+    public void correlationIdsAreUniqueAcrossThreads() throws Exception {
+        final SessionPrefixedCorrelationIdGenerator underTest = SessionPrefixedCorrelationIdGenerator.newInstance();
+        final Set<String> correlationIds = ConcurrentHashMap.newKeySet();
+        final int threads = 4;
+        final int correlationIdsPerThread = 25_000;
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < correlationIdsPerThread; j++) {
+                        correlationIds.add(underTest.newCorrelationId());
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(correlationIds).hasSize(threads * correlationIdsPerThread);
+    }
+
+    @Test
+    public void generatorsHaveDifferentPrefixes() {
+        final String first = SessionPrefixedCorrelationIdGenerator.newInstance().newCorrelationId();
+        final String second = SessionPrefixedCorrelationIdGenerator.newInstance().newCorrelationId();
+
+        assertThat(first).isNotEqualTo(second);
+    }
+
+}
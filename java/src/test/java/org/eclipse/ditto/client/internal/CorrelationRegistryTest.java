@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link CorrelationRegistry}.
+ */
+public final class CorrelationRegistryTest {
+
+    private static final Duration SHORT_TIMEOUT = Duration.ofMillis(200);
+
+    private Map<String, String> timedOut;
+    private CountDownLatch timeoutLatch;
+    private CorrelationRegistry<String> underTest;
+
+    @Before
+    public void setUp() {
+        timedOut = new ConcurrentHashMap<>();
+        timeoutLatch = new CountDownLatch(1);
+        underTest = CorrelationRegistry.newInstance("ditto-client-test-timeout", Duration.ofMinutes(1),
+                (correlationId, request) -> {
+                    timedOut.put(correlationId, request);
+                    timeoutLatch.countDown();
+                });
+    }
+
+    @After
+    public void tearDown() {
+        underTest.close();
+    }
+
+    @Test
+    public void tryToCreateInstanceWithZeroDefaultTimeout() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> CorrelationRegistry.newInstance("test", Duration.ZERO, (id, request) -> {}))
+                .withMessage("Default timeout must not be negative or zero.");
+    }
+
+    @Test
+    public void requestWithoutResponseTimesOut() throws InterruptedException {
+        underTest.register("1", "request", SHORT_TIMEOUT);
+
+        assertThat(timeoutLatch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(timedOut).containsOnlyKeys("1").containsValue("request");
+        assertThat(underTest.contains("1")).isFalse();
+        assertThat(underTest.getInFlight()).isZero();
+        assertThat(underTest.getTimeouts()).isEqualTo(1L);
+    }
+
+    @Test
+    public void removedRequestDoesNotTimeOut() throws InterruptedException {
+        underTest.register("1", "removed", SHORT_TIMEOUT);
+        underTest.register("2", "expired", SHORT_TIMEOUT.multipliedBy(2));
+
+        assertThat(underTest.getInFlight()).isEqualTo(2);
+        assertThat(underTest.remove("1")).isEqualTo("removed");
+        assertThat(timeoutLatch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(timedOut).containsOnlyKeys("2");
+    }
+
+    @Test
+    public void replacedRequestDoesNotTimeOut() throws InterruptedException {
+        underTest.register("1", "replaced", SHORT_TIMEOUT);
+
+        assertThat(underTest.register("1", "replacement", SHORT_TIMEOUT.multipliedBy(2))).isEqualTo("replaced");
+        assertThat(timeoutLatch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(timedOut).containsOnlyKeys("1").containsValue("replacement");
+        assertThat(underTest.getTimeouts()).isEqualTo(1L);
+    }
+
+    @Test
+    public void requestIsOnlyRemovedIfItIsStillRegistered() {
+        underTest.register("1", "first");
+        underTest.register("1", "second");
+
+        assertThat(underTest.remove("1", "first")).isFalse();
+        assertThat(underTest.contains("1")).isTrue();
+        assertThat(underTest.remove("1", "second")).isTrue();
+        assertThat(underTest.contains("1")).isFalse();
+    }
+
+    @Test
+    public void requestsDoNotTimeOutAfterClose() throws InterruptedException {
+        underTest.close();
+        underTest.register("1", "request", SHORT_TIMEOUT);
+
+        assertThat(timeoutLatch.await(500, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(underTest.contains("1")).isTrue();
+    }
+
+}
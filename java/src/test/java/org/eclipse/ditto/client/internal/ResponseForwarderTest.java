@@ -17,8 +17,14 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.eclipse.ditto.client.TestConstants.Thing.POLICY_ID;
 import static org.eclipse.ditto.client.TestConstants.Thing.THING_ID;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.ditto.model.base.exceptions.DittoRuntimeException;
 import org.eclipse.ditto.model.base.headers.DittoHeaders;
@@ -28,6 +34,7 @@ import org.eclipse.ditto.signals.commands.policies.PolicyErrorResponse;
 import org.eclipse.ditto.signals.commands.policies.exceptions.PolicyNotAccessibleException;
 import org.eclipse.ditto.signals.commands.things.ThingErrorResponse;
 import org.eclipse.ditto.signals.commands.things.exceptions.ThingNotAccessibleException;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -64,6 +71,11 @@ public final class ResponseForwarderTest {
         underTest = ResponseForwarder.getInstance();
     }
 
+    @After
+    public void tearDown() {
+        underTest.close();
+    }
+
     @Test
     public void tryToPutResponsePromiseWithNullCorrelationId() {
         assertThatExceptionOfType(NullPointerException.class)
@@ -113,6 +125,46 @@ public final class ResponseForwarderTest {
                 .hasMessage("A new response promise was associated with correlation-id <%s>!", CORRELATION_ID);
     }
 
+    @Test
+    public void responsePromiseWithoutResponseTimesOut() {
+        underTest.put(CORRELATION_ID, responsePromise, Duration.ofMillis(200));
+
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(() -> responsePromise.get(5, TimeUnit.SECONDS))
+                .withCauseInstanceOf(TimeoutException.class);
+        assertThat(underTest.getPendingResponses()).isZero();
+        assertThat(underTest.getResponseTimeouts()).isEqualTo(1L);
+    }
+
+    @Test
+    public void responsePromiseTimesOutOnTimeoutExecutor() throws Exception {
+        final ExecutorService timeoutExecutor =
+                Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "test-timeout-executor"));
+        final ResponseForwarder forwarder = ResponseForwarder.getInstance(Duration.ofSeconds(60), timeoutExecutor);
+        try {
+            final CompletableFuture<String> completingThread =
+                    responsePromise.handle((response, error) -> Thread.currentThread().getName());
+            forwarder.put(CORRELATION_ID, responsePromise, Duration.ofMillis(200));
+
+            assertThat(completingThread.get(5, TimeUnit.SECONDS)).isEqualTo("test-timeout-executor");
+            assertThat(responsePromise).hasFailedWithThrowableThat().isInstanceOf(TimeoutException.class);
+        } finally {
+            forwarder.close();
+            timeoutExecutor.shutdownNow();
+            timeoutExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void cancelledResponsePromiseIsRemoved() {
+        underTest.put(CORRELATION_ID, responsePromise);
+
+        responsePromise.cancel(false);
+
+        assertThat(underTest.getPendingResponses()).isZero();
+        assertThat(underTest.handle(commandResponse)).isEmpty();
+    }
+
     @Test
     public void tryToHandleNullResponse() {
         assertThatExceptionOfType(NullPointerException.class)
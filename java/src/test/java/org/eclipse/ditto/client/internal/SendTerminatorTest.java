@@ -29,6 +29,7 @@ import org.eclipse.ditto.signals.commands.policies.modify.PolicyModifyCommand;
 import org.eclipse.ditto.signals.commands.things.ThingCommandResponse;
 import org.eclipse.ditto.signals.commands.things.modify.DeleteAttributeResponse;
 import org.eclipse.ditto.signals.commands.things.modify.ThingModifyCommand;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -72,6 +73,11 @@ public final class SendTerminatorTest {
         responseForwarder = ResponseForwarder.getInstance();
     }
 
+    @After
+    public void tearDown() {
+        responseForwarder.close();
+    }
+
     @Test
     public void tryToSendMessageWithoutMessageBeingSet() {
         final SendTerminator underTest =
@@ -160,4 +166,18 @@ public final class SendTerminatorTest {
         assertThat(promise).isCompletedWithValue(null);
     }
 
+    @Test
+    public void failedSendRemovesResponsePromise() {
+        final TopicPath.Channel channel = TopicPath.Channel.TWIN;
+        final IllegalStateException sendFailure = new IllegalStateException("not sent");
+        Mockito.doThrow(sendFailure).when(messagingProvider).sendCommand(thingModifyCommand, channel);
+        final SendTerminator<String> underTest =
+                new SendTerminator<>(messagingProvider, responseForwarder, channel, thingModifyCommand);
+
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> underTest.applyModify(ThingCommandResponse::getName))
+                .isSameAs(sendFailure);
+        assertThat(responseForwarder.getPendingResponses()).isZero();
+    }
+
 }
@@ -14,9 +14,17 @@ package org.eclipse.ditto.client.internal.bus;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonPointer;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -49,6 +57,134 @@ public final class DefaultRegistryTest {
         selectionShouldContain(registry.select(pointer), consumerB);
     }
 
+    @Test
+    public void selectionEqualsMatchingEverySelector() {
+        final List<JsonPointerSelector> selectors = Arrays.asList(
+                JsonPointerSelectors.jsonPointer(""),
+                JsonPointerSelectors.jsonPointer("/things"),
+                JsonPointerSelectors.jsonPointer("/things/{thingId}"),
+                JsonPointerSelectors.jsonPointer("/things/{id}"),
+                JsonPointerSelectors.jsonPointer("/things/org.eclipse.ditto:thing1"),
+                JsonPointerSelectors.jsonPointer("/things/{thingId}/attributes/{attributePath}"),
+                JsonPointerSelectors.jsonPointer("/things/org.eclipse.ditto:thing1/attributes/foo"),
+                JsonPointerSelectors.jsonPointer("/things/org.eclipse.ditto:thing2/features/{featureId}"),
+                JsonPointerSelectors.jsonPointer("/things/{thingId}/features/lamp/properties/on"),
+                JsonPointerSelectors.jsonPointer("/messages"),
+                SelectorUtil.or(JsonPointerSelectors.jsonPointer("/things/{thingId}/features"),
+                        JsonPointerSelectors.jsonPointer("/messages/{subject}")),
+                JsonPointerSelectors.predicate(pointer -> pointer.getLevelCount() > 4));
+        selectors.forEach(selector -> registry.register(selector, Mockito.mock(Consumer.class)));
+        final List<JsonPointer> pointers = Arrays.asList(
+                JsonPointer.empty(),
+                JsonPointer.of("/things"),
+                JsonPointer.of("/things/org.eclipse.ditto:thing1"),
+                JsonPointer.of("/things/org.eclipse.ditto:thing2/attributes"),
+                JsonPointer.of("/things/org.eclipse.ditto:thing1/attributes/foo/bar"),
+                JsonPointer.of("/things/org.eclipse.ditto:thing2/features/lamp/properties/on"),
+                JsonPointer.of("/things/{thingId}"),
+                JsonPointer.of("/messages/hello"),
+                JsonPointer.of("/unknown"),
+                new JsonPointerWithChangePaths(JsonPointer.of("/things/org.eclipse.ditto:thing2"),
+                        Arrays.asList(JsonPointer.of("/attributes/foo"), JsonPointer.of("/features/lamp"))),
+                new JsonPointerWithChangePaths(JsonPointer.empty(), Arrays.asList(JsonPointer.of("/messages"))));
+
+        for (final JsonPointer pointer : pointers) {
+            final List<JsonPointerSelector> expected = selectors.stream()
+                    .filter(selector -> selector.matches(pointer))
+                    .collect(Collectors.toList());
+            assertThat(registry.select(pointer).stream().map(Registration::getSelector))
+                    .as("selection of <%s>", pointer)
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    public void selectionOfChangedValueEqualsSelectionOfItsChangePaths() {
+        final List<JsonPointerSelector> selectors = Arrays.asList(
+                JsonPointerSelectors.jsonPointer("/things/{thingId}"),
+                JsonPointerSelectors.jsonPointer("/things/{thingId}/attributes"),
+                JsonPointerSelectors.jsonPointer("/things/{thingId}/attributes/{attributePath}"),
+                JsonPointerSelectors.jsonPointer("/things/{thingId}/attributes/empty"),
+                JsonPointerSelectors.jsonPointer("/things/{thingId}/features/{featureId}"),
+                JsonPointerSelectors.jsonPointer("/things/{thingId}/features/lamp/properties/on"),
+                JsonPointerSelectors.jsonPointer("/things/{thingId}/features/lamp/properties/off"),
+                JsonPointerSelectors.jsonPointer("/things/org.eclipse.ditto:thing2/features/{featureId}/properties"),
+                JsonPointerSelectors.predicate(pointer -> pointer.getLevelCount() > 1));
+        selectors.forEach(selector -> registry.register(selector, Mockito.mock(Consumer.class)));
+        final JsonObject changedValue = JsonObject.newBuilder()
+                .set(JsonPointer.of("/attributes/foo/bar"), 1)
+                .set(JsonPointer.of("/attributes/empty"), JsonObject.empty())
+                .set(JsonPointer.of("/features/lamp/properties/on"), true)
+                .set(JsonPointer.of("/features/sensor/properties/value"), 42)
+                .set(JsonPointer.of("/features/sensor/properties/unit"), "°C")
+                .build();
+
+        for (final String targetPath : Arrays.asList("/things/org.eclipse.ditto:thing2", "/things")) {
+            final JsonPointerWithChangePaths pointer =
+                    JsonPointerWithChangePaths.ofChangedValue(JsonPointer.of(targetPath), changedValue);
+            final JsonPointerWithChangePaths expectedPointer =
+                    new JsonPointerWithChangePaths(JsonPointer.of(targetPath), pointer.getChangePaths());
+            final List<JsonPointerSelector> expected = selectors.stream()
+                    .filter(selector -> selector.matches(expectedPointer))
+                    .collect(Collectors.toList());
+
+            assertThat(registry.select(pointer).stream().map(Registration::getSelector))
+                    .as("selection of <%s>", pointer)
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    public void unregisterRemovesMatchingSelectorsFromSelection() {
+        final JsonPointer pointer = JsonPointer.of("/things/org.eclipse.ditto:thing1/attributes/foo");
+        registry.register(JsonPointerSelectors.jsonPointer("/things/{thingId}/attributes"),
+                Mockito.mock(Consumer.class));
+        final Consumer other = Mockito.mock(Consumer.class);
+        registry.register(JsonPointerSelectors.jsonPointer("/things/{thingId}/features"), other);
+
+        assertThat(registry.unregister(pointer)).isTrue();
+
+        assertThat(registry.select(pointer)).isEmpty();
+        selectionShouldContain(registry.select(JsonPointer.of("/things/org.eclipse.ditto:thing1/features")), other);
+        assertThat(registry.unregister(pointer)).isFalse();
+    }
+
+    @Test
+    public void selectionIsConsistentWhileRegistrationsChange() throws Exception {
+        final JsonPointer pointer = JsonPointer.of("/things/org.eclipse.ditto:thing1/attributes/foo");
+        final Consumer stable = Mockito.mock(Consumer.class);
+        registry.register(JsonPointerSelectors.jsonPointer("/things/{thingId}"), stable);
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final ExecutorService writerExecutor = Executors.newSingleThreadExecutor();
+        final Future<?> writer = writerExecutor.submit(() -> {
+            int i = 0;
+            while (running.get()) {
+                final Registration<Consumer> registration = registry.register(
+                        JsonPointerSelectors.jsonPointer("/things/org.eclipse.ditto:thing1/attributes"),
+                        Mockito.mock(Consumer.class));
+                registry.register(JsonPointerSelectors.jsonPointer("/things/thing" + i++), stable);
+                registration.cancel();
+            }
+        });
+
+        try {
+            for (int i = 0; i < 10_000; i++) {
+                assertThat(registry.select(pointer).stream().map(Registration::getRegisteredObject))
+                        .contains(stable);
+            }
+        } finally {
+            running.set(false);
+            try {
+                writer.get(10, TimeUnit.SECONDS);
+            } finally {
+                writerExecutor.shutdownNow();
+                writerExecutor.awaitTermination(10, TimeUnit.SECONDS);
+            }
+        }
+        // the cancelled registrations must not be served from the cache:
+        selectionShouldContain(registry.select(pointer), stable);
+    }
+
     @SafeVarargs
     private final <T> void selectionShouldContain(final List<Registration<T>> selection,
             final T... objects) {
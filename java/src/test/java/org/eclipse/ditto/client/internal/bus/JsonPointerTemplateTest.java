@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.ditto.json.JsonPointer;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JsonPointerTemplate}.
+ */
+public final class JsonPointerTemplateTest {
+
+    private static final JsonPointer TEMPLATE = JsonPointer.of("/things/{thingId}/features/{featureId}");
+
+    @Test
+    public void parametersAreDetectedLikeTheFormerRegularExpression() {
+        final List<String> keys = Arrays.asList("{thingId}", "{}", "{", "}", "thingId", "{thing}Id", "{a{b}",
+                "{a\nb}", "{a\rb}", "{a b}", "{a\tb}", " {a}");
+
+        keys.forEach(key -> assertThat(JsonPointerTemplate.isParameter(key))
+                .as(key)
+                .isEqualTo(key.matches("^\\{.*}$")));
+    }
+
+    @Test
+    public void levelsAreCompiled() {
+        final JsonPointerTemplate underTest = JsonPointerTemplate.of(TEMPLATE);
+
+        assertThat(underTest.getLevelCount()).isEqualTo(4);
+        assertThat(underTest.isParameter(0)).isFalse();
+        assertThat(underTest.isParameter(1)).isTrue();
+        assertThat(underTest.getKey(2).toString()).isEqualTo("features");
+        assertThat(underTest.isParameter(3)).isTrue();
+    }
+
+    @Test
+    public void matchesLikeDoesTargetMatchTemplate() {
+        final List<JsonPointer> targets = Arrays.asList(JsonPointer.empty(),
+                JsonPointer.of("/things"),
+                JsonPointer.of("/things/org.eclipse.ditto:thing1/features"),
+                JsonPointer.of("/things/org.eclipse.ditto:thing1/features/lamp"),
+                JsonPointer.of("/things/org.eclipse.ditto:thing1/features/lamp/properties/on"),
+                JsonPointer.of("/things/org.eclipse.ditto:thing1/attributes/lamp"),
+                JsonPointer.of("/policies/org.eclipse.ditto:thing1/features/lamp"));
+        final List<JsonPointer> templates = Arrays.asList(TEMPLATE, JsonPointer.empty(),
+                JsonPointer.of("/things/{thingId}"), JsonPointer.of("/things/org.eclipse.ditto:thing1/features"));
+
+        for (final JsonPointer template : templates) {
+            final JsonPointerTemplate underTest = JsonPointerTemplate.of(template);
+            for (final JsonPointer target : targets) {
+                assertThat(underTest.matches(target))
+                        .as("%s matches %s", template, target)
+                        .isEqualTo(JsonPointerSelector.doesTargetMatchTemplate(target, template));
+            }
+        }
+    }
+
+    @Test
+    public void matchesTargetWithAppendedPath() {
+        final JsonPointerTemplate underTest = JsonPointerTemplate.of(TEMPLATE);
+        final JsonPointer target = JsonPointer.of("/things/org.eclipse.ditto:thing1");
+
+        assertThat(underTest.matches(target, JsonPointer.of("/features/lamp/properties"))).isTrue();
+        assertThat(underTest.matches(target, JsonPointer.of("/features"))).isFalse();
+        assertThat(underTest.matches(target, JsonPointer.of("/attributes/lamp"))).isFalse();
+        assertThat(underTest.matches(JsonPointer.empty(), JsonPointer.of("/things/x/features/y"))).isTrue();
+        assertThat(underTest.matches(JsonPointer.empty(), JsonPointer.empty())).isTrue();
+        assertThat(JsonPointerTemplate.of(JsonPointer.empty()).matches(target, JsonPointer.empty())).isFalse();
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JsonPointerWithChangePaths}.
+ */
+public final class JsonPointerWithChangePathsTest {
+
+    private static final JsonPointer TARGET_PATH = JsonPointer.of("/things/org.eclipse.ditto:thing1/attributes");
+
+    private static final JsonObject CHANGED_VALUE = JsonObject.newBuilder()
+            .set(JsonPointer.of("/foo/sub"), 1)
+            .set(JsonPointer.of("/foo/misc"), "hello")
+            .set(JsonPointer.of("/bar/other"), false)
+            .set("empty", JsonObject.empty())
+            .build();
+
+    @Test
+    public void changePathsAreCalculatedFromChangedValue() {
+        final JsonPointerWithChangePaths underTest =
+                JsonPointerWithChangePaths.ofChangedValue(TARGET_PATH, CHANGED_VALUE);
+
+        assertThat(underTest.getChangedObject()).contains(CHANGED_VALUE);
+        assertThat(underTest.getChangePaths()).containsExactly(JsonPointer.of("/foo"), JsonPointer.of("/foo/sub"),
+                JsonPointer.of("/foo/misc"), JsonPointer.of("/bar/other"));
+        assertThat((Object) underTest)
+                .isEqualTo(new JsonPointerWithChangePaths(TARGET_PATH, underTest.getChangePaths()));
+    }
+
+    @Test
+    public void changePathsAreLimitedToLevels() {
+        final JsonPointerWithChangePaths underTest =
+                JsonPointerWithChangePaths.ofChangedValue(TARGET_PATH, CHANGED_VALUE);
+
+        assertThat(underTest.getChangePaths(1)).containsExactly(JsonPointer.of("/foo"));
+        assertThat(underTest.getChangePaths(0)).isEmpty();
+        assertThat(underTest.getChangePaths(2)).isEqualTo(underTest.getChangePaths());
+    }
+
+    @Test
+    public void onlyChangePathOfNonObjectValueIsEmptyPointer() {
+        for (final JsonValue changedValue : Arrays.asList(JsonValue.of(42), null)) {
+            final JsonPointerWithChangePaths underTest =
+                    JsonPointerWithChangePaths.ofChangedValue(TARGET_PATH, changedValue);
+
+            assertThat(underTest.getChangedObject()).isEmpty();
+            assertThat(underTest.getChangePaths()).containsExactly(JsonPointer.empty());
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.ditto.json.JsonPointer;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link SelectionCache}.
+ */
+public final class SelectionCacheTest {
+
+    private static final JsonPointer THING_1 = JsonPointer.of("/things/org.eclipse.ditto:thing1/attributes/foo");
+    private static final JsonPointer THING_2 = JsonPointer.of("/things/org.eclipse.ditto:thing2/attributes/foo");
+
+    private final List<Registration<Object>> selection = Collections.emptyList();
+
+    @Test
+    public void leastRecentlyUsedEntriesAreEvicted() {
+        final SelectionCache<Object> underTest = new SelectionCache<>(8);
+        put(underTest, JsonPointer.of("/things/recently:used"));
+        for (int i = 0; i < 20; i++) {
+            assertThat(underTest.get(JsonPointer.of("/things/recently:used"))).isNotNull();
+            put(underTest, JsonPointer.of("/things/thing:" + i));
+        }
+
+        assertThat(underTest.size()).isLessThanOrEqualTo(8);
+        assertThat(underTest.getEvictions()).isEqualTo(21L - underTest.size());
+        assertThat(underTest.get(JsonPointer.of("/things/recently:used"))).isNotNull();
+        assertThat(underTest.get(JsonPointer.of("/things/thing:0"))).isNull();
+    }
+
+    @Test
+    public void selectorOfOneThingInvalidatesOnlyThatThing() {
+        final SelectionCache<Object> underTest = new SelectionCache<>(8);
+        put(underTest, THING_1);
+        put(underTest, THING_2);
+        put(underTest, JsonPointer.of("/things"));
+
+        underTest.invalidate(JsonPointerSelectors.jsonPointer("/things/org.eclipse.ditto:thing1/attributes"));
+
+        assertThat(underTest.get(THING_1)).isNull();
+        assertThat(underTest.get(THING_2)).isNotNull();
+        assertThat(underTest.get(JsonPointer.of("/things"))).isNull();
+        assertThat(underTest.getHits()).isEqualTo(1L);
+        assertThat(underTest.getMisses()).isEqualTo(2L);
+    }
+
+    @Test
+    public void templateSelectorInvalidatesAllThings() {
+        final SelectionCache<Object> underTest = new SelectionCache<>(8);
+        put(underTest, THING_1);
+        put(underTest, new JsonPointerWithChangePaths(JsonPointer.of("/things/org.eclipse.ditto:thing2"),
+                Collections.singletonList(JsonPointer.of("/attributes/foo"))));
+
+        underTest.invalidate(JsonPointerSelectors.jsonPointer("/things/{thingId}/attributes"));
+
+        assertThat(underTest.get(THING_1)).isNull();
+        assertThat(underTest.get(new JsonPointerWithChangePaths(JsonPointer.of("/things/org.eclipse.ditto:thing2"),
+                Collections.singletonList(JsonPointer.of("/attributes/foo"))))).isNull();
+    }
+
+    @Test
+    public void selectionComputedBeforeInvalidationIsNotServed() {
+        final SelectionCache<Object> underTest = new SelectionCache<>(8);
+        final SelectionCache.Stamp stamp = underTest.stamp(THING_1);
+
+        underTest.invalidate(JsonPointerSelectors.jsonPointer("/things/org.eclipse.ditto:thing1"));
+        underTest.put(THING_1, stamp, selection);
+
+        assertThat(underTest.get(THING_1)).isNull();
+    }
+
+    private void put(final SelectionCache<Object> cache, final JsonPointer pointer) {
+        cache.put(pointer, cache.stamp(pointer), selection);
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.live.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.eclipse.ditto.client.MutableClock;
+import org.eclipse.ditto.client.configuration.MessageChunkingConfiguration;
+import org.eclipse.ditto.client.live.messages.MessageSerializers;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.messages.Message;
+import org.eclipse.ditto.model.messages.MessageDirection;
+import org.eclipse.ditto.model.messages.MessageHeaders;
+import org.eclipse.ditto.model.messages.MessagesModelFactory;
+import org.eclipse.ditto.model.things.ThingId;
+import org.eclipse.ditto.protocoladapter.Adaptable;
+import org.eclipse.ditto.protocoladapter.DittoProtocolAdapter;
+import org.eclipse.ditto.protocoladapter.ProtocolFactory;
+import org.eclipse.ditto.protocoladapter.TopicPath;
+import org.eclipse.ditto.signals.commands.messages.SendThingMessage;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link MessageChunker} and {@link MessageAssembler}.
+ */
+public final class MessageAssemblerTest {
+
+    private static final ThingId THING_ID = ThingId.of("org.eclipse.ditto", "my-thing");
+    private static final String CORRELATION_ID = "4711";
+    private static final String CONTENT_TYPE = "application/vnd.eclipse.ditto+zip";
+
+    private static final MessageChunkingConfiguration CONFIGURATION = MessageChunkingConfiguration.newBuilder()
+            .chunkSize(1_000)
+            .maxMessageSize(10_000)
+            .maxPendingMessages(1)
+            .reassemblyTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private MutableClock clock;
+    private MessageChunker chunker;
+    private MessageAssembler underTest;
+
+    @Before
+    public void setUp() {
+        clock = new MutableClock();
+        chunker = MessageChunker.newInstance(CONFIGURATION);
+        underTest = MessageAssembler.newInstance(CONFIGURATION, clock);
+    }
+
+    @Test
+    public void chunksSentViaDittoProtocolAreReassembledInAnyOrder() {
+        final byte[] payload = randomBytes(4_500);
+        final Message<?> message = message(CORRELATION_ID, payload);
+        assertThat(chunker.isTooLarge(message)).isTrue();
+
+        final List<Message<?>> chunks = viaDittoProtocol(split(message));
+        assertThat(chunks).hasSize(5);
+        Collections.shuffle(chunks, new Random(42));
+
+        final List<Message<?>> reassembled = new ArrayList<>();
+        chunks.forEach(chunk -> underTest.add(chunk).ifPresent(reassembled::add));
+
+        assertThat(reassembled).hasSize(1);
+        final Message<?> result = reassembled.get(0);
+        assertThat(result.getContentType()).contains(CONTENT_TYPE);
+        assertThat(result.getCorrelationId()).contains(CORRELATION_ID);
+        assertThat(result.getSubject()).isEqualTo("upload");
+        assertThat(result.getHeaders()).doesNotContainKeys(MessageChunker.CHUNK_ID, MessageChunker.CHUNK_INDEX,
+                MessageChunker.CHUNK_COUNT, MessageChunker.CHUNK_SIZE, MessageChunker.TOTAL_SIZE,
+                MessageChunker.CONTENT_TYPE);
+        assertThat(readFully(result.getRawPayload().orElseThrow(AssertionError::new))).isEqualTo(payload);
+        assertThat(underTest.getPendingMessages()).isZero();
+    }
+
+    @Test
+    public void reassembledPayloadCanBeStreamed() throws IOException {
+        final byte[] payload = randomBytes(2_001);
+        final List<Message<?>> chunks = split(message(CORRELATION_ID, payload));
+
+        final Message<?> result = chunks.stream()
+                .map(underTest::add)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+
+        final ByteBuffer rawPayload = result.getRawPayload().orElseThrow(AssertionError::new);
+        try (final InputStream inputStream = MessageSerializers.applicationOctetStreamAsInputStream()
+                .getDeserializer()
+                .apply(rawPayload, null)) {
+            final byte[] streamed = new byte[payload.length];
+            int offset = 0;
+            int read;
+            while ((read = inputStream.read(streamed, offset, streamed.length - offset)) > 0) {
+                offset += read;
+            }
+            assertThat(offset).isEqualTo(payload.length);
+            assertThat(inputStream.read()).isEqualTo(-1);
+            assertThat(streamed).isEqualTo(payload);
+        }
+        assertThat(rawPayload.remaining()).isEqualTo(payload.length);
+    }
+
+    @Test
+    public void messagesWithoutChunkHeadersArePassedThrough() {
+        final Message<?> message = message(CORRELATION_ID, randomBytes(10));
+
+        assertThat(chunker.isTooLarge(message)).isFalse();
+        assertThat(underTest.add(message)).containsSame(message);
+    }
+
+    @Test
+    public void chunksOfTooLargeOrTooManyMessagesAreDiscarded() {
+        final List<Message<?>> tooLarge = split(message("too-large", randomBytes(10_001)));
+        final List<Message<?>> first = split(message("first", randomBytes(1_500)));
+        final List<Message<?>> second = split(message("second", randomBytes(1_500)));
+
+        assertThat(underTest.add(tooLarge.get(0))).isEmpty();
+        assertThat(underTest.getPendingMessages()).isZero();
+
+        assertThat(underTest.add(first.get(0))).isEmpty();
+        assertThat(underTest.add(second.get(0))).isEmpty();
+        assertThat(underTest.add(second.get(1))).isEmpty();
+        assertThat(underTest.add(first.get(1))).isPresent();
+        assertThat(underTest.getPendingMessages()).isZero();
+    }
+
+    @Test
+    public void incompleteMessagesExpire() {
+        final List<Message<?>> chunks = split(message(CORRELATION_ID, randomBytes(1_500)));
+
+        assertThat(underTest.add(chunks.get(0))).isEmpty();
+        clock.advance(Duration.ofSeconds(11));
+        assertThat(underTest.add(chunks.get(1))).isEmpty();
+
+        assertThat(underTest.getPendingMessages()).isEqualTo(1);
+        assertThat(underTest.add(chunks.get(0))).isPresent();
+    }
+
+    private List<Message<?>> split(final Message<?> message) {
+        final List<Message<?>> chunks = new ArrayList<>();
+        chunker.split(message, chunks::add);
+        return chunks;
+    }
+
+    private static List<Message<?>> viaDittoProtocol(final List<Message<?>> messages) {
+        final DittoProtocolAdapter protocolAdapter = DittoProtocolAdapter.newInstance();
+        final List<Message<?>> result = new ArrayList<>();
+        for (final Message<?> message : messages) {
+            final DittoHeaders dittoHeaders = DittoHeaders.newBuilder()
+                    .correlationId(message.getCorrelationId().orElseThrow(AssertionError::new))
+                    .build();
+            final Adaptable adaptable = protocolAdapter.toAdaptable(
+                    SendThingMessage.of(THING_ID, message, dittoHeaders), TopicPath.Channel.LIVE);
+            final String json = ProtocolFactory.wrapAsJsonifiableAdaptable(adaptable).toJsonString();
+            final SendThingMessage<?> received = (SendThingMessage<?>) protocolAdapter.fromAdaptable(
+                    ProtocolFactory.jsonifiableAdaptableFromJson(JsonFactory.newObject(json)));
+            result.add(received.getMessage());
+        }
+        return result;
+    }
+
+    private static Message<?> message(final String correlationId, final byte[] payload) {
+        final MessageHeaders headers = MessageHeaders.newBuilder(MessageDirection.TO, THING_ID, "upload")
+                .correlationId(correlationId)
+                .contentType(CONTENT_TYPE)
+                .build();
+        return MessagesModelFactory.<ByteBuffer>newMessageBuilder(headers)
+                .rawPayload(ByteBuffer.wrap(payload))
+                .build();
+    }
+
+    private static byte[] randomBytes(final int size) {
+        final byte[] result = new byte[size];
+        new Random(size).nextBytes(result);
+        return result;
+    }
+
+    private static byte[] readFully(final ByteBuffer byteBuffer) {
+        final byte[] result = new byte[byteBuffer.remaining()];
+        byteBuffer.duplicate().get(result);
+        return result;
+    }
+
+}
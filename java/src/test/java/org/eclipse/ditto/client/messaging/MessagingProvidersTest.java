@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.ditto.client.configuration.AuthenticationConfiguration;
+import org.eclipse.ditto.client.configuration.DummyAuthenticationConfiguration;
+import org.eclipse.ditto.client.configuration.MessagingConfiguration;
+import org.eclipse.ditto.client.configuration.WebSocketMessagingConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.neovisionaries.ws.client.WebSocket;
+
+/**
+ * Unit test for {@link MessagingProviders}.
+ */
+public final class MessagingProvidersTest {
+
+    private static final MessagingConfiguration CONFIGURATION = WebSocketMessagingConfiguration.newBuilder()
+            .endpoint("ws://localhost:8080")
+            .build();
+
+    private ExecutorService callbackExecutor;
+
+    @Before
+    public void setUp() {
+        callbackExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        callbackExecutor.shutdownNow();
+        callbackExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void eachSessionOfPoolDestroysItsOwnAuthenticationProvider() {
+        final List<CountingAuthenticationProvider> authenticationProviders = new ArrayList<>();
+        final MessagingProvider underTest = MessagingProviders.webSocketPool(CONFIGURATION, () -> {
+            final CountingAuthenticationProvider authenticationProvider = new CountingAuthenticationProvider();
+            authenticationProviders.add(authenticationProvider);
+            return authenticationProvider;
+        }, callbackExecutor, 3);
+
+        underTest.close();
+
+        assertThat(authenticationProviders).hasSize(3);
+        authenticationProviders.forEach(authenticationProvider ->
+                assertThat(authenticationProvider.destroyed).hasValue(1));
+    }
+
+    @Test
+    public void poolRejectsAuthenticationProviderSharedBySessions() {
+        final CountingAuthenticationProvider sharedProvider = new CountingAuthenticationProvider();
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> MessagingProviders.webSocketPool(CONFIGURATION, () -> sharedProvider,
+                        callbackExecutor, 2));
+        assertThat(sharedProvider.destroyed).hasValue(0);
+    }
+
+    private static final class CountingAuthenticationProvider implements AuthenticationProvider<WebSocket> {
+
+        private final AuthenticationProvider<WebSocket> delegate =
+                AuthenticationProviders.dummy(DummyAuthenticationConfiguration.newBuilder()
+                        .dummyUsername("test")
+                        .build());
+        private final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public AuthenticationConfiguration getConfiguration() {
+            return delegate.getConfiguration();
+        }
+
+        @Override
+        public void prepareAuthentication(final WebSocket channel) {
+            delegate.prepareAuthentication(channel);
+        }
+
+        @Override
+        public void destroy() {
+            destroyed.incrementAndGet();
+            delegate.destroy();
+        }
+
+    }
+
+}
@@ -12,6 +12,8 @@
  */
 package org.eclipse.ditto.client.messaging.internal;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
@@ -19,6 +21,11 @@ import static org.mockito.Mockito.verify;
 
 import java.time.Instant;
 import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.eclipse.ditto.client.configuration.AccessTokenAuthenticationConfiguration;
 import org.eclipse.ditto.model.jwt.ImmutableJsonWebToken;
@@ -39,6 +46,9 @@ public final class AccessTokenAuthenticationProviderTest {
     @Mock
     private WebSocket webSocket;
 
+    @Mock
+    private WebSocket otherWebSocket;
+
     @Test
     public void tokenRefreshIsCalledBeforeExpiry() {
         final AccessTokenAuthenticationProvider underTest = getAccessTokenAuthenticationProvider(6L);
@@ -61,6 +71,47 @@ public final class AccessTokenAuthenticationProviderTest {
         underTest.destroy();
     }
 
+    @Test
+    public void refreshedTokenIsOnlyHandedToTokenMessageSenders() throws InterruptedException {
+        final AccessTokenAuthenticationProvider underTest = getAccessTokenAuthenticationProvider(6L);
+        final CountDownLatch refreshed = new CountDownLatch(1);
+        underTest.addTokenMessageSender(tokenMessage -> refreshed.countDown());
+
+        underTest.prepareAuthentication(webSocket);
+        underTest.prepareAuthentication(otherWebSocket);
+
+        assertThat(refreshed.await(10L, TimeUnit.SECONDS)).isTrue();
+        verify(webSocket, never()).sendText(anyString());
+        verify(otherWebSocket, never()).sendText(anyString());
+
+        underTest.destroy();
+    }
+
+    @Test
+    public void tokenIsRefreshedOnceForSeveralPreparedWebSockets() throws InterruptedException {
+        final AccessTokenAuthenticationProvider underTest = getAccessTokenAuthenticationProvider(6L);
+        final List<String> tokenMessages = new CopyOnWriteArrayList<>();
+        final CountDownLatch refreshed = new CountDownLatch(1);
+        final Consumer<String> tokenMessageSender = tokenMessage -> {
+            tokenMessages.add(tokenMessage);
+            refreshed.countDown();
+        };
+        underTest.addTokenMessageSender(tokenMessageSender);
+
+        underTest.prepareAuthentication(webSocket);
+        underTest.prepareAuthentication(otherWebSocket);
+        underTest.prepareAuthentication(webSocket);
+
+        assertThat(refreshed.await(10L, TimeUnit.SECONDS)).isTrue();
+        // refresh chains per WebSocket would all have been due at the same time:
+        TimeUnit.MILLISECONDS.sleep(500L);
+        assertThat(tokenMessages).hasSize(1);
+        assertThat(tokenMessages.get(0)).startsWith("JWT-TOKEN?jwtToken=");
+
+        underTest.removeTokenMessageSender(tokenMessageSender);
+        underTest.destroy();
+    }
+
     private static AccessTokenAuthenticationProvider getAccessTokenAuthenticationProvider(final long exp) {
         return new AccessTokenAuthenticationProvider(AccessTokenAuthenticationConfiguration.newBuilder()
                 .identifier("bumlux")
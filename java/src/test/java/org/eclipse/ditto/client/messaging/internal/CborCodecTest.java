@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonParseException;
+import org.eclipse.ditto.json.JsonValue;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link CborCodec}. The expected encodings are taken from the examples of RFC 7049, appendix A.
+ */
+public final class CborCodecTest {
+
+    private static final JsonObject MESSAGE = JsonFactory.newObjectBuilder()
+            .set("topic", "org.eclipse.ditto/my-thing/things/twin/events/modified")
+            .set("headers", JsonFactory.newObjectBuilder()
+                    .set("correlation-id", "4711")
+                    .set("content-type", "application/json")
+                    .build())
+            .set("path", "/attributes")
+            .set("value", JsonFactory.newObjectBuilder()
+                    .set("int", 42)
+                    .set("long", 1_000_000_000_000L)
+                    .set("negative", -1_000)
+                    .set("double", 0.1)
+                    .set("float", 1.5)
+                    .set("boolean", true)
+                    .set("null", JsonFactory.nullLiteral())
+                    .set("unicode", "Häuser 東京 😀")
+                    .set("array", JsonFactory.newArrayBuilder().add(1, 2, 3).add("four").build())
+                    .set("empty", JsonFactory.newObject())
+                    .build())
+            .set("revision", 2)
+            .build();
+
+    @Test
+    public void encodeIntegers() {
+        assertThat(encode(JsonFactory.newValue(0))).isEqualTo("00");
+        assertThat(encode(JsonFactory.newValue(23))).isEqualTo("17");
+        assertThat(encode(JsonFactory.newValue(24))).isEqualTo("1818");
+        assertThat(encode(JsonFactory.newValue(1_000))).isEqualTo("1903e8");
+        assertThat(encode(JsonFactory.newValue(1_000_000))).isEqualTo("1a000f4240");
+        assertThat(encode(JsonFactory.newValue(1_000_000_000_000L))).isEqualTo("1b000000e8d4a51000");
+        assertThat(encode(JsonFactory.newValue(-1))).isEqualTo("20");
+        assertThat(encode(JsonFactory.newValue(-1_000))).isEqualTo("3903e7");
+    }
+
+    @Test
+    public void encodeFloatingPointNumbers() {
+        assertThat(encode(JsonFactory.newValue(1.1))).isEqualTo("fb3ff199999999999a");
+        assertThat(encode(JsonFactory.newValue(-4.5))).isEqualTo("fac0900000");
+    }
+
+    @Test
+    public void encodeLiteralsStringsAndContainers() {
+        assertThat(encode(JsonFactory.newValue(true))).isEqualTo("f5");
+        assertThat(encode(JsonFactory.nullLiteral())).isEqualTo("f6");
+        assertThat(encode(JsonFactory.newValue("ü"))).isEqualTo("62c3bc");
+        assertThat(encode(JsonFactory.readFrom("[1,[2,3],[4,5]]"))).isEqualTo("8301820203820405");
+        assertThat(encode(JsonFactory.readFrom("{\"a\":1,\"b\":[2,3]}"))).isEqualTo("a26161016162820203");
+    }
+
+    @Test
+    public void decodeWhatWasEncoded() {
+        assertThat(CborCodec.decode(CborCodec.encode(MESSAGE))).isEqualTo(MESSAGE);
+    }
+
+    @Test
+    public void decodeHalfPrecisionIndefiniteLengthAndTaggedItems() {
+        assertThat(decode("f93e00")).isEqualTo(JsonFactory.newValue(1.5));
+        assertThat(decode("f9c400")).isEqualTo(JsonFactory.newValue(-4.0));
+        assertThat(decode("7f657374726561646d696e67ff")).isEqualTo(JsonFactory.newValue("streaming"));
+        assertThat(decode("9f018202039f0405ffff")).isEqualTo(JsonFactory.readFrom("[1,[2,3],[4,5]]"));
+        assertThat(decode("bf61610161629f0203ffff")).isEqualTo(JsonFactory.readFrom("{\"a\":1,\"b\":[2,3]}"));
+        assertThat(decode("c11a514b67b0")).isEqualTo(JsonFactory.newValue(1363896240));
+        assertThat(decode("f7")).isEqualTo(JsonFactory.nullLiteral());
+    }
+
+    @Test
+    public void decodeMalformedData() {
+        assertThatExceptionOfType(JsonParseException.class).isThrownBy(() -> decode("4401020304"));
+        assertThatExceptionOfType(JsonParseException.class).isThrownBy(() -> decode("6261"));
+        assertThatExceptionOfType(JsonParseException.class).isThrownBy(() -> decode("0102"));
+        assertThatExceptionOfType(JsonParseException.class).isThrownBy(() -> decode("a10102"));
+        assertThatExceptionOfType(JsonParseException.class).isThrownBy(() -> decode("1bffffffffffffffff"));
+    }
+
+    @Test
+    public void findTextWithoutDecoding() {
+        final byte[] cbor = CborCodec.encode(MESSAGE);
+
+        assertThat(CborCodec.findText(cbor, "topic"))
+                .isEqualTo("org.eclipse.ditto/my-thing/things/twin/events/modified");
+        assertThat(CborCodec.findText(cbor, "headers", "correlation-id")).isEqualTo("4711");
+        assertThat(CborCodec.findText(cbor, "revision")).isNull();
+        assertThat(CborCodec.findText(cbor, "status")).isNull();
+        assertThat(CborCodec.findText(cbor, "topic", "correlation-id")).isNull();
+        assertThat(CborCodec.findText(hexToBytes("bf6161616265746f7069636178ff"), "topic")).isEqualTo("x");
+        assertThat(CborCodec.findText(hexToBytes("a2"), "topic")).isNull();
+    }
+
+    private static String encode(final JsonValue jsonValue) {
+        final StringBuilder stringBuilder = new StringBuilder();
+        for (final byte b : CborCodec.encode(jsonValue)) {
+            stringBuilder.append(String.format("%02x", b & 0xff));
+        }
+        return stringBuilder.toString();
+    }
+
+    private static JsonValue decode(final String hex) {
+        return CborCodec.decode(hexToBytes(hex));
+    }
+
+    private static byte[] hexToBytes(final String hex) {
+        final byte[] result = new byte[hex.length() / 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return result;
+    }
+
+}
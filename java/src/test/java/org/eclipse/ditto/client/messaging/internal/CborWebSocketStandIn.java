@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.json.JsonObject;
+
+/**
+ * A minimal local stand-in for the Ditto WebSocket endpoint which speaks the CBOR wire encoding. It accepts one
+ * connection at a time, records and acknowledges protocol commands like {@code START-SEND-EVENTS}, records all CBOR
+ * encoded messages it receives and answers them with the responses of a responder function.
+ */
+final class CborWebSocketStandIn implements AutoCloseable {
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 5L;
+    private static final long CLOSE_ECHO_DELAY_MILLIS = 200L;
+    private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    private static final int OPCODE_TEXT = 0x1;
+    private static final int OPCODE_BINARY = 0x2;
+    private static final int OPCODE_CLOSE = 0x8;
+    private static final int OPCODE_PING = 0x9;
+    private static final int OPCODE_PONG = 0xa;
+
+    private final ServerSocket serverSocket;
+    private final Function<JsonObject, JsonObject> responder;
+    private final BlockingQueue<JsonObject> receivedMessages;
+    private final BlockingQueue<String> receivedCommands;
+    private final Thread acceptThread;
+    @Nullable private volatile Socket connection;
+    private volatile CountDownLatch closed;
+
+    private CborWebSocketStandIn(final ServerSocket serverSocket, final Function<JsonObject, JsonObject> responder) {
+        this.serverSocket = serverSocket;
+        this.responder = responder;
+        receivedMessages = new LinkedBlockingQueue<>();
+        receivedCommands = new LinkedBlockingQueue<>();
+        acceptThread = new Thread(this::acceptConnections, "cbor-stand-in");
+        acceptThread.setDaemon(true);
+        closed = new CountDownLatch(0);
+    }
+
+    /**
+     * Starts a stand-in on a free port of the loopback interface.
+     *
+     * @param responder returns the response to a received message or {@code null} if there is none.
+     * @return the started stand-in.
+     * @throws IOException if the server socket cannot be opened.
+     */
+    static CborWebSocketStandIn start(final Function<JsonObject, JsonObject> responder) throws IOException {
+        final CborWebSocketStandIn result =
+                new CborWebSocketStandIn(new ServerSocket(0, 1, InetAddress.getLoopbackAddress()), responder);
+        result.acceptThread.start();
+        return result;
+    }
+
+    String getEndpoint() {
+        return "ws://" + serverSocket.getInetAddress().getHostAddress() + ":" + serverSocket.getLocalPort();
+    }
+
+    BlockingQueue<JsonObject> getReceivedMessages() {
+        return receivedMessages;
+    }
+
+    /**
+     * @return the received protocol commands without their parameters.
+     */
+    BlockingQueue<String> getReceivedCommands() {
+        return receivedCommands;
+    }
+
+    boolean isConnected() {
+        return null != connection;
+    }
+
+    /**
+     * Resets the connection to the client as if the network failed.
+     */
+    void dropConnection() throws IOException {
+        final Socket socket = connection;
+        if (null != socket) {
+            socket.setSoLinger(true, 0);
+            socket.close();
+        }
+    }
+
+    /**
+     * Sends the passed message CBOR encoded to the connected client.
+     */
+    void push(final JsonObject message) throws IOException {
+        final Socket socket = connection;
+        if (null == socket) {
+            throw new IllegalStateException("No client is connected.");
+        }
+        writeFrame(socket, OPCODE_BINARY, CborCodec.encode(message));
+    }
+
+    /**
+     * Stops accepting connections and waits for a connected client to complete its closing handshake before closing
+     * the connection.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        final Socket socket = connection;
+        if (null != socket) {
+            try {
+                closed.await(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            socket.close();
+        }
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try (final Socket socket = serverSocket.accept()) {
+                handshake(socket);
+                closed = new CountDownLatch(1);
+                connection = socket;
+                readFrames(socket);
+            } catch (final IOException e) {
+                // the client or the stand-in closed the connection
+            } finally {
+                connection = null;
+                closed.countDown();
+            }
+        }
+    }
+
+    private static void handshake(final Socket socket) throws IOException {
+        String key = null;
+        for (final String line : readRequestHeader(socket.getInputStream()).split("\r\n")) {
+            final int colon = line.indexOf(':');
+            if (colon > 0 && "sec-websocket-key".equalsIgnoreCase(line.substring(0, colon).trim())) {
+                key = line.substring(colon + 1).trim();
+            }
+        }
+        if (null == key) {
+            throw new IOException("Missing Sec-WebSocket-Key header.");
+        }
+        final String response = "HTTP/1.1 101 Switching Protocols\r\n" +
+                "Upgrade: websocket\r\n" +
+                "Connection: Upgrade\r\n" +
+                "Sec-WebSocket-Accept: " + acceptKey(key) + "\r\n\r\n";
+        final OutputStream outputStream = socket.getOutputStream();
+        outputStream.write(response.getBytes(StandardCharsets.ISO_8859_1));
+        outputStream.flush();
+    }
+
+    private static String readRequestHeader(final InputStream inputStream) throws IOException {
+        // read byte by byte in order not to consume anything after the header:
+        final StringBuilder stringBuilder = new StringBuilder();
+        while (!stringBuilder.toString().endsWith("\r\n\r\n")) {
+            final int b = inputStream.read();
+            if (b < 0) {
+                throw new EOFException("Connection closed during handshake.");
+            }
+            stringBuilder.append((char) b);
+        }
+        return stringBuilder.toString();
+    }
+
+    private static String acceptKey(final String key) {
+        try {
+            final MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            final byte[] digest = sha1.digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.ISO_8859_1));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void readFrames(final Socket socket) throws IOException {
+        final DataInputStream inputStream = new DataInputStream(socket.getInputStream());
+        while (true) {
+            final int opcode = inputStream.readUnsignedByte() & 0x0f;
+            final int secondByte = inputStream.readUnsignedByte();
+            long length = secondByte & 0x7f;
+            if (126 == length) {
+                length = inputStream.readUnsignedShort();
+            } else if (127 == length) {
+                length = inputStream.readLong();
+            }
+            final byte[] mask = new byte[4];
+            if (0 != (secondByte & 0x80)) {
+                inputStream.readFully(mask);
+            }
+            final byte[] payload = new byte[(int) length];
+            inputStream.readFully(payload);
+            for (int i = 0; i < payload.length; i++) {
+                payload[i] ^= mask[i % 4];
+            }
+            switch (opcode) {
+                case OPCODE_TEXT:
+                    onProtocolCommand(socket, new String(payload, StandardCharsets.UTF_8));
+                    break;
+                case OPCODE_BINARY:
+                    onMessage(socket, CborCodec.decode(payload).asObject());
+                    break;
+                case OPCODE_PING:
+                    writeFrame(socket, OPCODE_PONG, payload);
+                    break;
+                case OPCODE_CLOSE:
+                    // the client's reading thread must not finish before the client requested it to stop, otherwise
+                    // the WebSocket library starts a close timer thread which is never cancelled:
+                    sleepBeforeEchoingClose();
+                    writeFrame(socket, OPCODE_CLOSE, payload);
+                    return;
+                default:
+                    // continuation frames are not needed by the tests
+            }
+        }
+    }
+
+    private static void sleepBeforeEchoingClose() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(CLOSE_ECHO_DELAY_MILLIS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void onProtocolCommand(final Socket socket, final String command) throws IOException {
+        final int parameterIndex = command.indexOf('?');
+        final String commandWithoutParameters = parameterIndex < 0 ? command : command.substring(0, parameterIndex);
+        receivedCommands.add(commandWithoutParameters);
+        writeFrame(socket, OPCODE_TEXT, (commandWithoutParameters + ":ACK").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void onMessage(final Socket socket, final JsonObject message) throws IOException {
+        receivedMessages.add(message);
+        final JsonObject response = responder.apply(message);
+        if (null != response) {
+            writeFrame(socket, OPCODE_BINARY, CborCodec.encode(response));
+        }
+    }
+
+    private static void writeFrame(final Socket socket, final int opcode, final byte[] payload) throws IOException {
+        synchronized (socket) {
+            final OutputStream outputStream = socket.getOutputStream();
+            outputStream.write(0x80 | opcode);
+            if (payload.length < 126) {
+                outputStream.write(payload.length);
+            } else if (payload.length <= 0xffff) {
+                outputStream.write(126);
+                outputStream.write(payload.length >>> 8);
+                outputStream.write(payload.length);
+            } else {
+                outputStream.write(127);
+                for (int i = 7; i >= 0; i--) {
+                    outputStream.write((int) ((long) payload.length >>> (8 * i)));
+                }
+            }
+            outputStream.write(payload);
+            outputStream.flush();
+        }
+    }
+
+}
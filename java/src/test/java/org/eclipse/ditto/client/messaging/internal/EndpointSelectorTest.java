@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link EndpointSelector}.
+ */
+public final class EndpointSelectorTest {
+
+    private static final URI A = URI.create("wss://a.example.com/ws/2");
+    private static final URI B = URI.create("wss://b.example.com/ws/2");
+    private static final URI C = URI.create("wss://c.example.com/ws/2");
+
+    @Test
+    public void singleEndpointIsReturnedWithoutProbing() {
+        final EndpointSelector underTest =
+                EndpointSelector.newInstance(Collections.singletonList(A), true, Duration.ofSeconds(1));
+
+        assertThat(underTest.rank()).containsExactly(A);
+    }
+
+    @Test
+    public void reachableEndpointsAreRankedBeforeUnreachableOnes() throws IOException {
+        final int closedPort;
+        try (final ServerSocket closedServerSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            closedPort = closedServerSocket.getLocalPort();
+        }
+        try (final ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            final URI unreachable = URI.create("ws://127.0.0.1:" + closedPort + "/ws/2");
+            final URI reachable = URI.create("ws://127.0.0.1:" + serverSocket.getLocalPort() + "/ws/2");
+            final EndpointSelector underTest =
+                    EndpointSelector.newInstance(Arrays.asList(unreachable, reachable), true, Duration.ofSeconds(5));
+
+            assertThat(underTest.rank()).containsExactly(reachable, unreachable);
+        }
+    }
+
+    @Test
+    public void withoutProbingMeasuredLatenciesDetermineTheOrder() {
+        final List<URI> endpoints = Arrays.asList(A, B, C);
+        final EndpointSelector underTest = EndpointSelector.newInstance(endpoints, false, Duration.ofSeconds(1));
+
+        assertThat(underTest.rank()).containsExactly(A, B, C);
+
+        underTest.latencyMeasured(C, TimeUnit.MILLISECONDS.toNanos(5));
+        underTest.latencyMeasured(B, TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(underTest.rank()).containsExactly(C, B, A);
+
+        underTest.failed(C);
+        assertThat(underTest.rank()).containsExactly(B, A, C);
+    }
+
+    @Test
+    public void recentLatenciesWeighMore() {
+        final EndpointSelector underTest = EndpointSelector.newInstance(Arrays.asList(A, B), false,
+                Duration.ofSeconds(1));
+        underTest.latencyMeasured(A, TimeUnit.MILLISECONDS.toNanos(10));
+        underTest.latencyMeasured(B, TimeUnit.MILLISECONDS.toNanos(30));
+
+        for (int i = 0; i < 5; i++) {
+            underTest.latencyMeasured(A, TimeUnit.MILLISECONDS.toNanos(50));
+        }
+
+        assertThat(underTest.rank()).containsExactly(B, A);
+    }
+
+}
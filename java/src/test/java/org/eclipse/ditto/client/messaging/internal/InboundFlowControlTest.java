@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.client.configuration.InboundFlowControlConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link InboundFlowControl}.
+ */
+public final class InboundFlowControlTest {
+
+    private static final InboundFlowControlConfiguration CONFIGURATION = InboundFlowControlConfiguration.newBuilder()
+            .highWatermark(4)
+            .lowWatermark(1)
+            .build();
+
+    private ExecutorService readerExecutor;
+
+    @Before
+    public void setUp() {
+        readerExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "reader"));
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        readerExecutor.shutdownNow();
+        readerExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void readingWaitsUntilLowWatermarkIsReached() throws Exception {
+        final InboundFlowControl underTest = InboundFlowControl.newInstance(CONFIGURATION);
+        final List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            tasks.add(underTest.received(() -> {}));
+        }
+        assertThat(underTest.isAboveHighWatermark()).isTrue();
+
+        final CompletableFuture<Void> resumed = CompletableFuture.runAsync(underTest::awaitLowWatermark, readerExecutor);
+        tasks.get(0).run();
+        tasks.get(1).run();
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertThat(resumed).isNotDone();
+
+        tasks.get(2).run();
+        resumed.get(5, TimeUnit.SECONDS);
+        assertThat(underTest.getUnhandled()).isEqualTo(1);
+        assertThat(underTest.isAboveHighWatermark()).isFalse();
+    }
+
+    @Test
+    public void failingTaskIsCountedAsHandled() {
+        final InboundFlowControl underTest = InboundFlowControl.newInstance(CONFIGURATION);
+        final Runnable task = underTest.received(() -> {
+            throw new IllegalStateException("handler failed");
+        });
+
+        try {
+            task.run();
+        } catch (final IllegalStateException e) {
+            // expected
+        }
+
+        assertThat(underTest.getUnhandled()).isZero();
+    }
+
+    @Test
+    public void closeReleasesWaitingReader() throws Exception {
+        final InboundFlowControl underTest = InboundFlowControl.newInstance(CONFIGURATION);
+        for (int i = 0; i < 4; i++) {
+            underTest.received(() -> {});
+        }
+        final CompletableFuture<Void> resumed = CompletableFuture.runAsync(underTest::awaitLowWatermark, readerExecutor);
+
+        underTest.close();
+
+        resumed.get(5, TimeUnit.SECONDS);
+        assertThat(underTest.isAboveHighWatermark()).isFalse();
+    }
+
+    @Test
+    public void lowWatermarkMustBeLessThanHighWatermark() {
+        assertThatIllegalArgumentException().isThrownBy(() -> InboundFlowControlConfiguration.newBuilder()
+                .highWatermark(10)
+                .lowWatermark(10)
+                .build());
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.ditto.client.configuration.KeepAliveConfiguration;
+import org.junit.After;
+import org.junit.Test;
+
+import com.neovisionaries.ws.client.WebSocket;
+import com.neovisionaries.ws.client.WebSocketFrame;
+
+/**
+ * Unit test for {@link KeepAlive}.
+ */
+public final class KeepAliveTest {
+
+    private static final KeepAliveConfiguration CONFIGURATION = KeepAliveConfiguration.newBuilder()
+            .interval(Duration.ofMillis(20))
+            .maxMissedPongs(3)
+            .build();
+
+    private final WebSocketMessagingMetrics metrics = new WebSocketMessagingMetrics(() -> 0);
+    private KeepAlive underTest;
+
+    @After
+    public void tearDown() {
+        if (null != underTest) {
+            underTest.shutdown();
+        }
+    }
+
+    @Test
+    public void connectionWithoutPongsIsHandedToDeadConnectionHandler() throws Exception {
+        final CompletableFuture<WebSocket> deadConnection = new CompletableFuture<>();
+        underTest = KeepAlive.newInstance(CONFIGURATION, metrics, deadConnection::complete);
+        final WebSocket webSocket = mock(WebSocket.class);
+
+        underTest.start(webSocket);
+
+        assertThat(deadConnection.get(5, TimeUnit.SECONDS)).isSameAs(webSocket);
+        assertThat(metrics.getMissedPongs()).isEqualTo(3);
+        assertThat(metrics.getRoundTripTimes().getCount()).isZero();
+    }
+
+    @Test
+    public void answeredPingsRecordRoundTripTimes() throws Exception {
+        final CompletableFuture<WebSocket> deadConnection = new CompletableFuture<>();
+        underTest = KeepAlive.newInstance(CONFIGURATION, metrics, deadConnection::complete);
+        final WebSocket webSocket = mock(WebSocket.class);
+        doAnswer(invocation -> {
+            final WebSocketFrame ping = invocation.getArgument(0);
+            underTest.pongReceived(ping.getPayload());
+            return webSocket;
+        }).when(webSocket).sendFrame(any(WebSocketFrame.class));
+
+        underTest.start(webSocket);
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        assertThat(deadConnection).isNotDone();
+        assertThat(metrics.getMissedPongs()).isZero();
+        assertThat(metrics.getRoundTripTimes().getCount()).isPositive();
+    }
+
+    @Test
+    public void unmatchedPongsAreIgnored() throws Exception {
+        final CompletableFuture<WebSocket> deadConnection = new CompletableFuture<>();
+        underTest = KeepAlive.newInstance(CONFIGURATION, metrics, deadConnection::complete);
+        final WebSocket webSocket = mock(WebSocket.class);
+        final AtomicReference<byte[]> firstPayload = new AtomicReference<>();
+        doAnswer(invocation -> {
+            final WebSocketFrame ping = invocation.getArgument(0);
+            firstPayload.compareAndSet(null, ping.getPayload());
+            // answers each ping with the pong of the first one and an unsolicited pong:
+            underTest.pongReceived(firstPayload.get());
+            underTest.pongReceived(new byte[]{1, 2, 3});
+            return webSocket;
+        }).when(webSocket).sendFrame(any(WebSocketFrame.class));
+
+        underTest.start(webSocket);
+
+        assertThat(deadConnection.get(5, TimeUnit.SECONDS)).isSameAs(webSocket);
+        assertThat(metrics.getRoundTripTimes().getCount()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.ditto.client.MutableClock;
+import org.eclipse.ditto.client.configuration.OfflineBufferConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link OfflineBuffer}.
+ */
+public final class OfflineBufferTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private MutableClock clock;
+
+    @Before
+    public void setUp() {
+        clock = new MutableClock();
+    }
+
+    @Test
+    public void messagesExceedingCapacityAreRejectedWithoutSpillDirectory() {
+        final OfflineBuffer underTest = OfflineBuffer.newInstance(OfflineBufferConfiguration.newBuilder()
+                .capacity(2)
+                .build(), clock);
+
+        assertThat(underTest.add("1")).isTrue();
+        assertThat(underTest.add("2")).isTrue();
+        assertThat(underTest.add("3")).isFalse();
+        assertThat(drain(underTest)).containsExactly("1", "2");
+        assertThat(underTest.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void messagesExceedingCapacityAreSpilledAndPolledInOrder() throws IOException {
+        final File spillDirectory = temporaryFolder.newFolder();
+        final OfflineBuffer underTest = OfflineBuffer.newInstance(OfflineBufferConfiguration.newBuilder()
+                .capacity(10)
+                .spillDirectory(spillDirectory.toPath())
+                .segmentSize(128)
+                .maxSegments(100)
+                .build(), clock);
+        final List<String> messages = IntStream.range(0, 200)
+                .mapToObj(i -> "{\"message\":" + i + "}")
+                .collect(Collectors.toList());
+
+        messages.forEach(message -> assertThat(underTest.add(message)).isTrue());
+        assertThat(spillDirectory.list()).isNotEmpty();
+
+        assertThat(drain(underTest)).isEqualTo(messages);
+        assertThat(spillDirectory.list()).isEmpty();
+    }
+
+    @Test
+    public void messagesAreRejectedIfAllSegmentsAreFull() throws IOException {
+        final OfflineBuffer underTest = OfflineBuffer.newInstance(OfflineBufferConfiguration.newBuilder()
+                .capacity(1)
+                .spillDirectory(temporaryFolder.newFolder().toPath())
+                .segmentSize(32)
+                .maxSegments(1)
+                .build(), clock);
+
+        assertThat(underTest.add("in memory")).isTrue();
+        assertThat(underTest.add("spilled")).isTrue();
+        assertThat(underTest.add("rejected")).isFalse();
+        assertThat(underTest.add("a message too large for a segment")).isFalse();
+        assertThat(drain(underTest)).containsExactly("in memory", "spilled");
+    }
+
+    @Test
+    public void expiredMessagesAreRemovedFromMemoryAndSegments() throws IOException {
+        final OfflineBuffer underTest = OfflineBuffer.newInstance(OfflineBufferConfiguration.newBuilder()
+                .capacity(1)
+                .timeToLive(Duration.ofSeconds(10))
+                .spillDirectory(temporaryFolder.newFolder().toPath())
+                .build(), clock);
+
+        underTest.add("1");
+        underTest.add("2");
+        clock.advance(Duration.ofSeconds(5));
+        underTest.add("3");
+        clock.advance(Duration.ofSeconds(6));
+
+        assertThat(underTest.removeExpired()).containsExactly("1", "2");
+        assertThat(drain(underTest)).containsExactly("3");
+    }
+
+    private static List<String> drain(final OfflineBuffer offlineBuffer) {
+        final List<String> result = new ArrayList<>();
+        String message;
+        while (null != (message = offlineBuffer.poll())) {
+            result.add(message);
+        }
+        return result;
+    }
+
+}
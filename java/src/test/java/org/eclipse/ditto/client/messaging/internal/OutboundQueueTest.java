@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link OutboundQueue}.
+ */
+public final class OutboundQueueTest {
+
+    private OutboundQueue<Integer> underTest;
+
+    @After
+    public void tearDown() {
+        if (null != underTest) {
+            underTest.shutdown();
+        }
+    }
+
+    @Test
+    public void tryToCreateInstanceWithoutCapacity() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> OutboundQueue.<Integer>newInstance(0, 1, "test-send", batch -> {}));
+    }
+
+    @Test
+    public void framesAreWrittenInOrderByWriterThread() throws InterruptedException {
+        final int frameCount = 1_000;
+        final List<Integer> written = new CopyOnWriteArrayList<>();
+        final List<String> threadNames = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(frameCount);
+        underTest = OutboundQueue.newInstance(frameCount, 16, "test-send", batch -> {
+            assertThat(batch).hasSizeLessThanOrEqualTo(16);
+            threadNames.add(Thread.currentThread().getName());
+            batch.forEach(frame -> {
+                written.add(frame);
+                latch.countDown();
+            });
+        });
+
+        IntStream.range(0, frameCount).forEach(i -> assertThat(underTest.offer(i)).isTrue());
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(written).isEqualTo(IntStream.range(0, frameCount).boxed().collect(Collectors.toList()));
+        assertThat(threadNames.stream().distinct()).hasSize(1);
+        assertThat(threadNames.get(0)).startsWith("test-send");
+    }
+
+    @Test
+    public void offerFailsWithoutBlockingIfQueueIsFull() throws InterruptedException {
+        final CountDownLatch writerBlocked = new CountDownLatch(1);
+        final CountDownLatch releaseWriter = new CountDownLatch(1);
+        underTest = OutboundQueue.newInstance(2, 1, "test-send", batch -> {
+            writerBlocked.countDown();
+            try {
+                releaseWriter.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThat(underTest.offer(1)).isTrue();
+        assertThat(writerBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(underTest.offer(2)).isTrue();
+        assertThat(underTest.offer(3)).isTrue();
+        assertThat(underTest.offer(4)).isFalse();
+        assertThat(underTest.size()).isEqualTo(2);
+        assertThat(underTest.capacity()).isEqualTo(2);
+
+        releaseWriter.countDown();
+    }
+
+    @Test
+    public void offerFailsAfterShutdown() {
+        underTest = OutboundQueue.newInstance(2, 1, "test-send", batch -> {});
+        underTest.shutdown();
+
+        assertThat(underTest.offer(1)).isFalse();
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Inflater;
+
+import org.eclipse.ditto.client.configuration.CompressionConfiguration;
+import org.junit.Test;
+
+import com.neovisionaries.ws.client.WebSocket;
+import com.neovisionaries.ws.client.WebSocketExtension;
+import com.neovisionaries.ws.client.WebSocketFrame;
+
+/**
+ * Unit test for {@link PerMessageDeflater}.
+ */
+public final class PerMessageDeflaterTest {
+
+    private static final String LARGE_MESSAGE = repeat("{\"topic\":\"org.eclipse.ditto/thing/things/twin/events/" +
+            "modified\",\"path\":\"/attributes/location\",\"value\":{\"lat\":47.68,\"lon\":9.38}}", 20);
+
+    @Test
+    public void extensionOfferContainsWindowBits() {
+        assertThat(PerMessageDeflater.extensionOffer(CompressionConfiguration.newBuilder().build()).toString())
+                .isEqualTo("permessage-deflate; client_max_window_bits");
+        assertThat(PerMessageDeflater.extensionOffer(CompressionConfiguration.newBuilder()
+                .clientMaxWindowBits(10)
+                .serverMaxWindowBits(12)
+                .build()).toString())
+                .isEqualTo("permessage-deflate; client_max_window_bits=10; server_max_window_bits=12");
+    }
+
+    @Test
+    public void frameIsUnchangedIfExtensionWasNotAgreed() {
+        final WebSocketFrame frame = WebSocketFrame.createTextFrame(LARGE_MESSAGE);
+
+        final WebSocketFrame deflated = PerMessageDeflater.newInstance().deflate(mockWebSocket(), frame);
+
+        assertThat(deflated).isSameAs(frame);
+        assertThat(frame.getRsv1()).isFalse();
+        assertThat(frame.getPayloadText()).isEqualTo(LARGE_MESSAGE);
+    }
+
+    @Test
+    public void compressedCopyOfFrameIsReturned() throws Exception {
+        final WebSocketFrame frame = WebSocketFrame.createTextFrame(LARGE_MESSAGE);
+
+        final WebSocketFrame deflated =
+                PerMessageDeflater.newInstance().deflate(mockWebSocket("permessage-deflate"), frame);
+
+        assertThat(deflated).isNotSameAs(frame);
+        assertThat(deflated.isTextFrame()).isTrue();
+        assertThat(deflated.getRsv1()).isTrue();
+        assertThat(deflated.getFin()).isTrue();
+        assertThat(deflated.getPayloadLength()).isLessThan(LARGE_MESSAGE.length() / 4);
+        assertThat(inflate(deflated.getPayload())).isEqualTo(LARGE_MESSAGE);
+        assertThat(frame.getRsv1()).isFalse();
+        assertThat(frame.getPayloadText()).isEqualTo(LARGE_MESSAGE);
+    }
+
+    @Test
+    public void smallFrameWhichDoesNotGetSmallerIsUnchanged() {
+        final WebSocketFrame frame = WebSocketFrame.createTextFrame("{}");
+
+        final WebSocketFrame deflated =
+                PerMessageDeflater.newInstance().deflate(mockWebSocket("permessage-deflate"), frame);
+
+        assertThat(deflated).isSameAs(frame);
+        assertThat(frame.getRsv1()).isFalse();
+    }
+
+    @Test
+    public void frameExceedingAgreedClientWindowIsNotCompressed() {
+        final WebSocketFrame frame = WebSocketFrame.createTextFrame(LARGE_MESSAGE);
+
+        final WebSocketFrame deflated = PerMessageDeflater.newInstance()
+                .deflate(mockWebSocket("permessage-deflate; client_max_window_bits=8"), frame);
+
+        assertThat(deflated).isSameAs(frame);
+        assertThat(frame.getRsv1()).isFalse();
+    }
+
+    @Test
+    public void compressedPayloadsAreIndependentOfEachOther() throws Exception {
+        final PerMessageDeflater underTest = PerMessageDeflater.newInstance();
+        final byte[] payload = LARGE_MESSAGE.getBytes(StandardCharsets.UTF_8);
+
+        final byte[] first = underTest.compress(payload);
+        final byte[] second = underTest.compress(payload);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(inflate(second)).isEqualTo(LARGE_MESSAGE);
+        underTest.close();
+    }
+
+    @Test
+    public void concurrentCompressionsDoNotInterfere() throws Exception {
+        final PerMessageDeflater underTest = PerMessageDeflater.newInstance();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                final byte[] payload = (LARGE_MESSAGE + i).getBytes(StandardCharsets.UTF_8);
+                results.add(executor.submit(() -> inflate(underTest.compress(payload))));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i).get(5, TimeUnit.SECONDS)).isEqualTo(LARGE_MESSAGE + i);
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+            underTest.close();
+        }
+    }
+
+    private static WebSocket mockWebSocket(final String... agreedExtensions) {
+        final WebSocket webSocket = mock(WebSocket.class);
+        final List<WebSocketExtension> extensions = agreedExtensions.length == 0
+                ? Collections.emptyList()
+                : Collections.singletonList(WebSocketExtension.parse(agreedExtensions[0]));
+        when(webSocket.getAgreedExtensions()).thenReturn(extensions);
+        return webSocket;
+    }
+
+    private static String inflate(final byte[] compressed) throws Exception {
+        final Inflater inflater = new Inflater(true);
+        inflater.setInput(compressed);
+        // the stripped trailing empty block is not needed as the data was flushed
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int length;
+        while ((length = inflater.inflate(buffer)) > 0) {
+            result.write(buffer, 0, length);
+        }
+        inflater.end();
+        return new String(result.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String repeat(final String value, final int times) {
+        final StringBuilder result = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            result.append(value);
+        }
+        return result.toString();
+    }
+
+}
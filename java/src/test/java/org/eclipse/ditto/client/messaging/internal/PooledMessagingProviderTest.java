@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.ditto.client.management.CommonManagement;
+import org.eclipse.ditto.client.messaging.MessagingProvider;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.things.ThingId;
+import org.eclipse.ditto.protocoladapter.Adaptable;
+import org.eclipse.ditto.protocoladapter.DittoProtocolAdapter;
+import org.eclipse.ditto.protocoladapter.TopicPath;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThing;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link PooledMessagingProvider}.
+ */
+public final class PooledMessagingProviderTest {
+
+    private static final String HANDLER = "handler";
+
+    private List<MessagingProvider> sessions;
+    private PooledMessagingProvider underTest;
+
+    @Before
+    public void setUp() {
+        sessions = IntStream.range(0, 4)
+                .mapToObj(i -> newSession())
+                .collect(Collectors.toList());
+        underTest = PooledMessagingProvider.newInstance(sessions);
+    }
+
+    private static MessagingProvider newSession() {
+        final MessagingProvider session = mock(MessagingProvider.class);
+        doAnswer(invocation -> {
+            invocation.<CompletableFuture<Void>>getArgument(3).complete(null);
+            return true;
+        }).when(session).registerMessageHandler(any(), anyMap(), any(), any());
+        doAnswer(invocation -> {
+            invocation.<CompletableFuture<Void>>getArgument(1).complete(null);
+            return null;
+        }).when(session).deregisterMessageHandler(any(), any());
+        return session;
+    }
+
+    @Test
+    public void commandsForTheSameThingAreSentViaTheSameSession() {
+        final Set<MessagingProvider> usedSessions = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            final ThingId thingId = ThingId.of("org.eclipse.ditto", "thing-" + i);
+            final RetrieveThing command = RetrieveThing.of(thingId, DittoHeaders.empty());
+            final MessagingProvider session = underTest.sessionFor(thingId);
+
+            underTest.sendCommand(command, TopicPath.Channel.TWIN);
+            underTest.sendCommand(command, TopicPath.Channel.TWIN);
+
+            verify(session, times(2)).sendCommand(command, TopicPath.Channel.TWIN);
+            usedSessions.add(session);
+        }
+        assertThat(usedSessions).containsExactlyInAnyOrderElementsOf(sessions);
+    }
+
+    @Test
+    public void adaptableIsSentViaTheSessionOfItsThing() {
+        final ThingId thingId = ThingId.of("org.eclipse.ditto", "my-thing");
+        final Adaptable adaptable = DittoProtocolAdapter.newInstance()
+                .toAdaptable(RetrieveThing.of(thingId, DittoHeaders.empty()), TopicPath.Channel.TWIN);
+
+        underTest.sendAdaptable(adaptable);
+
+        verify(underTest.sessionFor(thingId)).sendAdaptable(adaptable);
+    }
+
+    @Test
+    public void subscriptionsWithoutNamespacesAreAssignedToOneSessionEach() {
+        underTest.registerMessageHandler("first", Collections.emptyMap(), message -> {}, new CompletableFuture<>());
+        underTest.registerMessageHandler("second", Collections.emptyMap(), message -> {},
+                new CompletableFuture<>());
+
+        verify(sessions.get(0)).registerMessageHandler(eq("first"), anyMap(), any(), any());
+        verify(sessions.get(1)).registerMessageHandler(eq("second"), anyMap(), any(), any());
+        verify(sessions.get(1), never()).registerMessageHandler(eq("first"), anyMap(), any(), any());
+        verify(sessions.get(0), never()).registerMessageHandler(eq("second"), anyMap(), any(), any());
+    }
+
+    @Test
+    public void namespacesAreDistributedAcrossSessions() {
+        final Map<String, String> config = Collections.singletonMap(CommonManagement.CONSUMPTION_PARAM_NAMESPACES,
+                "ns1,ns2,ns3,ns4,ns5,ns6");
+
+        final Map<MessagingProvider, Map<String, String>> partitions = underTest.partition(config);
+
+        assertThat(partitions).hasSize(4);
+        final List<String> namespaces = new ArrayList<>();
+        partitions.values().forEach(sessionConfig -> namespaces.addAll(
+                Arrays.asList(sessionConfig.get(CommonManagement.CONSUMPTION_PARAM_NAMESPACES).split(","))));
+        assertThat(namespaces).containsExactlyInAnyOrder("ns1", "ns2", "ns3", "ns4", "ns5", "ns6");
+    }
+
+    @Test
+    public void receiptIsCompletedWhenAllSessionsAcknowledged() {
+        final Map<String, String> config = Collections.singletonMap(CommonManagement.CONSUMPTION_PARAM_NAMESPACES,
+                "ns1,ns2");
+        final CompletableFuture<Void> receipt = new CompletableFuture<>();
+
+        assertThat(underTest.registerMessageHandler(HANDLER, config, message -> {}, receipt)).isTrue();
+        assertThat(underTest.registerMessageHandler(HANDLER, config, message -> {}, new CompletableFuture<>()))
+                .isFalse();
+
+        assertThat(receipt).isCompletedWithValue(null);
+        verify(sessions.get(0)).registerMessageHandler(eq(HANDLER),
+                eq(Collections.singletonMap(CommonManagement.CONSUMPTION_PARAM_NAMESPACES, "ns1")), any(), any());
+        verify(sessions.get(1)).registerMessageHandler(eq(HANDLER),
+                eq(Collections.singletonMap(CommonManagement.CONSUMPTION_PARAM_NAMESPACES, "ns2")), any(), any());
+    }
+
+    @Test
+    public void deregistrationOnlyAffectsSubscribedSessions() {
+        underTest.registerMessageHandler(HANDLER, Collections.emptyMap(), message -> {}, new CompletableFuture<>());
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        underTest.deregisterMessageHandler(HANDLER, future);
+
+        assertThat(future).isCompletedWithValue(null);
+        verify(sessions.get(0)).deregisterMessageHandler(eq(HANDLER), any());
+        verifyNoDeregistration(sessions.subList(1, sessions.size()));
+    }
+
+    private static void verifyNoDeregistration(final Collection<MessagingProvider> sessions) {
+        sessions.forEach(session -> verify(session, never()).deregisterMessageHandler(any(), any()));
+    }
+
+}
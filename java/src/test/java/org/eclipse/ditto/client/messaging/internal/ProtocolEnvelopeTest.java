@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ProtocolEnvelope}.
+ */
+public final class ProtocolEnvelopeTest {
+
+    private static final String THING_EVENT = "{\"topic\":\"org.eclipse.ditto/my-thing/things/twin/events/modified\"," +
+            "\"headers\":{\"correlation-id\":\"4711\"},\"path\":\"/attributes/foo\",\"value\":42}";
+
+    @Test
+    public void scanThingEvent() {
+        final ProtocolEnvelope underTest = ProtocolEnvelope.scan(THING_EVENT);
+
+        assertThat(underTest).isNotNull();
+        assertThat(underTest.getEntityId()).isEqualTo("org.eclipse.ditto:my-thing");
+        assertThat(underTest.getCorrelationId()).isEqualTo("4711");
+        assertThat(underTest.isTwin()).isTrue();
+        assertThat(underTest.isThingEvent()).isTrue();
+        assertThat(underTest.isLiveMessage()).isFalse();
+    }
+
+    @Test
+    public void scanCborEncodedThingEvent() {
+        final ProtocolEnvelope underTest =
+                ProtocolEnvelope.scanCbor(CborCodec.encode(JsonFactory.readFrom(THING_EVENT)));
+
+        assertThat(underTest).isNotNull();
+        assertThat(underTest.getEntityId()).isEqualTo("org.eclipse.ditto:my-thing");
+        assertThat(underTest.getCorrelationId()).isEqualTo("4711");
+        assertThat(underTest.isThingEvent()).isTrue();
+    }
+
+    @Test
+    public void scanLiveMessageWithSlashesInSubject() {
+        final String message = "{\"topic\":\"org.eclipse.ditto/my-thing/things/live/messages/a/b/c\"," +
+                "\"headers\": {\"content-type\":\"text/plain\", \"correlation-id\" : \"4712\"}," +
+                "\"path\":\"/inbox/messages/a/b/c\",\"value\":\"hello\"}";
+
+        final ProtocolEnvelope underTest = ProtocolEnvelope.scan(message);
+
+        assertThat(underTest).isNotNull();
+        assertThat(underTest.isLive()).isTrue();
+        assertThat(underTest.isLiveMessage()).isTrue();
+        assertThat(underTest.getCorrelationId()).isEqualTo("4712");
+    }
+
+    @Test
+    public void scanPolicyResponse() {
+        final String response = "{\"topic\":\"org.eclipse.ditto/my-policy/policies/commands/delete\"," +
+                "\"headers\":{\"correlation-id\":\"4713\"},\"path\":\"/\",\"status\":204}";
+
+        final ProtocolEnvelope underTest = ProtocolEnvelope.scan(response);
+
+        assertThat(underTest).isNotNull();
+        assertThat(underTest.getEntityId()).isEqualTo("org.eclipse.ditto:my-policy");
+        assertThat(underTest.isTwin()).isFalse();
+        assertThat(underTest.isLive()).isFalse();
+        assertThat(underTest.getOrderingKey()).isNull();
+    }
+
+    @Test
+    public void correlationIdIsOnlyScannedInHeaders() {
+        final String message = "{\"value\":{\"correlation-id\":\"wrong\"}," +
+                "\"topic\":\"org.eclipse.ditto/my-thing/things/twin/events/modified\",\"headers\":{}}";
+
+        final ProtocolEnvelope underTest = ProtocolEnvelope.scan(message);
+
+        assertThat(underTest).isNotNull();
+        assertThat(underTest.getCorrelationId()).isNull();
+    }
+
+    @Test
+    public void correlationIdIsNotScannedInValueIfHeaderIsMissing() {
+        final String message = "{\"topic\":\"org.eclipse.ditto/my-thing/things/twin/events/modified\"," +
+                "\"headers\":{\"content-type\":\"application/json\"},\"path\":\"/attributes\"," +
+                "\"value\":{\"correlation-id\":\"wrong\",\"nested\":[{\"correlation-id\":\"wrong\"}]}," +
+                "\"extra\":{\"correlation-id\":\"wrong\"}}";
+
+        final ProtocolEnvelope underTest = ProtocolEnvelope.scan(message);
+
+        assertThat(underTest).isNotNull();
+        assertThat(underTest.getCorrelationId()).isNull();
+    }
+
+    @Test
+    public void correlationIdIsNotScannedInNestedHeaderValues() {
+        final String message = "{\"topic\":\"org.eclipse.ditto/my-thing/things/twin/events/modified\"," +
+                "\"headers\":{\"custom\":{\"correlation-id\":\"wrong\"},\"other\":\"a \\\"quoted\\\" }\"," +
+                "\"correlation-id\":\"4711\"},\"value\":42}";
+
+        final ProtocolEnvelope underTest = ProtocolEnvelope.scan(message);
+
+        assertThat(underTest).isNotNull();
+        assertThat(underTest.getCorrelationId()).isEqualTo("4711");
+    }
+
+    @Test
+    public void topicIsOnlyScannedOnTopLevel() {
+        final String message = "{\"value\":{\"topic\":\"org.eclipse.ditto/wrong/things/twin/events/modified\"," +
+                "\"headers\":{\"correlation-id\":\"wrong\"}},\"extra\":[1, true, null, -2.5e3]," +
+                "\"topic\" : \"org.eclipse.ditto/my-thing/things/twin/events/modified\"," +
+                "\"headers\":{\"correlation-id\":\"4711\"}}";
+
+        final ProtocolEnvelope underTest = ProtocolEnvelope.scan(message);
+
+        assertThat(underTest).isNotNull();
+        assertThat(underTest.getEntityId()).isEqualTo("org.eclipse.ditto:my-thing");
+        assertThat(underTest.getCorrelationId()).isEqualTo("4711");
+    }
+
+    @Test
+    public void messageWithNestedTopicOnlyHasNoEnvelope() {
+        final String message = "{\"value\":{\"topic\":\"org.eclipse.ditto/my-thing/things/twin/events/modified\"}," +
+                "\"headers\":{\"correlation-id\":\"4711\"}}";
+
+        assertThat(ProtocolEnvelope.scan(message)).isNull();
+    }
+
+    @Test
+    public void orderingKeyOfEventIsTheThingId() {
+        assertThat(ProtocolEnvelope.scan(THING_EVENT).getOrderingKey()).isEqualTo("org.eclipse.ditto:my-thing");
+    }
+
+    @Test
+    public void twinResponsesHaveNoOrderingKey() {
+        final String response = "{\"topic\":\"org.eclipse.ditto/my-thing/things/twin/commands/modify\"," +
+                "\"headers\":{\"correlation-id\":\"4711\"},\"path\":\"/attributes/foo\",\"status\":204}";
+
+        assertThat(ProtocolEnvelope.scan(response).getOrderingKey()).isNull();
+    }
+
+    @Test
+    public void liveCommandsAreOrderedButNotTheirResponses() {
+        final String command = "{\"topic\":\"org.eclipse.ditto/my-thing/things/live/commands/modify\"," +
+                "\"headers\":{\"correlation-id\":\"4711\"},\"path\":\"/attributes/foo\",\"value\":42}";
+        final String response = "{\"topic\":\"org.eclipse.ditto/my-thing/things/live/commands/modify\"," +
+                "\"headers\":{\"correlation-id\":\"4711\"},\"path\":\"/attributes/foo\"," +
+                "\"value\":{\"status\":42},\"status\":204}";
+
+        assertThat(ProtocolEnvelope.scan(command).isLiveResponse()).isFalse();
+        assertThat(ProtocolEnvelope.scan(command).getOrderingKey()).isEqualTo("org.eclipse.ditto:my-thing");
+        assertThat(ProtocolEnvelope.scan(response).isLiveResponse()).isTrue();
+        assertThat(ProtocolEnvelope.scan(response).getOrderingKey()).isNull();
+    }
+
+    @Test
+    public void liveMessagesAreOrderedButNotTheirResponses() {
+        final String message = "{\"topic\":\"org.eclipse.ditto/my-thing/things/live/messages/ask\"," +
+                "\"headers\":{\"correlation-id\":\"4711\"},\"path\":\"/inbox/messages/ask\"," +
+                "\"value\":{\"status\":\"nested\"}}";
+        final JsonObject response = JsonFactory.newObject(message).setValue("status", 200);
+
+        assertThat(ProtocolEnvelope.scan(message).getOrderingKey()).isEqualTo("org.eclipse.ditto:my-thing");
+        assertThat(ProtocolEnvelope.scanCbor(CborCodec.encode(JsonFactory.newObject(message))).getOrderingKey())
+                .isEqualTo("org.eclipse.ditto:my-thing");
+        assertThat(ProtocolEnvelope.scan(response.toString()).getOrderingKey()).isNull();
+        assertThat(ProtocolEnvelope.scanCbor(CborCodec.encode(response)).getOrderingKey()).isNull();
+    }
+
+    @Test
+    public void protocolMessagesHaveNoEnvelope() {
+        assertThat(ProtocolEnvelope.scan("START-SEND-EVENTS:ACK")).isNull();
+    }
+
+}
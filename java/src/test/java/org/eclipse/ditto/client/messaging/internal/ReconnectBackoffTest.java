@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ReconnectBackoff}.
+ */
+public final class ReconnectBackoffTest {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    @Test
+    public void firstAttemptIsMadeImmediately() {
+        final ReconnectBackoff underTest = ReconnectBackoff.newInstance(INITIAL_BACKOFF, MAX_BACKOFF, new Random());
+
+        assertThat(underTest.getDelay(1)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void upperBoundOfDelayDoublesWithEachAttempt() {
+        final ReconnectBackoff underTest =
+                ReconnectBackoff.newInstance(INITIAL_BACKOFF, MAX_BACKOFF, new MaxRandom());
+
+        assertThat(underTest.getDelay(2)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(underTest.getDelay(3)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(underTest.getDelay(4)).isEqualTo(Duration.ofSeconds(4));
+        assertThat(underTest.getDelay(6)).isEqualTo(Duration.ofSeconds(16));
+    }
+
+    @Test
+    public void delayIsLimitedByMaxBackoff() {
+        final ReconnectBackoff underTest =
+                ReconnectBackoff.newInstance(INITIAL_BACKOFF, MAX_BACKOFF, new MaxRandom());
+
+        assertThat(underTest.getDelay(7)).isEqualTo(MAX_BACKOFF);
+        assertThat(underTest.getDelay(Integer.MAX_VALUE)).isEqualTo(MAX_BACKOFF);
+    }
+
+    @Test
+    public void delayIsJittered() {
+        final ReconnectBackoff underTest = ReconnectBackoff.newInstance(INITIAL_BACKOFF, MAX_BACKOFF, new Random(42));
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(underTest.getDelay(10)).isBetween(Duration.ZERO, MAX_BACKOFF);
+        }
+        assertThat(underTest.getDelay(10)).isNotEqualTo(underTest.getDelay(10));
+    }
+
+    /**
+     * Always returns the largest possible double value below {@code 1.0}.
+     */
+    private static final class MaxRandom extends Random {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public double nextDouble() {
+            return Math.nextDown(1.0);
+        }
+
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link RecordingDurationHistogram}.
+ */
+public final class RecordingDurationHistogramTest {
+
+    @Test
+    public void bucketsAreContiguousAndAtMostAQuarterWide() {
+        long previousUpperBound = -1;
+        for (int i = 0; i < 160; i++) {
+            final long upperBound = RecordingDurationHistogram.bucketUpperBoundMicros(i);
+            final long lowerBound = previousUpperBound + 1;
+            assertThat(RecordingDurationHistogram.bucketIndex(lowerBound)).isEqualTo(i);
+            assertThat(RecordingDurationHistogram.bucketIndex(upperBound)).isEqualTo(i);
+            assertThat(upperBound - lowerBound).isLessThanOrEqualTo(Math.max(0, lowerBound / 4));
+            previousUpperBound = upperBound;
+        }
+        assertThat(RecordingDurationHistogram.bucketIndex(Long.MAX_VALUE)).isEqualTo(159);
+    }
+
+    @Test
+    public void emptyHistogramReturnsZero() {
+        final RecordingDurationHistogram underTest = new RecordingDurationHistogram();
+
+        assertThat(underTest.getCount()).isZero();
+        assertThat(underTest.getMean()).isEqualTo(Duration.ZERO);
+        assertThat(underTest.getMax()).isEqualTo(Duration.ZERO);
+        assertThat(underTest.getPercentile(99)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void percentilesAreApproximatedFromAbove() {
+        final RecordingDurationHistogram underTest = new RecordingDurationHistogram();
+        for (int i = 1; i <= 100; i++) {
+            underTest.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        assertThat(underTest.getCount()).isEqualTo(100);
+        assertThat(underTest.getMean()).isEqualTo(Duration.ofNanos(50_500_000));
+        assertThat(underTest.getMax()).isEqualTo(Duration.ofMillis(100));
+        assertThat(underTest.getPercentile(50))
+                .isGreaterThanOrEqualTo(Duration.ofMillis(50))
+                .isLessThan(Duration.ofMillis(63));
+        assertThat(underTest.getPercentile(99))
+                .isGreaterThanOrEqualTo(Duration.ofMillis(99))
+                .isLessThanOrEqualTo(Duration.ofMillis(100));
+        assertThat(underTest.getPercentile(100)).isEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    public void invalidPercentileIsRejected() {
+        final RecordingDurationHistogram underTest = new RecordingDurationHistogram();
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> underTest.getPercentile(0));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> underTest.getPercentile(101));
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.neovisionaries.ws.client.WebSocket;
+import com.neovisionaries.ws.client.WebSocketFrame;
+
+/**
+ * Unit test for {@link SendTracker}.
+ */
+public final class SendTrackerTest {
+
+    private static final String MESSAGE = "{\"topic\":\"org.eclipse.ditto/my-thing/things/twin/events/modified\"}";
+
+    private SendTracker underTest;
+
+    @Before
+    public void setUp() {
+        underTest = SendTracker.newInstance();
+    }
+
+    @Test
+    public void sentFrameCompletesItsFutureOnly() {
+        final WebSocketFrame frame = WebSocketFrame.createTextFrame(MESSAGE);
+        final WebSocketFrame equalFrame = WebSocketFrame.createTextFrame(MESSAGE);
+        final CompletableFuture<Void> sent = new CompletableFuture<>();
+        final CompletableFuture<Void> otherSent = new CompletableFuture<>();
+        underTest.track(frame, sent);
+        underTest.track(equalFrame, otherSent);
+
+        underTest.sent(frame);
+
+        assertThat(sent).isCompleted();
+        assertThat(otherSent).isNotDone();
+        assertThat(underTest.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void framesOfDisconnectedWebSocketFail() {
+        final WebSocket webSocket = mock(WebSocket.class);
+        final WebSocketFrame written = WebSocketFrame.createTextFrame(MESSAGE);
+        final WebSocketFrame queued = WebSocketFrame.createTextFrame(MESSAGE);
+        final CompletableFuture<Void> writtenSent = new CompletableFuture<>();
+        final CompletableFuture<Void> queuedSent = new CompletableFuture<>();
+        underTest.track(written, writtenSent);
+        underTest.track(queued, queuedSent);
+        underTest.writing(written, written, webSocket);
+
+        underTest.disconnected(webSocket, IllegalStateException::new);
+
+        assertThat(writtenSent).isCompletedExceptionally();
+        assertThat(queuedSent).isNotDone();
+    }
+
+    @Test
+    public void compressedCopyIsTrackedInsteadOfFrame() {
+        final WebSocket webSocket = mock(WebSocket.class);
+        final WebSocketFrame frame = WebSocketFrame.createTextFrame(MESSAGE);
+        final WebSocketFrame compressed = WebSocketFrame.createBinaryFrame(new byte[]{1, 2, 3}).setRsv1(true);
+        final CompletableFuture<Void> sent = new CompletableFuture<>();
+        underTest.track(frame, sent);
+
+        underTest.writing(frame, compressed, webSocket);
+        underTest.sent(frame);
+
+        assertThat(sent).isNotDone();
+        underTest.sent(compressed);
+        assertThat(sent).isCompleted();
+        assertThat(underTest.size()).isZero();
+    }
+
+    @Test
+    public void bufferedMessagesAreTrackedUntilReplayedFrameIsSent() {
+        final WebSocketFrame frame = WebSocketFrame.createTextFrame(MESSAGE);
+        final WebSocketFrame equalFrame = WebSocketFrame.createTextFrame(MESSAGE);
+        final CompletableFuture<Void> first = new CompletableFuture<>();
+        final CompletableFuture<Void> second = new CompletableFuture<>();
+        underTest.track(frame, first);
+        underTest.track(equalFrame, second);
+        underTest.buffered(frame, MESSAGE);
+        underTest.buffered(equalFrame, MESSAGE);
+
+        final WebSocketFrame replayed = WebSocketFrame.createTextFrame(MESSAGE);
+        underTest.replaying(MESSAGE, replayed);
+        underTest.sent(replayed);
+        underTest.bufferedMessageDiscarded(MESSAGE, IllegalStateException::new);
+
+        assertThat(first).isCompleted();
+        assertThat(second).isCompletedExceptionally();
+        assertThat(underTest.size()).isZero();
+    }
+
+    @Test
+    public void failAllFailsFramesAndBufferedMessages() {
+        final WebSocketFrame frame = WebSocketFrame.createTextFrame(MESSAGE);
+        final WebSocketFrame bufferedFrame = WebSocketFrame.createTextFrame(MESSAGE);
+        final CompletableFuture<Void> sent = new CompletableFuture<>();
+        final CompletableFuture<Void> buffered = new CompletableFuture<>();
+        underTest.track(frame, sent);
+        underTest.track(bufferedFrame, buffered);
+        underTest.buffered(bufferedFrame, MESSAGE);
+
+        underTest.failAll(IllegalStateException::new);
+
+        assertThat(sent).isCompletedExceptionally();
+        assertThat(buffered).isCompletedExceptionally();
+        assertThat(underTest.size()).isZero();
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link StripedDispatcher}.
+ */
+public final class StripedDispatcherTest {
+
+    private ExecutorService fallbackExecutor;
+    private StripedDispatcher underTest;
+
+    @Before
+    public void setUp() {
+        fallbackExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "fallback"));
+        underTest = StripedDispatcher.newInstance(4, "test-dispatch", fallbackExecutor);
+    }
+
+    @After
+    public void tearDown() {
+        underTest.shutdown();
+        fallbackExecutor.shutdownNow();
+    }
+
+    @Test
+    public void tryToCreateInstanceWithoutLanes() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> StripedDispatcher.newInstance(0, "test-dispatch", fallbackExecutor));
+    }
+
+    @Test
+    public void tasksWithSameKeyAreExecutedInOrderOnTheSameThread() throws InterruptedException {
+        final int taskCount = 1_000;
+        final List<Integer> executed = new CopyOnWriteArrayList<>();
+        final List<String> threadNames = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(taskCount);
+
+        IntStream.range(0, taskCount).forEach(i -> underTest.dispatch("org.eclipse.ditto:my-thing", () -> {
+            executed.add(i);
+            threadNames.add(Thread.currentThread().getName());
+            latch.countDown();
+        }));
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed).isEqualTo(IntStream.range(0, taskCount).boxed().collect(Collectors.toList()));
+        assertThat(threadNames.stream().distinct()).hasSize(1);
+        assertThat(threadNames.get(0)).startsWith("test-dispatch");
+    }
+
+    @Test
+    public void tasksWithoutKeyAreExecutedInOrderByFallbackLane() throws InterruptedException {
+        final int taskCount = 1_000;
+        final List<Integer> executed = new CopyOnWriteArrayList<>();
+        final List<String> threadNames = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(taskCount);
+
+        IntStream.range(0, taskCount).forEach(i -> underTest.dispatch(null, () -> {
+            executed.add(i);
+            threadNames.add(Thread.currentThread().getName());
+            latch.countDown();
+        }));
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed).isEqualTo(IntStream.range(0, taskCount).boxed().collect(Collectors.toList()));
+        assertThat(threadNames.stream().distinct()).hasSize(1);
+        assertThat(threadNames.get(0)).startsWith("test-dispatch");
+    }
+
+    @Test
+    public void tasksWithoutKeyAreNotExecutedInCallingThreadIfFallbackExecutorIsSaturated()
+            throws InterruptedException {
+        final ExecutorService saturatedExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), new ThreadPoolExecutor.CallerRunsPolicy());
+        final CountDownLatch release = new CountDownLatch(1);
+        saturatedExecutor.execute(() -> awaitQuietly(release));
+        final StripedDispatcher dispatcher = StripedDispatcher.newInstance(1, "test-dispatch", saturatedExecutor);
+        final AtomicReference<Thread> executingThread = new AtomicReference<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        try {
+            dispatcher.dispatch(null, () -> {
+                executingThread.set(Thread.currentThread());
+                latch.countDown();
+            });
+
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(executingThread.get()).isNotSameAs(Thread.currentThread());
+        } finally {
+            release.countDown();
+            dispatcher.shutdown();
+            saturatedExecutor.shutdown();
+            saturatedExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void laneAwareExecutorRunsTasksSubmittedFromLaneInline() throws InterruptedException {
+        final AtomicReference<String> laneThreadName = new AtomicReference<>();
+        final AtomicReference<String> nestedThreadName = new AtomicReference<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        underTest.dispatch("org.eclipse.ditto:my-thing", () -> {
+            laneThreadName.set(Thread.currentThread().getName());
+            underTest.getLaneAwareExecutorService().execute(() -> {
+                nestedThreadName.set(Thread.currentThread().getName());
+                latch.countDown();
+            });
+        });
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(nestedThreadName.get()).isEqualTo(laneThreadName.get());
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.time.Duration;
+
+import javax.net.SocketFactory;
+import javax.net.ssl.SSLSocketFactory;
+
+import org.eclipse.ditto.client.configuration.TransportTuningConfiguration;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TunedSocketFactory}.
+ */
+public final class TunedSocketFactoryTest {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final TransportTuningConfiguration TUNING = TransportTuningConfiguration.newBuilder()
+            .tcpNoDelay(true)
+            .sendBufferSize(BUFFER_SIZE)
+            .receiveBufferSize(BUFFER_SIZE)
+            .build();
+
+    @Test
+    public void unconnectedPlainSocketsHaveTheConfiguredOptions() throws IOException {
+        final SocketFactory underTest = TunedSocketFactory.of(SocketFactory.getDefault(), TUNING);
+
+        try (final Socket socket = underTest.createSocket()) {
+            assertOptions(socket);
+        }
+    }
+
+    @Test
+    public void unconnectedSslSocketsHaveTheConfiguredOptions() throws IOException {
+        final SSLSocketFactory underTest =
+                TunedSocketFactory.ofSsl((SSLSocketFactory) SSLSocketFactory.getDefault(), TUNING);
+
+        try (final Socket socket = underTest.createSocket()) {
+            assertOptions(socket);
+        }
+    }
+
+    @Test
+    public void presetsCanBeAdjustedAndInvalidSettingsAreRejected() {
+        final TransportTuningConfiguration lowLatency = TransportTuningConfiguration.lowLatency()
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+
+        assertThat(lowLatency.isTcpNoDelay()).isTrue();
+        assertThat(lowLatency.getConnectTimeout()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(TransportTuningConfiguration.newBuilder().build().hasSocketOptions()).isFalse();
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() ->
+                TransportTuningConfiguration.newBuilder()
+                        .maxPayloadSize(TransportTuningConfiguration.MIN_PAYLOAD_SIZE - 1));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() ->
+                TransportTuningConfiguration.newBuilder().frameQueueSize(0));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() ->
+                TransportTuningConfiguration.newBuilder().connectTimeout(Duration.ZERO));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() ->
+                TransportTuningConfiguration.newBuilder().receiveBufferSize(-1));
+    }
+
+    private static void assertOptions(final Socket socket) throws IOException {
+        assertThat(socket.isConnected()).isFalse();
+        assertThat(socket.getTcpNoDelay()).isTrue();
+        // the operating system may round the buffer sizes up
+        assertThat(socket.getSendBufferSize()).isGreaterThanOrEqualTo(BUFFER_SIZE);
+        assertThat(socket.getReceiveBufferSize()).isGreaterThanOrEqualTo(BUFFER_SIZE);
+    }
+
+}
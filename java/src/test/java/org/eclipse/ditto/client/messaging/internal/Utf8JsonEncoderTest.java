@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.function.Predicate;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.model.base.headers.DittoHeaderDefinition;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.things.ThingId;
+import org.eclipse.ditto.protocoladapter.Adaptable;
+import org.eclipse.ditto.protocoladapter.DittoProtocolAdapter;
+import org.eclipse.ditto.protocoladapter.ProtocolFactory;
+import org.eclipse.ditto.protocoladapter.TopicPath;
+import org.eclipse.ditto.signals.commands.things.modify.ModifyAttribute;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link Utf8JsonEncoder}.
+ */
+public final class Utf8JsonEncoderTest {
+
+    private static final ThingId THING_ID = ThingId.of("org.eclipse.ditto", "my-thing");
+
+    private static final DittoHeaders DITTO_HEADERS = DittoHeaders.newBuilder()
+            .correlationId("4711")
+            .responseRequired(false)
+            .readSubjects(Collections.singleton("nginx:ditto"))
+            .putHeader("custom", "a \"quoted\" value")
+            .build();
+
+    @Test
+    public void encodedCommandEqualsJsonOfAdaptable() {
+        final Adaptable adaptable = toAdaptable(JsonFactory.newObjectBuilder()
+                .set("int", 42)
+                .set("long", 1_000_000_000_000L)
+                .set("negative", -1_000)
+                .set("double", 0.1)
+                .set("boolean", true)
+                .set("null", JsonFactory.nullLiteral())
+                .set("array", JsonFactory.newArrayBuilder().add(1, 2, 3).add("four").build())
+                .set("nested", JsonFactory.newObjectBuilder()
+                        .set("empty", JsonFactory.newObject())
+                        .set("emptyArray", JsonFactory.newArray())
+                        .build())
+                .build());
+
+        assertThat(encode(adaptable)).isEqualTo(ProtocolFactory.wrapAsJsonifiableAdaptable(adaptable).toJson());
+    }
+
+    @Test
+    public void stringsAreEscapedAndEncodedAsUtf8() {
+        final String text = "\"quotes\" \\ / \n\r\t\b\f \u0001 \u007f Häuser 東京 😀   ";
+        final Adaptable adaptable = toAdaptable(JsonFactory.newObjectBuilder().set(text, text).build());
+
+        final byte[] bytes = Utf8JsonEncoder.encode(adaptable, headerKey -> true);
+
+        assertThat(new String(bytes, StandardCharsets.UTF_8)).doesNotContain("\n", "\u0001", " ");
+        assertThat(JsonFactory.readFrom(new String(bytes, StandardCharsets.UTF_8)))
+                .isEqualTo(ProtocolFactory.wrapAsJsonifiableAdaptable(adaptable).toJson());
+    }
+
+    @Test
+    public void unpairedSurrogateIsReplaced() {
+        final Adaptable adaptable = toAdaptable(JsonValue.of("a\ud800b"));
+
+        final JsonObject json = encode(adaptable);
+
+        assertThat(json.getValue("value")).contains(JsonValue.of("a?b"));
+    }
+
+    @Test
+    public void filteredHeadersAreOmitted() {
+        final Adaptable adaptable = toAdaptable(JsonValue.of(1));
+
+        final JsonObject json = encode(adaptable, headerKey ->
+                !DittoHeaderDefinition.READ_SUBJECTS.getKey().equals(headerKey));
+
+        final JsonObject headers = json.getValue("headers").map(JsonValue::asObject).orElseThrow(AssertionError::new);
+        assertThat(headers.getValue(DittoHeaderDefinition.CORRELATION_ID.getKey()))
+                .contains(JsonValue.of("4711"));
+        assertThat(headers.getValue(DittoHeaderDefinition.RESPONSE_REQUIRED.getKey()))
+                .contains(JsonValue.of(false));
+        assertThat(headers.contains(DittoHeaderDefinition.READ_SUBJECTS.getKey())).isFalse();
+    }
+
+    private static Adaptable toAdaptable(final JsonValue value) {
+        final ModifyAttribute command =
+                ModifyAttribute.of(THING_ID, JsonPointer.of("/attribute"), value, DITTO_HEADERS);
+        return DittoProtocolAdapter.newInstance().toAdaptable(command, TopicPath.Channel.TWIN);
+    }
+
+    private static JsonObject encode(final Adaptable adaptable) {
+        return encode(adaptable, headerKey -> true);
+    }
+
+    private static JsonObject encode(final Adaptable adaptable, final Predicate<String> headerFilter) {
+        return JsonFactory.newObject(new String(Utf8JsonEncoder.encode(adaptable, headerFilter),
+                StandardCharsets.UTF_8));
+    }
+
+}
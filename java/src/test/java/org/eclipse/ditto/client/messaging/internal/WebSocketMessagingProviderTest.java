@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2019 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.client.configuration.DummyAuthenticationConfiguration;
+import org.eclipse.ditto.client.configuration.WebSocketMessagingConfiguration;
+import org.eclipse.ditto.client.configuration.WireEncoding;
+import org.eclipse.ditto.client.live.internal.LiveImpl;
+import org.eclipse.ditto.client.messaging.AuthenticationProviders;
+import org.eclipse.ditto.client.messaging.MessagingException;
+import org.eclipse.ditto.client.twin.internal.TwinImpl;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.model.base.common.HttpStatusCode;
+import org.eclipse.ditto.model.messages.Message;
+import org.eclipse.ditto.protocoladapter.Adaptable;
+import org.eclipse.ditto.protocoladapter.DittoProtocolAdapter;
+import org.eclipse.ditto.protocoladapter.ProtocolFactory;
+import org.eclipse.ditto.protocoladapter.TopicPath;
+import org.eclipse.ditto.signals.events.base.Event;
+import org.eclipse.ditto.signals.events.things.AttributeModified;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link WebSocketMessagingProvider} talking to a {@link CborWebSocketStandIn}.
+ */
+public final class WebSocketMessagingProviderTest {
+
+    private static final long TIMEOUT_SECONDS = 10L;
+
+    private static final JsonObject RETRIEVE_THING = JsonFactory.newObjectBuilder()
+            .set("topic", "org.eclipse.ditto/my-thing/things/twin/commands/retrieve")
+            .set("headers", JsonFactory.newObjectBuilder().set("correlation-id", "retrieve-1").build())
+            .set("path", "/")
+            .build();
+
+    private static final JsonObject ATTRIBUTE_MODIFIED = JsonFactory.newObjectBuilder()
+            .set("topic", "org.eclipse.ditto/my-thing/things/twin/events/modified")
+            .set("headers", JsonFactory.newObjectBuilder().set("correlation-id", "event-1").build())
+            .set("path", "/attributes/foo")
+            .set("value", 42)
+            .set("revision", 2)
+            .build();
+
+    private static final JsonObject LIVE_MESSAGE = JsonFactory.newObjectBuilder()
+            .set("topic", "org.eclipse.ditto/my-thing/things/live/messages/ask")
+            .set("headers", JsonFactory.newObjectBuilder()
+                    .set("correlation-id", "message-1")
+                    .set("content-type", "text/plain")
+                    .build())
+            .set("path", "/inbox/messages/ask")
+            .set("value", "hello")
+            .build();
+
+    private ExecutorService callbackExecutor;
+    private CborWebSocketStandIn standIn;
+    private WebSocketMessagingProvider underTest;
+
+    @Before
+    public void setUp() throws IOException {
+        callbackExecutor = Executors.newFixedThreadPool(2);
+        standIn = CborWebSocketStandIn.start(WebSocketMessagingProviderTest::respond);
+        underTest = WebSocketMessagingProvider.newInstance(WebSocketMessagingConfiguration.newBuilder()
+                        .endpoint(standIn.getEndpoint())
+                        .wireEncoding(WireEncoding.CBOR)
+                        .reconnectEnabled(false)
+                        .build(),
+                AuthenticationProviders.dummy(DummyAuthenticationConfiguration.newBuilder()
+                        .dummyUsername("test")
+                        .build()),
+                callbackExecutor);
+        underTest.initialize();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        underTest.close();
+        standIn.close();
+        callbackExecutor.shutdownNow();
+    }
+
+    private static JsonObject respond(final JsonObject message) {
+        if (LIVE_MESSAGE.getValue("topic").equals(message.getValue("topic"))) {
+            return message.setValue("status", HttpStatusCode.OK.toInt());
+        }
+        if (!RETRIEVE_THING.getValue("topic").equals(message.getValue("topic"))) {
+            return null;
+        }
+        return JsonFactory.newObjectBuilder()
+                .set("topic", RETRIEVE_THING.getValue("topic").get())
+                .set("headers", message.getValue("headers").get())
+                .set("path", "/")
+                .set("value", JsonFactory.newObjectBuilder().set("thingId", "org.eclipse.ditto:my-thing").build())
+                .set("status", HttpStatusCode.OK.toInt())
+                .build();
+    }
+
+    @Test
+    public void sentAdaptableIsCborEncodedAndAnswered() throws Exception {
+        final CompletableFuture<Adaptable> response =
+                underTest.sendAdaptable(ProtocolFactory.jsonifiableAdaptableFromJson(RETRIEVE_THING));
+
+        assertThat(standIn.getReceivedMessages().poll(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isEqualTo(RETRIEVE_THING);
+        final Adaptable adaptable = response.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(adaptable.getPayload().getStatus()).contains(HttpStatusCode.OK);
+        assertThat(adaptable.getPayload().getValue())
+                .contains(JsonFactory.newObjectBuilder().set("thingId", "org.eclipse.ditto:my-thing").build());
+    }
+
+    @Test
+    public void cborEncodedEventIsDelivered() throws Exception {
+        final BlockingQueue<Message<?>> events = new LinkedBlockingQueue<>();
+        final CompletableFuture<Void> subscribed = new CompletableFuture<>();
+        underTest.registerMessageHandler(TwinImpl.CONSUME_TWIN_EVENTS_HANDLER, Collections.emptyMap(), events::add,
+                subscribed);
+        subscribed.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        standIn.push(ATTRIBUTE_MODIFIED);
+
+        final Message<?> event = events.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(event).isNotNull();
+        assertThat(event.getPayload()).containsInstanceOf(AttributeModified.class);
+        final AttributeModified attributeModified = (AttributeModified) event.getPayload().get();
+        assertThat((Object) attributeModified.getAttributePointer()).isEqualTo(JsonPointer.of("foo"));
+        assertThat(attributeModified.getAttributeValue()).isEqualTo(JsonFactory.newValue(42));
+    }
+
+    @Test
+    public void rawEventIsDeliveredAsReceived() throws Exception {
+        final BlockingQueue<String> rawEvents = new LinkedBlockingQueue<>();
+        final CompletableFuture<Void> subscribed = new CompletableFuture<>();
+        underTest.registerRawMessageHandler(TwinImpl.CONSUME_TWIN_EVENTS_HANDLER, Collections.emptyMap(),
+                topic -> true, rawEvents::add, subscribed);
+        subscribed.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        standIn.push(ATTRIBUTE_MODIFIED);
+
+        final String rawEvent = rawEvents.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(rawEvent).isNotNull();
+        assertThat(JsonFactory.readFrom(rawEvent)).isEqualTo(ATTRIBUTE_MODIFIED);
+        assertThat(underTest.registerMessageHandler(TwinImpl.CONSUME_TWIN_EVENTS_HANDLER, Collections.emptyMap(),
+                event -> {}, new CompletableFuture<>())).isFalse();
+    }
+
+    @Test
+    public void rawLiveCommandsAreNotSupported() {
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                underTest.registerRawMessageHandler(LiveImpl.CONSUME_LIVE_COMMANDS_HANDLER, Collections.emptyMap(),
+                        topic -> true, rawCommand -> {}, new CompletableFuture<>()));
+    }
+
+    @Test
+    public void rawEventNotMatchingTopicFilterIsDropped() throws Exception {
+        final JsonObject otherThingModified = ATTRIBUTE_MODIFIED.toBuilder()
+                .set("topic", "org.eclipse.ditto/other-thing/things/twin/events/modified")
+                .build();
+        final BlockingQueue<String> rawEvents = new LinkedBlockingQueue<>();
+        final CompletableFuture<Void> subscribed = new CompletableFuture<>();
+        underTest.registerRawMessageHandler(TwinImpl.CONSUME_TWIN_EVENTS_HANDLER, Collections.emptyMap(),
+                topic -> topic.startsWith("org.eclipse.ditto/other-thing/"), rawEvents::add, subscribed);
+        subscribed.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        standIn.push(ATTRIBUTE_MODIFIED);
+        standIn.push(otherThingModified);
+
+        final String rawEvent = rawEvents.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(rawEvent).isNotNull();
+        assertThat(JsonFactory.readFrom(rawEvent)).isEqualTo(otherThingModified);
+        assertThat(rawEvents.poll(500L, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    public void laneHandlerReceivesLiveResponseItWaitsFor() throws Exception {
+        underTest.close();
+        underTest = WebSocketMessagingProvider.newInstance(WebSocketMessagingConfiguration.newBuilder()
+                        .endpoint(standIn.getEndpoint())
+                        .wireEncoding(WireEncoding.CBOR)
+                        .reconnectEnabled(false)
+                        .inboundDispatchLanes(1)
+                        .build(),
+                AuthenticationProviders.dummy(DummyAuthenticationConfiguration.newBuilder()
+                        .dummyUsername("test")
+                        .build()),
+                callbackExecutor);
+        underTest.initialize();
+        final CompletableFuture<Adaptable> responseInHandler = new CompletableFuture<>();
+        final CompletableFuture<Void> subscribed = new CompletableFuture<>();
+        underTest.registerMessageHandler(LiveImpl.CONSUME_LIVE_EVENTS_HANDLER, Collections.emptyMap(), event -> {
+            // blocks the lane of the Thing until the response to the live message arrives:
+            try {
+                responseInHandler.complete(
+                        underTest.sendAdaptable(ProtocolFactory.jsonifiableAdaptableFromJson(LIVE_MESSAGE))
+                                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            } catch (final Exception e) {
+                responseInHandler.completeExceptionally(e);
+            }
+        }, subscribed);
+        subscribed.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        standIn.push(ATTRIBUTE_MODIFIED.setValue("topic", "org.eclipse.ditto/my-thing/things/live/events/modified"));
+
+        final Adaptable response = responseInHandler.get(TIMEOUT_SECONDS / 2, TimeUnit.SECONDS);
+        assertThat(response.getPayload().getStatus()).contains(HttpStatusCode.OK);
+    }
+
+    @Test
+    public void asyncEventCompletesWhenWritten() throws Exception {
+        final Event<?> event = toEvent(ATTRIBUTE_MODIFIED);
+
+        underTest.emitEventAsync(event, TopicPath.Channel.TWIN).toCompletableFuture()
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        final JsonObject received = standIn.getReceivedMessages().poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(received).isNotNull();
+        assertThat(received.getValue("topic")).isEqualTo(ATTRIBUTE_MODIFIED.getValue("topic"));
+    }
+
+    @Test
+    public void asyncEventFailsIfNotConnected() {
+        final Event<?> event = toEvent(ATTRIBUTE_MODIFIED);
+        underTest.close();
+
+        final CompletableFuture<Void> sent = underTest.emitEventAsync(event, TopicPath.Channel.TWIN)
+                .toCompletableFuture();
+
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(() -> sent.get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                .withCauseInstanceOf(MessagingException.class);
+    }
+
+    @Test
+    public void connectsToTheReachableOneOfSeveralEndpoints() throws Exception {
+        underTest.close();
+        final int closedPort;
+        try (final ServerSocket closedServerSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            closedPort = closedServerSocket.getLocalPort();
+        }
+        underTest = WebSocketMessagingProvider.newInstance(WebSocketMessagingConfiguration.newBuilder()
+                        .endpoints(Arrays.asList("ws://127.0.0.1:" + closedPort, standIn.getEndpoint()))
+                        .wireEncoding(WireEncoding.CBOR)
+                        .reconnectEnabled(false)
+                        .build(),
+                AuthenticationProviders.dummy(DummyAuthenticationConfiguration.newBuilder()
+                        .dummyUsername("test")
+                        .build()),
+                callbackExecutor);
+
+        underTest.initialize();
+
+        final CompletableFuture<Adaptable> response =
+                underTest.sendAdaptable(ProtocolFactory.jsonifiableAdaptableFromJson(RETRIEVE_THING));
+        assertThat(response.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getPayload().getStatus())
+                .contains(HttpStatusCode.OK);
+    }
+
+    @Test
+    public void standbyConnectionTakesOverSubscriptions() throws Exception {
+        underTest.close();
+        awaitConnected(standIn, false);
+        try (final CborWebSocketStandIn otherStandIn =
+                     CborWebSocketStandIn.start(WebSocketMessagingProviderTest::respond)) {
+            underTest = WebSocketMessagingProvider.newInstance(WebSocketMessagingConfiguration.newBuilder()
+                            .endpoints(Arrays.asList(standIn.getEndpoint(), otherStandIn.getEndpoint()))
+                            .wireEncoding(WireEncoding.CBOR)
+                            .standbyConnectionEnabled(true)
+                            .build(),
+                    AuthenticationProviders.dummy(DummyAuthenticationConfiguration.newBuilder()
+                            .dummyUsername("test")
+                            .build()),
+                    callbackExecutor);
+            underTest.initialize();
+            final BlockingQueue<Message<?>> events = new LinkedBlockingQueue<>();
+            final CompletableFuture<Void> subscribed = new CompletableFuture<>();
+            underTest.registerMessageHandler(TwinImpl.CONSUME_TWIN_EVENTS_HANDLER, Collections.emptyMap(),
+                    events::add, subscribed);
+            subscribed.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            awaitConnected(standIn, true);
+            awaitConnected(otherStandIn, true);
+            final CborWebSocketStandIn primary = standIn.getReceivedCommands().isEmpty() ? otherStandIn : standIn;
+            final CborWebSocketStandIn standby = primary == standIn ? otherStandIn : standIn;
+            assertThat(standby.getReceivedCommands()).isEmpty();
+
+            primary.dropConnection();
+
+            assertThat(standby.getReceivedCommands().poll(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                    .isEqualTo("START-SEND-EVENTS");
+            standby.push(ATTRIBUTE_MODIFIED);
+            assertThat(events.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isNotNull();
+            underTest.close();
+        }
+    }
+
+    private static void awaitConnected(final CborWebSocketStandIn standIn, final boolean connected)
+            throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (standIn.isConnected() != connected && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10L);
+        }
+        assertThat(standIn.isConnected()).isEqualTo(connected);
+    }
+
+    private static Event<?> toEvent(final JsonObject json) {
+        return (Event<?>) DittoProtocolAdapter.newInstance()
+                .fromAdaptable(ProtocolFactory.jsonifiableAdaptableFromJson(json));
+    }
+
+}
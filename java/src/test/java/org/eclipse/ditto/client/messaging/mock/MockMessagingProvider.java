@@ -24,6 +24,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.eclipse.ditto.client.configuration.AuthenticationConfiguration;
 import org.eclipse.ditto.client.configuration.BasicAuthenticationConfiguration;
@@ -40,6 +41,7 @@ import org.eclipse.ditto.model.messages.MessageHeaders;
 import org.eclipse.ditto.model.messages.MessageHeadersBuilder;
 import org.eclipse.ditto.model.things.ThingId;
 import org.eclipse.ditto.protocoladapter.Adaptable;
+import org.eclipse.ditto.protocoladapter.DittoProtocolAdapter;
 import org.eclipse.ditto.protocoladapter.JsonifiableAdaptable;
 import org.eclipse.ditto.protocoladapter.Payload;
 import org.eclipse.ditto.protocoladapter.ProtocolFactory;
@@ -62,6 +64,7 @@ import org.slf4j.LoggerFactory;
 public class MockMessagingProvider implements MessagingProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MockMessagingProvider.class);
+    private static final DittoProtocolAdapter PROTOCOL_ADAPTER = DittoProtocolAdapter.newInstance();
 
     private final AuthenticationConfiguration authenticationConfiguration =
             BasicAuthenticationConfiguration.newBuilder()
@@ -214,6 +217,20 @@ public class MockMessagingProvider implements MessagingProvider {
         return true;
     }
 
+    @Override
+    public boolean registerRawMessageHandler(final String name, final Map<String, String> registrationConfig,
+            final Predicate<String> topicFilter, final Consumer<String> handler, final CompletableFuture<Void> future) {
+        Objects.requireNonNull(topicFilter);
+        Objects.requireNonNull(handler);
+        return registerMessageHandler(name, registrationConfig, message -> {
+            final Adaptable adaptable = PROTOCOL_ADAPTER.toAdaptable((ThingEvent<?>) message.getPayload()
+                    .orElseThrow(() -> new IllegalArgumentException("Event message without payload: " + message)));
+            if (topicFilter.test(adaptable.getTopicPath().getPath())) {
+                handler.accept(ProtocolFactory.wrapAsJsonifiableAdaptable(adaptable).toJsonString());
+            }
+        }, future);
+    }
+
     @Override
     public void deregisterMessageHandler(final String name, final CompletableFuture<Void> future) {
         in.set(null);